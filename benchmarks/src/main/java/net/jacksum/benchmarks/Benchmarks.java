@@ -0,0 +1,123 @@
+/*
+
+
+  Jacksum 4.0.0 - a checksum/hash tool written in Java
+  Copyright (c) 2001-2026 Dipl.-Inf. (FH) Johann N. Löfflmann,
+  All Rights Reserved, <https://jacksum.net>.
+
+  This program is free software: you can redistribute it and/or modify it under
+  the terms of the GNU General Public License as published by the Free Software
+  Foundation, either version 3 of the License, or (at your option) any later
+  version.
+
+  This program is distributed in the hope that it will be useful, but WITHOUT
+  ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+  FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+  details.
+
+  You should have received a copy of the GNU General Public License along with
+  this program. If not, see <https://www.gnu.org/licenses/>.
+
+
+ */
+package net.jacksum.benchmarks;
+
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import net.jacksum.JacksumAPI;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Runs the benchmarks for all algorithms that are returned by
+ * HashFunctionFactory.getAvailableAlgorithms(), or for the algorithms that
+ * have been specified on the command line, and writes the results as JSON.
+ *
+ * Usage:
+ * java -jar benchmarks.jar [-o file.json] [-b benchmark-regex] [-s sizes] [algorithm]...
+ *
+ * Examples:
+ * java -jar benchmarks.jar
+ * java -jar benchmarks.jar -o sha.json sha1 sha256 sha512
+ * java -jar benchmarks.jar -b Throughput -s 4096,1048576 crc32 xxh3
+ *
+ * For the full set of JMH options, call org.openjdk.jmh.Main and set the
+ * algorithms by -p algorithm=name,...
+ */
+public class Benchmarks {
+
+    private final static String DEFAULT_RESULT_FILE = "jacksum-benchmarks.json";
+
+    public static void main(String[] args) throws RunnerException {
+        String resultFile = DEFAULT_RESULT_FILE;
+        String sizes = null;
+        List<String> includes = new ArrayList<>();
+        List<String> algorithms = new ArrayList<>();
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "-o":
+                case "-b":
+                case "-s":
+                    if (i + 1 == args.length) {
+                        System.err.printf("Option %s requires an argument.%n", args[i]);
+                        System.exit(1);
+                    }
+                    if (args[i].equals("-o")) {
+                        resultFile = args[++i];
+                    } else if (args[i].equals("-b")) {
+                        includes.add(args[++i]);
+                    } else {
+                        sizes = args[++i];
+                    }
+                    break;
+                default:
+                    algorithms.add(args[i]);
+            }
+        }
+
+        if (algorithms.isEmpty()) {
+            algorithms.addAll(JacksumAPI.getAvailableAlgorithms().keySet());
+        } else {
+            for (String algorithm : algorithms) {
+                try {
+                    JacksumAPI.getChecksumInstance(algorithm);
+                } catch (NoSuchAlgorithmException e) {
+                    System.err.println(e.getMessage());
+                    System.exit(1);
+                }
+            }
+        }
+
+        if (includes.isEmpty()) {
+            includes.add(ThroughputBenchmark.class.getSimpleName());
+            includes.add(FinalizationBenchmark.class.getSimpleName());
+            includes.add(InstantiationBenchmark.class.getSimpleName());
+        }
+
+        ChainedOptionsBuilder builder = new OptionsBuilder()
+                .param("algorithm", algorithms.toArray(new String[0]))
+                .forks(1)
+                .warmupIterations(3)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                // required by the SIMD implementations
+                .jvmArgsAppend("--add-modules", "jdk.incubator.vector")
+                .resultFormat(ResultFormatType.JSON)
+                .result(resultFile);
+        for (String include : includes) {
+            builder.include(include);
+        }
+        if (sizes != null) {
+            builder.param("size", sizes.split(","));
+        }
+
+        new Runner(builder.build()).run();
+    }
+}
@@ -0,0 +1,67 @@
+/*
+
+
+  Jacksum 4.0.0 - a checksum/hash tool written in Java
+  Copyright (c) 2001-2026 Dipl.-Inf. (FH) Johann N. Löfflmann,
+  All Rights Reserved, <https://jacksum.net>.
+
+  This program is free software: you can redistribute it and/or modify it under
+  the terms of the GNU General Public License as published by the Free Software
+  Foundation, either version 3 of the License, or (at your option) any later
+  version.
+
+  This program is distributed in the hope that it will be useful, but WITHOUT
+  ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+  FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+  details.
+
+  You should have received a copy of the GNU General Public License along with
+  this program. If not, see <https://www.gnu.org/licenses/>.
+
+
+ */
+package net.jacksum.benchmarks;
+
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.TimeUnit;
+import net.jacksum.JacksumAPI;
+import net.jacksum.algorithms.AbstractChecksum;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures the latency of getByteArray(), that is the time that an algorithm
+ * requires to finalize a message and to return the hash value.
+ *
+ * The checksum is reset before each call, so the finalization of the empty
+ * message is measured, regardless of whether getByteArray() resets the
+ * checksum or not.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class FinalizationBenchmark {
+
+    @Param({"sha256"})
+    public String algorithm;
+
+    private AbstractChecksum checksum;
+
+    @Setup(Level.Trial)
+    public void setup() throws NoSuchAlgorithmException {
+        checksum = JacksumAPI.getChecksumInstance(algorithm);
+    }
+
+    @Benchmark
+    public byte[] getByteArray() {
+        checksum.reset();
+        return checksum.getByteArray();
+    }
+}
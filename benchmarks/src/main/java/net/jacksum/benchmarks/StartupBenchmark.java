@@ -0,0 +1,95 @@
+/*
+
+
+  Jacksum 4.0.0 - a checksum/hash tool written in Java
+  Copyright (c) 2001-2026 Dipl.-Inf. (FH) Johann N. Löfflmann,
+  All Rights Reserved, <https://jacksum.net>.
+
+  This program is free software: you can redistribute it and/or modify it under
+  the terms of the GNU General Public License as published by the Free Software
+  Foundation, either version 3 of the License, or (at your option) any later
+  version.
+
+  This program is distributed in the hope that it will be useful, but WITHOUT
+  ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+  FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+  details.
+
+  You should have received a copy of the GNU General Public License along with
+  this program. If not, see <https://www.gnu.org/licenses/>.
+
+
+ */
+package net.jacksum.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures the startup of the command line interface end to end, that is the
+ * time of a new JVM that runs "jacksum -a sha256 -q txt:x" and exits.
+ * By default, Jacksum is run from the classpath of the benchmarks. Set the
+ * parameter jar in order to run a particular .jar file, and the parameter
+ * jvmArgs in order to compare JVM options, e.g. the class data sharing archive
+ * that has been created for the .jar file by "mvn -P cds package":
+ * -p jar=../target/jacksum-4.0.0.jar -p jvmArgs=-XX:SharedArchiveFile=../target/jacksum-4.0.0.jsa
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StartupBenchmark {
+
+    @Param({"sha256"})
+    public String algorithm;
+
+    // the .jar file of Jacksum, empty for the classpath of the benchmarks
+    @Param({""})
+    public String jar;
+
+    // options for the JVM that runs Jacksum, separated by blanks
+    @Param({""})
+    public String jvmArgs;
+
+    @Benchmark
+    public int cli() throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        for (String arg : jvmArgs.trim().split("\\s+")) {
+            if (!arg.isEmpty()) {
+                command.add(arg);
+            }
+        }
+        if (jar.isEmpty()) {
+            command.add("-cp");
+            command.add(System.getProperty("java.class.path"));
+            command.add("net.jacksum.cli.Main");
+        } else {
+            command.add("-jar");
+            command.add(jar);
+        }
+        command.add("-a");
+        command.add(algorithm);
+        command.add("-q");
+        command.add("txt:x");
+
+        Process process = new ProcessBuilder(command)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+        int exitCode = process.waitFor();
+        if (exitCode != 0) {
+            throw new IllegalStateException("jacksum has returned the exit code " + exitCode);
+        }
+        return exitCode;
+    }
+}
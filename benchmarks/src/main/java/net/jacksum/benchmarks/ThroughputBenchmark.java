@@ -0,0 +1,75 @@
+/*
+
+
+  Jacksum 4.0.0 - a checksum/hash tool written in Java
+  Copyright (c) 2001-2026 Dipl.-Inf. (FH) Johann N. Löfflmann,
+  All Rights Reserved, <https://jacksum.net>.
+
+  This program is free software: you can redistribute it and/or modify it under
+  the terms of the GNU General Public License as published by the Free Software
+  Foundation, either version 3 of the License, or (at your option) any later
+  version.
+
+  This program is distributed in the hope that it will be useful, but WITHOUT
+  ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+  FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+  details.
+
+  You should have received a copy of the GNU General Public License along with
+  this program. If not, see <https://www.gnu.org/licenses/>.
+
+
+ */
+package net.jacksum.benchmarks;
+
+import java.security.NoSuchAlgorithmException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import net.jacksum.JacksumAPI;
+import net.jacksum.algorithms.AbstractChecksum;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures how many messages of a given size an algorithm can process per
+ * second. Multiply the score by the size in order to get the bytes per second.
+ *
+ * The algorithm parameter is set by {@link Benchmarks} to all available
+ * algorithms.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ThroughputBenchmark {
+
+    @Param({"sha256"})
+    public String algorithm;
+
+    @Param({"64", "4096", "1048576", "67108864"})
+    public int size;
+
+    private AbstractChecksum checksum;
+    private byte[] message;
+
+    @Setup(Level.Trial)
+    public void setup() throws NoSuchAlgorithmException {
+        checksum = JacksumAPI.getChecksumInstance(algorithm);
+        message = new byte[size];
+        // a fixed seed, so that all runs process the same data
+        new Random(size).nextBytes(message);
+    }
+
+    @Benchmark
+    public AbstractChecksum update() {
+        checksum.reset();
+        checksum.update(message, 0, message.length);
+        return checksum;
+    }
+}
@@ -0,0 +1,185 @@
+/*
+
+  Jacksum 4.0.0 - a checksum/hash tool written in Java
+  Copyright (c) 2001-2026 Dipl.-Inf. (FH) Johann N. Löfflmann,
+  All Rights Reserved, <https://jacksum.net>.
+
+  This program is free software: you can redistribute it and/or modify it under
+  the terms of the GNU General Public License as published by the Free Software
+  Foundation, either version 3 of the License, or (at your option) any later
+  version.
+
+  This program is distributed in the hope that it will be useful, but WITHOUT
+  ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+  FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+  details.
+
+  You should have received a copy of the GNU General Public License along with
+  this program. If not, see <https://www.gnu.org/licenses/>.
+
+ */
+package net.jacksum;
+
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import net.jacksum.algorithms.AbstractChecksum;
+import net.jacksum.selectors.SelectorInterface;
+import static net.jacksum.selectors.Selectors.allSupportedSelectorClasses;
+
+/**
+ * The AlgorithmIndex contains the metadata of all supported algorithms, that is
+ * the ID, the name, the width, the block size, and the family. The index is
+ * built once on first use by instantiating each algorithm by the selector that
+ * provides it, so that the metadata can be queried without instantiating all
+ * algorithms again and again.
+ */
+public final class AlgorithmIndex {
+
+    /**
+     * The metadata of an algorithm.
+     */
+    public static final class Entry {
+
+        private final String id;
+        private final String name;
+        private final int width;
+        private final int blockSize;
+        private final String family;
+        private final Class<?> selectorClass;
+
+        private Entry(String id, String name, int width, int blockSize, Class<?> selectorClass) {
+            this.id = id;
+            this.name = name;
+            this.width = width;
+            this.blockSize = blockSize;
+            this.selectorClass = selectorClass;
+            String simpleName = selectorClass.getSimpleName();
+            this.family = simpleName.endsWith("_Selector")
+                    ? simpleName.substring(0, simpleName.length() - "_Selector".length())
+                    : simpleName;
+        }
+
+        /**
+         * @return the ID, it can be used to feed JacksumAPI.getChecksumInstance()
+         */
+        public String getId() {
+            return id;
+        }
+
+        /**
+         * @return the name, e.g. "SHA-256 (SHA-2 family)"
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return the width of the hash value in bits
+         */
+        public int getWidth() {
+            return width;
+        }
+
+        /**
+         * @return the block size in bytes, or 0 if there is no block size
+         */
+        public int getBlockSize() {
+            return blockSize;
+        }
+
+        /**
+         * @return true if the algorithm can be used for an HMAC
+         */
+        public boolean isHmacCapable() {
+            return blockSize > 0 && blockSize >= width / 8;
+        }
+
+        /**
+         * @return the family, that is the selector that provides the algorithm, e.g. "Haval"
+         */
+        public String getFamily() {
+            return family;
+        }
+
+        /**
+         * Returns a new instance of the algorithm. It can be called by several
+         * threads at the same time.
+         *
+         * @return a new instance of the algorithm
+         * @throws NoSuchAlgorithmException if the algorithm cannot be instantiated
+         */
+        public AbstractChecksum newInstance() throws NoSuchAlgorithmException {
+            return HashFunctionFactory.getHashFunction(selectorClass, id, false);
+        }
+    }
+
+    // the initialization-on-demand holder idiom builds the index once and thread-safe
+    private static final class Holder {
+        private static final List<Entry> ENTRIES = build();
+    }
+
+    private AlgorithmIndex() {
+    }
+
+    /**
+     * Returns the metadata of all supported algorithms in the order of
+     * JacksumAPI.getAvailableAlgorithms().
+     *
+     * @return an unmodifiable list of all entries
+     */
+    public static List<Entry> getEntries() {
+        return Holder.ENTRIES;
+    }
+
+    /**
+     * Returns the metadata of all supported algorithms that have a particular width.
+     *
+     * @param width the width in bits
+     * @return the entries that have the width
+     */
+    public static List<Entry> getEntries(int width) {
+        List<Entry> list = new ArrayList<>();
+        for (Entry entry : getEntries()) {
+            if (entry.getWidth() == width) {
+                list.add(entry);
+            }
+        }
+        return list;
+    }
+
+    private static List<Entry> build() {
+        // algo id, description
+        Map<String, String> names = new LinkedHashMap<>(771); // ceil(578/0.75)
+        // algo id, the first selector that provides it
+        Map<String, Class<?>> selectorClasses = new HashMap<>(771);
+        for (Class<?> selectorClass : allSupportedSelectorClasses) {
+            SelectorInterface selector = HashFunctionFactory.newSelector(selectorClass);
+            if (selector != null) {
+                Map<String, String> map = selector.getAvailableAlgorithms();
+                names.putAll(map);
+                for (String id : map.keySet()) {
+                    selectorClasses.putIfAbsent(id, selectorClass);
+                }
+            }
+        }
+
+        List<Entry> entries = new ArrayList<>(names.size());
+        for (Map.Entry<String, String> name : names.entrySet()) {
+            Class<?> selectorClass = selectorClasses.get(name.getKey());
+            AbstractChecksum checksum;
+            try {
+                checksum = HashFunctionFactory.getHashFunction(selectorClass, name.getKey(), false);
+            } catch (NoSuchAlgorithmException e) {
+                // should not happen
+                throw new RuntimeException("INTERNAL ERROR in AlgorithmIndex: " + e.getMessage(), e);
+            }
+            entries.add(new Entry(name.getKey(), name.getValue(), checksum.getSize(), checksum.getBlockSize(), selectorClass));
+        }
+        return Collections.unmodifiableList(entries);
+    }
+}
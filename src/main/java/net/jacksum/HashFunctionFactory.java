@@ -29,6 +29,7 @@ import java.util.logging.Logger;
 import net.jacksum.algorithms.AbstractChecksum;
 import net.jacksum.selectors.Selector;
 import net.jacksum.selectors.SelectorInterface;
+import net.jacksum.selectors.SelectorTable;
 import static net.jacksum.selectors.Selectors.allSelectorClasses;
 import static net.jacksum.selectors.Selectors.allSupportedSelectorClasses;
 
@@ -47,68 +48,127 @@ public class HashFunctionFactory {
         return key;
     }
 
-    private static final Map<String, Class> cacheOfSelectorClasses = new HashMap<>();
-
-    private static boolean cacheOfSelectorClassesEnabled = true;
+    private static volatile boolean cacheOfSelectorClassesEnabled = true;
 
+    /**
+     * Controls whether the selectors are looked up by the generated
+     * SelectorTable (the default), or by asking all selectors in turn.
+     *
+     * @param bool true if the SelectorTable should be used
+     */
     public static void setCacheOfSelectorClassesEnabled(boolean bool) {
         cacheOfSelectorClassesEnabled = bool;
     }
 
     /**
-     * Get a hash function.
+     * Get a hash function. It can be called by several threads at the same time.
      * @param algorithm the name of the algorithm.
      * @param alternate whether an alternative should be used
      * @return an instance of an AbstractChecksum that matches the criteria
      * @throws NoSuchAlgorithmException if an algorithm with the criteria cannot be found
      */
     public static AbstractChecksum getHashFunction(String algorithm, boolean alternate) throws NoSuchAlgorithmException {
-
-        // construct an array of classes so that we can iterate over it
-        Class<?>[] arrayOfSelectorClasses;
-        if (cacheOfSelectorClasses.containsKey(algorithm)) {
-            arrayOfSelectorClasses = new Class[1];
-            arrayOfSelectorClasses[0] = cacheOfSelectorClasses.get(algorithm);
-        } else {
-            arrayOfSelectorClasses = allSelectorClasses;
+        if (cacheOfSelectorClassesEnabled) {
+            // the generated table, it requires neither reflection nor a search
+            SelectorInterface selector = newSelector(algorithm);
+            if (selector != null) {
+                return getImplementation(selector, alternate);
+            }
+            // a selector that is missing in the table is still found by the search below
         }
 
-        for (Class<?> selectorClass : arrayOfSelectorClasses) {
-            try {
-                Constructor<?> constructor = selectorClass.getConstructor();
-                SelectorInterface selector = (Selector) constructor.newInstance();
-
-                selector.setName(algorithm);
+        for (Class<?> selectorClass : allSelectorClasses) {
+            SelectorInterface selector = newSelector(selectorClass);
+            if (selector == null) {
+                continue;
+            }
+            selector.setName(algorithm);
 //System.out.println(selector);
 
-                if (selector.doesMatch(algorithm)) {
-                    AbstractChecksum checksum = selector.getImplementation(alternate);
-                    checksum.setActualAlternateImplementationUsed(selector.isActualAlternateImplementationUsed());
-                    checksum.setName(selector.getName());
+            if (selector.doesMatch(algorithm)) {
+                return getImplementation(selector, alternate);
+            }
+        }
+        throw new NoSuchAlgorithmException(algorithm + " is an unknown algorithm.");
 
-                    if (cacheOfSelectorClassesEnabled) {
-                        // fill the cache with the algorithm that we have just found
-                        // in order to save time the next time the same request comes along
-                        cacheOfSelectorClasses.put(selector.getName(), selectorClass);
+    }
 
-                        // and if the selector has aliases for us, put them to the cache as well
-                        Map<String, String> aliases = selector.getAvailableAliases();
+    /**
+     * Returns a new selector for an algorithm by the generated SelectorTable.
+     * The name of the selector has been set, and an alias has been replaced by
+     * the actual ID already. Only the classes of the selectors that are
+     * instantiated are loaded.
+     *
+     * @param algorithm the ID or an alias of an algorithm, or a name that
+     * matches the pattern of a selector, e.g. "crc:8,7,0,false,false,0"
+     * @return a new selector, or null if the SelectorTable does not know any
+     * selector that matches the name
+     */
+    private static SelectorInterface newSelector(String algorithm) {
+        SelectorInterface selector = SelectorTable.newSelector(algorithm);
+        if (selector != null) {
+            selector.setName(algorithm);
+            if (selector.doesMatch(algorithm)) {
+                return selector;
+            }
+        }
+        for (int i = 0; i < SelectorTable.PATTERNS; i++) {
+            selector = SelectorTable.newPatternSelector(i);
+            selector.setName(algorithm);
+            if (selector.doesMatch(algorithm)) {
+                return selector;
+            }
+        }
+        return null;
+    }
 
-                        if (aliases != null) {
-                            for (String key : aliases.keySet()) {
-                                cacheOfSelectorClasses.put(key, selectorClass);
-                            }
-                        }
-                    }
-                    return checksum;
-                }
-            } catch (NoSuchMethodException | SecurityException | InstantiationException
-                    | IllegalAccessException | IllegalArgumentException | InvocationTargetException ex) {
-                Logger.getLogger(JacksumAPI.class.getName()).log(Level.SEVERE, null, ex);
+    /**
+     * Get a hash function from a particular selector. In contrast to
+     * getHashFunction(String, boolean) no other selectors are tried, and no
+     * shared state is changed, so it can be called by several threads at the
+     * same time.
+     *
+     * @param selectorClass the class of the selector
+     * @param algorithm the name of the algorithm.
+     * @param alternate whether an alternative should be used
+     * @return an instance of an AbstractChecksum that matches the criteria
+     * @throws NoSuchAlgorithmException if the selector does not provide the algorithm
+     */
+    static AbstractChecksum getHashFunction(Class<?> selectorClass, String algorithm, boolean alternate) throws NoSuchAlgorithmException {
+        SelectorInterface selector = newSelector(selectorClass);
+        if (selector != null) {
+            selector.setName(algorithm);
+            if (selector.doesMatch(algorithm)) {
+                return getImplementation(selector, alternate);
             }
         }
         throw new NoSuchAlgorithmException(algorithm + " is an unknown algorithm.");
+    }
+
+    static SelectorInterface newSelector(Class<?> selectorClass) {
+        try {
+            Constructor<?> constructor = selectorClass.getConstructor();
+            return (Selector) constructor.newInstance();
+        } catch (NoSuchMethodException | SecurityException | InstantiationException
+                | IllegalAccessException | IllegalArgumentException | InvocationTargetException ex) {
+            Logger.getLogger(JacksumAPI.class.getName()).log(Level.SEVERE, null, ex);
+            return null;
+        }
+    }
 
+    private static AbstractChecksum getImplementation(SelectorInterface selector, boolean alternate) throws NoSuchAlgorithmException {
+        AbstractChecksum checksum;
+        try {
+            checksum = selector.getImplementation(alternate);
+        } catch (IllegalArgumentException e) {
+            // e.g. an HMAC without a key, or with an algorithm that does not support HMAC
+            NoSuchAlgorithmException nsae = new NoSuchAlgorithmException(selector.getName() + " is an unknown algorithm.");
+            nsae.initCause(e);
+            throw nsae;
+        }
+        checksum.setActualAlternateImplementationUsed(selector.isActualAlternateImplementationUsed());
+        checksum.setName(selector.getName());
+        return checksum;
     }
 
     /**
@@ -142,44 +202,20 @@ public class HashFunctionFactory {
      * @return a map that contains two strings: the algo ID and a description
      */
     public static Map<String, String> getAvailableAlgorithms(int width) {
-        Map<String, String> map = getAvailableAlgorithms();
         Map<String, String> mapFiltered = new LinkedHashMap<>(171); // ceil(128/0,75)
-
-        Iterator<Map.Entry<String, String>> iterator = map.entrySet().iterator();
-        while (iterator.hasNext()) {
-            Map.Entry<String, String> entry = iterator.next();
-            AbstractChecksum checksum;
-            try {
-                checksum = JacksumAPI.getChecksumInstance(entry.getKey());
-            } catch (NoSuchAlgorithmException e) {
-                // should not happen
-                e.printStackTrace();
-                throw new RuntimeException("INTERNAL ERROR in JacksumAPI.getAvailableAlgorithms(int width)");
-            }
-            if (checksum != null && checksum.getSize() == width) {
-                mapFiltered.put(entry.getKey(), entry.getValue());
+        for (AlgorithmIndex.Entry entry : AlgorithmIndex.getEntries()) {
+            if (entry.getWidth() == width) {
+                mapFiltered.put(entry.getId(), entry.getName());
             }
         }
         return mapFiltered;
     }
 
     public static Map<String, String> getAvailableHMACs() {
-        Map<String, String> map = getAvailableAlgorithms();
         Map<String, String> mapFiltered = new LinkedHashMap<>(171); // ceil(128/0,75)
-
-        Iterator<Map.Entry<String, String>> iterator = map.entrySet().iterator();
-        while (iterator.hasNext()) {
-            Map.Entry<String, String> entry = iterator.next();
-            AbstractChecksum checksum;
-            try {
-                checksum = JacksumAPI.getChecksumInstance(entry.getKey());
-            } catch (NoSuchAlgorithmException e) {
-                // should not happen
-                e.printStackTrace();
-                throw new RuntimeException("INTERNAL ERROR in JacksumAPI.getAvailableHMACs()");
-            }
-            if (checksum != null && checksum.getBlockSize() > 0 && checksum.getBlockSize() >= checksum.getSize()/8) {
-                mapFiltered.put(String.format("hmac:%s", entry.getKey()), String.format("%s (HMAC)", entry.getValue()));
+        for (AlgorithmIndex.Entry entry : AlgorithmIndex.getEntries()) {
+            if (entry.isHmacCapable()) {
+                mapFiltered.put(String.format("hmac:%s", entry.getId()), String.format("%s (HMAC)", entry.getName()));
             }
         }
         return mapFiltered;
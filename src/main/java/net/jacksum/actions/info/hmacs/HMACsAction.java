@@ -19,16 +19,11 @@
 
 package net.jacksum.actions.info.hmacs;
 
-import net.jacksum.JacksumAPI;
+import net.jacksum.AlgorithmIndex;
 import net.jacksum.actions.Action;
-import net.jacksum.algorithms.AbstractChecksum;
 import net.jacksum.cli.ExitCode;
 import net.loefflmann.sugar.util.ExitException;
 
-import java.security.NoSuchAlgorithmException;
-import java.util.Iterator;
-import java.util.Map;
-
 public class HMACsAction implements Action {
 
     private final HMACsActionParameters parameters;
@@ -42,33 +37,22 @@ public class HMACsAction implements Action {
     @Override
     public int perform() throws ExitException {
 
-        Map<String, String> map = JacksumAPI.getAvailableAlgorithms();
         int hmacs = 0;
         StringBuilder buffer = new StringBuilder();
-        Iterator<Map.Entry<String, String>> iterator = map.entrySet().iterator();
         if (parameters.getVerbose().isInfo()) {
             buffer.append(String.format("# %-20s     %4s  %3s  %3s  %3s%n", "HMAC id", "l", "B", "L", "T"));
         }
-        while (iterator.hasNext()) {
-            Map.Entry<String, String> entry = iterator.next();
-            AbstractChecksum checksum;
-            try {
-                checksum = JacksumAPI.getChecksumInstance(entry.getKey());
-                if (checksum != null && checksum.getBlockSize() > 0 && checksum.getBlockSize() >= checksum.getSize()/8) {
-                    if (parameters.getVerbose().isInfo()) {
-                        int T = checksum.getSize() / 16;
-                        int r = checksum.getSize() % 16;
-                        if (r > 0) T++;
-                        buffer.append(String.format("hmac:%-20s  %4s  %3s  %3s  %3s%n", entry.getKey(), checksum.getSize(), checksum.getBlockSize(), checksum.getSize() / 8, T));
-                    } else {
-                        buffer.append(String.format("hmac:%s%n", entry.getKey()));
-                    }
-                    hmacs++;
+        for (AlgorithmIndex.Entry entry : AlgorithmIndex.getEntries()) {
+            if (entry.isHmacCapable()) {
+                if (parameters.getVerbose().isInfo()) {
+                    int T = entry.getWidth() / 16;
+                    int r = entry.getWidth() % 16;
+                    if (r > 0) T++;
+                    buffer.append(String.format("hmac:%-20s  %4s  %3s  %3s  %3s%n", entry.getId(), entry.getWidth(), entry.getBlockSize(), entry.getWidth() / 8, T));
+                } else {
+                    buffer.append(String.format("hmac:%s%n", entry.getId()));
                 }
-            } catch (NoSuchAlgorithmException e) {
-                // should not happen
-                e.printStackTrace();
-                throw new RuntimeException("INTERNAL ERROR");
+                hmacs++;
             }
         }
         System.out.print(buffer);
@@ -23,19 +23,56 @@
 
 package net.jacksum.actions.io.compare;
 
+import java.util.Collections;
+import java.util.List;
 import net.jacksum.algorithms.AbstractChecksum;
+import net.jacksum.parameters.Sequence;
 
 public class CompareAndFindAlgo extends CompareAction {
 
+   private final List<Sequence> sequences;
+   private final List<String> expectations;
+
    public CompareAndFindAlgo
            (AbstractChecksum checksum, CompareActionInterface parameters) {
+       this(checksum, parameters, Collections.emptyList(), Collections.emptyList());
+   }
+
+   /**
+    * Compares the checksum against several pairs of sequences and expected values
+    * (see -q and -e). The checksum has been computed from the last sequence, and it
+    * will be reset and computed again for each of the other sequences, so an algorithm
+    * is found only if it matches all pairs.
+    *
+    * @param checksum the checksum, computed from the last sequence
+    * @param parameters the parameters with the last expected value
+    * @param sequences all sequences in the order of the command line
+    * @param expectations all expected values in the order of the command line
+    */
+   public CompareAndFindAlgo
+           (AbstractChecksum checksum, CompareActionInterface parameters,
+            List<Sequence> sequences, List<String> expectations) {
        this.checksum = checksum;
        this.parameters = parameters;
+       this.sequences = sequences;
+       this.expectations = expectations;
+   }
+
+   // the last pair has been compared already by perform()
+   private boolean matchesOtherPairs() {
+       for (int i = 0; i < sequences.size() - 1; i++) {
+           checksum.reset();
+           checksum.update(sequences.get(i).asBytes());
+           if (!equalsTolerant(checksum, expectations.get(i))) {
+               return false;
+           }
+       }
+       return true;
    }
 
    @Override
    public void perform(boolean equals) {
-       if (equals) {
+       if (equals && matchesOtherPairs()) {
            positives++;
            System.out.println(checksum.getName());
        } else {
@@ -22,9 +22,10 @@
  */
 package net.jacksum.actions.io.findalgo;
 
-import net.jacksum.actions.io.findalgo.engines.BruteForceCRC;
 import net.jacksum.actions.io.findalgo.engines.FindDocumentedAlgorithms;
 import net.jacksum.actions.io.findalgo.engines.FindKnownCRC;
+import net.jacksum.actions.io.findalgo.engines.ParallelBruteForceCRC;
+import net.jacksum.actions.io.findalgo.engines.SolveCRC;
 
 import java.math.BigInteger;
 import java.util.ArrayList;
@@ -68,7 +69,12 @@ public class FindAlgoAction implements Action {
             List<FindAlgoEngine> engines = new ArrayList<>(3);
             engines.add(new FindDocumentedAlgorithms(parameters));
             engines.add(new FindKnownCRC(parameters));
-            engines.add(new BruteForceCRC(parameters));
+            if (parameters.getSequences().size() > 1) {
+                // several samples allow for solving the CRC parameters rather than trying them
+                engines.add(new SolveCRC(parameters));
+            } else {
+                engines.add(new ParallelBruteForceCRC(parameters));
+            }
             // engines.add(new BruteForceCRC_Extended(parameters); // extended Rocksoft Model where the size is calculated into the crc
 
             for (FindAlgoEngine engine : engines) {
@@ -86,7 +86,8 @@ public class BruteForceCRC implements FindAlgoEngine {
                                     checksum.setParameters(parameters);
                                     checksum.update(parameters.getSequence().asBytes());
 
-                                    CompareAndFindAlgo action = new CompareAndFindAlgo(checksum, parameters);
+                                    CompareAndFindAlgo action = new CompareAndFindAlgo(checksum, parameters,
+                                            parameters.getSequences(), parameters.getExpectedStrings());
                                     action.perform();
                                     found += action.getPositives();
                                     searched = getSearched().add(BigInteger.ONE);
@@ -0,0 +1,137 @@
+/*
+
+
+  Jacksum 4.0.0 - a checksum/hash tool written in Java
+  Copyright (c) 2001-2026 Dipl.-Inf. (FH) Johann N. Löfflmann,
+  All Rights Reserved, <https://jacksum.net>.
+
+  This program is free software: you can redistribute it and/or modify it under
+  the terms of the GNU General Public License as published by the Free Software
+  Foundation, either version 3 of the License, or (at your option) any later
+  version.
+
+  This program is distributed in the hope that it will be useful, but WITHOUT
+  ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+  FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+  details.
+
+  You should have received a copy of the GNU General Public License along with
+  this program. If not, see <https://www.gnu.org/licenses/>.
+
+
+ */
+package net.jacksum.actions.io.findalgo.engines;
+
+import java.math.BigInteger;
+import java.security.NoSuchAlgorithmException;
+import net.jacksum.algorithms.crcs.CrcGeneric;
+import net.jacksum.formats.Encoding;
+import net.jacksum.formats.EncodingDecoding;
+import net.jacksum.parameters.Parameters;
+import net.jacksum.parameters.Sequence;
+
+/**
+ * Decodes expected CRC values (see -e) to numbers, so that the CRC engines can compare
+ * register values rather than formatted strings.
+ */
+final class CrcValues {
+
+    private CrcValues() {
+    }
+
+    /**
+     * Decodes an expected value to the value that a CRC of the given width must produce. The
+     * result is verified by formatting it the way a CrcGeneric is formatted with the parameters,
+     * so a CRC matches the expected value if and only if it produces the decoded value.
+     *
+     * @param parameters the parameters, e.g. with the encoding (see -E)
+     * @param expected the expected value
+     * @param width the width of the CRC in bits, from 1 to 64
+     * @return the value, or null if the expected value cannot be decoded
+     */
+    static Long decode(Parameters parameters, String expected, int width) {
+        long maskAllBits = ~0L >>> (64 - width);
+        try {
+            CrcGeneric probe = new CrcGeneric(width, 0L, 0L, false, false, 0L);
+            probe.setParameters(parameters);
+            Encoding encoding = probe.getFormatPreferences().getEncoding();
+            BigInteger value = decode(expected, encoding, (width + 7) / 8);
+            if (value == null || value.signum() < 0 || value.bitLength() > width) {
+                return null;
+            }
+            long decoded = value.longValue() & maskAllBits;
+            // a CRC without any data, and without reflection and xorOut returns init
+            CrcGeneric check = new CrcGeneric(width, 0L, decoded, false, false, 0L);
+            check.setParameters(parameters);
+            return matches(check, expected) ? decoded : null;
+        } catch (NoSuchAlgorithmException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Tells whether the value of a checksum is equal to an expected value, tolerant as
+     * the CompareAction is.
+     *
+     * @param checksum the checksum
+     * @param expected the expected value
+     * @return true if the values are equal
+     */
+    static boolean matches(CrcGeneric checksum, String expected) {
+        return Encoding.hashesAreEqual(checksum.getValueFormatted(), expected,
+                checksum.getFormatPreferences().getEncoding());
+    }
+
+    private static BigInteger decode(String expected, Encoding encoding, int bytes) {
+        switch (encoding) {
+            case DEC:
+            case DEC_FIXED_SIZE_WITH_LEADING_ZEROS:
+                return new BigInteger(digits(expected), 10);
+            case HEX:
+            case HEX_UPPERCASE:
+            case BASE16:
+                return new BigInteger(digits(expected), 16);
+            case OCT:
+                return new BigInteger(digits(expected), 8);
+            case BIN:
+                return new BigInteger(digits(expected), 2);
+            default:
+                Sequence.Type type = sequenceType(encoding);
+                if (type == null) {
+                    return null;
+                }
+                byte[] array = EncodingDecoding.sequence2bytes(type, expected);
+                return array.length == bytes ? new BigInteger(1, array) : null;
+        }
+    }
+
+    // removes grouping characters, the verification rejects anything that is not a number
+    private static String digits(String expected) {
+        return expected.replaceAll("[^0-9A-Za-z]", "");
+    }
+
+    private static Sequence.Type sequenceType(Encoding encoding) {
+        switch (encoding) {
+            case BASE32:
+            case BASE32_NOPADDING:
+                return Sequence.Type.BASE32;
+            case BASE32HEX:
+            case BASE32HEX_NOPADDING:
+                return Sequence.Type.BASE32HEX;
+            case BASE64:
+            case BASE64_NOPADDING:
+                return Sequence.Type.BASE64;
+            case BASE64URL:
+            case BASE64URL_NOPADDING:
+                return Sequence.Type.BASE64URL;
+            case BUBBLEBABBLE:
+                return Sequence.Type.BUBBLEBABBLE;
+            case ZBASE32:
+                return Sequence.Type.ZBASE32;
+            case Z85:
+                return Sequence.Type.Z85;
+            default:
+                return null;
+        }
+    }
+}
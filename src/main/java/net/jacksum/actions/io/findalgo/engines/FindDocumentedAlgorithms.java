@@ -24,18 +24,29 @@ package net.jacksum.actions.io.findalgo.engines;
 
 import java.math.BigInteger;
 import java.security.NoSuchAlgorithmException;
-import java.util.Iterator;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import net.jacksum.AlgorithmIndex;
 import net.jacksum.JacksumAPI;
 import net.jacksum.actions.io.compare.CompareAndFindAlgo;
 import net.jacksum.actions.io.findalgo.FindAlgoEngine;
 import net.jacksum.algorithms.AbstractChecksum;
+import net.jacksum.multicore.ThreadControl;
 import net.jacksum.parameters.ParameterException;
 import net.jacksum.parameters.Parameters;
 
 /**
  * The FindDocumentedAlgorithm is an implementation of an FindAlgoEngine.
  * It can find all algorithms that are officially supported by Jacksum.
+ *
+ * The candidates are selected by the AlgorithmIndex, and they are computed by
+ * the threads for hashing (see --threads-hashing). The hits are compared and
+ * printed in the order of the index.
  * @author Johann N. Löfflmann
  */
 public class FindDocumentedAlgorithms implements FindAlgoEngine {
@@ -50,32 +61,61 @@ public class FindDocumentedAlgorithms implements FindAlgoEngine {
 
     @Override
     public void find(int width) throws ParameterException {
-        Map<String, String> map = JacksumAPI.getAvailableAlgorithms(width);
+        List<AlgorithmIndex.Entry> entries = AlgorithmIndex.getEntries(width);
         if (parameters.getVerbose().isInfo()) {
-            System.err.printf("Trying %s algorithms with a width of %s bits that are supported by %s %s ...\n", map.size(), width, JacksumAPI.NAME, JacksumAPI.VERSION);
+            System.err.printf("Trying %s algorithms with a width of %s bits that are supported by %s %s ...\n", entries.size(), width, JacksumAPI.NAME, JacksumAPI.VERSION);
+        }
+        if (entries.isEmpty()) {
+            return;
         }
 
-        Iterator<Map.Entry<String, String>> iterator = map.entrySet().iterator();
-        while (iterator.hasNext()) {
-            Map.Entry<String, String> entry = iterator.next();
-            AbstractChecksum checksum;
-            try {
-                checksum = JacksumAPI.getChecksumInstance(entry.getKey());
-            } catch (NoSuchAlgorithmException e) {
-                throw new ParameterException("Error: No such algorithm: " + entry.getKey());
+        byte[] data = parameters.getSequence().asBytes();
+        int threads = Math.max(1, Math.min(ThreadControl.getThreadsHashing(), entries.size()));
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "FindDocumentedAlgorithms-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<AbstractChecksum>> futures = new ArrayList<>(entries.size());
+            for (AlgorithmIndex.Entry entry : entries) {
+                futures.add(pool.submit(() -> {
+                    AbstractChecksum checksum = entry.newInstance();
+                    checksum.setParameters(parameters);
+                    checksum.update(data);
+                    return checksum;
+                }));
             }
-            checksum.setParameters(parameters);
-            checksum.update(parameters.getSequence().asBytes());
 
-            CompareAndFindAlgo action = new CompareAndFindAlgo(checksum, parameters);
-            action.perform();
-            if (parameters.getVerbose().isInfo() && action.getPositives() > 0) {
-                System.err.println("    --> " + entry.getValue());
+            for (int i = 0; i < entries.size(); i++) {
+                AlgorithmIndex.Entry entry = entries.get(i);
+                AbstractChecksum checksum;
+                try {
+                    checksum = futures.get(i).get();
+                    // for the GC
+                    futures.set(i, null);
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof NoSuchAlgorithmException) {
+                        throw new ParameterException("Error: No such algorithm: " + entry.getId());
+                    }
+                    throw new ParameterException(String.format("Error: %s has failed: %s", entry.getId(), e.getCause()));
+                }
+
+                CompareAndFindAlgo action = new CompareAndFindAlgo(checksum, parameters,
+                        parameters.getSequences(), parameters.getExpectedStrings());
+                action.perform();
+                if (parameters.getVerbose().isInfo() && action.getPositives() > 0) {
+                    System.err.println("    --> " + entry.getName());
+                }
+                found += action.getPositives();
+                searched++; // = searched.add(BigInteger.ONE);
             }
-            found += action.getPositives();
-            searched++; // = searched.add(BigInteger.ONE);
-            // for the GC
-            checksum = null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ParameterException("The search for documented algorithms has been interrupted.");
+        } finally {
+            pool.shutdownNow();
         }
     }
 
@@ -89,7 +89,8 @@ public class FindKnownCRC implements FindAlgoEngine {
                 checksum.setParameters(parameters);
                 checksum.update(parameters.getSequence().asBytes());
 
-                CompareAndFindAlgo action = new CompareAndFindAlgo(checksum, parameters);
+                CompareAndFindAlgo action = new CompareAndFindAlgo(checksum, parameters,
+                        parameters.getSequences(), parameters.getExpectedStrings());
                 action.perform();
 
                 if (parameters.getVerbose().isInfo() && action.getPositives() > 0) {
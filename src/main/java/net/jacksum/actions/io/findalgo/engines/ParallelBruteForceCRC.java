@@ -0,0 +1,368 @@
+/*
+
+
+  Jacksum 4.0.0 - a checksum/hash tool written in Java
+  Copyright (c) 2001-2026 Dipl.-Inf. (FH) Johann N. Löfflmann,
+  All Rights Reserved, <https://jacksum.net>.
+
+  This program is free software: you can redistribute it and/or modify it under
+  the terms of the GNU General Public License as published by the Free Software
+  Foundation, either version 3 of the License, or (at your option) any later
+  version.
+
+  This program is distributed in the hope that it will be useful, but WITHOUT
+  ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+  FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+  details.
+
+  You should have received a copy of the GNU General Public License along with
+  this program. If not, see <https://www.gnu.org/licenses/>.
+
+
+ */
+package net.jacksum.actions.io.findalgo.engines;
+
+import java.math.BigInteger;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import net.jacksum.actions.io.compare.CompareAndFindAlgo;
+import net.jacksum.actions.io.findalgo.FindAlgoEngine;
+import net.jacksum.algorithms.crcs.CrcGeneric;
+import net.jacksum.formats.Encoding;
+import net.jacksum.multicore.ThreadControl;
+import net.jacksum.parameters.ParameterException;
+import net.jacksum.parameters.Parameters;
+import net.loefflmann.sugar.math.GeneralMath;
+
+/**
+ * Tries the same CRC algorithms as the BruteForceCRC, that is all polynomials of a given width
+ * with init and xorOut set to all bits zero or all bits one, and refIn and refOut set to
+ * false or true, but much faster.
+ *
+ * The expected value is decoded to a register value once, so the candidates are compared as
+ * numbers rather than as formatted strings. The register of a candidate is computed bitwise on
+ * primitives only, which is faster than building a table for the short sequences that are
+ * used in this mode. The init value is applied by the linearity of the CRC:
+ * crc(init) = crc(0) ^ crc'(init), where crc'(init) is the register after shifting init through
+ * as many zero bits as the sequence has, so only three registers are computed per polynomial
+ * for all 16 combinations. The polynomials are split into chunks that are processed by all
+ * threads for hashing (see --threads-hashing), and the hits are printed in the same order as
+ * by the BruteForceCRC. The progress and the estimated time of arrival are printed on stderr.
+ *
+ * If the expected value cannot be decoded to a number (e.g. for an unusual encoding), the
+ * search is delegated to the BruteForceCRC.
+ */
+public class ParallelBruteForceCRC implements FindAlgoEngine {
+
+    // the number of polynomials of a chunk is 2^CHUNK_BITS
+    private static final int CHUNK_BITS = 16;
+    // the interval between two progress reports in ms
+    private static final long PROGRESS_INTERVAL = 1000;
+    // the result of a chunk without any hits
+    private static final long[] NO_HITS = new long[0];
+
+    private final Parameters parameters;
+    private BigInteger searched = BigInteger.ZERO;
+    private long found;
+
+    public ParallelBruteForceCRC(Parameters parameters) {
+        this.parameters = parameters;
+    }
+
+    @Override
+    public void find(int width) throws ParameterException {
+        if (width < 8 || width > 63) {
+            throw new ParameterException("Bit width " + width + " is not supported by the CRC brute forcer.");
+        }
+        Long expected = decodeExpected(width);
+        if (expected == null) {
+            // the BruteForceCRC compares the formatted values, so it supports any encoding
+            BruteForceCRC bruteForceCRC = new BruteForceCRC(parameters);
+            bruteForceCRC.find(width);
+            searched = bruteForceCRC.getSearched();
+            found = bruteForceCRC.getFound();
+            return;
+        }
+        if (parameters.getVerbose().isInfo()) {
+            System.err.printf("Trying all CRC algorithms with a width of %s bits by brute force (be patient!) ...\n", width);
+        }
+        new Search(width, parameters.getSequence().asBytes(), expected).run();
+    }
+
+    /**
+     * Decodes the expected value to the register value that a CRC of the given width must
+     * produce, see CrcValues. The value is also compared the way the CompareAndFindAlgo does,
+     * so the search finds exactly the algorithms that the BruteForceCRC would find.
+     *
+     * @param width the width of the CRC
+     * @return the expected value, or null if it cannot be decoded
+     */
+    private Long decodeExpected(int width) {
+        Long expected = CrcValues.decode(parameters, parameters.getExpectedString(), width);
+        if (expected == null) {
+            return null;
+        }
+        try {
+            CrcGeneric check = new CrcGeneric(width, 0L, expected, false, false, 0L);
+            check.setParameters(parameters);
+            return matches(check) ? expected : null;
+        } catch (NoSuchAlgorithmException e) {
+            return null;
+        }
+    }
+
+    // the comparison of CompareAction.perform()
+    private boolean matches(CrcGeneric checksum) {
+        try {
+            return Arrays.equals(checksum.getByteArray(), parameters.getExpectedBytes());
+        } catch (UnsupportedOperationException e) {
+            return Encoding.hashesAreEqual(checksum.getValueFormatted(), parameters.getExpectedString(),
+                    checksum.getFormatPreferences().getEncoding());
+        }
+    }
+
+    /**
+     * A search over all polynomials of a width.
+     */
+    private final class Search {
+
+        private final int width;
+        private final long maskAllBits;
+        private final long topBit;
+        private final byte[] data;
+        private final byte[] dataReflected;
+        private final long expected;
+        private final long expectedReflected;
+        private final long chunks;
+        private final long polysPerChunk;
+        private final AtomicLong nextChunk = new AtomicLong();
+        // the hits of the chunks that are done, but not reported yet, guarded by itself
+        private final Map<Long, long[]> done = new HashMap<>();
+        private Throwable failure;
+
+        Search(int width, byte[] data, long expected) {
+            this.width = width;
+            this.maskAllBits = ~0L >>> (64 - width);
+            this.topBit = 1L << (width - 1);
+            this.data = data;
+            this.dataReflected = new byte[data.length];
+            for (int i = 0; i < data.length; i++) {
+                dataReflected[i] = (byte) (Integer.reverse(data[i] & 0xFF) >>> 24);
+            }
+            this.expected = expected;
+            this.expectedReflected = reflect(expected);
+            if (width <= CHUNK_BITS) {
+                chunks = 1;
+                polysPerChunk = maskAllBits + 1;
+            } else {
+                chunks = (maskAllBits >>> CHUNK_BITS) + 1;
+                polysPerChunk = 1L << CHUNK_BITS;
+            }
+        }
+
+        private long reflect(long value) {
+            return Long.reverse(value) >>> (64 - width);
+        }
+
+        /**
+         * Computes the register of the normal (MSB first) algorithm, the input bytes are
+         * reflected by the caller if refIn is wanted.
+         */
+        private long register(long poly, long init, byte[] bytes) {
+            long reg = init;
+            int shift = width - 8;
+            for (byte b : bytes) {
+                reg ^= (long) (b & 0xFF) << shift;
+                for (int bit = 0; bit < 8; bit++) {
+                    reg = (reg & topBit) != 0 ? (reg << 1) ^ poly : reg << 1;
+                }
+            }
+            return reg & maskAllBits;
+        }
+
+        /**
+         * Searches the polynomials of a chunk.
+         *
+         * @return the hits, each by two longs: the polynomial, and the index of the combination
+         * of init, refIn, refOut, and xorOut in the order of the BruteForceCRC
+         */
+        private long[] searchChunk(long chunk) {
+            long[] hits = NO_HITS;
+            int count = 0;
+            long first = chunk * polysPerChunk;
+            long last = first + polysPerChunk - 1;
+            for (long poly = first; ; poly++) {
+                // the register of init all bits one, shifted through the zeros of the data
+                long initOnes = shiftZeros(poly, maskAllBits);
+                long normal = register(poly, 0L, data);
+                long reflected = register(poly, 0L, dataReflected);
+                for (int init = 0; init < 2; init++) {
+                    for (int refIn = 0; refIn < 2; refIn++) {
+                        long reg = (refIn == 0 ? normal : reflected) ^ (init == 0 ? 0L : initOnes);
+                        for (int refOut = 0; refOut < 2; refOut++) {
+                            // (refOut ? reflect(reg) : reg) ^ xorOut == expected is the same as
+                            // reg ^ xorOut == (refOut ? reflect(expected) : expected), because
+                            // xorOut is either all bits zero or all bits one
+                            long wanted = refOut == 0 ? expected : expectedReflected;
+                            for (int xor = 0; xor < 2; xor++) {
+                                if ((reg ^ (xor == 0 ? 0L : maskAllBits)) == wanted) {
+                                    if (count + 2 > hits.length) {
+                                        hits = Arrays.copyOf(hits, Math.max(8, hits.length * 2));
+                                    }
+                                    hits[count++] = poly;
+                                    hits[count++] = (init << 3) | (refIn << 2) | (refOut << 1) | xor;
+                                }
+                            }
+                        }
+                    }
+                }
+                if (poly == last) {
+                    break;
+                }
+            }
+            return count == hits.length ? hits : Arrays.copyOf(hits, count);
+        }
+
+        // the register after processing as many zero bytes as the data has, starting with init
+        private long shiftZeros(long poly, long init) {
+            long reg = init;
+            for (int i = 0; i < data.length * 8; i++) {
+                reg = (reg & topBit) != 0 ? (reg << 1) ^ poly : reg << 1;
+            }
+            return reg & maskAllBits;
+        }
+
+        private void work() {
+            try {
+                long chunk;
+                while ((chunk = nextChunk.getAndIncrement()) < chunks) {
+                    long[] hits = searchChunk(chunk);
+                    synchronized (done) {
+                        done.put(chunk, hits);
+                        done.notifyAll();
+                    }
+                }
+            } catch (Throwable t) {
+                synchronized (done) {
+                    failure = t;
+                    nextChunk.set(chunks);
+                    done.notifyAll();
+                }
+            }
+        }
+
+        void run() throws ParameterException {
+            int threads = (int) Math.max(1, Math.min(ThreadControl.getThreadsHashing(), chunks));
+            List<Thread> workers = new ArrayList<>(threads);
+            for (int i = 0; i < threads; i++) {
+                Thread thread = new Thread(this::work, "BruteForceCRC-" + (i + 1));
+                thread.setDaemon(true);
+                workers.add(thread);
+                thread.start();
+            }
+
+            Progress progress = parameters.getVerbose().isInfo() ? new Progress() : null;
+            try {
+                for (long chunk = 0; chunk < chunks; chunk++) {
+                    long[] hits;
+                    synchronized (done) {
+                        while ((hits = done.remove(chunk)) == null && failure == null) {
+                            done.wait(PROGRESS_INTERVAL);
+                            if (progress != null) {
+                                progress.update(chunk);
+                            }
+                        }
+                    }
+                    if (hits == null) {
+                        throw new ParameterException(String.format("The CRC brute forcer has failed: %s", failure));
+                    }
+                    if (hits.length > 0 && progress != null) {
+                        progress.clear();
+                    }
+                    report(hits);
+                    searched = searched.add(BigInteger.valueOf(polysPerChunk * 16));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ParameterException("The CRC brute forcer has been interrupted.");
+            } finally {
+                // stop the workers, if the search has not been completed
+                nextChunk.set(chunks);
+                if (progress != null) {
+                    progress.clear();
+                }
+            }
+        }
+
+        // prints the hits the way the BruteForceCRC does
+        private void report(long[] hits) throws ParameterException {
+            for (int i = 0; i < hits.length; i += 2) {
+                long poly = hits[i];
+                int combination = (int) hits[i + 1];
+                try {
+                    CrcGeneric checksum = new CrcGeneric(width, poly,
+                            (combination & 8) == 0 ? 0L : maskAllBits,
+                            (combination & 4) != 0,
+                            (combination & 2) != 0,
+                            (combination & 1) == 0 ? 0L : maskAllBits);
+                    checksum.setParameters(parameters);
+                    checksum.update(data);
+                    CompareAndFindAlgo action = new CompareAndFindAlgo(checksum, parameters,
+                            parameters.getSequences(), parameters.getExpectedStrings());
+                    action.perform();
+                    found += action.getPositives();
+                } catch (NoSuchAlgorithmException e) {
+                    throw new ParameterException("No such algorithm.");
+                }
+            }
+        }
+
+        /**
+         * Prints the progress and the estimated time of arrival on a single line of stderr.
+         */
+        private final class Progress {
+
+            private final long start = System.currentTimeMillis();
+            private long lastUpdate = start;
+            private int lastLength = 0;
+
+            void update(long chunksDone) {
+                long now = System.currentTimeMillis();
+                if (now - lastUpdate < PROGRESS_INTERVAL) {
+                    return;
+                }
+                lastUpdate = now;
+                double ratio = (double) chunksDone / chunks;
+                String eta = chunksDone == 0 ? "unknown"
+                        : GeneralMath.duration((long) ((now - start) / ratio * (1 - ratio)));
+                String line = String.format("    %.2f %% of the polynomials searched, ETA: %s", ratio * 100, eta);
+                System.err.print("\r" + line + " ".repeat(Math.max(0, lastLength - line.length())));
+                System.err.flush();
+                lastLength = line.length();
+            }
+
+            void clear() {
+                if (lastLength > 0) {
+                    System.err.print("\r" + " ".repeat(lastLength) + "\r");
+                    System.err.flush();
+                    lastLength = 0;
+                }
+            }
+        }
+    }
+
+    @Override
+    public BigInteger getSearched() {
+        return searched;
+    }
+
+    @Override
+    public long getFound() {
+        return found;
+    }
+}
@@ -0,0 +1,351 @@
+/*
+
+
+  Jacksum 4.0.0 - a checksum/hash tool written in Java
+  Copyright (c) 2001-2026 Dipl.-Inf. (FH) Johann N. Löfflmann,
+  All Rights Reserved, <https://jacksum.net>.
+
+  This program is free software: you can redistribute it and/or modify it under
+  the terms of the GNU General Public License as published by the Free Software
+  Foundation, either version 3 of the License, or (at your option) any later
+  version.
+
+  This program is distributed in the hope that it will be useful, but WITHOUT
+  ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+  FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+  details.
+
+  You should have received a copy of the GNU General Public License along with
+  this program. If not, see <https://www.gnu.org/licenses/>.
+
+
+ */
+package net.jacksum.actions.io.findalgo.engines;
+
+import java.math.BigInteger;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import net.jacksum.actions.io.compare.CompareAndFindAlgo;
+import net.jacksum.actions.io.findalgo.FindAlgoEngine;
+import net.jacksum.algorithms.crcs.CrcGeneric;
+import net.jacksum.parameters.ParameterException;
+import net.jacksum.parameters.Parameters;
+import net.jacksum.parameters.Sequence;
+import net.loefflmann.sugar.math.GF2Polynomials;
+
+/**
+ * The SolveCRC is an implementation of an FindAlgoEngine.
+ * It finds the parameters of a CRC algorithm from several sequences and their checksums
+ * (see -q and -e) by arithmetic over GF(2) rather than by trying all polynomials.
+ *
+ * For a CRC with the polynomial P, the checksum of a message M of n bytes is
+ * init*x^(8n) + M*x^width + xorOut mod P, if the checksum is reflected back in case of refOut.
+ * Adding the equations of two messages of the same length eliminates init and xorOut, so P
+ * divides (M1 + M2)*x^width + crc1 + crc2, and the candidates for P are the divisors of the
+ * gcd of those polynomials that have a degree of width. For each candidate, init is solved by
+ * Gaussian elimination if messages have different lengths (otherwise init cannot be told apart
+ * from xorOut, and 0 and all bits one are assumed), and xorOut follows from the first sample.
+ * Every candidate is verified against all samples before it is reported.
+ */
+public class SolveCRC implements FindAlgoEngine {
+
+    // the max. number of polynomials that are tested for each combination of refIn and refOut
+    private static final int MAX_POLYS = 1024;
+    // the max. number of init values that are tested for each polynomial
+    private static final int MAX_INITS = 256;
+
+    private final Parameters parameters;
+    private int searched;
+    private long found;
+
+    public SolveCRC(Parameters parameters) {
+        this.parameters = parameters;
+    }
+
+    @Override
+    public void find(int width) throws ParameterException {
+        if (width < 1 || width > 64) {
+            throw new ParameterException("Bit width " + width + " is not supported by the CRC solver.");
+        }
+        List<Sequence> sequences = parameters.getSequences();
+        List<String> expectations = parameters.getExpectedStrings();
+        int samples = sequences.size();
+        byte[][] data = new byte[samples][];
+        long[] crcs = new long[samples];
+        for (int i = 0; i < samples; i++) {
+            data[i] = sequences.get(i).asBytes();
+            Long crc = CrcValues.decode(parameters, expectations.get(i), width);
+            if (crc == null) {
+                throw new ParameterException(String.format("The CRC solver cannot decode the expected value %s.", expectations.get(i)));
+            }
+            crcs[i] = crc;
+        }
+        if (!hasPairOfSameLength(data)) {
+            throw new ParameterException("The CRC solver requires at least two sequences of the same length.");
+        }
+        if (parameters.getVerbose().isInfo()) {
+            System.err.printf("Solving CRC algorithms with a width of %s bits from %s sequences ...\n", width, samples);
+        }
+
+        List<long[]> models = new ArrayList<>();
+        for (int combination = 0; combination < 4; combination++) {
+            new Solver(width, (combination & 2) != 0, (combination & 1) != 0, data, crcs)
+                    .solve(models, expectations);
+        }
+        // the order of the BruteForceCRC: poly, init, refIn, refOut, xorOut
+        models.sort((a, b) -> {
+            for (int i = 0; i < a.length; i++) {
+                int c = Long.compareUnsigned(a[i], b[i]);
+                if (c != 0) {
+                    return c;
+                }
+            }
+            return 0;
+        });
+        report(width, models);
+    }
+
+    private static boolean hasPairOfSameLength(byte[][] data) {
+        for (int i = 0; i < data.length; i++) {
+            for (int j = i + 1; j < data.length; j++) {
+                if (data[i].length == data[j].length) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // prints the solutions the way the BruteForceCRC does, compared against all pairs of -q and -e
+    private void report(int width, List<long[]> models) throws ParameterException {
+        for (long[] model : models) {
+            try {
+                CrcGeneric checksum = new CrcGeneric(width, model[0], model[1], model[2] != 0, model[3] != 0, model[4]);
+                checksum.setParameters(parameters);
+                checksum.update(parameters.getSequence().asBytes());
+                CompareAndFindAlgo action = new CompareAndFindAlgo(checksum, parameters,
+                        parameters.getSequences(), parameters.getExpectedStrings());
+                action.perform();
+                found += action.getPositives();
+            } catch (NoSuchAlgorithmException e) {
+                throw new ParameterException("No such algorithm.");
+            }
+        }
+    }
+
+    /**
+     * Solves the equations for one combination of refIn and refOut.
+     */
+    private final class Solver {
+
+        private final int width;
+        private final long maskAllBits;
+        private final boolean refIn;
+        private final boolean refOut;
+        private final byte[][] data;
+        // the checksums, reflected back in case of refOut
+        private final long[] crcs;
+
+        Solver(int width, boolean refIn, boolean refOut, byte[][] data, long[] crcs) {
+            this.width = width;
+            this.maskAllBits = ~0L >>> (64 - width);
+            this.refIn = refIn;
+            this.refOut = refOut;
+            this.data = data;
+            this.crcs = new long[crcs.length];
+            for (int i = 0; i < crcs.length; i++) {
+                this.crcs[i] = refOut ? reflect(crcs[i]) : crcs[i];
+            }
+        }
+
+        private long reflect(long value) {
+            return Long.reverse(value) >>> (64 - width);
+        }
+
+        private int input(byte b) {
+            return refIn ? Integer.reverse(b & 0xFF) >>> 24 : b & 0xFF;
+        }
+
+        /**
+         * Computes the register of the normal (MSB first) algorithm bit by bit, so that any
+         * width is supported.
+         */
+        private long register(long poly, long init, byte[] bytes, int length) {
+            long reg = init;
+            for (int n = 0; n < length; n++) {
+                int b = bytes == null ? 0 : input(bytes[n]);
+                for (int bit = 7; bit >= 0; bit--) {
+                    long top = ((reg >>> (width - 1)) ^ (b >>> bit)) & 1;
+                    reg = (reg << 1) & maskAllBits;
+                    if (top != 0) {
+                        reg ^= poly;
+                    }
+                }
+            }
+            return reg;
+        }
+
+        // the message as a polynomial, that is the input bits MSB first
+        private BigInteger message(byte[] bytes) {
+            byte[] array = new byte[bytes.length];
+            for (int i = 0; i < bytes.length; i++) {
+                array[i] = (byte) input(bytes[i]);
+            }
+            return new BigInteger(1, array);
+        }
+
+        void solve(List<long[]> models, List<String> expectations) throws ParameterException {
+            BigInteger gcd = BigInteger.ZERO;
+            for (int i = 0; i < data.length; i++) {
+                for (int j = i + 1; j < data.length; j++) {
+                    if (data[i].length == data[j].length) {
+                        BigInteger g = message(data[i]).xor(message(data[j])).shiftLeft(width)
+                                .xor(BigInteger.valueOf(crcs[i] ^ crcs[j]).and(BigInteger.ONE.shiftLeft(width).subtract(BigInteger.ONE)));
+                        gcd = GF2Polynomials.gcd(gcd, g);
+                    }
+                }
+            }
+            if (gcd.signum() == 0 || GF2Polynomials.degree(gcd) < width) {
+                // identical samples don't tell anything, and a gcd of a lower degree has no
+                // divisors of the degree width
+                return;
+            }
+            for (BigInteger divisor : GF2Polynomials.divisors(gcd, width, MAX_POLYS)) {
+                // the polynomial without its highest term, as in the Rocksoft Model
+                long poly = divisor.clearBit(width).longValue();
+                for (long init : inits(poly)) {
+                    long xorOut = crcs[0] ^ register(poly, init, data[0], data[0].length);
+                    if (refOut) {
+                        xorOut = reflect(xorOut);
+                    }
+                    searched++;
+                    if (verify(poly, init, xorOut, expectations)) {
+                        models.add(new long[]{poly, init, refIn ? 1 : 0, refOut ? 1 : 0, xorOut});
+                    }
+                }
+            }
+        }
+
+        /**
+         * Returns the init values that are consistent with all samples for a polynomial.
+         * The register is linear in init, so crc_i + crc_j = Z_i(init) + Z_j(init) + reg_i + reg_j
+         * where Z_n(init) is the register after init has been shifted through n zero bytes,
+         * and reg is the register with init 0.
+         */
+        private List<Long> inits(long poly) {
+            List<Long> inits = new ArrayList<>();
+            if (!hasDifferentLengths()) {
+                inits.add(0L);
+                inits.add(maskAllBits);
+                return inits;
+            }
+            // a row has a bit for each bit of init, and the right hand side
+            List<long[]> rows = new ArrayList<>();
+            long y0 = crcs[0] ^ register(poly, 0L, data[0], data[0].length);
+            for (int i = 1; i < data.length; i++) {
+                long rhs = y0 ^ crcs[i] ^ register(poly, 0L, data[i], data[i].length);
+                long[] columns = new long[width];
+                for (int j = 0; j < width; j++) {
+                    columns[j] = register(poly, 1L << j, null, data[0].length)
+                            ^ register(poly, 1L << j, null, data[i].length);
+                }
+                for (int k = 0; k < width; k++) {
+                    long row = 0;
+                    for (int j = 0; j < width; j++) {
+                        row |= ((columns[j] >>> k) & 1) << j;
+                    }
+                    rows.add(new long[]{row, (rhs >>> k) & 1});
+                }
+            }
+            // Gaussian elimination, the pivots[j] is the row that determines bit j
+            int[] pivots = new int[width];
+            int rank = 0;
+            for (int j = 0; j < width; j++) {
+                pivots[j] = -1;
+                for (int r = rank; r < rows.size(); r++) {
+                    if ((rows.get(r)[0] >>> j & 1) != 0) {
+                        long[] pivot = rows.get(r);
+                        rows.set(r, rows.get(rank));
+                        rows.set(rank, pivot);
+                        for (int s = 0; s < rows.size(); s++) {
+                            long[] row = rows.get(s);
+                            if (s != rank && (row[0] >>> j & 1) != 0) {
+                                row[0] ^= pivot[0];
+                                row[1] ^= pivot[1];
+                            }
+                        }
+                        pivots[j] = rank++;
+                        break;
+                    }
+                }
+            }
+            for (int r = rank; r < rows.size(); r++) {
+                if (rows.get(r)[1] != 0) {
+                    // inconsistent, the polynomial does not fit
+                    return inits;
+                }
+            }
+            List<Integer> free = new ArrayList<>();
+            for (int j = 0; j < width; j++) {
+                if (pivots[j] < 0) {
+                    free.add(j);
+                }
+            }
+            long solutions = free.size() >= 63 ? Long.MAX_VALUE : 1L << free.size();
+            for (long s = 0; s < solutions && inits.size() < MAX_INITS; s++) {
+                long init = 0;
+                for (int f = 0; f < free.size(); f++) {
+                    init |= ((s >>> f) & 1) << free.get(f);
+                }
+                for (int j = 0; j < width; j++) {
+                    if (pivots[j] >= 0) {
+                        long[] row = rows.get(pivots[j]);
+                        // the bit is the rhs plus the free bits of the row
+                        long bit = row[1] ^ (Long.bitCount(row[0] & init & ~(1L << j)) & 1);
+                        init |= bit << j;
+                    }
+                }
+                inits.add(init);
+            }
+            return inits;
+        }
+
+        private boolean hasDifferentLengths() {
+            for (byte[] bytes : data) {
+                if (bytes.length != data[0].length) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        // verifies a model against all samples, tolerant as the CompareAction is
+        private boolean verify(long poly, long init, long xorOut, List<String> expectations) throws ParameterException {
+            try {
+                for (int i = 0; i < data.length; i++) {
+                    CrcGeneric checksum = new CrcGeneric(width, poly, init, refIn, refOut, xorOut);
+                    checksum.setParameters(parameters);
+                    checksum.update(data[i]);
+                    if (!CrcValues.matches(checksum, expectations.get(i))) {
+                        return false;
+                    }
+                }
+                return true;
+            } catch (NoSuchAlgorithmException e) {
+                throw new ParameterException("No such algorithm.");
+            }
+        }
+    }
+
+    @Override
+    public BigInteger getSearched() {
+        return BigInteger.valueOf(searched);
+    }
+
+    @Override
+    public long getFound() {
+        return found;
+    }
+
+}
@@ -56,11 +56,15 @@ public class MessageConsumerForHashedFiles extends MessageConsumer {
                  filesRead++;
                  files_matches_expectation++;
                  bytesRead += message.getPayload().getSize();
+                 ((StatisticsForHashedFiles)statistics).addFileReadByReadMode(message.getPayload().getReadMode());
+                 ((StatisticsForHashedFiles)statistics).addHashCacheLookup(message.getPayload().getHashCacheHit());
                  printLine(message);
                  break;
             case FILE_HASHED:
                  filesRead++;
                  bytesRead += message.getPayload().getSize();
+                 ((StatisticsForHashedFiles)statistics).addFileReadByReadMode(message.getPayload().getReadMode());
+                 ((StatisticsForHashedFiles)statistics).addHashCacheLookup(message.getPayload().getHashCacheHit());
                  if (!parameters.isExpectation()) {
                      printLine(message);
                  }
@@ -29,6 +29,7 @@ import java.util.List;
 import net.jacksum.actions.io.hash.Header;
 import net.jacksum.compats.defs.CompatibilityProperties;
 import net.jacksum.compats.defs.DefaultCompatibilityProperties;
+import net.jacksum.compats.parsing.DuplicateFinder;
 import net.jacksum.compats.parsing.HashEntry;
 import net.jacksum.compats.parsing.InvalidParserParameterException;
 import net.jacksum.compats.parsing.Parser;
@@ -76,89 +77,151 @@ public class CheckAction implements Action {
         return parserProperties;
     }
 
-    @Override
-    public int perform() throws ParameterException, ExitException {
-        if (parameters.isHeaderWanted()) {
-            new Header(parameters).print();
+    /**
+     * Verifies the files while the check file is being read, see option --check-streaming.
+     * The entries of the check file are not kept, and duplicates are only detected by
+     * reading the check file twice, see option --check-duplicates.
+     */
+    private int performStreaming(Parser parser, CompatibilityProperties parserProperties)
+            throws IOException, NotEvenOneEntryFoundException, ParameterException {
+        Charset charset = Charset.forName(parameters.getCharsetCheckFile());
+
+        HashEntry checkLineEntry = null;
+        if (parameters.getCheckLine() != null) {
+            checkLineEntry = parser.parseOneLine(parameters.getCheckLine());
         }
 
-        CompatibilityProperties parserProperties = buildParserProperties(parameters);
+        long[] skippedLines = new long[0];
+        if (parameters.isCheckDuplicates()) {
+            skippedLines = new DuplicateFinder(parser).find(parameters.getCheckFile(), charset, checkLineEntry);
+        }
 
-        Parser parser;
-        try {
-            parser = new Parser(parserProperties);
-        } catch (InvalidParserParameterException pe) {
-            throw new ParameterException(pe.getMessage());
+        try (StreamedCheckFile source = new StreamedCheckFile(parameters.getCheckFile(),
+                parser.openFile(parameters.getCheckFile(), charset), checkLineEntry, skippedLines, parameters.getEncoding())) {
+            parameters.setCheckEntrySource(source);
+            int exitCode = verify(parser, parserProperties, null);
+            source.throwIfFailed();
+            return exitCode;
+        } finally {
+            parameters.setCheckEntrySource(null);
         }
+    }
 
-        try {
-            List<HashEntry> parsedHashEntries = null;
+    /**
+     * Parses the check file and the check line, and puts the file names of the entries to
+     * the parameters.
+     *
+     * @return the entries of the check file and the check line
+     */
+    private List<HashEntry> parse(Parser parser) throws IOException, NotEvenOneEntryFoundException {
+        List<HashEntry> parsedHashEntries = null;
+
+        if (parameters.getCheckFile() != null) {
+            parsedHashEntries = parser.parseFile(parameters.getCheckFile(),
+                    Charset.forName(parameters.getCharsetCheckFile()));
+        }
+        if (parameters.getCheckLine() != null) {
 
-            if (parameters.getCheckFile() != null) {
-                    parsedHashEntries = parser.parseFile(parameters.getCheckFile(),
-                            Charset.forName(parameters.getCharsetCheckFile()));
+            if (parsedHashEntries == null) {
+                parsedHashEntries = new ArrayList<>();
             }
-            if (parameters.getCheckLine() != null) {
-
-                if (parsedHashEntries == null) {
-                    parsedHashEntries = new ArrayList<>();
-                }
-                HashEntry hashEntry = parser.parseOneLine(parameters.getCheckLine());
-                if (hashEntry != null) {
-                    // the check line can refer to a file that the check file lists as well, so it
-                    // has to pass the duplicate detection like every entry of the check file
-                    parser.addEntry(parsedHashEntries, hashEntry);
-                }
+            HashEntry hashEntry = parser.parseOneLine(parameters.getCheckLine());
+            if (hashEntry != null) {
+                // the check line can refer to a file that the check file lists as well, so it
+                // has to pass the duplicate detection like every entry of the check file
+                parser.addEntry(parsedHashEntries, hashEntry);
             }
+        }
 
-            // if the parameter object does not have stored the filenames yet,
-            // put the filenames from the check file to the parameter object
-            if (parameters.getFilenamesFromCheckFile() == null) {
-
-                // extract the filenames from the parsed file
-                List<String> filenamesInCheckFile = new ArrayList<>();
-                for (HashEntry hashEntry : parsedHashEntries) {
+        // if the parameter object does not have stored the filenames yet,
+        // put the filenames from the check file to the parameter object
+        if (parameters.getFilenamesFromCheckFile() == null) {
 
-                    // System.err.printf("DEBUG: hash: >%s< filename: >%s<\n", hashEntry.getHash(), hashEntry.getFilename());
+            // extract the filenames from the parsed file
+            List<String> filenamesInCheckFile = new ArrayList<>();
+            for (HashEntry hashEntry : parsedHashEntries) {
 
-                    // Note: an entry for standard input (e.g. <stdin> or -) does not need any special
-                    // treatment here, because MessageProducer detects that pseudo name in the list of
-                    // file names from the check file and reads stdin for it. Setting
-                    // setStdinForFilenamesFromArgs(true) would queue stdin a second time and
-                    // print the status of stdin twice.
-                    filenamesInCheckFile.add(hashEntry.getFilename());
-                }
-                parameters.setFilenamesFromCheckFile(filenamesInCheckFile);
+                // System.err.printf("DEBUG: hash: >%s< filename: >%s<\n", hashEntry.getHash(), hashEntry.getFilename());
 
+                // Note: an entry for standard input (e.g. <stdin> or -) does not need any special
+                // treatment here, because MessageProducer detects that pseudo name in the list of
+                // file names from the check file and reads stdin for it. Setting
+                // setStdinForFilenamesFromArgs(true) would queue stdin a second time and
+                // print the status of stdin twice.
+                filenamesInCheckFile.add(hashEntry.getFilename());
             }
+            parameters.setFilenamesFromCheckFile(filenamesInCheckFile);
 
-            consumer = new MessageConsumerOnCheckedFiles(parsedHashEntries);
-            // the format of the check file determines the unit that a file size is stored in
-            consumer.setFilesizeAsByteBlocks(parserProperties.getFilesizeAsByteBlocks());
-            consumer.setParameters(parameters);
+        }
+        return parsedHashEntries;
+    }
 
-            try {
-                Engine engine = new Engine(parameters, consumer);
-                engine.start();
-            } catch (NoSuchAlgorithmException nsae) {
-                throw new ParameterException(nsae.getMessage());
-            }
+    /**
+     * Verifies the files, prints the statistics, and determines the exit code.
+     *
+     * @param parsedHashEntries the entries of the check file, or null if the check file
+     * is being streamed
+     */
+    private int verify(Parser parser, CompatibilityProperties parserProperties, List<HashEntry> parsedHashEntries)
+            throws ParameterException {
+        consumer = new MessageConsumerOnCheckedFiles(parsedHashEntries);
+        // the format of the check file determines the unit that a file size is stored in
+        consumer.setFilesizeAsByteBlocks(parserProperties.getFilesizeAsByteBlocks());
+        consumer.setParameters(parameters);
+        // the consumer has indexed the entries, they are not needed anymore
+        parsedHashEntries = null;
+
+        // files whose size or timestamp differs fail anyway, so they don't need to be hashed
+        parameters.setPreCheck(consumer.createPreCheck());
+        try {
+            Engine engine = new Engine(parameters, consumer);
+            engine.start();
+        } catch (NoSuchAlgorithmException nsae) {
+            throw new ParameterException(nsae.getMessage());
+        } finally {
+            parameters.setPreCheck(null);
+        }
 
+        
+        if (parameters.getVerbose().isSummary()) {               
+            // print statistics from the parsing results    
+            parser.getStatistics().print();                
             
-            if (parameters.getVerbose().isSummary()) {               
-                // print statistics from the parsing results    
-                parser.getStatistics().print();                
-                
-                // print statistics from the consumer
-                consumer.getStatistics().print();
-            }
-            
-            
-            // determine the exit code
-            if (parameters.isCheckStrict() && parser.getStatistics().getImproperlyFormattedLines() > 0) {
-                return ExitCode.CHECKFILE_PARSE_ERROR;
+            // print statistics from the consumer
+            consumer.getStatistics().print();
+        }
+        
+        
+        // determine the exit code
+        if (parameters.isCheckStrict() && parser.getStatistics().getImproperlyFormattedLines() > 0) {
+            return ExitCode.CHECKFILE_PARSE_ERROR;
+        }
+        return consumer.getExitCode();
+    }
+
+    @Override
+    public int perform() throws ParameterException, ExitException {
+        if (parameters.isHeaderWanted()) {
+            new Header(parameters).print();
+        }
+
+        CompatibilityProperties parserProperties = buildParserProperties(parameters);
+
+        Parser parser;
+        try {
+            parser = new Parser(parserProperties);
+        } catch (InvalidParserParameterException pe) {
+            throw new ParameterException(pe.getMessage());
+        }
+
+        try {
+            if (parameters.isCheckStreaming()) {
+                return performStreaming(parser, parserProperties);
             }
-            return consumer.getExitCode();
+
+            // the entries are not referenced by this method, so that they can be released as
+            // soon as the consumer has indexed them, see verify()
+            return verify(parser, parserProperties, parse(parser));
 
         } catch (IOException ex) {
             throw new ExitException(ex.getMessage(), ExitCode.IO_ERROR);
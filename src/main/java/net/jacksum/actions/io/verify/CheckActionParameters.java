@@ -23,6 +23,8 @@ package net.jacksum.actions.io.verify;
 
 import java.util.List;
 import net.jacksum.cli.Verbose;
+import net.jacksum.multicore.manyfiles.CheckEntrySource;
+import net.jacksum.multicore.manyfiles.PreCheck;
 
 /**
  * The parameters for the CheckAction
@@ -42,4 +44,12 @@ public interface CheckActionParameters {
     void setFilenamesFromCheckFile(List<String> filenamesFromCheckFile);
     
     List<String> getFilenamesFromCheckFile();
+
+    boolean isCheckStreaming();
+
+    boolean isCheckDuplicates();
+
+    void setCheckEntrySource(CheckEntrySource checkEntrySource);
+
+    void setPreCheck(PreCheck preCheck);
 }
@@ -0,0 +1,144 @@
+/*
+
+
+  Jacksum 4.0.0 - a checksum/hash tool written in Java
+  Copyright (c) 2001-2026 Dipl.-Inf. (FH) Johann N. Löfflmann,
+  All Rights Reserved, <https://jacksum.net>.
+
+  This program is free software: you can redistribute it and/or modify it under
+  the terms of the GNU General Public License as published by the Free Software
+  Foundation, either version 3 of the License, or (at your option) any later
+  version.
+
+  This program is distributed in the hope that it will be useful, but WITHOUT
+  ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+  FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+  details.
+
+  You should have received a copy of the GNU General Public License along with
+  this program. If not, see <https://www.gnu.org/licenses/>.
+
+
+ */
+package net.jacksum.actions.io.verify;
+
+import java.util.Arrays;
+import java.util.Base64;
+import net.jacksum.compats.parsing.HashEntry;
+import net.jacksum.formats.Encoding;
+import net.jacksum.formats.EncodingDecoding;
+
+/**
+ * An entry of a check file as it is needed for verifying a file. Compared with a
+ * HashEntry it is immutable, it does not keep the permissions, and it keeps the hash
+ * value as the bytes that it encodes rather than as a String if the encoding can be
+ * decoded. That halves the memory that a hash value occupies at least, which counts
+ * if a check file with millions of entries is verified.
+ */
+public final class CheckEntry implements ExpectedEntry {
+
+    private final String filename;
+    // the decoded hash value, or null if the hash value cannot be decoded
+    private final byte[] digest;
+    // the hash value as it has been read, but only if it cannot be decoded
+    private final String hash;
+    private final long filesize;
+    private final String timestamp;
+
+    /**
+     * Creates a CheckEntry from an entry that has been parsed.
+     *
+     * @param hashEntry the entry that has been parsed
+     * @param encoding the encoding of the hash values in the check file
+     */
+    public CheckEntry(HashEntry hashEntry, Encoding encoding) {
+        this.filename = hashEntry.getFilename();
+        this.digest = decode(hashEntry.getHash(), encoding);
+        this.hash = digest == null ? hashEntry.getHash() : null;
+        this.filesize = hashEntry.getFilesize();
+        this.timestamp = hashEntry.getTimestamp();
+    }
+
+    /**
+     * Decodes a hash value, but only if encoding the decoded bytes results in the very
+     * same hash value again (respecting the case-sensitivity of the encoding). Only then
+     * comparing bytes is equivalent to comparing encoded hash values, see hashMatches().
+     *
+     * @param hash the hash value as it has been read
+     * @param encoding the encoding of the hash value
+     * @return the decoded hash value, or null if it cannot be decoded
+     */
+    public static byte[] decode(String hash, Encoding encoding) {
+        if (hash == null || encoding == null) {
+            return null;
+        }
+        byte[] bytes;
+        try {
+            switch (encoding) {
+                case HEX:
+                case HEX_UPPERCASE:
+                case BASE16:
+                    bytes = decodeHex(hash);
+                    break;
+                case BASE64:
+                case BASE64_NOPADDING:
+                    bytes = Base64.getDecoder().decode(hash);
+                    break;
+                case BASE64URL:
+                case BASE64URL_NOPADDING:
+                    bytes = Base64.getUrlDecoder().decode(hash);
+                    break;
+                default:
+                    return null;
+            }
+        } catch (IllegalArgumentException iae) {
+            return null;
+        }
+        if (bytes == null || !Encoding.hashesAreEqual(EncodingDecoding.encodeBytes(bytes, encoding, 0, ' '), hash, encoding)) {
+            return null;
+        }
+        return bytes;
+    }
+
+    // accepts digits only, and an even number of them, so that the round trip in decode() is exact
+    private static byte[] decodeHex(String hash) {
+        if (hash.length() % 2 != 0) {
+            return null;
+        }
+        byte[] bytes = new byte[hash.length() / 2];
+        for (int i = 0; i < bytes.length; i++) {
+            int high = Character.digit(hash.charAt(2 * i), 16);
+            int low = Character.digit(hash.charAt(2 * i + 1), 16);
+            if (high < 0 || low < 0) {
+                return null;
+            }
+            bytes[i] = (byte) ((high << 4) | low);
+        }
+        return bytes;
+    }
+
+    @Override
+    public boolean hashMatches(byte[] actual, Encoding encoding) {
+        if (digest != null) {
+            return Arrays.equals(digest, actual);
+        }
+        return Encoding.hashesAreEqual(EncodingDecoding.encodeBytes(actual, encoding, 0, ' '), hash, encoding);
+    }
+
+    /**
+     * @return the filename
+     */
+    public String getFilename() {
+        return filename;
+    }
+
+    @Override
+    public long getFilesize() {
+        return filesize;
+    }
+
+    @Override
+    public String getTimestamp() {
+        return timestamp;
+    }
+}
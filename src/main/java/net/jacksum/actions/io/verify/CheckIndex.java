@@ -0,0 +1,166 @@
+/*
+
+
+  Jacksum 4.0.0 - a checksum/hash tool written in Java
+  Copyright (c) 2001-2026 Dipl.-Inf. (FH) Johann N. Löfflmann,
+  All Rights Reserved, <https://jacksum.net>.
+
+  This program is free software: you can redistribute it and/or modify it under
+  the terms of the GNU General Public License as published by the Free Software
+  Foundation, either version 3 of the License, or (at your option) any later
+  version.
+
+  This program is distributed in the hope that it will be useful, but WITHOUT
+  ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+  FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+  details.
+
+  You should have received a copy of the GNU General Public License along with
+  this program. If not, see <https://www.gnu.org/licenses/>.
+
+
+ */
+package net.jacksum.actions.io.verify;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.BitSet;
+import net.jacksum.compats.parsing.HashEntry;
+import net.jacksum.formats.Encoding;
+import net.jacksum.formats.EncodingDecoding;
+import net.loefflmann.sugar.util.ByteArena;
+import net.loefflmann.sugar.util.ByteSequenceIndex;
+
+/**
+ * The entries of a check file, indexed by the absolute, normalized path of the file that
+ * they refer to. Paths, hash values, and timestamps are packed into a ByteArena, hash
+ * values as decoded bytes if the encoding allows it, see CheckEntry.decode(), and all other
+ * properties are kept in primitive arrays. Compared with a HashMap of HashEntry objects an
+ * entry costs a few dozen bytes plus its path, and a lookup does not create any object.
+ *
+ * The class is not thread-safe, and the ExpectedEntry that get() returns is reused by the
+ * next call of get(). Once all entries have been added, lookup() can be called by another
+ * thread concurrently with get().
+ */
+public class CheckIndex {
+
+    private final ByteArena arena = new ByteArena();
+    private final ByteSequenceIndex index = new ByteSequenceIndex(arena);
+    private final Encoding encoding;
+
+    // the properties of the entries, indexed by the value that the index maps a path to
+    private long[] hashes = new long[16]; // the address of the hash value, or -1
+    private final BitSet hashesAsText = new BitSet(); // set if a hash value cannot be decoded
+    private long[] filesizes = new long[16];
+    private long[] timestamps = new long[16]; // the address of the timestamp, or -1
+    private int count = 0;
+
+    private final Cursor cursor = new Cursor();
+
+    /**
+     * @param encoding the encoding of the hash values in the check file
+     */
+    public CheckIndex(Encoding encoding) {
+        this.encoding = encoding;
+    }
+
+    /**
+     * Adds an entry. An entry that has been added for the same key before is replaced.
+     *
+     * @param key the absolute, normalized path of the file that the entry refers to
+     * @param hashEntry the entry
+     */
+    public void put(String key, HashEntry hashEntry) {
+        int id = index.get(key);
+        if (id < 0) {
+            id = count++;
+            if (id == hashes.length) {
+                int capacity = hashes.length * 2;
+                hashes = Arrays.copyOf(hashes, capacity);
+                filesizes = Arrays.copyOf(filesizes, capacity);
+                timestamps = Arrays.copyOf(timestamps, capacity);
+            }
+            index.put(key, id);
+        }
+
+        String hash = hashEntry.getHash();
+        byte[] digest = CheckEntry.decode(hash, encoding);
+        if (digest != null) {
+            hashes[id] = arena.add(digest);
+            hashesAsText.clear(id);
+        } else if (hash != null) {
+            hashes[id] = arena.add(hash);
+            hashesAsText.set(id);
+        } else {
+            hashes[id] = -1;
+        }
+        filesizes[id] = hashEntry.getFilesize();
+        timestamps[id] = hashEntry.getTimestamp() == null ? -1 : arena.add(hashEntry.getTimestamp());
+    }
+
+    /**
+     * Returns the entry for a file.
+     *
+     * @param key the absolute, normalized path of the file
+     * @return the entry, or null if the check file does not have an entry for that file
+     */
+    public ExpectedEntry get(String key) {
+        int id = index.get(key);
+        if (id < 0) {
+            return null;
+        }
+        cursor.id = id;
+        return cursor;
+    }
+
+    /**
+     * Returns the entry for a file like get() does, but it does not share any state with
+     * get(), so it can be called by a thread other than the one that calls get(), provided
+     * that no entry is being added anymore. It creates a small object for each entry found.
+     *
+     * @param key the absolute, normalized path of the file
+     * @return the entry, or null if the check file does not have an entry for that file
+     */
+    public ExpectedEntry lookup(String key) {
+        byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+        int id = index.get(bytes, bytes.length);
+        if (id < 0) {
+            return null;
+        }
+        Cursor entry = new Cursor();
+        entry.id = id;
+        return entry;
+    }
+
+    /**
+     * @return the number of entries
+     */
+    public int size() {
+        return count;
+    }
+
+    private class Cursor implements ExpectedEntry {
+
+        private int id;
+
+        @Override
+        public long getFilesize() {
+            return filesizes[id];
+        }
+
+        @Override
+        public String getTimestamp() {
+            return timestamps[id] == -1 ? null : arena.getString(timestamps[id]);
+        }
+
+        @Override
+        public boolean hashMatches(byte[] actual, Encoding encoding) {
+            long address = hashes[id];
+            if (address == -1 || hashesAsText.get(id)) {
+                return Encoding.hashesAreEqual(EncodingDecoding.encodeBytes(actual, encoding, 0, ' '),
+                        address == -1 ? null : arena.getString(address), encoding);
+            }
+            return actual != null && arena.equals(address, actual, 0, actual.length);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+/*
+
+
+  Jacksum 4.0.0 - a checksum/hash tool written in Java
+  Copyright (c) 2001-2026 Dipl.-Inf. (FH) Johann N. Löfflmann,
+  All Rights Reserved, <https://jacksum.net>.
+
+  This program is free software: you can redistribute it and/or modify it under
+  the terms of the GNU General Public License as published by the Free Software
+  Foundation, either version 3 of the License, or (at your option) any later
+  version.
+
+  This program is distributed in the hope that it will be useful, but WITHOUT
+  ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+  FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+  details.
+
+  You should have received a copy of the GNU General Public License along with
+  this program. If not, see <https://www.gnu.org/licenses/>.
+
+
+ */
+package net.jacksum.actions.io.verify;
+
+import net.jacksum.formats.Encoding;
+
+/**
+ * The properties of an entry of a check file that a file is verified against, see
+ * CheckEntry and CheckIndex.
+ */
+public interface ExpectedEntry {
+
+    /**
+     * @return the filesize, or -1 if the check file does not store it
+     */
+    long getFilesize();
+
+    /**
+     * @return the timestamp, or null if the check file does not store it
+     */
+    String getTimestamp();
+
+    /**
+     * Determines whether a digest matches the hash value of the entry. The result is the
+     * same as if the digest was encoded and compared by Encoding.hashesAreEqual().
+     *
+     * @param actual the digest that has been calculated
+     * @param encoding the encoding of the hash values in the check file
+     * @return true if the digest matches the hash value of the entry
+     */
+    boolean hashMatches(byte[] actual, Encoding encoding);
+}
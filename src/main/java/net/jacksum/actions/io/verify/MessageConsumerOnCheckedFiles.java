@@ -22,17 +22,15 @@ package net.jacksum.actions.io.verify;
 
 import java.nio.file.InvalidPathException;
 import java.nio.file.Paths;
-import java.util.HashMap;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 import net.jacksum.algorithms.AbstractChecksum;
 import net.jacksum.compats.parsing.HashEntry;
-import net.jacksum.formats.Encoding;
-import net.jacksum.formats.EncodingDecoding;
 import net.jacksum.formats.FilenameFormatter;
 import net.jacksum.formats.SizeFormatter;
 import net.jacksum.multicore.manyfiles.Message;
 import net.jacksum.multicore.manyfiles.MessageConsumer;
+import net.jacksum.multicore.manyfiles.PreCheck;
 import net.jacksum.cli.ExitCode;
 import net.jacksum.cli.Messenger;
 import static net.jacksum.cli.CLIParameters.__CHECK_STRICT;
@@ -57,7 +55,7 @@ public class MessageConsumerOnCheckedFiles extends MessageConsumer {
     private long filesRead, bytesRead, newFiles, filesWithErrors;
     private CheckConsumerParameters parameters;
     private List<HashEntry> hashEntries;
-    private HashMap<String, HashEntry> map;
+    private CheckIndex index;
     private long matches, mismatches, errors, filesMissing;
     private final Statistics statistics;
     private final Messenger messenger;
@@ -69,22 +67,41 @@ public class MessageConsumerOnCheckedFiles extends MessageConsumer {
         // notRemovedFilesSet = new HashSet<>();
     }
 
+    /**
+     * Creates a consumer that verifies files against a list of entries. The entries are
+     * put to a CheckIndex by setParameters(), because the encoding of the hash values is needed.
+     * If the check file is being streamed, the list is null, and each message carries the
+     * entry that it is verified against, see MessagePayload.getExpected().
+     *
+     * @param list the entries of the check file, or null if the check file is being streamed
+     */
     public MessageConsumerOnCheckedFiles(List<HashEntry> list) {
         this();
         this.hashEntries = list;
+    }
 
-        // Let's put the hashEntries to a map for an indexed access by filename.
-        map = new HashMap<>();
-        hashEntries.forEach(hashEntry -> map.put(key(hashEntry.getFilename()), hashEntry));
+    /**
+     * Returns the entry of the check file that a message refers to.
+     *
+     * @param message the message that has been received
+     * @param filenameAsKey the key of the file name of the message, see key()
+     * @return the entry of the check file, or null if the file is not in the check file
+     */
+    private ExpectedEntry lookup(Message message, String filenameAsKey) {
+        ExpectedEntry expected = message.getPayload().getExpected();
+        if (expected == null && index != null) {
+            expected = index.get(filenameAsKey);
+        }
+        return expected;
     }
 
     /**
-     * Returns the key that a file name of the check file is stored under in the map.
+     * Returns the key that a file name of the check file is stored under in the index.
      * See also handleMessage() which calculates the very same key for the file name
      * of a message that has been received.
      *
      * @param filename a file name as it occurs in the check file
-     * @return the key for the map
+     * @return the key for the index
      */
     private static String key(String filename) {
         // The pseudo name for standard input (e.g. <stdin> or -) does not refer to a file on
@@ -93,7 +110,7 @@ public class MessageConsumerOnCheckedFiles extends MessageConsumer {
         if (filename.equals(AbstractChecksum.getStdinName())) {
             return filename;
         }
-        // we need to put the absolute, normalized path to the hash map in order to detect
+        // we need to put the absolute, normalized path to the index in order to detect
         // unique filenames
         try {
             return Paths.get(filename).toAbsolutePath().normalize().toString();
@@ -125,6 +142,17 @@ public class MessageConsumerOnCheckedFiles extends MessageConsumer {
     public void setParameters(CheckConsumerParameters checkConsumerParameters) {
         this.parameters = checkConsumerParameters;
         messenger.setVerbose(parameters.getVerbose());
+
+        // Let's put the hashEntries to an index for an indexed access by filename. The hash
+        // values are decoded once, so that they don't need to be encoded for each file.
+        if (hashEntries != null) {
+            index = new CheckIndex(parameters.getEncoding());
+            for (HashEntry hashEntry : hashEntries) {
+                index.put(key(hashEntry.getFilename()), hashEntry);
+            }
+            // the parsed entries are not needed anymore
+            hashEntries = null;
+        }
         if (parameters.isTimestampWanted()) {
              timestampFormatter = new TimestampFormatter(parameters);
         }
@@ -140,6 +168,23 @@ public class MessageConsumerOnCheckedFiles extends MessageConsumer {
         }
     }
 
+    /**
+     * Creates the pre-check that lets the producer skip hashing of a file whose size or timestamp
+     * does not match its entry in the check file, because such a file is reported as FAILED
+     * regardless of its hash value. It must be called after setParameters().
+     *
+     * @return the pre-check, or null if every file has to be hashed, i.e. if neither sizes nor
+     * timestamps are being verified, or if option --check-strict has been set which keeps
+     * reading every file, so that a file that cannot be read is always detected
+     */
+    public PreCheck createPreCheck() {
+        if (parameters.isCheckStrict()) {
+            return null;
+        }
+        SizeAndTimestampPreCheck preCheck = new SizeAndTimestampPreCheck(index, parameters, filesizeAsByteBlocks);
+        return preCheck.isEffective() ? preCheck : null;
+    }
+
     // in order to warn only once, and not for every single entry, see warnTimestampNotAvailable()
     private boolean timestampNotAvailableWarned = false;
 
@@ -209,9 +254,15 @@ public class MessageConsumerOnCheckedFiles extends MessageConsumer {
         switch (message.getType()) {
             case FILE_HASHED:
             case FILE_HASHED_AND_MATCHES_EXPECTATION:
-                // some statistics
-                filesRead++;
-                bytesRead += message.getPayload().getSize();
+            case FILE_FAILED_PRECHECK:
+                // some statistics; a file that has failed the pre-check has not been read, but the
+                // payload carries its size and attributes, so it is compared below like any other file
+                if (message.getType() != Message.Type.FILE_FAILED_PRECHECK) {
+                    filesRead++;
+                    bytesRead += message.getPayload().getSize();
+                    ((StatisticsOnCheckedFiles) statistics).addFileReadByReadMode(message.getPayload().getReadMode());
+                    ((StatisticsOnCheckedFiles) statistics).addHashCacheLookup(message.getPayload().getHashCacheHit());
+                }
 
                 filenameAsKey = null;
                 // set the filename
@@ -231,35 +282,36 @@ public class MessageConsumerOnCheckedFiles extends MessageConsumer {
                 
                 
                 
+                ExpectedEntry expected = lookup(message, filenameAsKey);
                 // is it a file that we can compare ...?
-                if (map.containsKey(filenameAsKey)) {
+                if (expected != null) {
 
                     boolean cont = true;
                     
-                    // check if filesize is available in the map; the size has to be compared in the
+                    // check if filesize is available in the index; the size has to be compared in the
                     // unit that the check file stores it in, see setFilesizeAsByteBlocks()
                     long actualFilesize = SizeFormatter.lengthInUnitOfFormat(message.getPayload().getSize(), filesizeAsByteBlocks);
-                    if (!parameters.isIgnoreSizes() && map.get(filenameAsKey).getFilesize() > -1 && map.get(filenameAsKey).getFilesize() != actualFilesize) {
+                    if (!parameters.isIgnoreSizes() && expected.getFilesize() > -1 && expected.getFilesize() != actualFilesize) {
                             print(filter.isFilterFailed(), FAILED, filename);
                             if (!parameters.isList() && parameters.getVerbose().isInfo()) {
-                                System.err.printf("           [filesize expected: %s, actual: %s]\n", map.get(filenameAsKey).getFilesize(), actualFilesize);
+                                System.err.printf("           [filesize expected: %s, actual: %s]\n", expected.getFilesize(), actualFilesize);
                             }
                             mismatches++;
                             cont = false;
                     }
 
-                    // check the timestamp if timestamp is available in the map
-                    if (cont && !parameters.isIgnoreTimestamps() && map.get(filenameAsKey).getTimestamp() != null) {
+                    // check the timestamp if timestamp is available in the index
+                    if (cont && !parameters.isIgnoreTimestamps() && expected.getTimestamp() != null) {
                         // a timestamp is only available if the data comes from a file, so there is
                         // nothing to compare for standard input or an NTFS alternate data stream
                         if (timestampFormatter == null || message.getPayload().getBasicFileAttributes() == null) {
                             warnTimestampNotAvailable(filename);
                         } else {
                             String actualTimestampAsString = timestampFormatter.format(message.getPayload().getBasicFileAttributes().lastModifiedTime().to(TimeUnit.MILLISECONDS));
-                            if (!map.get(filenameAsKey).getTimestamp().equals(actualTimestampAsString)) {
+                            if (!expected.getTimestamp().equals(actualTimestampAsString)) {
                                 print(filter.isFilterFailed(), FAILED, filename);
                                 if (!parameters.isList() && parameters.getVerbose().isInfo()) {
-                                    System.err.printf("           [timestamp expected: %s, actual: %s]\n", map.get(filenameAsKey).getTimestamp(), actualTimestampAsString);
+                                    System.err.printf("           [timestamp expected: %s, actual: %s]\n", expected.getTimestamp(), actualTimestampAsString);
                                 }
                                 mismatches++;
                                 cont = false;
@@ -278,11 +330,8 @@ public class MessageConsumerOnCheckedFiles extends MessageConsumer {
                     if (cont && !parameters.isIgnoreHashes()) {
                         // compare the hashes: OK or FAILED
                         // the comparison is tolerant regarding upper and lower case if the
-                        // alphabet of the encoding allows it, see Encoding.hashesAreEqual()
-                        if (Encoding.hashesAreEqual(
-                                EncodingDecoding.encodeBytes(message.getPayload().getDigest(), parameters.getEncoding(), 0, ' '),
-                                map.get(filenameAsKey).getHash(),
-                                parameters.getEncoding())) {
+                        // alphabet of the encoding allows it, see CheckEntry.hashMatches()
+                        if (expected.hashMatches(message.getPayload().getDigest(), parameters.getEncoding())) {
                             print(filter.isFilterOk(), OK, filename);
                             matches++;
                             cont = false;
@@ -325,7 +374,7 @@ public class MessageConsumerOnCheckedFiles extends MessageConsumer {
                     filenameAsKey = filename;
                 }
 
-                if (!map.containsKey(filenameAsKey)) {
+                if (lookup(message, filenameAsKey) == null) {
                     print(filter.isFilterNew(), NEW, filename);
                     newFiles++;
                 }
@@ -350,7 +399,7 @@ public class MessageConsumerOnCheckedFiles extends MessageConsumer {
                     filenameAsKey = filename;
                 }
 
-                if (map.containsKey(filenameAsKey)) {
+                if (lookup(message, filenameAsKey) != null) {
                     if (message.getPayload().isFileNotFound()) {
                         print(filter.isFilterMissing(), MISSING, filename);
                         hintStyleIfFilenameStartsWithSpace(filename);
@@ -0,0 +1,85 @@
+/*
+
+
+  Jacksum 4.0.0 - a checksum/hash tool written in Java
+  Copyright (c) 2001-2026 Dipl.-Inf. (FH) Johann N. Löfflmann,
+  All Rights Reserved, <https://jacksum.net>.
+
+  This program is free software: you can redistribute it and/or modify it under
+  the terms of the GNU General Public License as published by the Free Software
+  Foundation, either version 3 of the License, or (at your option) any later
+  version.
+
+  This program is distributed in the hope that it will be useful, but WITHOUT
+  ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+  FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+  details.
+
+  You should have received a copy of the GNU General Public License along with
+  this program. If not, see <https://www.gnu.org/licenses/>.
+
+
+ */
+package net.jacksum.actions.io.verify;
+
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.concurrent.TimeUnit;
+import net.jacksum.formats.SizeFormatter;
+import net.jacksum.formats.TimestampFormatter;
+import net.jacksum.multicore.manyfiles.PreCheck;
+
+/**
+ * Compares the size and the timestamp of a file with its entry in the check file before
+ * the file is being hashed. The comparisons are exactly those of MessageConsumerOnCheckedFiles,
+ * which reports a file as FAILED without looking at the hash value if one of them fails.
+ * The consumer repeats them on the very same attributes, so it prints the same status and
+ * the same details as if the file had been hashed.
+ */
+class SizeAndTimestampPreCheck implements PreCheck {
+
+    private final CheckIndex index;
+    private final CheckConsumerParameters parameters;
+    private final long filesizeAsByteBlocks;
+    // not shared with the consumer, because a SimpleDateFormat is not thread-safe
+    private final TimestampFormatter timestampFormatter;
+
+    /**
+     * @param index the entries of the check file, or null if the check file is being streamed
+     * @param parameters the parameters of the consumer
+     * @param filesizeAsByteBlocks the unit that the check file stores the file size in, see
+     * MessageConsumerOnCheckedFiles.setFilesizeAsByteBlocks()
+     */
+    SizeAndTimestampPreCheck(CheckIndex index, CheckConsumerParameters parameters, long filesizeAsByteBlocks) {
+        this.index = index;
+        this.parameters = parameters;
+        this.filesizeAsByteBlocks = filesizeAsByteBlocks;
+        this.timestampFormatter = parameters.isTimestampWanted() ? new TimestampFormatter(parameters) : null;
+    }
+
+    /**
+     * Determines whether the pre-check can find a failure at all.
+     *
+     * @return false if neither sizes nor timestamps are being verified
+     */
+    boolean isEffective() {
+        return !parameters.isIgnoreSizes() || (!parameters.isIgnoreTimestamps() && timestampFormatter != null);
+    }
+
+    @Override
+    public boolean fails(Path path, CheckEntry expected, BasicFileAttributes attributes) {
+        ExpectedEntry entry = expected;
+        if (entry == null && index != null) {
+            entry = index.lookup(path.toAbsolutePath().normalize().toString());
+        }
+        if (entry == null) {
+            return false;
+        }
+        if (!parameters.isIgnoreSizes() && entry.getFilesize() > -1
+                && entry.getFilesize() != SizeFormatter.lengthInUnitOfFormat(attributes.size(), filesizeAsByteBlocks)) {
+            return true;
+        }
+        return !parameters.isIgnoreTimestamps() && timestampFormatter != null && entry.getTimestamp() != null
+                && !entry.getTimestamp().equals(timestampFormatter.format(attributes.lastModifiedTime().to(TimeUnit.MILLISECONDS)));
+    }
+}
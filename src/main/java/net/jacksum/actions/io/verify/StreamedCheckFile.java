@@ -0,0 +1,131 @@
+/*
+
+
+  Jacksum 4.0.0 - a checksum/hash tool written in Java
+  Copyright (c) 2001-2026 Dipl.-Inf. (FH) Johann N. Löfflmann,
+  All Rights Reserved, <https://jacksum.net>.
+
+  This program is free software: you can redistribute it and/or modify it under
+  the terms of the GNU General Public License as published by the Free Software
+  Foundation, either version 3 of the License, or (at your option) any later
+  version.
+
+  This program is distributed in the hope that it will be useful, but WITHOUT
+  ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+  FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+  details.
+
+  You should have received a copy of the GNU General Public License along with
+  this program. If not, see <https://www.gnu.org/licenses/>.
+
+
+ */
+package net.jacksum.actions.io.verify;
+
+import java.io.Closeable;
+import java.io.IOException;
+import net.jacksum.compats.parsing.HashEntry;
+import net.jacksum.compats.parsing.Parser;
+import net.jacksum.formats.Encoding;
+import net.jacksum.multicore.manyfiles.CheckEntrySource;
+
+/**
+ * Delivers the entries of a check file while it is being read, see option
+ * --check-streaming. Only the entry that is being delivered is kept in memory, and
+ * the queues of the Engine limit the number of entries that are in flight.
+ *
+ * Errors cannot be thrown by next(), because it is called by the producer thread, so
+ * they are kept and thrown by throwIfFailed() after the Engine has finished.
+ */
+public class StreamedCheckFile implements CheckEntrySource, Closeable {
+
+    private final String filename;
+    private final Encoding encoding;
+    private Parser.EntryReader reader;
+    private HashEntry checkLineEntry;
+
+    // the line numbers of the entries that are replaced by a later entry, see DuplicateFinder
+    private final long[] skippedLines;
+    private int skippedLinesIndex = 0;
+
+    private long entriesRead = 0;
+    private IOException ioException = null;
+
+    /**
+     * @param filename the name of the check file
+     * @param reader the reader of the check file
+     * @param checkLineEntry the entry of option --check-line, or null
+     * @param skippedLines the line numbers of the entries that should be skipped, sorted
+     * in ascending order
+     * @param encoding the encoding of the hash values in the check file
+     */
+    public StreamedCheckFile(String filename, Parser.EntryReader reader, HashEntry checkLineEntry, long[] skippedLines, Encoding encoding) {
+        this.filename = filename;
+        this.reader = reader;
+        this.checkLineEntry = checkLineEntry;
+        this.skippedLines = skippedLines;
+        this.encoding = encoding;
+    }
+
+    @Override
+    public CheckEntry next() {
+        if (reader != null) {
+            try {
+                HashEntry hashEntry;
+                while ((hashEntry = reader.next()) != null) {
+                    entriesRead++;
+                    if (skippedLinesIndex < skippedLines.length
+                            && skippedLines[skippedLinesIndex] == reader.getLineNumber()) {
+                        skippedLinesIndex++;
+                        continue;
+                    }
+                    return new CheckEntry(hashEntry, encoding);
+                }
+            } catch (IOException ioe) {
+                ioException = ioe;
+            }
+            closeReader();
+        }
+        // the check line is verified after all entries of the check file, so it wins if
+        // it refers to a file that the check file lists as well
+        if (checkLineEntry != null) {
+            HashEntry hashEntry = checkLineEntry;
+            checkLineEntry = null;
+            return new CheckEntry(hashEntry, encoding);
+        }
+        return null;
+    }
+
+    /**
+     * Throws the error that has occurred while the check file has been read, if any.
+     *
+     * @throws IOException if an I/O error has occurred
+     * @throws NotEvenOneEntryFoundException if not even one entry has been found
+     */
+    public void throwIfFailed() throws IOException, NotEvenOneEntryFoundException {
+        if (ioException != null) {
+            throw ioException;
+        }
+        if (entriesRead == 0) {
+            throw new NotEvenOneEntryFoundException(Parser.notEvenOneEntryFoundMessage(filename));
+        }
+    }
+
+    private void closeReader() {
+        try {
+            reader.close();
+        } catch (IOException ioe) {
+            if (ioException == null) {
+                ioException = ioe;
+            }
+        }
+        reader = null;
+    }
+
+    @Override
+    public void close() {
+        if (reader != null) {
+            closeReader();
+        }
+    }
+}
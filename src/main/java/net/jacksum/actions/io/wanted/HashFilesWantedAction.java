@@ -72,6 +72,11 @@ public class HashFilesWantedAction implements Action {
         }
 
         consumer = new MessageConsumerForWantedFiles(parameters, hashEntries);
+        // the consumer indexes the entries, so they are not referenced here anymore
+        hashEntries = null;
+        if (wantedHashes != null) {
+            wantedHashes.releaseParsedHashEntries();
+        }
 
         try {
             Engine engine = new Engine(parameters, consumer);
@@ -33,10 +33,7 @@ import net.jacksum.multicore.manyfiles.MessageConsumer;
 import net.jacksum.parameters.Parameters;
 import net.jacksum.statistics.Statistics;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.TreeMap;
 
 public class MessageConsumerForWantedFiles extends MessageConsumer {
 
@@ -45,7 +42,8 @@ public class MessageConsumerForWantedFiles extends MessageConsumer {
     private Parameters parameters;
     private Statistics statistics;
     private List<HashEntry> hashEntries;
-    private Map<String, HashEntry> map;
+    private int numberOfWantedHashes;
+    private WantedIndex index;
     private Messenger messenger;
     private long found = 0;
     private long notfound = 0;
@@ -60,34 +58,28 @@ public class MessageConsumerForWantedFiles extends MessageConsumer {
         this();
         this.parameters = parameters;
         this.hashEntries = list;
+        this.numberOfWantedHashes = list == null ? 0 : list.size();
         this.messenger.setVerbose(parameters.getVerbose());
         filter = parameters.getWantedListFilter();
     }
 
     /**
-     * Returns the wanted hashes, mapped for an indexed access by hash.
+     * Returns the wanted hashes, indexed by hash.
      *
-     * The map is created on demand, because it depends on the encoding of the
+     * The index is created on demand, because it depends on the encoding of the
      * hash values: if the alphabet of the encoding is case-insensitive, the
      * lookup is case-insensitive as well, see also Encoding.hashesAreEqual().
      *
-     * @return the wanted hashes, mapped for an indexed access by hash
+     * @return the wanted hashes, indexed by hash
      */
-    private Map<String, HashEntry> getWantedHashes() {
-        if (map == null) {
+    private WantedIndex getWantedHashes() {
+        if (index == null) {
             Encoding encoding = formatPreferences == null ? null : formatPreferences.getEncoding();
-            map = (encoding == null || encoding.isCaseSensitive())
-                    ? new HashMap<>()
-                    : new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
-            if (hashEntries != null) {
-                hashEntries.forEach(hashEntry -> {
-                    if (hashEntry.getHash() != null) {
-                        map.put(hashEntry.getHash(), hashEntry);
-                    }
-                });
-            }
+            index = new WantedIndex(hashEntries == null ? List.of() : hashEntries, encoding);
+            // the parsed entries are not needed anymore
+            hashEntries = null;
         }
-        return map;
+        return index;
     }
 
     @Override
@@ -98,16 +90,20 @@ public class MessageConsumerForWantedFiles extends MessageConsumer {
             case FILE_HASHED_AND_MATCHES_EXPECTATION:
                  filesRead++;
                  bytesRead += message.getPayload().getSize();
+                 ((StatisticsForHashedFiles)statistics).addFileReadByReadMode(message.getPayload().getReadMode());
+                 ((StatisticsForHashedFiles)statistics).addHashCacheLookup(message.getPayload().getHashCacheHit());
 
-                 String hash = EncodingDecoding.encodeBytes(message.getPayload().getDigest(), formatPreferences.getEncoding(), 0, ' ');
                  String filename = message.getPayload().getPath() == null ? "<stdin>" : message.getPayload().getPath().normalize().toString();
 
-                 if (getWantedHashes().containsKey(hash)) {
+                 // the digest is looked up as it is, it is encoded only if it has to be printed
+                 int id = getWantedHashes().find(message.getPayload().getDigest());
+                 if (id >= 0) {
                      found++;
-                     print(filter.isFilterMatch(), "MATCH", filename, getWantedHashes().get(hash).getFilename());
+                     print(filter.isFilterMatch(), "MATCH", filename, getWantedHashes().getComment(id));
                  } else {
                      notfound++;
-                     print(filter.isFilterNoMatch(), "NO MATCH", filename, hash);
+                     print(filter.isFilterNoMatch(), "NO MATCH", filename,
+                             EncodingDecoding.encodeBytes(message.getPayload().getDigest(), formatPreferences.getEncoding(), 0, ' '));
                  }
                  break;
             case ERROR:
@@ -155,7 +151,7 @@ public class MessageConsumerForWantedFiles extends MessageConsumer {
         ((StatisticsForHashedFiles)statistics).setFilesRead(filesRead);
         ((StatisticsForHashedFiles)statistics).setErrors(errors);
         ((StatisticsForHashedFiles)statistics).setBytesRead(bytesRead);
-        ((StatisticsForHashedFiles)statistics).setTotalNumberOfWantedHashes(hashEntries.size());
+        ((StatisticsForHashedFiles)statistics).setTotalNumberOfWantedHashes(numberOfWantedHashes);
         if (parameters.isWantedList() || parameters.isExpectation()) {
             ((StatisticsForHashedFiles)statistics).setFilesMatchesWanted(found);
             ((StatisticsForHashedFiles)statistics).setFilesNoMatchesWanted(notfound);
@@ -87,6 +87,11 @@ public class WantedHashes {
         return parsedHashEntries;
     }
 
+    // the entries can be released as soon as they have been passed to the consumer
+    public void releaseParsedHashEntries() {
+        parsedHashEntries = null;
+    }
+
     // -------------------------- private methods ----------------------------------- //
     private CompatibilityProperties buildParserProperties(Parameters parameters) throws ParameterException {
         CompatibilityProperties parserProperties;
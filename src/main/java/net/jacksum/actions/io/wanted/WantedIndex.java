@@ -0,0 +1,111 @@
+/*
+
+
+  Jacksum 4.0.0 - a checksum/hash tool written in Java
+  Copyright (c) 2001-2026 Dipl.-Inf. (FH) Johann N. Löfflmann,
+  All Rights Reserved, <https://jacksum.net>.
+
+  This program is free software: you can redistribute it and/or modify it under
+  the terms of the GNU General Public License as published by the Free Software
+  Foundation, either version 3 of the License, or (at your option) any later
+  version.
+
+  This program is distributed in the hope that it will be useful, but WITHOUT
+  ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+  FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+  details.
+
+  You should have received a copy of the GNU General Public License along with
+  this program. If not, see <https://www.gnu.org/licenses/>.
+
+
+ */
+package net.jacksum.actions.io.wanted;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import net.jacksum.actions.io.verify.CheckEntry;
+import net.jacksum.compats.parsing.HashEntry;
+import net.jacksum.formats.Encoding;
+import net.jacksum.formats.EncodingDecoding;
+import net.loefflmann.sugar.util.ByteArena;
+import net.loefflmann.sugar.util.ByteSequenceIndex;
+
+/**
+ * The wanted hashes, indexed by hash value. A hash value is stored as the bytes that it
+ * encodes if the encoding can be decoded exactly, see CheckEntry.decode(), so that the digest of a file is looked
+ * up as it is, without being encoded and without creating any object. Other hash values
+ * are stored as text, lowercase if the alphabet of the encoding is case-insensitive, see
+ * also Encoding.hashesAreEqual(). Hash values and comments are packed into a ByteArena.
+ *
+ * The class is not thread-safe.
+ */
+public class WantedIndex {
+
+    private final ByteArena arena = new ByteArena();
+    private final ByteSequenceIndex digests = new ByteSequenceIndex(arena);
+    private final ByteSequenceIndex texts = new ByteSequenceIndex(arena);
+    private final Encoding encoding;
+
+    // the address of the comment of an entry (usually a file name), or -1
+    private long[] comments = new long[16];
+    private int count = 0;
+
+    /**
+     * @param hashEntries the wanted hashes
+     * @param encoding the encoding of the wanted hashes
+     */
+    public WantedIndex(List<HashEntry> hashEntries, Encoding encoding) {
+        this.encoding = encoding;
+        for (HashEntry hashEntry : hashEntries) {
+            String hash = hashEntry.getHash();
+            if (hash == null) {
+                continue;
+            }
+            if (count == comments.length) {
+                comments = Arrays.copyOf(comments, count * 2);
+            }
+            comments[count] = hashEntry.getFilename() == null ? -1 : arena.add(hashEntry.getFilename());
+            // a hash value that occurs more than once is mapped to the entry that has been read last
+            byte[] digest = CheckEntry.decode(hash, encoding);
+            if (digest != null) {
+                digests.put(digest, digest.length, count);
+            } else {
+                texts.put(text(hash), count);
+            }
+            count++;
+        }
+    }
+
+    private String text(String hash) {
+        return (encoding == null || encoding.isCaseSensitive()) ? hash : hash.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Looks up the digest of a file.
+     *
+     * @param digest the digest of the file
+     * @return the id of the entry, or -1 if the digest is not wanted
+     */
+    public int find(byte[] digest) {
+        if (digest != null && digests.size() > 0) {
+            int id = digests.get(digest, digest.length);
+            if (id >= 0) {
+                return id;
+            }
+        }
+        if (texts.size() > 0) {
+            return texts.get(text(EncodingDecoding.encodeBytes(digest, encoding, 0, ' ')));
+        }
+        return -1;
+    }
+
+    /**
+     * @param id the id of an entry, see find()
+     * @return the comment of the entry, or null if the entry does not have one
+     */
+    public String getComment(int id) {
+        return comments[id] == -1 ? null : arena.getString(comments[id]);
+    }
+}
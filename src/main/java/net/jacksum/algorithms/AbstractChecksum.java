@@ -28,13 +28,25 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.Arrays;
+import java.util.concurrent.Semaphore;
 import java.util.zip.Checksum;
 import net.jacksum.formats.Encoding;
 import net.jacksum.formats.Formatter;
+import net.jacksum.multicore.ThreadControl;
 import net.jacksum.parameters.Sequence;
 import net.jacksum.parameters.combined.ChecksumParameters;
+import net.loefflmann.sugar.io.BufferCleaner;
 
 /**
  * An abstract class that is actually the parent of all algorithms.
@@ -43,6 +55,12 @@ abstract public class AbstractChecksum implements Checksum {
 
     public final static int BUFFERSIZE = 64 * 1024; //65536; // 64 KiB
 
+    // files that are smaller are read by a FileChannel even if ReadMode.MMAP is wanted,
+    // because mapping a small file costs more than reading it
+    public final static long MMAP_THRESHOLD = 16 * 1024 * 1024; // 16 MiB
+    // the size of the window that is mapped into memory at once
+    public final static long MMAP_WINDOWSIZE = 64 * 1024 * 1024; // 64 MiB
+
     protected long length;
     protected String filename;
     protected long timestamp;
@@ -57,6 +75,18 @@ abstract public class AbstractChecksum implements Checksum {
     protected Formatter formatter;
 
     protected static String stdinName = "<stdin>";
+    protected static ReadMode readMode = ReadMode.DEFAULT;
+
+    // the read mode that has been used actually by the last readFile() resp. readStdin()
+    protected ReadMode readModeUsed = null;
+
+    // reusable buffers, see readFile() and update(ByteBuffer, boolean), allocated on first use
+    private byte[] scratch = null;
+    private ByteBuffer directBuffer = null;
+
+    // limits the number of threads that are hashing data read by readFile() resp. readStdin()
+    // at the same time, see setDigestPermits()
+    private Semaphore digestPermits = null;
 
     /**
      * Creates an AbstractChecksum.
@@ -181,38 +211,73 @@ abstract public class AbstractChecksum implements Checksum {
             throw new NullPointerException();
         }
 
-        ByteBuffer buffer = byteBuffer.asReadOnlyBuffer();
-
-        int work
-                = ignorePointers ? buffer.capacity() : buffer.remaining();
-        int start
-                = ignorePointers ? 0 : buffer.position();
-        int end
-                = ignorePointers ? buffer.capacity() : buffer.limit();
-
-        int sliceSize = BUFFERSIZE;
-        int fullSlices = work / sliceSize;
-        byte[] bytes = new byte[sliceSize];
-        for (int i = 0; i < fullSlices; i++) {
-            int pos = start + (i * sliceSize);
-            buffer.limit(pos + sliceSize);
-            buffer.position(pos);
-            ByteBuffer slice = buffer.slice();
-            slice.get(bytes);
-            update(bytes);
+        if (ignorePointers) {
+            int position = byteBuffer.position();
+            int limit = byteBuffer.limit();
+            byteBuffer.limit(byteBuffer.capacity());
+            byteBuffer.position(0);
+            try {
+                updateBuffer(byteBuffer);
+            } finally {
+                // restore the buffer's pointers
+                byteBuffer.limit(limit);
+                byteBuffer.position(position);
+            }
+        } else {
+            updateBuffer(byteBuffer);
+        }
+    }
+
+    /**
+     * Updates the current checksum with the remaining bytes of the specified
+     * ByteBuffer, that is with the bytes from its position up to its limit.
+     * Upon return, the buffer's position will be equal to its limit, its limit
+     * will not have changed.
+     *
+     * This is the method that all update(ByteBuffer) calls end up in. The
+     * default implementation hands over the backing array of a heap buffer
+     * without a copy, and it copies the content of a direct, a mapped or a
+     * read-only buffer slice by slice into an array that is reused for all
+     * slices, so no memory is allocated per call. Algorithms that can process
+     * a ByteBuffer natively (e.g. a MessageDigest or a java.util.zip.Checksum)
+     * should override this method.
+     *
+     * @param byteBuffer the ByteBuffer, must not be null
+     * @since Jacksum 4.0.0
+     */
+    protected void updateBuffer(ByteBuffer byteBuffer) {
+        int start = byteBuffer.position();
+        int end = byteBuffer.limit();
+
+        if (byteBuffer.hasArray()) {
+            // a heap buffer, let's hand over the backing array, there is no need for a copy
+            update(byteBuffer.array(), byteBuffer.arrayOffset() + start, end - start);
+        } else {
+            // a direct, a mapped, or a read-only buffer, so we have to copy the data
+            // slice by slice, but we reuse the very same array for all slices.
+            // The absolute bulk get() doesn't touch the buffer's pointers.
+            byte[] bytes = getScratch();
+            int pos = start;
+            while (pos < end) {
+                int len = Math.min(bytes.length, end - pos);
+                byteBuffer.get(pos, bytes, 0, len);
+                update(bytes, 0, len);
+                pos += len;
+            }
         }
-        // get the rest as bytes
-        int rest = work - (fullSlices * sliceSize);
-        buffer.limit(end);
-        buffer.position(end - rest);
-        ByteBuffer slice = buffer.slice();
-        slice.get(bytes, 0, rest);
-        update(bytes, 0, rest);
-
-        // update the byteBuffer's position pointer
-        if (!ignorePointers) {
-            byteBuffer.position(end);
+        byteBuffer.position(end);
+    }
+
+    /**
+     * Returns the reusable array of BUFFERSIZE bytes of this instance.
+     *
+     * @return the reusable array
+     */
+    private byte[] getScratch() {
+        if (scratch == null) {
+            scratch = new byte[BUFFERSIZE];
         }
+        return scratch;
     }
 
     /**
@@ -455,34 +520,216 @@ abstract public class AbstractChecksum implements Checksum {
             setTimestamp(filename);
         }
 
-        InputStream is = null;
-        InputStream bis = null;
-        long lengthBackup;
+        FileChannel channel = null;
+        if (readMode != ReadMode.STREAM) {
+            Path path = regularFile(filename);
+            if (path != null) {
+                try {
+                    channel = FileChannel.open(path, StandardOpenOption.READ);
+                } catch (FileSystemException e) {
+                    // e.g. access denied, let the stream report the error as usual
+                    channel = null;
+                }
+            }
+        }
 
-        // http://java.sun.com/developer/TechTips/1998/tt0915.html#tip2
+        if (reset) {
+            reset();
+        }
+        long lengthBackup = length;
+        if (channel == null) {
+            readStream(filename);
+            readModeUsed = ReadMode.STREAM;
+        } else {
+            try (FileChannel fc = channel) {
+                long size = fc.size();
+                if (length == 0 && ThreadControl.getThreadsHashing() > 1 && readConcurrently(fc, size)) {
+                    readModeUsed = ReadMode.MMAP;
+                } else if (readMode == ReadMode.MMAP && size >= MMAP_THRESHOLD) {
+                    readMapped(fc, size);
+                    readModeUsed = ReadMode.MMAP;
+                } else {
+                    readChannel(fc);
+                    readModeUsed = ReadMode.CHANNEL;
+                }
+            }
+        }
+        return length - lengthBackup;
+    }
+
+    /**
+     * Hashes a regular file by more than one thread if the algorithm supports
+     * it, see also net.jacksum.multicore.manyparts.ConcurrentParts. It is
+     * called by readFile() only if nothing has been hashed since the last
+     * reset() and if more than one thread is allowed for hashing. The default
+     * implementation returns false, in which case the file is read
+     * sequentially.
+     *
+     * @param channel the FileChannel of the regular file
+     * @param size the size of the file
+     * @return true if the file has been hashed, false otherwise
+     * @throws IOException if an I/O error occurs
+     * @since Jacksum 4.0.0
+     */
+    protected boolean readConcurrently(FileChannel channel, long size) throws IOException {
+        return false;
+    }
+
+    /**
+     * Returns the path of a file if it is a regular file that can be read by a
+     * FileChannel. Named pipes, devices (e.g. /dev/sda), and file names that a
+     * Path object does not support (e.g. partitions such as "\\.\c:\" or NTFS
+     * alternate data streams on Microsoft Windows) have to be read by a stream.
+     *
+     * @param filename the name of the file
+     * @return the path of the regular file, or null if it is not a regular file
+     */
+    private static Path regularFile(String filename) {
         try {
-            is = new FileInputStream(filename);
-            bis = new BufferedInputStream(is);
+            Path path = Paths.get(filename);
+            return Files.isRegularFile(path) ? path : null;
+        } catch (InvalidPathException e) {
+            return null;
+        }
+    }
 
-            if (reset) {
-                reset();
-            }
-            byte[] buffer = new byte[BUFFERSIZE];
-            lengthBackup = length;
+    private void readStream(String filename) throws IOException {
+        // http://java.sun.com/developer/TechTips/1998/tt0915.html#tip2
+        try (InputStream is = new FileInputStream(filename);
+             InputStream bis = new BufferedInputStream(is)) {
+            byte[] buffer = getScratch();
             int len;
             while ((len = bis.read(buffer)) > -1) {
-                update(buffer, 0, len);
-            }
-        } finally {
-            if (bis != null) {
-                bis.close();
+                updatePermitted(buffer, len);
             }
-            if (is != null) {
-                is.close();
+        }
+    }
+
+    private void readChannel(FileChannel channel) throws IOException {
+        if (directBuffer == null) {
+            directBuffer = ByteBuffer.allocateDirect(BUFFERSIZE);
+        }
+        directBuffer.clear();
+        while (channel.read(directBuffer) > -1) {
+            directBuffer.flip();
+            updatePermitted(directBuffer);
+            directBuffer.clear();
+        }
+    }
+
+    private void readMapped(FileChannel channel, long size) throws IOException {
+        long position = 0;
+        while (position < size) {
+            long windowSize = Math.min(MMAP_WINDOWSIZE, size - position);
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, windowSize);
+            try {
+                updatePermitted(window);
+            } finally {
+                // don't let the mappings pile up until the next garbage collection
+                BufferCleaner.clean(window);
             }
+            position += windowSize;
         }
+        // the file could have grown in the meantime, so let's read the rest, if any
+        channel.position(position);
+        readChannel(channel);
+    }
 
-        return length - lengthBackup;
+    /**
+     * Sets a semaphore that limits the number of threads that are hashing at the same time.
+     * If it is set, readFile() and readStdin() hold a permit only while they update the
+     * checksum with a chunk of data, but not while they wait for the next chunk. That way
+     * many threads can wait for a slow file system, while no more threads than permits are
+     * busy with hashing. Files that are hashed by readConcurrently() are limited by the
+     * threads for hashing rather than by the permits.
+     *
+     * @param digestPermits the semaphore, or null if the number of threads is not limited
+     * @since Jacksum 4.0.0
+     */
+    public void setDigestPermits(Semaphore digestPermits) {
+        this.digestPermits = digestPermits;
+    }
+
+    /**
+     * Returns the semaphore that limits the number of threads that are hashing at the same
+     * time, see setDigestPermits().
+     *
+     * @return the semaphore, or null if the number of threads is not limited
+     * @since Jacksum 4.0.0
+     */
+    public Semaphore getDigestPermits() {
+        return digestPermits;
+    }
+
+    private void acquireDigestPermit() throws InterruptedIOException {
+        try {
+            digestPermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a permit to hash.");
+        }
+    }
+
+    private void updatePermitted(byte[] bytes, int len) throws InterruptedIOException {
+        if (digestPermits == null) {
+            update(bytes, 0, len);
+            return;
+        }
+        acquireDigestPermit();
+        try {
+            update(bytes, 0, len);
+        } finally {
+            digestPermits.release();
+        }
+    }
+
+    private void updatePermitted(ByteBuffer byteBuffer) throws InterruptedIOException {
+        if (digestPermits == null) {
+            update(byteBuffer, false);
+            return;
+        }
+        acquireDigestPermit();
+        try {
+            update(byteBuffer, false);
+        } finally {
+            digestPermits.release();
+        }
+    }
+
+    /**
+     * Returns the read mode that is used by readFile() for regular files.
+     *
+     * @return the read mode
+     * @since Jacksum 4.0.0
+     */
+    public static ReadMode getReadMode() {
+        return readMode;
+    }
+
+    /**
+     * Sets the read mode that is used by readFile() for regular files. Data that
+     * cannot be read by a FileChannel (standard input, named pipes, devices, or
+     * NTFS alternate data streams for example) is always read by a stream.
+     * ReadMode.MMAP is applied to files only that are at least MMAP_THRESHOLD bytes
+     * in size, smaller files are read by ReadMode.CHANNEL.
+     *
+     * @param readMode the read mode
+     * @since Jacksum 4.0.0
+     */
+    public static void setReadMode(ReadMode readMode) {
+        AbstractChecksum.readMode = readMode;
+    }
+
+    /**
+     * Returns the read mode that has been used actually by the last call of
+     * readFile() or readStdin().
+     *
+     * @return the read mode, or null if no data has been read from a file or
+     * from stdin yet
+     * @since Jacksum 4.0.0
+     */
+    public ReadMode getReadModeUsed() {
+        return readModeUsed;
     }
 
     public long readStdin() throws IOException {
@@ -510,17 +757,18 @@ abstract public class AbstractChecksum implements Checksum {
             if (reset) {
                 reset();
             }
-            byte[] buffer = new byte[BUFFERSIZE];
+            byte[] buffer = getScratch();
             lengthBackup = length;
             int len;
             while ((len = stdin_buffered.read(buffer)) > -1) {
-                update(buffer, 0, len);
+                updatePermitted(buffer, len);
             }
         } finally { // don't close stdin, only stdin_buffered
             if (stdin_buffered != null) {
                 stdin_buffered.close();
             }
         }
+        readModeUsed = ReadMode.STREAM;
 
         return length - lengthBackup;
     }
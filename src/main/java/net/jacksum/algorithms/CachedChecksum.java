@@ -0,0 +1,126 @@
+/*
+
+  Jacksum 4.0.0 - a checksum/hash tool written in Java
+  Copyright (c) 2001-2026 Dipl.-Inf. (FH) Johann N. Löfflmann,
+  All Rights Reserved, <https://jacksum.net>.
+
+  This program is free software: you can redistribute it and/or modify it under
+  the terms of the GNU General Public License as published by the Free Software
+  Foundation, either version 3 of the License, or (at your option) any later
+  version.
+
+  This program is distributed in the hope that it will be useful, but WITHOUT
+  ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+  FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+  details.
+
+  You should have received a copy of the GNU General Public License along with
+  this program. If not, see <https://www.gnu.org/licenses/>.
+
+
+ */
+package net.jacksum.algorithms;
+
+
+import net.jacksum.formats.Encoding;
+
+/**
+ * Stands for an algorithm whose hash value for a file has been taken from a hash cache
+ * rather than calculated, see net.jacksum.multicore.manyfiles.HashCache. It shares the
+ * name and the format preferences of the algorithm, so it is formatted exactly like the
+ * algorithm would have been formatted after reading the file, provided that the algorithm
+ * relies on the formatting of AbstractChecksum, see isApplicable().
+ *
+ * A CachedChecksum is a result, not an algorithm: its value is final, so reset() has no
+ * effect, and update() throws an IllegalStateException. It must only be formatted or
+ * compared, and it must not be handed out where an algorithm is expected.
+ *
+ * @since Jacksum 4.0.0
+ */
+public final class CachedChecksum extends AbstractChecksum {
+
+    private final byte[] digest;
+    private final int outputSizeInBits;
+
+    /**
+     * Creates the result of an algorithm for a file.
+     *
+     * @param algorithm the algorithm that the hash value has been calculated by
+     * @param filename the name of the file
+     * @param length the size of the file
+     * @param digest the hash value of the file
+     */
+    public CachedChecksum(AbstractChecksum algorithm, String filename, long length, byte[] digest) {
+        super();
+        this.name = algorithm.getName();
+        this.bitWidth = algorithm.bitWidth;
+        this.blocksize = algorithm.blocksize;
+        this.outputSizeInBits = algorithm.getOutputSizeInBits();
+        this.formatPreferences = algorithm.formatPreferences;
+        this.formatter = algorithm.formatter;
+        this.filename = filename;
+        this.length = length;
+        if (isTimestampWanted()) {
+            setTimestamp(filename);
+        }
+        this.digest = digest;
+    }
+
+    /**
+     * Determines whether the hash values of an algorithm can be cached at all. That requires
+     * that the name of the algorithm determines its hash values, which is not the case for an
+     * HMAC whose key is not part of the name, and that the result of the algorithm is read and
+     * formatted by AbstractChecksum, which is not the case for a combination of algorithms
+     * (CombinedChecksum) or for the algorithms none and read.
+     *
+     * @param algorithm the algorithm
+     * @return true if a result of the algorithm can be replaced by a CachedChecksum
+     */
+    public static boolean isApplicable(AbstractChecksum algorithm) {
+        if (algorithm instanceof HMAC || algorithm.getName() == null) {
+            return false;
+        }
+        Class<?> type = algorithm.getClass();
+        return isInherited(type, "readFile", String.class, boolean.class)
+                && isInherited(type, "toString")
+                && isInherited(type, "format", String.class)
+                && isInherited(type, "preFormat", StringBuilder.class)
+                && isInherited(type, "getValueFormatted")
+                && isInherited(type, "getValueFormatted", Encoding.class)
+                && isInherited(type, "getLength")
+                && isInherited(type, "getFilename")
+                && isInherited(type, "getTimestampFormatted")
+                && isInherited(type, "isTimestampAvailable");
+    }
+
+    /**
+     * Determines whether a class uses the implementation of a method by AbstractChecksum.
+     */
+    private static boolean isInherited(Class<?> type, String name, Class<?>... parameterTypes) {
+        try {
+            return type.getMethod(name, parameterTypes).getDeclaringClass() == AbstractChecksum.class;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void reset() {
+        // the result is final
+    }
+
+    @Override
+    public void update(byte[] bytes, int offset, int length) {
+        throw new IllegalStateException("A cached result cannot be updated.");
+    }
+
+    @Override
+    public byte[] getByteArray() {
+        return digest.clone();
+    }
+
+    @Override
+    public int getOutputSizeInBits() {
+        return outputSizeInBits;
+    }
+}
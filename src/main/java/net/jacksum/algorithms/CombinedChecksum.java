@@ -31,6 +31,7 @@ package net.jacksum.algorithms;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.List;
@@ -175,6 +176,20 @@ public class CombinedChecksum extends AbstractChecksum {
         this.length += length;
     }
 
+    /**
+     * Updates all checksums with the remaining bytes of the specified ByteBuffer.
+     */
+    @Override
+    protected void updateBuffer(ByteBuffer byteBuffer) {
+        int start = byteBuffer.position();
+        for (AbstractChecksum algorithm : algorithms) {
+            // each algorithm consumes the very same bytes
+            byteBuffer.position(start);
+            algorithm.updateBuffer(byteBuffer);
+        }
+        this.length += byteBuffer.limit() - start;
+    }
+
     /**
      * Updates all checksums with the specified array of bytes.
      */
@@ -434,11 +449,7 @@ public class CombinedChecksum extends AbstractChecksum {
             if (reset) {
                 reset();
             }
-            List<HashAlgorithm> hashAlgorithms
-                    = new ArrayList<>(this.algorithms.size());
-            for (AbstractChecksum algorithm : this.algorithms) {
-                hashAlgorithms.add(HashAlgorithm.getAlgorithm(algorithm));
-            }
+            List<HashAlgorithm> hashAlgorithms = HashAlgorithm.getAlgorithms(this.algorithms);
             lengthBackup = length;
 
             // new ConcurrentHasher().updateHashes(file, hashAlgorithms);
@@ -447,6 +458,8 @@ public class CombinedChecksum extends AbstractChecksum {
             ConcurrentHasher concurrentHasher = new ConcurrentHasher();
             concurrentHasher.updateHashes(new File(filename), hashAlgorithms);
             this.length += concurrentHasher.getTotalRead();
+            // the DataReader reads the file by a stream
+            readModeUsed = ReadMode.STREAM;
 
             // this.length += file.length();
             
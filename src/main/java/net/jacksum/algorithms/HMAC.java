@@ -23,6 +23,7 @@ package net.jacksum.algorithms;
 
 import net.jacksum.JacksumAPI;
 
+import java.nio.ByteBuffer;
 import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
 
@@ -171,6 +172,11 @@ public class HMAC extends AbstractChecksum  {
 		digest.update(bytes, offset, length);
 	}
 
+	@Override
+	protected void updateBuffer(ByteBuffer byteBuffer) {
+		digest.updateBuffer(byteBuffer);
+	}
+
 	/**
 	 * Update the hash function with a message.
 	 */
@@ -0,0 +1,92 @@
+/*
+
+
+  Jacksum 4.0.0 - a checksum/hash tool written in Java
+  Copyright (c) 2001-2026 Dipl.-Inf. (FH) Johann N. Löfflmann,
+  All Rights Reserved, <https://jacksum.net>.
+
+  This program is free software: you can redistribute it and/or modify it under
+  the terms of the GNU General Public License as published by the Free Software
+  Foundation, either version 3 of the License, or (at your option) any later
+  version.
+
+  This program is distributed in the hope that it will be useful, but WITHOUT
+  ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+  FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+  details.
+
+  You should have received a copy of the GNU General Public License along with
+  this program. If not, see <https://www.gnu.org/licenses/>.
+
+
+ */
+package net.jacksum.algorithms;
+
+import java.util.Locale;
+
+/**
+ * The ways how the content of a file can be read by
+ * AbstractChecksum.readFile(String, boolean).
+ *
+ * @since Jacksum 4.0.0
+ */
+public enum ReadMode {
+
+    // java.io streams, works for any input, including named pipes, devices, and NTFS ADS
+    STREAM("stream", "stream I/O"),
+    // a FileChannel that reads into a reusable direct buffer, for regular files only
+    CHANNEL("channel", "FileChannel I/O"),
+    // a FileChannel that maps the file window by window into memory, for large regular files only
+    MMAP("mmap", "memory mapped I/O");
+
+    // the read mode that is used if the user doesn't specify one
+    public static final ReadMode DEFAULT = CHANNEL;
+
+    private final String code;
+    private final String description;
+
+    ReadMode(String code, String description) {
+        this.code = code;
+        this.description = description;
+    }
+
+    /**
+     * Returns the code of the read mode as it is used on the command line.
+     *
+     * @return the code of the read mode
+     */
+    public String getCode() {
+        return code;
+    }
+
+    /**
+     * Returns a human readable description of the read mode.
+     *
+     * @return the description of the read mode
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Returns the read mode that belongs to a code.
+     *
+     * @param code the code of the read mode, e.g. "mmap"
+     * @return the read mode
+     * @throws IllegalArgumentException if the code is unknown
+     */
+    public static ReadMode string2ReadMode(String code) throws IllegalArgumentException {
+        String lowercase = code.toLowerCase(Locale.US);
+        for (ReadMode readMode : values()) {
+            if (readMode.code.equals(lowercase)) {
+                return readMode;
+            }
+        }
+        throw new IllegalArgumentException(String.format("Read mode \"%s\" is unsupported.", code));
+    }
+
+    @Override
+    public String toString() {
+        return code;
+    }
+}
@@ -23,8 +23,13 @@
 
 package net.jacksum.algorithms.checksums;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.List;
 import net.jacksum.algorithms.AbstractChecksum;
 import net.jacksum.formats.Encoding;
+import net.jacksum.multicore.manyparts.ConcurrentParts;
 
 /**
  * A class that can be used to compute the Adler32 of a data stream.
@@ -34,6 +39,15 @@ import net.jacksum.formats.Encoding;
 public class Adler32 extends AbstractChecksum {
     
     private final java.util.zip.Adler32 adler32;
+
+    // the Adler-32 of the data that has been processed concurrently, and its length,
+    // the data that follows is processed by adler32, see readConcurrently()
+    private long prefixValue;
+    private long prefixLength;
+
+    private static final long BASE = 65521L; // largest prime smaller than 65536 (2^16)
+    private final static long MIN_PART_LEN = 1024 * 1024;
+    private final static long MAX_PART_LEN = 64 * 1024 * 1024;
     
     public Adler32() {
         super();
@@ -48,6 +62,8 @@ public class Adler32 extends AbstractChecksum {
     public void reset() {
         adler32.reset();
         length = 0;
+        prefixValue = 0;
+        prefixLength = 0;
     }
     
     @Override
@@ -56,6 +72,12 @@ public class Adler32 extends AbstractChecksum {
         this.length += length;
     }
     
+    @Override
+    protected void updateBuffer(ByteBuffer byteBuffer) {
+        length += byteBuffer.remaining();
+        adler32.update(byteBuffer);
+    }
+    
     @Override
     public void update(int b) {
         adler32.update(b);
@@ -64,7 +86,30 @@ public class Adler32 extends AbstractChecksum {
     
     @Override
     public long getValue() {
-        return adler32.getValue();
+        return prefixLength == 0 ? adler32.getValue() : combine(prefixValue, adler32.getValue(), length - prefixLength);
+    }
+
+    @Override
+    protected boolean readConcurrently(FileChannel channel, long size) throws IOException {
+        if (size < ConcurrentParts.MIN_SIZE) {
+            return false;
+        }
+        long partSize = ConcurrentParts.partSize(size, MIN_PART_LEN, MAX_PART_LEN);
+        List<Long> values = ConcurrentParts.invokeRanges(channel, size, partSize,
+                (range, index, offset) -> {
+                    java.util.zip.Adler32 part = new java.util.zip.Adler32();
+                    part.update(range);
+                    return part.getValue();
+                });
+        long value = getValue();
+        for (int i = 0; i < values.size(); i++) {
+            value = combine(value, values.get(i), Math.min(partSize, size - i * partSize));
+        }
+        adler32.reset();
+        prefixValue = value;
+        length += size;
+        prefixLength = length;
+        return true;
     }
     
     @Override
@@ -76,5 +121,35 @@ public class Adler32 extends AbstractChecksum {
          (byte)((val>>8)&0xff),
          (byte)(val&0xff)};
     }
-    
+
+    /**
+     * Combines the Adler-32 values of two consecutive blocks of data without
+     * processing any data again, see also adler32_combine() of zlib.
+     *
+     * @param adlerA the Adler-32 value of the first block
+     * @param adlerB the Adler-32 value of the second block
+     * @param lengthB the length of the second block in bytes
+     * @return the Adler-32 value of both blocks
+     */
+    public long combine(long adlerA, long adlerB, long lengthB) {
+        long remainder = lengthB % BASE;
+        long sum1 = adlerA & 0xFFFF;
+        long sum2 = (remainder * sum1) % BASE;
+        sum1 += (adlerB & 0xFFFF) + BASE - 1;
+        sum2 += ((adlerA >>> 16) & 0xFFFF) + ((adlerB >>> 16) & 0xFFFF) + BASE - remainder;
+        if (sum1 >= BASE) {
+            sum1 -= BASE;
+        }
+        if (sum1 >= BASE) {
+            sum1 -= BASE;
+        }
+        if (sum2 >= (BASE << 1)) {
+            sum2 -= (BASE << 1);
+        }
+        if (sum2 >= BASE) {
+            sum2 -= BASE;
+        }
+        return sum1 | (sum2 << 16);
+    }
+
 }
@@ -43,6 +43,7 @@ public class Adler32alt extends AbstractChecksum {
 
     protected long value;
     private static final long BASE = 65521L; // largest prime smaller than 65536 (2^16)
+    private final ByteSums byteSums = ByteSums.getInstance();
 
     public Adler32alt() {
         super();
@@ -64,9 +65,11 @@ public class Adler32alt extends AbstractChecksum {
         long s1 = value & 0xffff;
         long s2 = (value >> 16) & 0xffff;
 
-        for (int n = offset; n < len + offset; n++) {
-            s1 = (s1 + (buffer[n] & 0xff)) % BASE;
-            s2 = (s2 + s1)                 % BASE;
+        // s2 gets s1 for each byte, and the bytes weighted by their distance to the end
+        for (int n = offset; n < len + offset; n += ByteSums.MAX_WEIGHTED_LENGTH) {
+            int blockLength = Math.min(ByteSums.MAX_WEIGHTED_LENGTH, len + offset - n);
+            s2 = (s2 + blockLength * s1 + byteSums.weightedSum(buffer, n, blockLength)) % BASE;
+            s1 = (s1 + byteSums.sum(buffer, n, blockLength)) % BASE;
         }
 
         value = (s2 << 16) | s1;
@@ -0,0 +1,114 @@
+/*
+
+
+  Jacksum 4.0.0 - a checksum/hash tool written in Java
+  Copyright (c) 2001-2026 Dipl.-Inf. (FH) Johann N. Löfflmann,
+  All Rights Reserved, <https://jacksum.net>.
+
+  This program is free software: you can redistribute it and/or modify it under
+  the terms of the GNU General Public License as published by the Free Software
+  Foundation, either version 3 of the License, or (at your option) any later
+  version.
+
+  This program is distributed in the hope that it will be useful, but WITHOUT
+  ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+  FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+  details.
+
+  You should have received a copy of the GNU General Public License along with
+  this program. If not, see <https://www.gnu.org/licenses/>.
+
+
+ */
+
+package net.jacksum.algorithms.checksums;
+
+/**
+ * The inner loops of the simple additive and XOR checksums. If the module
+ * jdk.incubator.vector is present at runtime (java --add-modules
+ * jdk.incubator.vector), an implementation based on the Java Vector API is
+ * used, otherwise a scalar implementation.
+ */
+public abstract class ByteSums {
+
+    /** The max. length that weightedSum() accepts. */
+    public static final int MAX_WEIGHTED_LENGTH = 32 * 1024;
+
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+
+    private static final ByteSums SCALAR = new ScalarByteSums();
+    private static ByteSums vector;
+    private static boolean vectorProbed = false;
+
+    /**
+     * Returns the SIMD implementation if it is available, and the scalar
+     * implementation otherwise.
+     *
+     * @return the fastest implementation available
+     */
+    public static ByteSums getInstance() {
+        ByteSums simd = getVectorInstance();
+        return simd == null ? SCALAR : simd;
+    }
+
+    /**
+     * Returns the implementation that is based on the Java Vector API.
+     *
+     * @return the SIMD implementation, or null if the module
+     * jdk.incubator.vector is not present
+     */
+    public static synchronized ByteSums getVectorInstance() {
+        if (!vectorProbed) {
+            vectorProbed = true;
+            if (ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent()) {
+                try {
+                    vector = new VectorByteSums();
+                } catch (LinkageError e) {
+                    vector = null;
+                }
+            }
+        }
+        return vector;
+    }
+
+    /**
+     * Returns the scalar implementation.
+     *
+     * @return the scalar implementation
+     */
+    public static ByteSums getScalarInstance() {
+        return SCALAR;
+    }
+
+    /**
+     * Returns the sum of the bytes, each byte is treated as unsigned.
+     *
+     * @param bytes the byte array
+     * @param offset the offset in the byte array
+     * @param length the number of bytes
+     * @return the sum of the unsigned bytes
+     */
+    public abstract long sum(byte[] bytes, int offset, int length);
+
+    /**
+     * Returns the XOR of the bytes.
+     *
+     * @param bytes the byte array
+     * @param offset the offset in the byte array
+     * @param length the number of bytes
+     * @return the XOR of the bytes as unsigned value
+     */
+    public abstract int xor(byte[] bytes, int offset, int length);
+
+    /**
+     * Returns the sum of the unsigned bytes, each byte is weighted by its
+     * distance to the end, that is the first byte by length, and the last byte
+     * by 1. This is what a Fletcher-like checksum adds to its second sum.
+     *
+     * @param bytes the byte array
+     * @param offset the offset in the byte array
+     * @param length the number of bytes, at most MAX_WEIGHTED_LENGTH
+     * @return the weighted sum of the unsigned bytes
+     */
+    public abstract long weightedSum(byte[] bytes, int offset, int length);
+}
@@ -23,6 +23,7 @@
 
 package net.jacksum.algorithms.checksums;
 
+import java.nio.channels.FileChannel;
 import java.security.NoSuchAlgorithmException;
 import net.jacksum.algorithms.crcs.CrcGeneric;
 import net.jacksum.formats.Encoding;
@@ -71,4 +72,15 @@ public class CRC16_Minix extends CrcGeneric {
         this.length += length;
     }
 
+    // the Minix bug does not follow the model, so ranges cannot be combined by it
+    @Override
+    protected boolean readConcurrently(FileChannel channel, long size) {
+        return false;
+    }
+
+    @Override
+    public long combine(long crcA, long crcB, long lengthB) {
+        throw new UnsupportedOperationException("The Minix CRC-16 cannot be combined.");
+    }
+
 }
@@ -25,6 +25,7 @@ package net.jacksum.algorithms.checksums;
 
 import net.jacksum.algorithms.AbstractChecksum;
 import net.jacksum.formats.Encoding;
+import net.jacksum.zzadopt.com.github.snksoft.crc.CRC;
 
 /**
  * A class that can be used to compute the Cksum of a data stream.
@@ -36,6 +37,9 @@ import net.jacksum.formats.Encoding;
 public class Cksum extends AbstractChecksum {
     protected int value;
 
+    // the same CRC (poly = 0x04C11DB7, not reflected), but processed by the slicing engine
+    private static final CRC ENGINE = new CRC(new CRC.Parameters(32, 0x04C11DB7L, 0, false, false, 0));
+
     protected final int[] crctab = {
         0x00000000,
         0x04C11DB7, 0x09823B6E, 0x0D4326D9, 0x130476DC, 0x17C56B6B,
@@ -109,9 +113,7 @@ public class Cksum extends AbstractChecksum {
 
     @Override
     public void update(byte[] bytes, int offset, int length) {
-        for (int i = offset; i < length + offset; i++) {
-            value = (value << 8) ^ crctab[ ((value >> 24) ^ bytes[i]) & 0xFF];
-        }
+        value = (int) ENGINE.update(value & 0xFFFFFFFFL, bytes, offset, length);
         this.length += length;
     }
 
@@ -36,6 +36,7 @@ public class Fletcher16 extends AbstractChecksum {
     private long s1;
     private long s2;
     private static final long BASE = 255L;
+    private final ByteSums byteSums = ByteSums.getInstance();
 
     public Fletcher16() {
         super();
@@ -59,9 +60,11 @@ public class Fletcher16 extends AbstractChecksum {
         long a = s1;
         long b = s2;
 
-        for (int n = offset; n < len + offset; n++) {
-            a = (a + (buffer[n] & 0xff)) % BASE;
-            b = (b + a) % BASE;
+        // b gets a for each byte, and the bytes weighted by their distance to the end
+        for (int n = offset; n < len + offset; n += ByteSums.MAX_WEIGHTED_LENGTH) {
+            int blockLength = Math.min(ByteSums.MAX_WEIGHTED_LENGTH, len + offset - n);
+            b = (b + blockLength * a + byteSums.weightedSum(buffer, n, blockLength)) % BASE;
+            a = (a + byteSums.sum(buffer, n, blockLength)) % BASE;
         }
 
         s1 = a;
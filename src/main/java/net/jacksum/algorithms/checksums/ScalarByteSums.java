@@ -0,0 +1,57 @@
+/*
+
+
+  Jacksum 4.0.0 - a checksum/hash tool written in Java
+  Copyright (c) 2001-2026 Dipl.-Inf. (FH) Johann N. Löfflmann,
+  All Rights Reserved, <https://jacksum.net>.
+
+  This program is free software: you can redistribute it and/or modify it under
+  the terms of the GNU General Public License as published by the Free Software
+  Foundation, either version 3 of the License, or (at your option) any later
+  version.
+
+  This program is distributed in the hope that it will be useful, but WITHOUT
+  ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+  FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+  details.
+
+  You should have received a copy of the GNU General Public License along with
+  this program. If not, see <https://www.gnu.org/licenses/>.
+
+
+ */
+
+package net.jacksum.algorithms.checksums;
+
+/**
+ * The scalar implementation of ByteSums.
+ */
+class ScalarByteSums extends ByteSums {
+
+    @Override
+    public long sum(byte[] bytes, int offset, int length) {
+        long sum = 0;
+        for (int i = offset; i < length + offset; i++) {
+            sum += bytes[i] & 0xFF;
+        }
+        return sum;
+    }
+
+    @Override
+    public int xor(byte[] bytes, int offset, int length) {
+        int xor = 0;
+        for (int i = offset; i < length + offset; i++) {
+            xor ^= bytes[i];
+        }
+        return xor & 0xFF;
+    }
+
+    @Override
+    public long weightedSum(byte[] bytes, int offset, int length) {
+        long sum = 0;
+        for (int i = 0; i < length; i++) {
+            sum += (long) (length - i) * (bytes[offset + i] & 0xFF);
+        }
+        return sum;
+    }
+}
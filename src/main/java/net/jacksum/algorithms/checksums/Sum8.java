@@ -23,12 +23,20 @@
 
 package net.jacksum.algorithms.checksums;
 
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.util.List;
 import net.jacksum.algorithms.AbstractChecksum;
 import net.jacksum.formats.Encoding;
+import net.jacksum.multicore.manyparts.ConcurrentParts;
 
 public class Sum8 extends AbstractChecksum {
 
     protected long value;
+    private final ByteSums byteSums = ByteSums.getInstance();
+
+    private final static long MIN_PART_LEN = 1024 * 1024;
+    private final static long MAX_PART_LEN = 64 * 1024 * 1024;
 
     public Sum8() {
         super();
@@ -46,12 +54,48 @@ public class Sum8 extends AbstractChecksum {
 
     @Override
     public void update(byte[] bytes, int offset, int length) {
-        for (int i = offset; i < length + offset; i++) {
-            value += bytes[i] & 0xFF;
-        }
+        value += byteSums.sum(bytes, offset, length);
         this.length += length;
     }
 
+    @Override
+    protected boolean readConcurrently(FileChannel channel, long size) throws IOException {
+        if (size < ConcurrentParts.MIN_SIZE) {
+            return false;
+        }
+        long partSize = ConcurrentParts.partSize(size, MIN_PART_LEN, MAX_PART_LEN);
+        List<Long> sums = ConcurrentParts.invokeRanges(channel, size, partSize,
+                (range, index, offset) -> {
+                    byte[] bytes = new byte[64 * 1024];
+                    long sum = 0;
+                    while (range.hasRemaining()) {
+                        int len = Math.min(bytes.length, range.remaining());
+                        range.get(bytes, 0, len);
+                        sum += byteSums.sum(bytes, 0, len);
+                    }
+                    return sum;
+                });
+        for (long sum : sums) {
+            value += sum;
+        }
+        length += size;
+        return true;
+    }
+
+    /**
+     * Combines the sums of two consecutive blocks of data without processing
+     * any data again. The length of the second block is not required for a
+     * sum, the parameter exists for symmetry with the CRCs.
+     *
+     * @param sumA the sum of the first block
+     * @param sumB the sum of the second block
+     * @param lengthB the length of the second block in bytes
+     * @return the sum of both blocks
+     */
+    public long combine(long sumA, long sumB, long lengthB) {
+        return (sumA + sumB) & (~0L >>> (64 - bitWidth));
+    }
+
     @Override
     public long getValue() {
         return value % 0x100; // 2^8
@@ -63,4 +63,10 @@ public class SumPlan9 extends CrcGeneric {
         return (finalValue & 0xFFFFFFFFL);
     }
 
+    // the final value includes the length, see getFinal()
+    @Override
+    public long combine(long crcA, long crcB, long lengthB) {
+        throw new UnsupportedOperationException("The Plan 9 sum cannot be combined.");
+    }
+
 }
@@ -32,6 +32,7 @@ import net.jacksum.formats.Encoding;
 public class SumSysV extends AbstractChecksum {
 
     private long value;
+    private final ByteSums byteSums = ByteSums.getInstance();
 
     public SumSysV() {
         super();
@@ -50,9 +51,7 @@ public class SumSysV extends AbstractChecksum {
 
     @Override
     public void update(byte[] bytes, int offset, int length) {
-        for (int i = offset; i < length + offset; i++) {
-            value += bytes[i] & 0xFF;
-        }
+        value += byteSums.sum(bytes, offset, length);
         this.length += length;
     }
     
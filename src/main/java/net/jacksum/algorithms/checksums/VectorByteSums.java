@@ -0,0 +1,141 @@
+/*
+
+
+  Jacksum 4.0.0 - a checksum/hash tool written in Java
+  Copyright (c) 2001-2026 Dipl.-Inf. (FH) Johann N. Löfflmann,
+  All Rights Reserved, <https://jacksum.net>.
+
+  This program is free software: you can redistribute it and/or modify it under
+  the terms of the GNU General Public License as published by the Free Software
+  Foundation, either version 3 of the License, or (at your option) any later
+  version.
+
+  This program is distributed in the hope that it will be useful, but WITHOUT
+  ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+  FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+  details.
+
+  You should have received a copy of the GNU General Public License along with
+  this program. If not, see <https://www.gnu.org/licenses/>.
+
+
+ */
+
+package net.jacksum.algorithms.checksums;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * The implementation of ByteSums that is based on the Java Vector API. Do not
+ * load this class unless the module jdk.incubator.vector is present, see
+ * ByteSums.getVectorInstance().
+ */
+class VectorByteSums extends ByteSums {
+
+    // all species have the same (preferred) shape, so they can be reinterpreted
+    private static final VectorSpecies<Byte> BYTES = ByteVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Short> SHORTS = ShortVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+    private static final int STEP = BYTES.length();
+
+    // a short lane gets at most 2*255 per step, so it has to be flushed after 128 steps
+    private static final int MAX_SHORT_STEPS = 128;
+
+    // the weight of byte j (0..3) of int lane k within a step is STEP - (4k + j)
+    private static final IntVector[] WEIGHTS = new IntVector[4];
+
+    static {
+        int[] weights = new int[INTS.length()];
+        for (int j = 0; j < 4; j++) {
+            for (int k = 0; k < weights.length; k++) {
+                weights[k] = STEP - (4 * k + j);
+            }
+            WEIGHTS[j] = IntVector.fromArray(INTS, weights, 0);
+        }
+    }
+
+    @Override
+    public long sum(byte[] bytes, int offset, int length) {
+        long sum = 0;
+        int i = offset;
+        int upper = offset + BYTES.loopBound(length);
+        while (i < upper) {
+            int stop = Math.min(upper, i + MAX_SHORT_STEPS * STEP);
+            ShortVector acc = ShortVector.zero(SHORTS);
+            for (; i < stop; i += STEP) {
+                // each short lane holds two bytes, add both of them as unsigned values
+                ShortVector pairs = ByteVector.fromArray(BYTES, bytes, i).reinterpretAsShorts();
+                acc = acc.add(pairs.and((short) 0xFF)).add(pairs.lanewise(VectorOperators.LSHR, 8));
+            }
+            IntVector ints = acc.reinterpretAsInts();
+            sum += ints.and(0xFFFF).add(ints.lanewise(VectorOperators.LSHR, 16))
+                    .reduceLanes(VectorOperators.ADD);
+        }
+        for (int end = offset + length; i < end; i++) {
+            sum += bytes[i] & 0xFF;
+        }
+        return sum;
+    }
+
+    @Override
+    public int xor(byte[] bytes, int offset, int length) {
+        ByteVector acc = ByteVector.zero(BYTES);
+        int i = offset;
+        for (int upper = offset + BYTES.loopBound(length); i < upper; i += STEP) {
+            acc = acc.lanewise(VectorOperators.XOR, ByteVector.fromArray(BYTES, bytes, i));
+        }
+        int xor = acc.reduceLanes(VectorOperators.XOR);
+        for (int end = offset + length; i < end; i++) {
+            xor ^= bytes[i];
+        }
+        return xor & 0xFF;
+    }
+
+    @Override
+    public long weightedSum(byte[] bytes, int offset, int length) {
+        if (length > MAX_WEIGHTED_LENGTH) {
+            throw new IllegalArgumentException("length must not exceed " + MAX_WEIGHTED_LENGTH);
+        }
+        // Step c of C steps gets the weight (C-1-c)*STEP + (STEP-q) for its byte q.
+        // The first term is collected by prefix which adds the sums of all
+        // previous steps at each step, the second one by weighted.
+        IntVector sums = IntVector.zero(INTS);
+        IntVector prefix = IntVector.zero(INTS);
+        IntVector weighted = IntVector.zero(INTS);
+        int vectorLength = BYTES.loopBound(length);
+        for (int i = offset, upper = offset + vectorLength; i < upper; i += STEP) {
+            IntVector quads = ByteVector.fromArray(BYTES, bytes, i).reinterpretAsInts();
+            IntVector b0 = quads.and(0xFF);
+            IntVector b1 = quads.lanewise(VectorOperators.LSHR, 8).and(0xFF);
+            IntVector b2 = quads.lanewise(VectorOperators.LSHR, 16).and(0xFF);
+            IntVector b3 = quads.lanewise(VectorOperators.LSHR, 24);
+            prefix = prefix.add(sums);
+            sums = sums.add(b0.add(b1).add(b2).add(b3));
+            weighted = weighted.add(b0.mul(WEIGHTS[0])).add(b1.mul(WEIGHTS[1]))
+                    .add(b2.mul(WEIGHTS[2])).add(b3.mul(WEIGHTS[3]));
+        }
+        long sum = sumOfLanes(sums);
+        long weightedSum = STEP * sumOfLanes(prefix) + sumOfLanes(weighted);
+
+        // the remaining bytes, all previous bytes get their weight increased by their number
+        int tail = length - vectorLength;
+        weightedSum += tail * sum;
+        for (int i = 0; i < tail; i++) {
+            weightedSum += (long) (tail - i) * (bytes[offset + vectorLength + i] & 0xFF);
+        }
+        return weightedSum;
+    }
+
+    // the lanes can exceed an int if they are added up
+    private static long sumOfLanes(IntVector vector) {
+        long sum = 0;
+        for (int lane : vector.toArray()) {
+            sum += lane;
+        }
+        return sum;
+    }
+}
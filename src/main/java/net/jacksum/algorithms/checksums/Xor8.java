@@ -29,6 +29,7 @@ import net.jacksum.formats.Encoding;
 public class Xor8 extends AbstractChecksum {
 
     private long value;
+    private final ByteSums byteSums = ByteSums.getInstance();
 
     public Xor8() {
         super();
@@ -41,9 +42,7 @@ public class Xor8 extends AbstractChecksum {
 
     @Override
     public void update(byte[] bytes, int offset, int length) {
-        for (int i = offset; i < length + offset; i++) {
-            value ^= bytes[i] & 0xFF;
-        }
+        value ^= byteSums.xor(bytes, offset, length);
         this.length += length;
     }
 
@@ -27,13 +27,26 @@ package net.jacksum.algorithms.crcs;
   This implementation uses the class java.util.zip.CRC32C from the Java Standard API.
  */
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.List;
 import net.jacksum.algorithms.AbstractChecksum;
 import net.jacksum.formats.Encoding;
+import net.jacksum.multicore.manyparts.ConcurrentParts;
 
 public class CRC32C extends AbstractChecksum implements CrcInfo {
 
     private final java.util.zip.CRC32C crc32c;
 
+    // the CRC-32C of the data that has been processed concurrently, and its length,
+    // the data that follows is processed by crc32c, see readConcurrently()
+    private long prefixValue;
+    private long prefixLength;
+
+    private final static long MIN_PART_LEN = 1024 * 1024;
+    private final static long MAX_PART_LEN = 64 * 1024 * 1024;
+
     public CRC32C() {
         super();
         formatPreferences.setHashEncoding(Encoding.DEC);
@@ -47,6 +60,8 @@ public class CRC32C extends AbstractChecksum implements CrcInfo {
     public void reset() {
         crc32c.reset();
         length = 0;
+        prefixValue = 0;
+        prefixLength = 0;
     }
 
     @Override
@@ -55,6 +70,12 @@ public class CRC32C extends AbstractChecksum implements CrcInfo {
         length += len;
     }
 
+    @Override
+    protected void updateBuffer(ByteBuffer byteBuffer) {
+        length += byteBuffer.remaining();
+        crc32c.update(byteBuffer);
+    }
+
     @Override
     public void update(int integer) {
         crc32c.update(integer);
@@ -68,12 +89,35 @@ public class CRC32C extends AbstractChecksum implements CrcInfo {
 
     @Override
     public long getValue() {
-        return crc32c.getValue();
+        return prefixLength == 0 ? crc32c.getValue() : combine(prefixValue, crc32c.getValue(), length - prefixLength);
+    }
+
+    @Override
+    protected boolean readConcurrently(FileChannel channel, long size) throws IOException {
+        if (size < ConcurrentParts.MIN_SIZE) {
+            return false;
+        }
+        long partSize = ConcurrentParts.partSize(size, MIN_PART_LEN, MAX_PART_LEN);
+        List<Long> values = ConcurrentParts.invokeRanges(channel, size, partSize,
+                (range, index, offset) -> {
+                    java.util.zip.CRC32C part = new java.util.zip.CRC32C();
+                    part.update(range);
+                    return part.getValue();
+                });
+        long value = getValue();
+        for (int i = 0; i < values.size(); i++) {
+            value = combine(value, values.get(i), Math.min(partSize, size - i * partSize));
+        }
+        crc32c.reset();
+        prefixValue = value;
+        length += size;
+        prefixLength = length;
+        return true;
     }
 
     @Override
     public byte[] getByteArray() {
-        long val = crc32c.getValue();
+        long val = getValue();
         return new byte[]
         {(byte)((val>>24)&0xff),
          (byte)((val>>16)&0xff),
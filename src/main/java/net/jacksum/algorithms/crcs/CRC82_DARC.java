@@ -22,6 +22,10 @@ package net.jacksum.algorithms.crcs;
 import net.jacksum.algorithms.AbstractChecksum;
 import net.jacksum.formats.Encoding;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
 // Credit: this code has been translated from C to Java by Johann N. Löfflmann.
 // The original C code has been written by Mark Adler who placed the code
 // into the public domain on June 17, 2017.
@@ -39,8 +43,40 @@ public class CRC82_DARC extends AbstractChecksum implements CrcInfo {
 
     private long[] crc = new long[2];
 
-    private long POLYHIGH = 0x22080L;
-    private long POLYLOW = 0x8a00a2022200c430L;
+    private static final long POLYHIGH = 0x22080L;
+    private static final long POLYLOW = 0x8a00a2022200c430L;
+
+    // The slicing-by-8 tables, the low 64 bits and the high 18 bits of each
+    // entry are stored separately. Table k contains the CRC of the byte n
+    // followed by k zero bytes.
+    private static final long[][] TABLE_LOW = new long[8][256];
+    private static final long[][] TABLE_HIGH = new long[8][256];
+    private static final VarHandle LONG_LE = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    static {
+        for (int n = 0; n < 256; n++) {
+            long cl = n, ch = 0;
+            for (int k = 0; k < 8; k++) {
+                long low = cl & 1;
+                cl = (cl >>> 1) | (ch << 63);
+                ch >>>= 1;
+                if (low == 1) {
+                    cl ^= POLYLOW;
+                    ch ^= POLYHIGH;
+                }
+            }
+            TABLE_LOW[0][n] = cl;
+            TABLE_HIGH[0][n] = ch;
+        }
+        for (int k = 1; k < 8; k++) {
+            for (int n = 0; n < 256; n++) {
+                long cl = TABLE_LOW[k - 1][n], ch = TABLE_HIGH[k - 1][n];
+                int index = (int) cl & 0xFF;
+                TABLE_LOW[k][n] = ((cl >>> 8) | (ch << 56)) ^ TABLE_LOW[0][index];
+                TABLE_HIGH[k][n] = (ch >>> 8) ^ TABLE_HIGH[0][index];
+            }
+        }
+    }
 
     public CRC82_DARC() {
         super();
@@ -64,17 +100,29 @@ public class CRC82_DARC extends AbstractChecksum implements CrcInfo {
     @Override
     public void update(byte[] bytes, int offset, int length) {
         long cl = crc[0], ch = crc[1] & 0x3ffffL;
-        for (int i = offset; i < offset + length; i++) {
-            cl ^= (int)(bytes[i] & 0xFF);
-            for (int k = 0; k < 8; k++) {
-                long low = cl & 1;
-                cl = (cl >>> 1) | (ch << 63);
-                ch >>>= 1;
-                if (low==1) {
-                    cl ^= POLYLOW;
-                    ch ^= POLYHIGH;
-                }
-            }
+        int i = offset;
+        int end = offset + length;
+
+        // 8 bytes at once, the high 18 bits are shifted out completely by that
+        long[] l0 = TABLE_LOW[0], l1 = TABLE_LOW[1], l2 = TABLE_LOW[2], l3 = TABLE_LOW[3],
+               l4 = TABLE_LOW[4], l5 = TABLE_LOW[5], l6 = TABLE_LOW[6], l7 = TABLE_LOW[7];
+        long[] h0 = TABLE_HIGH[0], h1 = TABLE_HIGH[1], h2 = TABLE_HIGH[2], h3 = TABLE_HIGH[3],
+               h4 = TABLE_HIGH[4], h5 = TABLE_HIGH[5], h6 = TABLE_HIGH[6], h7 = TABLE_HIGH[7];
+        for (; i <= end - 8; i += 8) {
+            cl ^= (long) LONG_LE.get(bytes, i);
+            int b0 = (int) cl & 0xFF, b1 = (int) (cl >>> 8) & 0xFF,
+                b2 = (int) (cl >>> 16) & 0xFF, b3 = (int) (cl >>> 24) & 0xFF,
+                b4 = (int) (cl >>> 32) & 0xFF, b5 = (int) (cl >>> 40) & 0xFF,
+                b6 = (int) (cl >>> 48) & 0xFF, b7 = (int) (cl >>> 56);
+            cl = ch ^ l7[b0] ^ l6[b1] ^ l5[b2] ^ l4[b3] ^ l3[b4] ^ l2[b5] ^ l1[b6] ^ l0[b7];
+            ch = h7[b0] ^ h6[b1] ^ h5[b2] ^ h4[b3] ^ h3[b4] ^ h2[b5] ^ h1[b6] ^ h0[b7];
+        }
+
+        // the remaining bytes one by one
+        for (; i < end; i++) {
+            int index = (int) (cl ^ bytes[i]) & 0xFF;
+            cl = ((cl >>> 8) | (ch << 56)) ^ l0[index];
+            ch = (ch >>> 8) ^ h0[index];
         }
         crc[0] = cl;
         crc[1] = ch;
@@ -42,9 +42,13 @@ package net.jacksum.algorithms.crcs;
 
 import net.jacksum.algorithms.AbstractChecksum;
 import net.jacksum.formats.Encoding;
+import net.jacksum.multicore.manyparts.ConcurrentParts;
 import net.jacksum.zzadopt.com.github.snksoft.crc.CRC;
 
+import java.io.IOException;
+import java.nio.channels.FileChannel;
 import java.security.NoSuchAlgorithmException;
+import java.util.List;
 
 public class CrcGeneric extends AbstractChecksum implements CrcInfo {
 
@@ -56,6 +60,9 @@ public class CrcGeneric extends AbstractChecksum implements CrcInfo {
     private CrcModelExtended model;
     private CRC tableDriven;
 
+    private final static long MIN_PART_LEN = 1024 * 1024;
+    private final static long MAX_PART_LEN = 64 * 1024 * 1024;
+
     /**
      * Constructor with all parameters as defined in the
      * Rocksoft^tm Model CRC Algorithm
@@ -197,6 +204,45 @@ public class CrcGeneric extends AbstractChecksum implements CrcInfo {
         this.length += length;
     }
 
+    /**
+     * CRCs the ranges of a large file concurrently, each range from zero,
+     * and combines the registers of the ranges in the order of the ranges.
+     * Subclasses that override update() must override this method as well.
+     */
+    @Override
+    protected boolean readConcurrently(FileChannel channel, long size) throws IOException {
+        if (size < ConcurrentParts.MIN_SIZE) {
+            return false;
+        }
+        long partSize = ConcurrentParts.partSize(size, MIN_PART_LEN, MAX_PART_LEN);
+        List<Long> registers = ConcurrentParts.invokeRanges(channel, size, partSize,
+                (range, index, offset) -> tableDriven.update(0, range));
+        for (int i = 0; i < registers.size(); i++) {
+            value = tableDriven.combine(value, registers.get(i), Math.min(partSize, size - i * partSize));
+        }
+        length += size;
+        return true;
+    }
+
+    /**
+     * Combines the CRC values of two consecutive blocks of data without
+     * processing any data again.
+     *
+     * @param crcA the CRC value of the first block
+     * @param crcB the CRC value of the second block
+     * @param lengthB the length of the second block in bytes
+     * @return the CRC value of both blocks
+     * @throws UnsupportedOperationException if the model includes the length
+     */
+    @Override
+    public long combine(long crcA, long crcB, long lengthB) {
+        if (model.isIncludeLength()) {
+            throw new UnsupportedOperationException("CRCs that include the length cannot be combined.");
+        }
+        return CrcUtils.combine(model.getWidth(), model.getPoly(), model.getInit(), model.isRefOut(),
+                model.getXorOut(), crcA, crcB, lengthB);
+    }
+
     /**
      * Returns the value of the checksum
      *
@@ -27,4 +27,26 @@ public interface CrcInfo {
     public boolean isRefIn();
     public boolean isRefOut();
     public long getXorOut();
+
+    /**
+     * Combines the CRC values of two consecutive blocks of data without
+     * processing any data again, see also CrcUtils.combine().
+     *
+     * @param crcA the CRC value of the first block
+     * @param crcB the CRC value of the second block
+     * @param lengthB the length of the second block in bytes
+     * @return the CRC value of both blocks
+     * @throws UnsupportedOperationException if the CRC is wider than 64 bits, or if
+     * the algorithm does not follow the CRC model (e.g. CRC16_Minix and SumPlan9)
+     */
+    public default long combine(long crcA, long crcB, long lengthB) {
+        if (getWidth() > 64) {
+            throw new UnsupportedOperationException("CRCs with a width of more than 64 bits cannot be combined.");
+        }
+        long poly = 0;
+        for (byte b : getPolyAsBytes()) {
+            poly = (poly << 8) | (b & 0xFF);
+        }
+        return CrcUtils.combine(getWidth(), poly, getInitialValue(), isRefOut(), getXorOut(), crcA, crcB, lengthB);
+    }
 }
@@ -136,4 +136,96 @@ public class CrcUtils {
         return bytes;
     }
 
+
+    /**
+     * Combines the CRC values of two consecutive blocks of data, that is it
+     * returns crc(A|B) from crc(A), crc(B), and the length of B without
+     * processing any data again. This works for any CRC that is defined by
+     * the Rocksoft^tm Model CRC Algorithm with a width of up to 64 bits.
+     * The refIn parameter of the model is not required, because it changes
+     * how the data is fed only.
+     *
+     * @param width the width of the CRC in bits
+     * @param poly the polynomial (without the highest bit)
+     * @param init the initial register value
+     * @param refOut true if the output CRC is reflected
+     * @param xorOut the value that is xor'ed to the output CRC
+     * @param crcA the CRC value of the first block
+     * @param crcB the CRC value of the second block
+     * @param lengthB the length of the second block in bytes
+     * @return the CRC value of both blocks
+     */
+    public static long combine(int width, long poly, long init, boolean refOut, long xorOut,
+                               long crcA, long crcB, long lengthB) {
+        long mask = mask(width);
+        // crc(A|B) = crc(B) ^ ((register(A) ^ init) * x^(8*lengthB) mod poly)
+        long register = (crcA ^ xorOut) & mask;
+        if (refOut) {
+            register = reflect(register, width);
+        }
+        register = multiplyModPoly(width, poly, register ^ (init & mask), xPow8nModPoly(width, poly, lengthB));
+        if (refOut) {
+            register = reflect(register, width);
+        }
+        return (crcB ^ register) & mask;
+    }
+
+    /**
+     * Returns the register of a table driven CRC after n zero bytes have been
+     * processed. Since a CRC is linear, the register of A|B is
+     * appendZeros(register(A), length(B)) ^ register(B) if the register
+     * of B has been computed with an initial value of zero.
+     *
+     * @param width the width of the CRC in bits
+     * @param poly the polynomial (without the highest bit)
+     * @param reflected true if the register is reflected (that is refIn is true)
+     * @param register the register
+     * @param n the number of zero bytes
+     * @return the register after n zero bytes
+     */
+    public static long appendZeros(int width, long poly, boolean reflected, long register, long n) {
+        long r = register & mask(width);
+        if (reflected) {
+            r = reflect(r, width);
+        }
+        r = multiplyModPoly(width, poly, r, xPow8nModPoly(width, poly, n));
+        return reflected ? reflect(r, width) : r;
+    }
+
+    // the value (2 ^ width) - 1
+    private static long mask(int width) {
+        return ~0L >>> (64 - width);
+    }
+
+    // returns a * b mod poly in GF(2), both a and b must be less than 2 ^ width
+    private static long multiplyModPoly(int width, long poly, long a, long b) {
+        long mask = mask(width);
+        long topBit = 1L << (width - 1);
+        long product = 0;
+        for (int i = width - 1; i >= 0; i--) {
+            product = ((product & topBit) != 0) ? ((product << 1) ^ poly) & mask : (product << 1) & mask;
+            if (((b >>> i) & 1) != 0) {
+                product ^= a;
+            }
+        }
+        return product;
+    }
+
+    // returns x ^ (8 * n) mod poly in GF(2) by square-and-multiply
+    private static long xPow8nModPoly(int width, long poly, long n) {
+        long mask = mask(width);
+        long topBit = 1L << (width - 1);
+        long power = 1L & mask; // x ^ 0 mod poly
+        long base = power;
+        for (int i = 0; i < 8; i++) { // x ^ 8 mod poly
+            base = ((base & topBit) != 0) ? ((base << 1) ^ poly) & mask : (base << 1) & mask;
+        }
+        for (; n != 0; n >>>= 1) {
+            if ((n & 1) != 0) {
+                power = multiplyModPoly(width, poly, power, base);
+            }
+            base = multiplyModPoly(width, poly, base, base);
+        }
+        return power;
+    }
 }
@@ -0,0 +1,295 @@
+/*
+
+
+  Jacksum 4.0.0 - a checksum/hash tool written in Java
+  Copyright (c) 2001-2026 Dipl.-Inf. (FH) Johann N. Löfflmann,
+  All Rights Reserved, <https://jacksum.net>.
+
+  This program is free software: you can redistribute it and/or modify it under
+  the terms of the GNU General Public License as published by the Free Software
+  Foundation, either version 3 of the License, or (at your option) any later
+  version.
+
+  This program is distributed in the hope that it will be useful, but WITHOUT
+  ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+  FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+  details.
+
+  You should have received a copy of the GNU General Public License along with
+  this program. If not, see <https://www.gnu.org/licenses/>.
+
+
+ */
+package net.jacksum.algorithms.md;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.List;
+import net.jacksum.multicore.manyparts.ConcurrentParts;
+
+/**
+ * Computes the (unkeyed, 256 bit) BLAKE3 hash of a large file concurrently.
+ *
+ * BLAKE3 is a binary tree of 1 KiB chunks. The left subtree of each node
+ * always covers the largest power of 2 of chunks that leaves at least one byte
+ * for the right subtree, so the shape of the tree depends on the length of the
+ * input only. This class splits the file into parts of a power of 2 of chunks,
+ * computes the chaining values of those subtrees concurrently, and builds the
+ * rest of the tree from them. Only the root node gets the ROOT flag, so the
+ * result is the very same as if the data was hashed sequentially by
+ * net.jacksum.zzadopt.io.github.rctcwyvrn.blake3.Blake3.
+ */
+public final class Blake3Tree {
+
+    private static final int CHUNK_LEN = 1024;
+    private static final int BLOCK_LEN = 64;
+    private static final int OUT_LEN = 32;
+
+    // the min. and max. number of bytes that are hashed by a single task
+    private static final long MIN_PART_LEN = 1024 * 1024;
+    private static final long MAX_PART_LEN = 64 * 1024 * 1024;
+
+    private static final int CHUNK_START = 1;
+    private static final int CHUNK_END = 2;
+    private static final int PARENT = 4;
+    private static final int ROOT = 8;
+
+    private static final int[] IV = {
+        0x6A09E667, 0xBB67AE85, 0x3C6EF372, 0xA54FF53A,
+        0x510E527F, 0x9B05688C, 0x1F83D9AB, 0x5BE0CD19
+    };
+
+    private static final int[] MSG_PERMUTATION = {
+        2, 6, 3, 10, 7, 0, 4, 13, 1, 11, 12, 5, 9, 14, 15, 8
+    };
+
+    // the message word indices for each of the 7 rounds, so that the
+    // message words don't have to be permuted after each round
+    private static final int[][] MSG_SCHEDULE = new int[7][16];
+    static {
+        for (int i = 0; i < 16; i++) {
+            MSG_SCHEDULE[0][i] = i;
+        }
+        for (int r = 1; r < 7; r++) {
+            for (int i = 0; i < 16; i++) {
+                MSG_SCHEDULE[r][i] = MSG_SCHEDULE[r - 1][MSG_PERMUTATION[i]];
+            }
+        }
+    }
+
+    private Blake3Tree() {
+    }
+
+    /**
+     * Computes the BLAKE3 hash of the first size bytes of a file.
+     *
+     * @param channel the FileChannel of the file, it must be open for reading
+     * @param size the number of bytes to be hashed, it must be at least
+     * ConcurrentParts.MIN_SIZE
+     * @return the 32 bytes of the BLAKE3 hash
+     * @throws IOException if an I/O error occurs
+     */
+    public static byte[] digest(FileChannel channel, long size) throws IOException {
+        if (size < ConcurrentParts.MIN_SIZE) {
+            throw new IllegalArgumentException("size must be at least " + ConcurrentParts.MIN_SIZE);
+        }
+        // partSize is a power of 2 of chunks and less than size, so there are
+        // at least two parts and the root is always a parent node
+        long partSize = ConcurrentParts.partSize(size, MIN_PART_LEN, MAX_PART_LEN);
+        List<int[]> cvs = ConcurrentParts.invokeRanges(channel, size, partSize,
+                (range, index, offset) -> subtree(range.order(ByteOrder.LITTLE_ENDIAN),
+                        range.limit(), offset / CHUNK_LEN));
+
+        int[] words = combine(cvs, 0, cvs.size(), true, new int[16]);
+
+        byte[] hash = new byte[OUT_LEN];
+        for (int i = 0; i < 8; i++) {
+            int word = words[i];
+            hash[4 * i] = (byte) word;
+            hash[4 * i + 1] = (byte) (word >>> 8);
+            hash[4 * i + 2] = (byte) (word >>> 16);
+            hash[4 * i + 3] = (byte) (word >>> 24);
+        }
+        return hash;
+    }
+
+    /**
+     * Builds the tree on top of the chaining values of the parts by the same
+     * rule as the tree on top of the chunks, because each part has a power of
+     * 2 of chunks.
+     *
+     * @return the chaining value of the subtree, or the output words of the
+     * root node
+     */
+    private static int[] combine(List<int[]> cvs, int from, int to, boolean root, int[] m) {
+        int count = to - from;
+        if (count == 1) {
+            return cvs.get(from);
+        }
+        int left = Integer.highestOneBit(count - 1);
+        int[] leftCV = combine(cvs, from, from + left, false, m);
+        int[] rightCV = combine(cvs, from + left, to, false, m);
+        System.arraycopy(leftCV, 0, m, 0, 8);
+        System.arraycopy(rightCV, 0, m, 8, 8);
+        int[] out = new int[8];
+        compress(IV, m, 0, BLOCK_LEN, root ? PARENT | ROOT : PARENT, out);
+        return out;
+    }
+
+    /**
+     * Computes the chaining value of a subtree sequentially.
+     *
+     * @param buffer the buffer that contains the subtree from position 0 on,
+     * its byte order must be little endian
+     * @param length the length of the subtree
+     * @param counter the number of the first chunk of the subtree
+     * @return the chaining value of the subtree
+     */
+    private static int[] subtree(ByteBuffer buffer, int length, long counter) {
+        int[] m = new int[16];
+        int chunks = (length + CHUNK_LEN - 1) / CHUNK_LEN;
+        // the stack holds at most one chaining value per bit of chunks, plus one
+        int[][] stack = new int[Integer.SIZE - Integer.numberOfLeadingZeros(chunks) + 1][8];
+        int depth = 0;
+
+        for (int i = 0; i < chunks; i++) {
+            int start = i * CHUNK_LEN;
+            chunk(buffer, start, Math.min(CHUNK_LEN, length - start), counter + i, m, stack[depth]);
+            depth++;
+            // merge all subtrees that are complete now
+            for (int total = i + 1; (total & 1) == 0; total >>>= 1) {
+                parent(stack[depth - 2], stack[depth - 1], m, stack[depth - 2]);
+                depth--;
+            }
+        }
+        // merge the rest from right to left, this happens only if the part is
+        // the rightmost one and if the number of its chunks is not a power of 2
+        while (depth > 1) {
+            parent(stack[depth - 2], stack[depth - 1], m, stack[depth - 2]);
+            depth--;
+        }
+        return stack[0];
+    }
+
+    private static void chunk(ByteBuffer buffer, int position, int length, long counter, int[] m, int[] cv) {
+        System.arraycopy(IV, 0, cv, 0, 8);
+        int blocks = (length + BLOCK_LEN - 1) / BLOCK_LEN;
+        for (int b = 0; b < blocks; b++) {
+            int p = position + b * BLOCK_LEN;
+            int blockLen = Math.min(BLOCK_LEN, length - b * BLOCK_LEN);
+            if (blockLen == BLOCK_LEN) {
+                for (int i = 0; i < 16; i++) {
+                    m[i] = buffer.getInt(p + 4 * i);
+                }
+            } else {
+                // the last block of the file is padded with zeros
+                Arrays.fill(m, 0);
+                for (int j = 0; j < blockLen; j++) {
+                    m[j >>> 2] |= (buffer.get(p + j) & 0xFF) << ((j & 3) << 3);
+                }
+            }
+            int flags = (b == 0 ? CHUNK_START : 0) | (b == blocks - 1 ? CHUNK_END : 0);
+            compress(cv, m, counter, blockLen, flags, cv);
+        }
+    }
+
+    private static void parent(int[] left, int[] right, int[] m, int[] out) {
+        System.arraycopy(left, 0, m, 0, 8);
+        System.arraycopy(right, 0, m, 8, 8);
+        compress(IV, m, 0, BLOCK_LEN, PARENT, out);
+    }
+
+    /**
+     * The BLAKE3 compression function, it writes the first 8 words of the
+     * output, that is the chaining value, to out. The arrays cv and out can
+     * be the same.
+     */
+    private static void compress(int[] cv, int[] m, long counter, int blockLen, int flags, int[] out) {
+        int v0 = cv[0], v1 = cv[1], v2 = cv[2], v3 = cv[3];
+        int v4 = cv[4], v5 = cv[5], v6 = cv[6], v7 = cv[7];
+        int v8 = IV[0], v9 = IV[1], v10 = IV[2], v11 = IV[3];
+        int v12 = (int) counter, v13 = (int) (counter >>> 32), v14 = blockLen, v15 = flags;
+
+        for (int r = 0; r < 7; r++) {
+            int[] s = MSG_SCHEDULE[r];
+            // mix the columns
+            v0 += v4 + m[s[0]];
+            v12 = Integer.rotateRight(v12 ^ v0, 16);
+            v8 += v12;
+            v4 = Integer.rotateRight(v4 ^ v8, 12);
+            v0 += v4 + m[s[1]];
+            v12 = Integer.rotateRight(v12 ^ v0, 8);
+            v8 += v12;
+            v4 = Integer.rotateRight(v4 ^ v8, 7);
+            v1 += v5 + m[s[2]];
+            v13 = Integer.rotateRight(v13 ^ v1, 16);
+            v9 += v13;
+            v5 = Integer.rotateRight(v5 ^ v9, 12);
+            v1 += v5 + m[s[3]];
+            v13 = Integer.rotateRight(v13 ^ v1, 8);
+            v9 += v13;
+            v5 = Integer.rotateRight(v5 ^ v9, 7);
+            v2 += v6 + m[s[4]];
+            v14 = Integer.rotateRight(v14 ^ v2, 16);
+            v10 += v14;
+            v6 = Integer.rotateRight(v6 ^ v10, 12);
+            v2 += v6 + m[s[5]];
+            v14 = Integer.rotateRight(v14 ^ v2, 8);
+            v10 += v14;
+            v6 = Integer.rotateRight(v6 ^ v10, 7);
+            v3 += v7 + m[s[6]];
+            v15 = Integer.rotateRight(v15 ^ v3, 16);
+            v11 += v15;
+            v7 = Integer.rotateRight(v7 ^ v11, 12);
+            v3 += v7 + m[s[7]];
+            v15 = Integer.rotateRight(v15 ^ v3, 8);
+            v11 += v15;
+            v7 = Integer.rotateRight(v7 ^ v11, 7);
+            // mix the diagonals
+            v0 += v5 + m[s[8]];
+            v15 = Integer.rotateRight(v15 ^ v0, 16);
+            v10 += v15;
+            v5 = Integer.rotateRight(v5 ^ v10, 12);
+            v0 += v5 + m[s[9]];
+            v15 = Integer.rotateRight(v15 ^ v0, 8);
+            v10 += v15;
+            v5 = Integer.rotateRight(v5 ^ v10, 7);
+            v1 += v6 + m[s[10]];
+            v12 = Integer.rotateRight(v12 ^ v1, 16);
+            v11 += v12;
+            v6 = Integer.rotateRight(v6 ^ v11, 12);
+            v1 += v6 + m[s[11]];
+            v12 = Integer.rotateRight(v12 ^ v1, 8);
+            v11 += v12;
+            v6 = Integer.rotateRight(v6 ^ v11, 7);
+            v2 += v7 + m[s[12]];
+            v13 = Integer.rotateRight(v13 ^ v2, 16);
+            v8 += v13;
+            v7 = Integer.rotateRight(v7 ^ v8, 12);
+            v2 += v7 + m[s[13]];
+            v13 = Integer.rotateRight(v13 ^ v2, 8);
+            v8 += v13;
+            v7 = Integer.rotateRight(v7 ^ v8, 7);
+            v3 += v4 + m[s[14]];
+            v14 = Integer.rotateRight(v14 ^ v3, 16);
+            v9 += v14;
+            v4 = Integer.rotateRight(v4 ^ v9, 12);
+            v3 += v4 + m[s[15]];
+            v14 = Integer.rotateRight(v14 ^ v3, 8);
+            v9 += v14;
+            v4 = Integer.rotateRight(v4 ^ v9, 7);
+        }
+
+        out[0] = v0 ^ v8;
+        out[1] = v1 ^ v9;
+        out[2] = v2 ^ v10;
+        out[3] = v3 ^ v11;
+        out[4] = v4 ^ v12;
+        out[5] = v5 ^ v13;
+        out[6] = v6 ^ v14;
+        out[7] = v7 ^ v15;
+    }
+}
@@ -30,8 +30,12 @@
   */
 package net.jacksum.algorithms.md;
 
+import java.io.IOException;
+import java.nio.channels.FileChannel;
 import java.security.NoSuchAlgorithmException;
+import java.util.List;
 import net.jacksum.algorithms.AbstractChecksum;
+import net.jacksum.multicore.manyparts.ConcurrentParts;
 import net.jacksum.zzadopt.gnu.crypto.hash.HashFactory;
 import net.jacksum.zzadopt.gnu.crypto.hash.IMessageDigest;
 import net.jacksum.formats.Encoding;
@@ -90,7 +94,7 @@ public class Edonkey extends AbstractChecksum {
 
     @Override
     public void update(byte[] buffer, int offset, int len) {
-        int zuSchreiben = len - offset; // this is XXX
+        int zuSchreiben = len; // this is XXX
         int passed = (int) (length % BLOCKSIZE);
         int platz = BLOCKSIZE - passed;
 
@@ -120,6 +124,42 @@ public class Edonkey extends AbstractChecksum {
 
     }
 
+    /**
+     * Computes the MD4 of each block concurrently, and the MD4 of all those
+     * MD4 values at last.
+     */
+    @Override
+    protected boolean readConcurrently(FileChannel channel, long size) throws IOException {
+        if (size < ConcurrentParts.MIN_SIZE || size < 2L * BLOCKSIZE) {
+            return false;
+        }
+        List<byte[]> hashes = ConcurrentParts.invokeRanges(channel, size, BLOCKSIZE,
+                (range, index, offset) -> {
+                    IMessageDigest part = HashFactory.getInstance(AUX_ALGORITHM);
+                    byte[] bytes = new byte[BUFFERSIZE];
+                    while (range.hasRemaining()) {
+                        int len = Math.min(bytes.length, range.remaining());
+                        range.get(bytes, 0, len);
+                        part.update(bytes, 0, len);
+                    }
+                    return part.digest();
+                });
+        // if the size is a multiple of BLOCKSIZE, the MD4 of an empty block
+        // is the last one, see also getByteArray()
+        if (size % BLOCKSIZE == 0) {
+            hashes.add(md4.digest());
+        }
+        md4final.reset();
+        for (byte[] hash : hashes) {
+            md4final.update(hash, 0, 16);
+        }
+        System.arraycopy(md4final.digest(), 0, edonkeyHash, 0, 16);
+        digest = edonkeyHash;
+        virgin = false;
+        length = size;
+        return true;
+    }
+
     @Override
     public byte[] getByteArray() {
         if (virgin) {
@@ -23,10 +23,13 @@
 
 package net.jacksum.algorithms.wrappers;
 
+import java.io.IOException;
+import java.nio.channels.FileChannel;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.security.NoSuchAlgorithmException;
 import net.jacksum.formats.Encoding;
+import net.jacksum.multicore.manyparts.ConcurrentParts;
 import org.bouncycastle.crypto.digests.Blake2bpDigest;
 import org.bouncycastle.crypto.digests.Blake2sDigest;
 import org.bouncycastle.crypto.digests.Blake2spDigest;
@@ -64,4 +67,18 @@ public class Blake2bpWrapper extends MDbouncycastle {
 
     }
 
+    /**
+     * Updates the leaves of the tree concurrently, each leaf by its own thread.
+     */
+    @Override
+    protected boolean readConcurrently(FileChannel channel, long size) throws IOException {
+        if (size < ConcurrentParts.MIN_SIZE || !(md instanceof Blake2bpDigest)) {
+            return false;
+        }
+        Blake2bpDigest tree = (Blake2bpDigest) md;
+        ConcurrentParts.invokeLanes(channel, size, tree.getLeafCount(), tree.getBlockLength(), tree::updateLeaf);
+        length = size;
+        return true;
+    }
+
 }
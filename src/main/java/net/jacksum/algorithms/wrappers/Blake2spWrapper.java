@@ -23,10 +23,13 @@
 
 package net.jacksum.algorithms.wrappers;
 
+import java.io.IOException;
+import java.nio.channels.FileChannel;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.security.NoSuchAlgorithmException;
 import net.jacksum.formats.Encoding;
+import net.jacksum.multicore.manyparts.ConcurrentParts;
 import org.bouncycastle.crypto.digests.Blake2sDigest;
 import org.bouncycastle.crypto.digests.Blake2spDigest;
 
@@ -63,4 +66,18 @@ public class Blake2spWrapper extends MDbouncycastle {
 
     }
 
+    /**
+     * Updates the leaves of the tree concurrently, each leaf by its own thread.
+     */
+    @Override
+    protected boolean readConcurrently(FileChannel channel, long size) throws IOException {
+        if (size < ConcurrentParts.MIN_SIZE || !(md instanceof Blake2spDigest)) {
+            return false;
+        }
+        Blake2spDigest tree = (Blake2spDigest) md;
+        ConcurrentParts.invokeLanes(channel, size, tree.getLeafCount(), tree.getBlockLength(), tree::updateLeaf);
+        length = size;
+        return true;
+    }
+
 }
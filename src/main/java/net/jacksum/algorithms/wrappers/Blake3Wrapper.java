@@ -22,12 +22,15 @@
  */
 package net.jacksum.algorithms.wrappers;
 
+import java.io.IOException;
+import java.nio.channels.FileChannel;
 import java.security.NoSuchAlgorithmException;
-import java.util.Arrays;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import net.jacksum.zzadopt.io.github.rctcwyvrn.blake3.Blake3;
 import net.jacksum.algorithms.AbstractChecksum;
+import net.jacksum.algorithms.md.Blake3Tree;
+import net.jacksum.multicore.manyparts.ConcurrentParts;
 import net.jacksum.formats.Encoding;
 
 public class Blake3Wrapper extends AbstractChecksum {
@@ -77,10 +80,21 @@ public class Blake3Wrapper extends AbstractChecksum {
 
     @Override
     public void update(byte[] bytes, int offset, int length) {
-        hasher.update(Arrays.copyOfRange(bytes, offset, offset + length));
+        hasher.update(bytes, offset, length);
         this.length += length;
     }
 
+    @Override
+    protected boolean readConcurrently(FileChannel channel, long size) throws IOException {
+        if (size < ConcurrentParts.MIN_SIZE) {
+            return false;
+        }
+        digest = Blake3Tree.digest(channel, size);
+        virgin = false;
+        length = size;
+        return true;
+    }
+
     @Override
     public byte[] getByteArray() {
         if (virgin) {
@@ -22,6 +22,7 @@
  */
 package net.jacksum.algorithms.wrappers;
 
+import java.nio.ByteBuffer;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import net.jacksum.algorithms.AbstractChecksum;
@@ -89,6 +90,12 @@ public class MD extends AbstractChecksum {
         length+=len;
     }
 
+    @Override
+    protected void updateBuffer(ByteBuffer byteBuffer) {
+        length += byteBuffer.remaining();
+        md.update(byteBuffer);
+    }
+
     @Override
     public void update(byte b) {
         md.update(b);
@@ -23,17 +23,28 @@
 
 package net.jacksum.algorithms.wrappers;
 
-import java.security.MessageDigest;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.security.NoSuchAlgorithmException;
+import java.util.List;
 import net.jacksum.algorithms.AbstractChecksum;
 import net.jacksum.formats.Encoding;
+import net.jacksum.multicore.manyparts.ConcurrentParts;
 
 /**
  * A wrapper class that can be used to compute TigerTree
  */
 public class MDTigerTree extends AbstractChecksum {
 
-    private MessageDigest md = null;
+    // a part must have a power of 2 of leaves (1024 bytes), see TigerTree.combine()
+    private final static long MIN_PART_LEN = 1024 * 1024;
+    private final static long MAX_PART_LEN = 64 * 1024 * 1024;
+
+    private TigerTree md = null;
+    private final String arg;
+    // the trees of the threads that hash the parts of a file concurrently
+    private final ThreadLocal<TigerTree> trees = ThreadLocal.withInitial(this::newTree);
     private boolean virgin = true;
     private byte[] digest = null;
 
@@ -45,6 +56,7 @@ public class MDTigerTree extends AbstractChecksum {
         formatPreferences.setHashEncoding(Encoding.BASE32_NOPADDING);
 
         virgin = true;
+        this.arg = arg;
         md = new TigerTree(arg);
         bitWidth = md.getDigestLength() * 8;
     }
@@ -62,6 +74,40 @@ public class MDTigerTree extends AbstractChecksum {
         length+=len;
     }
 
+    @Override
+    protected void updateBuffer(ByteBuffer byteBuffer) {
+        length += byteBuffer.remaining();
+        md.update(byteBuffer);
+    }
+
+    private TigerTree newTree() {
+        try {
+            return new TigerTree(arg);
+        } catch (NoSuchAlgorithmException e) {
+            // cannot happen, because the constructor has succeeded with the same arg
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    protected boolean readConcurrently(FileChannel channel, long size) throws IOException {
+        if (size < ConcurrentParts.MIN_SIZE) {
+            return false;
+        }
+        long partSize = ConcurrentParts.partSize(size, MIN_PART_LEN, MAX_PART_LEN);
+        List<byte[]> roots = ConcurrentParts.invokeRanges(channel, size, partSize,
+                (range, index, offset) -> {
+                    TigerTree tree = trees.get();
+                    tree.reset();
+                    tree.update(range);
+                    return tree.digest();
+                });
+        digest = md.combine(roots);
+        virgin = false;
+        length = size;
+        return true;
+    }
+
     @Override
     public void update(byte b) {
         md.update(b);
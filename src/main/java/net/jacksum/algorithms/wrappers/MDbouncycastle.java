@@ -21,7 +21,11 @@
 
 package net.jacksum.algorithms.wrappers;
 
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
 import java.security.NoSuchAlgorithmException;
+import java.util.List;
 
 import org.bouncycastle.crypto.Digest;
 import org.bouncycastle.crypto.ExtendedDigest;
@@ -29,6 +33,8 @@ import org.bouncycastle.crypto.digests.*;
 import org.bouncycastle.crypto.engines.GOST28147Engine;
 import net.jacksum.algorithms.AbstractChecksum;
 import net.jacksum.formats.Encoding;
+import net.jacksum.multicore.manyparts.ConcurrentParts;
+import net.loefflmann.sugar.io.BufferCleaner;
 //import org.bouncycastle.crypto.digests.Haraka256Digest;
 //import org.bouncycastle.crypto.digests.Haraka512Digest;
 
@@ -38,6 +44,9 @@ import net.jacksum.formats.Encoding;
  */
 public class MDbouncycastle extends AbstractChecksum {
    
+    // the min. and max. number of bytes that are hashed by a single task, see readConcurrently()
+    private final static long MIN_PART_LEN = 1024 * 1024;
+    private final static long MAX_PART_LEN = 64 * 1024 * 1024;
     
     protected Digest md = null;
     protected boolean virgin = true;
@@ -223,6 +232,57 @@ public class MDbouncycastle extends AbstractChecksum {
         md.update(b);
         length++;
     }
+
+    /**
+     * Computes the chaining values of the intermediate leaves of
+     * KangarooTwelve and MarsupilamiFourteen concurrently. The first leaf and
+     * the last one are processed sequentially.
+     */
+    @Override
+    protected boolean readConcurrently(FileChannel channel, long size) throws IOException {
+        if (size < ConcurrentParts.MIN_SIZE || !(md instanceof Kangaroo.KangarooBase)) {
+            return false;
+        }
+        Kangaroo.KangarooBase kangaroo = (Kangaroo.KangarooBase) md;
+        int leafLength = kangaroo.getLeafLength();
+        int cvLength = kangaroo.getChainingValueLength();
+
+        updateRange(channel, 0, leafLength);
+
+        // a part is a power of 2 that is larger than a leaf, so each part
+        // consists of full leaves only
+        long leaves = (size - leafLength) / leafLength;
+        long partSize = ConcurrentParts.partSize(size, MIN_PART_LEN, MAX_PART_LEN);
+        List<byte[]> parts = ConcurrentParts.invokeRanges(channel, leafLength, leaves * leafLength, partSize,
+                (range, index, offset) -> {
+                    int count = range.limit() / leafLength;
+                    byte[] leaf = new byte[leafLength];
+                    byte[] cvs = new byte[count * cvLength];
+                    for (int i = 0; i < count; i++) {
+                        range.get(i * leafLength, leaf);
+                        kangaroo.leafChainingValue(leaf, 0, cvs, i * cvLength);
+                    }
+                    return cvs;
+                });
+        for (byte[] cvs : parts) {
+            kangaroo.updateChainingValues(cvs, 0, cvs.length / cvLength);
+        }
+        length += leaves * leafLength;
+
+        updateRange(channel, (leaves + 1) * leafLength, size);
+        return true;
+    }
+
+    private void updateRange(FileChannel channel, long from, long to) throws IOException {
+        if (to > from) {
+            MappedByteBuffer range = channel.map(FileChannel.MapMode.READ_ONLY, from, to - from);
+            try {
+                update(range);
+            } finally {
+                BufferCleaner.clean(range);
+            }
+        }
+    }
     
     @Override
     public void update(int b) {
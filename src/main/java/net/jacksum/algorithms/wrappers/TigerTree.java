@@ -47,6 +47,7 @@ import java.security.DigestException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.List;
 import net.jacksum.JacksumAPI;
 import net.jacksum.algorithms.AbstractChecksum;
 
@@ -193,6 +194,26 @@ public class TigerTree extends MessageDigest {
         return HASHSIZE;
     }
 
+    /**
+     * Computes the root of a tree from the roots of its subtrees. All subtrees
+     * must have the same power of 2 of leaves, except for the last one which
+     * can have fewer leaves. The nodes of such a subtree are also the nodes of
+     * the tree, so the result is the very same as if all the data had been
+     * hashed by this object.
+     *
+     * @param roots the roots of the subtrees from left to right
+     * @return the root of the tree
+     */
+    public byte[] combine(List<byte[]> roots) {
+        engineReset();
+        for (byte[] root : roots) {
+            push(root);
+        }
+        byte[] ret = collapse();
+        engineReset();
+        return ret;
+    }
+
     /**
      * collapse whatever the tree is now to a root.
      */
@@ -62,6 +62,8 @@ public class CLIParameters {
     public static final String __CHECK_FILE = "--check-file";
     public static final String __CHECK_LINE = "--check-line";
     public static final String __CHECK_STRICT = "--check-strict";
+    public static final String __CHECK_STREAMING = "--check-streaming";
+    public static final String __CHECK_DUPLICATES = "--check-duplicates";
     public static final String _COMPAT = "-C";
     public static final String __COMPAT = "--compat";
     public static final String __STYLE = "--style";
@@ -84,6 +86,8 @@ public class CLIParameters {
     public static final String __GROUP_BYTES = "--group-bytes";
     public static final String _GROUP_BYTES_SEPARATOR = "-G";
     public static final String __GROUP_BYTES_SEPARATOR = "--group-bytes-separator";
+    public static final String __HASH_CACHE = "--hash-cache";
+    public static final String __KEEP_ORDER = "--keep-order";
     public static final String _HELP = "-h";
     public static final String __HELP = "--help";
     public static final String __HMACS = "--hmacs";
@@ -115,15 +119,20 @@ public class CLIParameters {
     public static final String __PATH_SEPARATOR = "--path-separator";
     public static final String _QUICK = "-q";
     public static final String __QUICK = "--quick";
+    public static final String __READ_MODE = "--read-mode";
     public static final String _RECURSIVE = "-r";
     public static final String __RECURSIVE = "--recursive";
     public static final String __SCAN_ALL_UNIX_FILE_TYPES = "--scan-all-unix-file-types";
     public static final String __SCAN_NTFS_ADS = "--scan-ntfs-ads";
+    public static final String __SCHEDULING = "--scheduling";
     public static final String _SEPARATOR = "-s";
     public static final String __SEPARATOR = "--separator";
     public static final String __STRING_LIST = "--string-list";
+    public static final String __THREADS_DIGESTING = "--threads-digesting";
     public static final String __THREADS_HASHING = "--threads-hashing";
+    public static final String __THREADS_MODE = "--threads-mode";
     public static final String __THREADS_READING =  "--threads-reading";
+    public static final String __THREADS_WALKING = "--threads-walking";
     public static final String _TIMESTAMP = "-t";
     public static final String __TIMESTAMP = "--timestamp";
     public static final String _ERROR_FILE = "-u";
@@ -136,6 +145,8 @@ public class CLIParameters {
     public static final String __VERBOSE = "--verbose";
     public static final String _WANTED_LIST = "-w";
     public static final String __WANTED_LIST = "--wanted-list";
+    public static final String __WEIGHTS = "--weights";
+    public static final String __XATTR_CACHE = "--xattr-cache";
     public static final String _HEX_LOWERCASE = "-x";
     public static final String __HEX_LOWERCASE = "--hex-lowercase";
     public static final String _HEX_UPPERCASE = "-X";
@@ -291,6 +302,12 @@ public class CLIParameters {
                 } else if (arg.equals(__CHECK_STRICT)) {
                     parameters.setCheckStrict(true);
 
+                } else if (arg.equals(__CHECK_STREAMING)) {
+                    parameters.setCheckStreaming(true);
+
+                } else if (arg.equals(__CHECK_DUPLICATES)) {
+                    parameters.setCheckDuplicates(true);
+
                 } else if (arg.equals(_COMPAT) || arg.equals(__COMPAT) || arg.equals(__STYLE)) {
                     if (firstfile < args.length) {
                         parameters.setCompatibilityID(args[firstfile++]);
@@ -309,7 +326,7 @@ public class CLIParameters {
 
                 } else if (arg.equals(_EXPECT_HASH) || (arg.equals(__EXPECT_HASH)) || arg.equals(__EXPECT)) {
                     if (firstfile < args.length) {
-                        parameters.setExpected(args[firstfile++]);
+                        parameters.addExpected(args[firstfile++]);
                     } else {
                         handleUserParamError(arg, __EXPECT_HASH);
                     }
@@ -388,6 +405,16 @@ public class CLIParameters {
                         handleUserParamError(arg, __GROUP_BYTES_SEPARATOR);
                     }
 
+                } else if (arg.equals(__HASH_CACHE)) {
+                    if (firstfile < args.length) {
+                        parameters.setHashCache(args[firstfile++]);
+                    } else {
+                        handleUserParamError(arg, __HASH_CACHE);
+                    }
+
+                } else if (arg.equals(__KEEP_ORDER)) {
+                    parameters.setKeepOrder(true);
+
                 } else if (arg.equals(_HELP) || arg.equals(__HELP)) {
                     // default inits
                     parameters.setHelp(true);
@@ -530,7 +557,7 @@ public class CLIParameters {
                     if (firstfile < args.length) {
                         arg = args[firstfile++];
                         try {
-                            parameters.setSequence(arg);
+                            parameters.addSequence(arg);
                         } catch (IllegalArgumentException e) {
                             throw new ParameterException(e.getMessage());
                         }
@@ -538,6 +565,18 @@ public class CLIParameters {
                         handleUserParamError(arg, __QUICK);
                     }
 
+                } else if (arg.equals(__READ_MODE)) {
+                    if (firstfile < args.length) {
+                        arg = args[firstfile++];
+                        try {
+                            parameters.setReadMode(arg);
+                        } catch (IllegalArgumentException e) {
+                            handleParamError(__READ_MODE, e.getMessage(), arg);
+                        }
+                    } else {
+                        handleUserParamError(arg, __READ_MODE);
+                    }
+
                 } else if (arg.equals(_RECURSIVE) || arg.equals(__RECURSIVE)) {
                     if (firstfile < args.length) {
                         arg = args[firstfile++];
@@ -565,6 +604,18 @@ public class CLIParameters {
                 } else if (arg.equals(__SCAN_NTFS_ADS)) {
                     parameters.setScanNtfsAds(true);
 
+                } else if (arg.equals(__SCHEDULING)) {
+                    if (firstfile < args.length) {
+                        arg = args[firstfile++];
+                        try {
+                            parameters.setSchedulingMode(arg);
+                        } catch (IllegalArgumentException e) {
+                            handleParamError(__SCHEDULING, e.getMessage(), arg);
+                        }
+                    } else {
+                        handleUserParamError(arg, __SCHEDULING);
+                    }
+
                 } else if (arg.equals(_SEPARATOR) || arg.equals(__SEPARATOR)) {
                     if (firstfile < args.length) {
                         parameters.setSeparator(args[firstfile++]);
@@ -579,6 +630,26 @@ public class CLIParameters {
                         handleUserParamError(arg, __STRING_LIST);
                     }
 
+                } else if (arg.equals(__THREADS_DIGESTING)) {
+                    if (firstfile < args.length) {
+                        arg = args[firstfile++];
+                        if (arg.equals("max")) {
+                            parameters.setThreadsDigesting(ThreadControl.getThreadsMax());
+                        } else {
+                            try {
+                                int value = Integer.parseInt(arg);
+                                if (value < 1) {
+                                    throw new ParameterException("threads value has to be > 0.");
+                                }
+                                parameters.setThreadsDigesting(value);
+                            } catch (NumberFormatException nfe) {
+                                throw new ParameterException(nfe.getMessage());
+                            }
+                        }
+                    } else {
+                        handleUserParamError(arg, __THREADS_DIGESTING);
+                    }
+
                 } else if (arg.equals(__THREADS_HASHING)) {
                     if (firstfile < args.length) {
                         arg = args[firstfile++];
@@ -599,6 +670,18 @@ public class CLIParameters {
                         handleUserParamError(arg, __THREADS_HASHING);
                     }
 
+                } else if (arg.equals(__THREADS_MODE)) {
+                    if (firstfile < args.length) {
+                        arg = args[firstfile++];
+                        try {
+                            parameters.setThreadsMode(arg);
+                        } catch (IllegalArgumentException e) {
+                            handleParamError(__THREADS_MODE, e.getMessage(), arg);
+                        }
+                    } else {
+                        handleUserParamError(arg, __THREADS_MODE);
+                    }
+
                 } else if (arg.equals(__THREADS_READING)) {
                     if (firstfile < args.length) {
                         arg = args[firstfile++];
@@ -619,6 +702,41 @@ public class CLIParameters {
                         handleUserParamError(arg, __THREADS_READING);
                     }
 
+                } else if (arg.equals(__THREADS_WALKING)) {
+                    if (firstfile < args.length) {
+                        arg = args[firstfile++];
+                        if (arg.equals("max")) {
+                            parameters.setThreadsWalking(ThreadControl.getThreadsMax());
+                        } else {
+                            try {
+                                int value = Integer.parseInt(arg);
+                                if (value < 1) {
+                                    throw new ParameterException("threads value has to be > 0.");
+                                }
+                                parameters.setThreadsWalking(value);
+                            } catch (NumberFormatException nfe) {
+                                throw new ParameterException(nfe.getMessage());
+                            }
+                        }
+                    } else {
+                        handleUserParamError(arg, __THREADS_WALKING);
+                    }
+
+                } else if (arg.equals(__WEIGHTS)) {
+                    if (firstfile < args.length) {
+                        arg = args[firstfile++];
+                        try {
+                            parameters.setWeightsMode(arg);
+                        } catch (IllegalArgumentException e) {
+                            handleParamError(__WEIGHTS, e.getMessage(), arg);
+                        }
+                    } else {
+                        handleUserParamError(arg, __WEIGHTS);
+                    }
+
+                } else if (arg.equals(__XATTR_CACHE)) {
+                    parameters.setXattrCache(true);
+
                 } else if (arg.equals(_TIMESTAMP) || arg.equals(__TIMESTAMP)) {
                     if (firstfile < args.length) {
                         try {
@@ -0,0 +1,293 @@
+/*
+
+
+  Jacksum 4.0.0 - a checksum/hash tool written in Java
+  Copyright (c) 2001-2026 Dipl.-Inf. (FH) Johann N. Löfflmann,
+  All Rights Reserved, <https://jacksum.net>.
+
+  This program is free software: you can redistribute it and/or modify it under
+  the terms of the GNU General Public License as published by the Free Software
+  Foundation, either version 3 of the License, or (at your option) any later
+  version.
+
+  This program is distributed in the hope that it will be useful, but WITHOUT
+  ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+  FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+  details.
+
+  You should have received a copy of the GNU General Public License along with
+  this program. If not, see <https://www.gnu.org/licenses/>.
+
+
+ */
+package net.jacksum.compats.parsing;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Finds the entries of a check file that refer to the same file as an entry that is read
+ * later, without keeping all entries in memory. The entries are sorted by their duplicate
+ * detection key in chunks of a limited size, chunks that don't fit are spilled to temporary
+ * files, and the chunks are merged afterwards, so that entries with the same key arrive one
+ * after another.
+ *
+ * It is used if a check file is being streamed (option --check-duplicates), and it has the
+ * same understanding of a duplicate as Parser.parseFile(): the entry that has been read
+ * later wins. It is counted and reported exactly like it is done by the Parser.
+ */
+public class DuplicateFinder {
+
+    // the estimated number of bytes that the entries which are sorted in memory may occupy
+    // before they are spilled to a file, an eighth of the heap, but not more than 64 MiB
+    private static final long CHUNK_BYTES = Math.min(64L << 20, Runtime.getRuntime().maxMemory() / 8);
+
+    // the estimated number of bytes that an entry occupies in memory besides its strings
+    private static final int RECORD_OVERHEAD = 128;
+
+    // the line number of an entry that comes from --check-line, it is always read last
+    public static final long CHECK_LINE = Long.MAX_VALUE;
+
+    private final Parser parser;
+
+    /**
+     * @param parser the parser that has been configured for reading the check file, its
+     * statistics count the duplicates
+     */
+    public DuplicateFinder(Parser parser) {
+        this.parser = parser;
+    }
+
+    private static class Record {
+        final String key;
+        final long line;
+        final HashEntry entry;
+
+        Record(String key, long line, HashEntry entry) {
+            this.key = key;
+            this.line = line;
+            this.entry = entry;
+        }
+    }
+
+    private static final Comparator<Record> ORDER = Comparator
+            .comparing((Record record) -> record.key)
+            .thenComparingLong(record -> record.line);
+
+    /**
+     * Finds the lines that don't need to be verified, because a later line refers to the
+     * same file.
+     *
+     * @param filename the name of the check file, it must not be standard input
+     * @param charset the charset of the check file
+     * @param checkLineEntry the entry of option --check-line, or null
+     * @return the line numbers of the entries that are replaced by a later entry, sorted
+     * in ascending order
+     * @throws IOException if an I/O error occurs
+     */
+    public long[] find(String filename, Charset charset, HashEntry checkLineEntry) throws IOException {
+        List<Path> spilled = new ArrayList<>();
+        List<Closeable> open = new ArrayList<>();
+        try {
+            List<Record> chunk = new ArrayList<>();
+            long chunkBytes = 0;
+            try (Parser.EntryReader reader = parser.new EntryReader(filename, charset, true)) {
+                HashEntry hashEntry;
+                while ((hashEntry = reader.next()) != null) {
+                    Record record = record(reader.getLineNumber(), hashEntry);
+                    chunk.add(record);
+                    chunkBytes += size(record);
+                    if (chunkBytes >= CHUNK_BYTES) {
+                        spilled.add(spill(chunk));
+                        chunk.clear();
+                        chunkBytes = 0;
+                    }
+                }
+            }
+            if (checkLineEntry != null) {
+                chunk.add(record(CHECK_LINE, checkLineEntry));
+            }
+            chunk.sort(ORDER);
+
+            PriorityQueue<Cursor> queue = new PriorityQueue<>((a, b) -> ORDER.compare(a.current, b.current));
+            Cursor memory = new ListCursor(chunk);
+            if (memory.advance()) {
+                queue.add(memory);
+            }
+            for (Path path : spilled) {
+                FileCursor cursor = new FileCursor(path);
+                open.add(cursor);
+                if (cursor.advance()) {
+                    queue.add(cursor);
+                }
+            }
+
+            long[] lines = new long[16];
+            int count = 0;
+            Record previous = null;
+            while (!queue.isEmpty()) {
+                Cursor cursor = queue.poll();
+                Record record = cursor.current;
+                if (previous != null && previous.key.equals(record.key)) {
+                    if (count == lines.length) {
+                        lines = Arrays.copyOf(lines, count * 2);
+                    }
+                    lines[count++] = previous.line;
+                    parser.handleDuplicate(previous.entry, record.entry, record.line == CHECK_LINE
+                            ? "the check line"
+                            : String.format("line #%d in file \"%s\"", record.line, filename));
+                }
+                previous = record;
+                if (cursor.advance()) {
+                    queue.add(cursor);
+                }
+            }
+            parser.getStatistics().setDuplicateEntriesCounted(true);
+
+            lines = Arrays.copyOf(lines, count);
+            Arrays.sort(lines);
+            return lines;
+        } finally {
+            for (Closeable closeable : open) {
+                closeable.close();
+            }
+            for (Path path : spilled) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    private Record record(long line, HashEntry hashEntry) {
+        String key = parser.duplicateDetectionKey(hashEntry.getFilename());
+        // only those properties are kept that Parser.differs() compares
+        HashEntry entry = new HashEntry();
+        entry.setFilename(hashEntry.getFilename());
+        entry.setHash(hashEntry.getHash());
+        entry.setFilesize(hashEntry.getFilesize());
+        entry.setTimestamp(hashEntry.getTimestamp());
+        return new Record(key == null ? "" : key, line, entry);
+    }
+
+    private static long size(Record record) {
+        return RECORD_OVERHEAD + 2L * (record.key.length()
+                + length(record.entry.getFilename())
+                + length(record.entry.getHash())
+                + length(record.entry.getTimestamp()));
+    }
+
+    private static int length(String string) {
+        return string == null ? 0 : string.length();
+    }
+
+    private static Path spill(List<Record> chunk) throws IOException {
+        chunk.sort(ORDER);
+        Path path = Files.createTempFile("jacksum-", ".dup");
+        path.toFile().deleteOnExit();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            for (Record record : chunk) {
+                writeString(out, record.key);
+                out.writeLong(record.line);
+                writeString(out, record.entry.getFilename());
+                writeString(out, record.entry.getHash());
+                out.writeLong(record.entry.getFilesize());
+                writeString(out, record.entry.getTimestamp());
+            }
+        }
+        return path;
+    }
+
+    // DataOutputStream.writeUTF() is limited to 64 KiB, which is not enough for any path
+    private static void writeString(DataOutputStream out, String string) throws IOException {
+        if (string == null) {
+            out.writeInt(-1);
+        } else {
+            byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private abstract static class Cursor {
+        Record current;
+
+        // moves to the next record, returns false if there is no next record
+        abstract boolean advance() throws IOException;
+    }
+
+    private static class ListCursor extends Cursor {
+        private final List<Record> list;
+        private int index = 0;
+
+        ListCursor(List<Record> list) {
+            this.list = list;
+        }
+
+        @Override
+        boolean advance() {
+            if (index < list.size()) {
+                current = list.get(index);
+                // the record is not needed by the list anymore
+                list.set(index++, null);
+                return true;
+            }
+            current = null;
+            return false;
+        }
+    }
+
+    private static class FileCursor extends Cursor implements Closeable {
+        private final DataInputStream in;
+
+        FileCursor(Path path) throws IOException {
+            in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)));
+        }
+
+        @Override
+        boolean advance() throws IOException {
+            String key;
+            try {
+                key = readString(in);
+            } catch (EOFException eof) {
+                current = null;
+                return false;
+            }
+            long line = in.readLong();
+            HashEntry entry = new HashEntry();
+            entry.setFilename(readString(in));
+            entry.setHash(readString(in));
+            entry.setFilesize(in.readLong());
+            entry.setTimestamp(readString(in));
+            current = new Record(key, line, entry);
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
@@ -29,6 +29,8 @@ import net.jacksum.formats.Encoding;
 import net.jacksum.formats.EncodingDecoding;
 import net.jacksum.formats.FilenameFormatter;
 import net.loefflmann.sugar.io.BOM;
+import net.loefflmann.sugar.util.ByteArena;
+import net.loefflmann.sugar.util.ByteSequenceIndex;
 
 import java.io.*;
 import java.nio.charset.Charset;
@@ -346,7 +348,7 @@ public class Parser {
      * @param filename the file name of an entry of the check file
      * @return the key for the duplicate detection
      */
-    private String duplicateDetectionKey(String filename) {
+    String duplicateDetectionKey(String filename) {
         // the pseudo name for standard input (e.g. <stdin> or -) does not refer to a file on the
         // file system, so it must not be resolved against the current working directory
         if (filename == null || filename.equals(props.getStdinName())) {
@@ -368,7 +370,7 @@ public class Parser {
      * @param other another entry of the check file
      * @return true if the two entries don't store the same properties
      */
-    private static boolean differs(HashEntry one, HashEntry other) {
+    static boolean differs(HashEntry one, HashEntry other) {
         return !Objects.equals(one.getHash(), other.getHash())
                 || one.getFilesize() != other.getFilesize()
                 || !Objects.equals(one.getTimestamp(), other.getTimestamp());
@@ -382,7 +384,7 @@ public class Parser {
      * @param hashEntry the entry that replaces it
      * @param location where the entry that replaces it comes from
      */
-    private void handleDuplicate(HashEntry previous, HashEntry hashEntry, String location) {
+    void handleDuplicate(HashEntry previous, HashEntry hashEntry, String location) {
         getStatistics().setDuplicateEntriesCounted(true);
         getStatistics().setDuplicateEntries(getStatistics().getDuplicateEntries() + 1);
         if (differs(previous, hashEntry)) {
@@ -432,88 +434,147 @@ public class Parser {
     public List<HashEntry> parseFile(String filename, Charset charset) throws IOException, NotEvenOneEntryFoundException {
         List<HashEntry> list = new ArrayList<>();
 
-        BufferedReader bufferedReader = null;
-        FileReader fileReader = null;
-        InputStreamReader inputStreamReader;
-
-        boolean stdin = filename.equals("-");
-
-        try {
-            // don't use try-with-resources here, because we only want to close the BufferedReader (and FileReader),
-            // but we don't want to close System.in
-            if (stdin) {
-                inputStreamReader = new InputStreamReader(System.in, charset);
-                bufferedReader = new BufferedReader(inputStreamReader);
-            } else {
-                fileReader = new FileReader(filename, charset);
-                bufferedReader = new BufferedReader(fileReader);
-            }
-
-            String line;
-            int lineNumber = 0;
-            int properlyFormattedLines = 0;
-            int improperlyFormattedLines = 0;
-            int ignoredLines = 0;
-            Map<String, HashEntry> map = null;
+        try (EntryReader reader = openFile(filename, charset)) {
+            // maps the duplicate detection key of an entry to its position in the list; the keys
+            // are packed into an arena, because a check file can have millions of entries
+            ByteSequenceIndex positions = null;
             if (replaceDuplicateFilenames) {
-                map = new LinkedHashMap<>();
+                positions = new ByteSequenceIndex(new ByteArena());
             }
-            while ((line = bufferedReader.readLine()) != null) {
-                lineNumber++;
-                try {
-
-                    if (lineNumber == 1) {
-                        line = BOM.cutBOM(line, charset);
-                    }
-
-                    HashEntry hashEntry = parseLine(line);
-                    if (replaceDuplicateFilenames) {
-                        // a LinkedHashMap keeps the position of an entry that is being replaced,
+            HashEntry hashEntry;
+            while ((hashEntry = reader.next()) != null) {
+                if (replaceDuplicateFilenames) {
+                    String key = duplicateDetectionKey(hashEntry.getFilename());
+                    int position = positions.get(key == null ? "" : key);
+                    if (position >= 0) {
+                        // the entry keeps the position of the entry that it replaces,
                         // so the order of the check file is preserved
-                        HashEntry previous = map.put(duplicateDetectionKey(hashEntry.getFilename()), hashEntry);
-                        if (previous != null) {
-                            handleDuplicate(previous, hashEntry, String.format("line #%d in file \"%s\"", lineNumber, filename));
-                        }
+                        HashEntry previous = list.set(position, hashEntry);
+                        handleDuplicate(previous, hashEntry, String.format("line #%d in file \"%s\"", reader.getLineNumber(), filename));
                     } else {
+                        positions.put(key == null ? "" : key, list.size());
                         list.add(hashEntry);
                     }
-                    properlyFormattedLines++;
-                } catch (IgnoredLineException ile) {
-                    // we want to silently ignore particular lines
-                    ignoredLines++;
-                } catch (ImproperlyFormattedLineException ple) {
-                    improperlyFormattedLines++;
-                    System.err.printf("Jacksum: Warning: Improperly formatted line in line #%d in file \"%s\": \"%s\"%n", lineNumber, filename, line);
+                } else {
+                    list.add(hashEntry);
                 }
             }
 
             if (replaceDuplicateFilenames) {
-                list.addAll(map.values());
                 // the duplicates themselves have been counted by handleDuplicate() already
                 getStatistics().setDuplicateEntriesCounted(true);
             }
-            // add to the statistics rather than replacing them, see also parseOneLine()
-            getStatistics().setTotalLines(getStatistics().getTotalLines() + lineNumber);
-            getStatistics().setProperlyFormattedLines(getStatistics().getProperlyFormattedLines() + properlyFormattedLines);
-            getStatistics().setImproperlyFormattedLines(getStatistics().getImproperlyFormattedLines() + improperlyFormattedLines);
-            getStatistics().setIgnoredLines(getStatistics().getIgnoredLines() + ignoredLines);
 
             if (list.isEmpty()) {
-                throw new NotEvenOneEntryFoundException(String.format("Jacksum: Error: not even one valid entry has been found in %s. Are you sure that you have specified the correct style?", filename));
+                throw new NotEvenOneEntryFoundException(notEvenOneEntryFoundMessage(filename));
             }
+        }
+        return list;
+    }
 
-        } finally {
-            if (!stdin) {
-                if (bufferedReader != null) {
-                    bufferedReader.close();
+    /**
+     * Returns the message for a NotEvenOneEntryFoundException.
+     *
+     * @param filename the name of the file that has been parsed
+     * @return the message
+     */
+    public static String notEvenOneEntryFoundMessage(String filename) {
+        return String.format("Jacksum: Error: not even one valid entry has been found in %s. Are you sure that you have specified the correct style?", filename);
+    }
+
+    /**
+     * Opens a file that contains entries with hashes for reading the entries one by one,
+     * so that a file with millions of entries can be processed without keeping all of
+     * them in memory. Lines are counted by the statistics while they are being read.
+     * Duplicates are not detected by the EntryReader, see parseFile() and DuplicateFinder.
+     *
+     * @param filename the filename, or - for standard input
+     * @param charset the charset that should be used to read the file
+     * @return an EntryReader that has to be closed by the caller
+     * @throws IOException if the file cannot be opened
+     */
+    public EntryReader openFile(String filename, Charset charset) throws IOException {
+        return new EntryReader(filename, charset, false);
+    }
+
+    /**
+     * Reads the entries of a file one by one, see openFile().
+     */
+    public class EntryReader implements Closeable {
+
+        private final String filename;
+        private final Charset charset;
+        private final boolean stdin;
+        // a quiet reader neither warns nor counts lines, because the file is read twice
+        private final boolean quiet;
+        private final BufferedReader bufferedReader;
+        private long lineNumber = 0;
+
+        EntryReader(String filename, Charset charset, boolean quiet) throws IOException {
+            this.filename = filename;
+            this.charset = charset;
+            this.quiet = quiet;
+            stdin = filename.equals("-");
+            // don't close System.in, see close()
+            if (stdin) {
+                bufferedReader = new BufferedReader(new InputStreamReader(System.in, charset));
+            } else {
+                bufferedReader = new BufferedReader(new FileReader(filename, charset));
+            }
+        }
+
+        /**
+         * Reads lines until a line with an entry has been found.
+         *
+         * @return the next entry, or null if the end of the file has been reached
+         * @throws IOException if an I/O error occurs
+         */
+        public HashEntry next() throws IOException {
+            String line;
+            while ((line = bufferedReader.readLine()) != null) {
+                lineNumber++;
+                if (lineNumber == 1) {
+                    line = BOM.cutBOM(line, charset);
+                }
+                if (!quiet) {
+                    getStatistics().setTotalLines(getStatistics().getTotalLines() + 1);
                 }
-                if (fileReader != null) {
-                    fileReader.close();
+                try {
+                    HashEntry hashEntry = parseLine(line);
+                    if (!quiet) {
+                        getStatistics().setProperlyFormattedLines(getStatistics().getProperlyFormattedLines() + 1);
+                    }
+                    return hashEntry;
+                } catch (IgnoredLineException ile) {
+                    // we want to silently ignore particular lines
+                    if (!quiet) {
+                        getStatistics().setIgnoredLines(getStatistics().getIgnoredLines() + 1);
+                    }
+                } catch (ImproperlyFormattedLineException ple) {
+                    if (!quiet) {
+                        getStatistics().setImproperlyFormattedLines(getStatistics().getImproperlyFormattedLines() + 1);
+                        System.err.printf("Jacksum: Warning: Improperly formatted line in line #%d in file \"%s\": \"%s\"%n", lineNumber, filename, line);
+                    }
                 }
             }
+            return null;
+        }
 
+        /**
+         * @return the number of the line that has been read last
+         */
+        public long getLineNumber() {
+            return lineNumber;
+        }
+
+        @Override
+        public void close() throws IOException {
+            // we only want to close the BufferedReader (and FileReader),
+            // but we don't want to close System.in
+            if (!stdin) {
+                bufferedReader.close();
+            }
         }
-        return list;
     }
 
     /**
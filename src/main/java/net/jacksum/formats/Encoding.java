@@ -54,10 +54,10 @@ public enum Encoding {
 
     private final String code;
     private final String description;
-    private static final Map<String, Encoding> codeMap;
 
-    static {
-        codeMap = getCodesForAvailableEncodings();
+    // the codes are built on first use only, because they are not required for the default encoding
+    private static final class Codes {
+        private static final Map<String, Encoding> MAP = getCodesForAvailableEncodings();
     }
 
     Encoding(String code, String description) {
@@ -187,8 +187,9 @@ public enum Encoding {
      */
     public static Encoding string2Encoding(String encoding) throws IllegalArgumentException {
         String key = encoding.toLowerCase(Locale.US);
-        if (codeMap.containsKey(key)) {
-            return codeMap.get(key);
+        Encoding value = Codes.MAP.get(key);
+        if (value != null) {
+            return value;
         } else {
             throw new IllegalArgumentException(String.format("Encoding \"%s\" is unknown.", encoding));
         }
@@ -20,10 +20,13 @@
 */
 package net.jacksum.multicore;
 
+import java.util.concurrent.ForkJoinPool;
+
 public class ThreadControl {
     private static final int THREADS_MAX = Runtime.getRuntime().availableProcessors();
     private static int threadsHashing = THREADS_MAX;
     private static int threadsReading = 1; // OSControl.isMacOS() ? THREADS_MAX : 1;
+    private static ForkJoinPool forkJoinPool = null;
 
     public static int getThreadsMax() {
         return THREADS_MAX;
@@ -44,4 +47,21 @@ public class ThreadControl {
     public static void setThreadsReading(int threadsReading) {
         ThreadControl.threadsReading = threadsReading;
     }
+
+    /**
+     * Returns the pool that hashes the parts of a single file concurrently.
+     * Its parallelism is the number of threads for hashing, see also
+     * --threads-hashing.
+     *
+     * @return the pool for hashing the parts of a file
+     */
+    public static synchronized ForkJoinPool getForkJoinPool() {
+        if (forkJoinPool == null || forkJoinPool.getParallelism() != threadsHashing) {
+            if (forkJoinPool != null) {
+                forkJoinPool.shutdown();
+            }
+            forkJoinPool = new ForkJoinPool(threadsHashing);
+        }
+        return forkJoinPool;
+    }
 }
@@ -41,6 +41,7 @@
  */
 package net.jacksum.multicore.manyalgos;
 
+import net.jacksum.algorithms.AbstractChecksum;
 import net.jacksum.multicore.ThreadControl;
 
 import java.io.File;
@@ -60,7 +61,11 @@ import java.util.concurrent.*;
  */
 public class ConcurrentHasher {
 
-    private static final int QUEUE_CAPACITY = 1024;
+    // the number of units in the ring, 2 MiB in total
+    private static final int RING_SLOTS = 32;
+    // each reading thread reuses its ring for all files it reads
+    private static final ThreadLocal<DataRing> RINGS =
+            ThreadLocal.withInitial(() -> new DataRing(RING_SLOTS, AbstractChecksum.BUFFERSIZE));
     private static int THREAD_COUNT = ThreadControl.getThreadsHashing();
     private long totalRead = 0L;
 
@@ -82,20 +87,18 @@ public class ConcurrentHasher {
 
         final int workingThreads = Math.max(1, Math.min(THREAD_COUNT, hashes.size()));
 
-        // One queue per worker
-        final List<BlockingQueue<DataUnit>> queues =
-                new ArrayList<>(workingThreads);
+        // One ring for all workers, each worker reads all units
+        final DataRing ring = RINGS.get();
+        ring.prepare(workingThreads);
 
         final List<Runnable> tasks = new ArrayList<>(workingThreads);
 
         // One worker per processor
         final Hasher[] workers = new Hasher[workingThreads];
 
-        // create queues and workers
+        // create workers
         for (int i = 0; i < workingThreads; i++) {
-            BlockingQueue<DataUnit> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY, true);
-            queues.add(queue);
-            workers[i] = new Hasher(queue);
+            workers[i] = new Hasher(ring, i);
             tasks.add(workers[i]);
         }
 
@@ -113,8 +116,9 @@ public class ConcurrentHasher {
         }
 
         final ExecutorService pool = Executors.newFixedThreadPool(workers.length + 1);
+        boolean joined = false;
         try {
-            DataReader dataReader = new DataReader(src, queues);
+            DataReader dataReader = new DataReader(src, ring);
             Future<?> readerFuture = pool.submit(dataReader);
 
             List<Future<?>> futures = new ArrayList<>(tasks.size());
@@ -128,6 +132,7 @@ public class ConcurrentHasher {
             // ... and the DataReader too, so total/exceptionMessage are safely
             // published to this thread (the reader's Future used to be discarded).
             readerFuture.get();
+            joined = true;
 
             // An I/O error (e.g. a locked file) must surface as a failure, never
             // as a success with a partially computed hash.
@@ -152,6 +157,10 @@ public class ConcurrentHasher {
             throw new IOException("Hashing failed: " + cause.getMessage(), cause);
         } finally {
             pool.shutdownNow();
+            if (!joined) {
+                // threads of the pool could still use the ring
+                RINGS.remove();
+            }
         }
     }
 }
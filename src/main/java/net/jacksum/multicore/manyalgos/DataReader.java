@@ -40,58 +40,25 @@
 package net.jacksum.multicore.manyalgos;
 
 import java.io.*;
-import java.util.Collection;
-import java.util.concurrent.BlockingQueue;
-import net.jacksum.algorithms.AbstractChecksum;
 
 /**
- * Reads the file and puts its data in several queues for processing by Hashers.
- * There's one queue per processor.
+ * Reads the file and publishes its data in a DataRing for processing by
+ * Hashers.
  * 
  * @author Federico Tello Gentile
  * @author Johann N. Löfflmann
  */
 public class DataReader implements Runnable {
 
-    private final Collection<BlockingQueue<DataUnit>> queues;
+    private final DataRing ring;
     private final File file;
     private long total = 0L;
 
-    public DataReader(File file, Collection<BlockingQueue<DataUnit>> queues) {
-        this.queues = queues;
+    public DataReader(File file, DataRing ring) {
+        this.ring = ring;
         this.file = file;
     }
 
-    private void enqueue(DataUnit du) throws InterruptedException {
-        for (BlockingQueue<DataUnit> queue : this.queues) {
-            queue.put(du);
-        }
-    }
-
-    /**
-     * Best-effort delivery of the terminating marker to every queue. Unlike
-     * {@link #enqueue(DataUnit)} this never aborts halfway through: if delivery
-     * to one queue is interrupted it retries so that <em>each</em> Hasher
-     * receives the marker and none is left blocked forever on {@code take()}.
-     */
-    private void enqueueToAll(DataUnit du) {
-        boolean interrupted = false;
-        for (BlockingQueue<DataUnit> queue : this.queues) {
-            boolean delivered = false;
-            while (!delivered) {
-                try {
-                    queue.put(du);
-                    delivered = true;
-                } catch (InterruptedException e) {
-                    interrupted = true; // retry, this queue still needs the marker
-                }
-            }
-        }
-        if (interrupted) {
-            Thread.currentThread().interrupt();
-        }
-    }
-
     public long getTotal() {
         return total;
     }
@@ -103,31 +70,31 @@ public class DataReader implements Runnable {
             // readData() fills a whole buffer (or reaches EOF) and flags the last
             // unit itself, so there is always at least one unit and the final
             // (possibly empty) unit terminates the Hashers.
-            DataUnit du = new DataUnit(AbstractChecksum.BUFFERSIZE);
-            total += du.readData(is);
-            enqueue(du);
-            while (du.isNotLast()) {
-                du = new DataUnit(AbstractChecksum.BUFFERSIZE);
+            DataUnit du;
+            do {
+                du = ring.claim();
                 total += du.readData(is);
-                enqueue(du);
-            }
+                ring.publish();
+                // the unit cannot be reused before the next claim, so it is
+                // safe to ask it after it has been published
+            } while (du.isNotLast());
 
         } catch (Throwable ex) {
             // Publish the failure state BEFORE the terminating marker crosses the
-            // queue. The only happens-before edge to the main thread runs through
-            // queue.put -> queue.take -> future.get (the DataReader's own Future is
+            // ring. The only happens-before edge to the main thread runs through
+            // publish -> take -> future.get (the DataReader's own Future is
             // joined by ConcurrentHasher too, but ordering the writes first keeps
             // total/exceptionMessage visible regardless).
             total = -1;
             exceptionMessage = ex.getMessage();
-            // Always enqueue the "last one marker", otherwise the Hashers would
-            // block forever on take() and future.get() would hang the entire
+            // Always publish the "last one marker", otherwise the Hashers would
+            // wait forever and future.get() would hang the entire
             // process, e.g. while trying to read NTUSER.DAT on Microsoft Windows
             // (Der Prozess kann nicht auf die Datei zugreifen, da sie von einem
             // anderen Prozess verwendet wird).
-            DataUnit marker = new DataUnit(1);
+            DataUnit marker = ring.claimUninterruptibly();
             marker.markAsLast();
-            enqueueToAll(marker);
+            ring.publish();
         }
     }
 
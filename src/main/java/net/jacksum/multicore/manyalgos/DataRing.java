@@ -0,0 +1,230 @@
+/*
+
+
+  Jacksum 4.0.0 - a checksum/hash tool written in Java
+  Copyright (c) 2001-2026 Dipl.-Inf. (FH) Johann N. Löfflmann,
+  All Rights Reserved, <https://jacksum.net>.
+
+  This program is free software: you can redistribute it and/or modify it under
+  the terms of the GNU General Public License as published by the Free Software
+  Foundation, either version 3 of the License, or (at your option) any later
+  version.
+
+  This program is distributed in the hope that it will be useful, but WITHOUT
+  ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+  FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+  details.
+
+  You should have received a copy of the GNU General Public License along with
+  this program. If not, see <https://www.gnu.org/licenses/>.
+
+
+ */
+package net.jacksum.multicore.manyalgos;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A ring of reusable DataUnits that broadcasts the data of one DataReader to
+ * multiple Hashers.
+ *
+ * The DataReader claims the next unit, fills it, and publishes it. Each
+ * Hasher reads all published units in order, using its own sequence, and
+ * releases a unit after it has processed it. A unit is reused by the
+ * DataReader only after all Hashers have released it, so the DataReader waits
+ * for the slowest Hasher only, and there is no allocation per chunk.
+ *
+ * Waiting threads spin for a short while and park afterwards. Writes to the
+ * sequences are volatile, so the content of a unit is visible to a Hasher once
+ * the unit has been published, and to the DataReader once it has been released
+ * by all Hashers.
+ *
+ * @since Jacksum 4.0.0
+ */
+public final class DataRing {
+
+    private static final int SPINS = 100;
+    // a safety net only, a parked thread is usually unparked explicitly
+    private static final long PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    // a consumer that has been detached doesn't hold back the producer anymore
+    private static final long DETACHED = Long.MAX_VALUE;
+
+    private final DataUnit[] units;
+    private final int mask;
+
+    // the number of units that have been published by the producer
+    private volatile long published;
+    // the producer if it is parked, otherwise null
+    private volatile Thread waitingProducer;
+
+    // per consumer: the number of units that have been released
+    private AtomicLongArray released;
+    // per consumer: the consumer if it is parked, otherwise null
+    private AtomicReferenceArray<Thread> waitingConsumers;
+
+    /**
+     * Creates a ring.
+     *
+     * @param slots the number of units, must be a power of two
+     * @param bufferSize the size of each unit in bytes
+     */
+    public DataRing(int slots, int bufferSize) {
+        if (slots < 1 || Integer.bitCount(slots) != 1) {
+            throw new IllegalArgumentException("slots must be a power of two");
+        }
+        units = new DataUnit[slots];
+        for (int i = 0; i < slots; i++) {
+            units[i] = new DataUnit(bufferSize);
+        }
+        mask = slots - 1;
+    }
+
+    /**
+     * Prepares the ring for a new run. Must be called before the producer and
+     * the consumers are started.
+     *
+     * @param consumerCount the number of consumers
+     */
+    public void prepare(int consumerCount) {
+        published = 0;
+        waitingProducer = null;
+        released = new AtomicLongArray(consumerCount);
+        waitingConsumers = new AtomicReferenceArray<>(consumerCount);
+    }
+
+    /**
+     * Returns the unit that the producer fills next. Waits until all
+     * consumers have released that unit.
+     *
+     * @return the unit to be filled and published by the producer
+     * @throws InterruptedException if the producer has been interrupted
+     */
+    public DataUnit claim() throws InterruptedException {
+        long wrap = published - units.length;
+        int spins = 0;
+        while (minReleased() <= wrap) {
+            if (spins < SPINS) {
+                spins++;
+                Thread.onSpinWait();
+            } else {
+                waitingProducer = Thread.currentThread();
+                if (minReleased() <= wrap) {
+                    LockSupport.parkNanos(this, PARK_NANOS);
+                }
+                waitingProducer = null;
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+            }
+        }
+        return units[(int) published & mask];
+    }
+
+    /**
+     * Like {@link #claim()}, but it doesn't give up if the producer is
+     * interrupted. The interrupt status is restored. Used to deliver the last
+     * unit in any case, so that no consumer waits forever.
+     *
+     * @return the unit to be filled and published by the producer
+     */
+    public DataUnit claimUninterruptibly() {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return claim();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Publishes the unit that has been returned by the last claim.
+     */
+    public void publish() {
+        published = published + 1;
+        for (int i = 0; i < waitingConsumers.length(); i++) {
+            Thread consumer = waitingConsumers.get(i);
+            if (consumer != null) {
+                LockSupport.unpark(consumer);
+            }
+        }
+    }
+
+    /**
+     * Returns the unit with a particular sequence number to a consumer. Waits
+     * until the unit has been published.
+     *
+     * @param consumer the index of the consumer
+     * @param sequence the sequence number of the unit, starting with 0
+     * @return the unit
+     * @throws InterruptedException if the consumer has been interrupted
+     */
+    public DataUnit take(int consumer, long sequence) throws InterruptedException {
+        int spins = 0;
+        while (published <= sequence) {
+            if (spins < SPINS) {
+                spins++;
+                Thread.onSpinWait();
+            } else {
+                waitingConsumers.set(consumer, Thread.currentThread());
+                if (published <= sequence) {
+                    LockSupport.parkNanos(this, PARK_NANOS);
+                }
+                waitingConsumers.set(consumer, null);
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+            }
+        }
+        return units[(int) sequence & mask];
+    }
+
+    /**
+     * Releases the unit with a particular sequence number, and all units
+     * before it.
+     *
+     * @param consumer the index of the consumer
+     * @param sequence the sequence number of the unit
+     */
+    public void release(int consumer, long sequence) {
+        released.set(consumer, sequence + 1);
+        wakeUpProducer();
+    }
+
+    /**
+     * Detaches a consumer that has given up, so that the producer doesn't wait
+     * for it anymore.
+     *
+     * @param consumer the index of the consumer
+     */
+    public void detach(int consumer) {
+        released.set(consumer, DETACHED);
+        wakeUpProducer();
+    }
+
+    private void wakeUpProducer() {
+        Thread thread = waitingProducer;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    private long minReleased() {
+        long min = DETACHED;
+        for (int i = 0; i < released.length(); i++) {
+            min = Math.min(min, released.get(i));
+        }
+        return min;
+    }
+}
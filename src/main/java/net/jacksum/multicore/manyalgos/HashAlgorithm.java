@@ -1090,12 +1090,44 @@ public class HashAlgorithm implements Comparable<HashAlgorithm> {
 
     public static HashAlgorithm getAlgorithm(AbstractChecksum cs) {
         String name = cs.getName();
-        return new HashAlgorithm(name, cs);
+        return new HashAlgorithm(name, cs, 0);
     }
 
-    private HashAlgorithm(String name, AbstractChecksum cs) {
+    /**
+     * Returns the HashAlgorithms for a list of algorithms. If weights are
+     * calibrated (see --weights), the algorithms are calibrated first, so that
+     * the HashAlgorithms get the weights that have been measured on this
+     * machine. An algorithm that cannot be calibrated (e.g. an HMAC, which
+     * cannot be instantiated without its key) gets the largest calibrated
+     * weight of the list then, because the static weights are of another unit.
+     *
+     * @param algorithms the algorithms
+     * @return the HashAlgorithms in the same order
+     */
+    public static List<HashAlgorithm> getAlgorithms(List<AbstractChecksum> algorithms) {
+        WeightCalibration.calibrate(algorithms);
+        int fallback = 0;
+        for (AbstractChecksum cs : algorithms) {
+            fallback = Math.max(fallback, WeightCalibration.getWeight(cs));
+        }
+        List<HashAlgorithm> list = new ArrayList<>(algorithms.size());
+        for (AbstractChecksum cs : algorithms) {
+            list.add(new HashAlgorithm(cs.getName(), cs, fallback));
+        }
+        return list;
+    }
+
+    /**
+     * @param fallback the weight if the algorithm has no calibrated weight,
+     * or 0 if the static weights apply then
+     */
+    private HashAlgorithm(String name, AbstractChecksum cs, int fallback) {
         this.name = name;
-        Integer w = WEIGHTS.get(name);
+        int calibrated = WeightCalibration.getWeight(cs);
+        if (calibrated == 0) {
+            calibrated = fallback;
+        }
+        Integer w = calibrated > 0 ? Integer.valueOf(calibrated) : WEIGHTS.get(name);
         if (w == null) {
             w = WEIGHTS_ALIASES.get(name);
         }
@@ -43,11 +43,10 @@ package net.jacksum.multicore.manyalgos;
 import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.BlockingQueue;
 import net.jacksum.algorithms.AbstractChecksum;
 
 /**
- * Updates a set of AbstractChecksums. Reads the data from a queue.
+ * Updates a set of AbstractChecksums. Reads the data from a DataRing.
  *
  * @author Federico Tello Gentile
  * @author Johann N. Löfflmann
@@ -55,12 +54,15 @@ import net.jacksum.algorithms.AbstractChecksum;
 public class Hasher implements Runnable {
 
     private final List<AbstractChecksum> digests;
-    private final BlockingQueue<DataUnit> queue;
+    private final DataRing ring;
+    // the index of this Hasher in the ring
+    private final int index;
     private int weight = 0;
     private volatile Throwable failure;
 
-    public Hasher(BlockingQueue<DataUnit> queue) {
-        this.queue = queue;
+    public Hasher(DataRing ring, int index) {
+        this.ring = ring;
+        this.index = index;
         this.digests = new ArrayList<>();
     }
 
@@ -85,13 +87,14 @@ public class Hasher implements Runnable {
 
     @Override
     public void run() {
+        long sequence = 0;
         try {
-            DataUnit du;
+            boolean last;
             do {
-                du = this.queue.take();
-                // Once a failure has been recorded, keep draining the queue
+                DataUnit du = this.ring.take(this.index, sequence);
+                // Once a failure has been recorded, keep draining the ring
                 // (without hashing) until the terminating unit arrives, so the
-                // DataReader never blocks on a full queue, which would otherwise
+                // DataReader never waits for a full ring, which would otherwise
                 // deadlock the pipeline on large files.
                 if (this.failure == null) {
                     try {
@@ -102,9 +105,13 @@ public class Hasher implements Runnable {
                         this.failure = ex;
                     }
                 }
-            } while (du.isNotLast());
+                // the unit may be refilled by the DataReader once it has been released
+                last = !du.isNotLast();
+                this.ring.release(this.index, sequence++);
+            } while (!last);
         } catch (InterruptedException iEx) {
             this.failure = iEx;
+            this.ring.detach(this.index);
             Thread.currentThread().interrupt();
         }
     }
@@ -0,0 +1,312 @@
+/*
+
+
+  Jacksum 4.0.0 - a checksum/hash tool written in Java
+  Copyright (c) 2001-2026 Dipl.-Inf. (FH) Johann N. Löfflmann,
+  All Rights Reserved, <https://jacksum.net>.
+
+  This program is free software: you can redistribute it and/or modify it under
+  the terms of the GNU General Public License as published by the Free Software
+  Foundation, either version 3 of the License, or (at your option) any later
+  version.
+
+  This program is distributed in the hope that it will be useful, but WITHOUT
+  ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+  FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+  details.
+
+  You should have received a copy of the GNU General Public License along with
+  this program. If not, see <https://www.gnu.org/licenses/>.
+
+
+ */
+package net.jacksum.multicore.manyalgos;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Random;
+import net.jacksum.JacksumAPI;
+import net.jacksum.algorithms.AbstractChecksum;
+import net.jacksum.multicore.ThreadControl;
+
+/**
+ * Measures the weights of algorithms on the current JVM and CPU, so that the
+ * ConcurrentHasher can distribute the algorithms evenly among the Hashers,
+ * even if the relative costs of the algorithms on this machine differ from
+ * the built-in table of HashAlgorithm.
+ *
+ * A weight is the time in nanoseconds that an algorithm requires to process
+ * one KiB. The weights are cached in the file .jacksum/weights.properties in
+ * the home directory of the user. The entries of the cache are grouped by a
+ * profile that identifies the Jacksum version, the JVM, whether the Vector API
+ * is available, and the CPU model, so that a new release, a JVM update or
+ * another machine that shares the home directory leads to a new calibration.
+ *
+ * @since Jacksum 4.0.0
+ */
+public final class WeightCalibration {
+
+    private static final String CACHE_DIR = ".jacksum";
+    private static final String CACHE_FILE = "weights.properties";
+
+    // the data that is hashed during calibration
+    private static final int BUFFER_SIZE = 256 * 1024;
+    // the time for the JIT compiler to optimize the algorithm
+    private static final long WARMUP_NANOS = 50_000_000L;
+    // the time that is actually measured
+    private static final long MEASURE_NANOS = 100_000_000L;
+
+    private static WeightsMode mode = WeightsMode.DEFAULT;
+
+    // the weights of the current profile, by the name of the algorithm
+    private static Map<String, Integer> weights = null;
+    private static String profile = null;
+
+    private WeightCalibration() {
+    }
+
+    public static synchronized WeightsMode getMode() {
+        return mode;
+    }
+
+    public static synchronized void setMode(WeightsMode mode) {
+        WeightCalibration.mode = mode;
+        weights = null;
+    }
+
+    /**
+     * Makes sure that all algorithms have a calibrated weight. Algorithms
+     * without a cached weight are measured, and new weights are written to
+     * the cache. Does nothing if the mode is WeightsMode.STATIC, or if the
+     * algorithms are not distributed among multiple threads anyway.
+     *
+     * @param algorithms the algorithms that are about to be used
+     */
+    public static synchronized void calibrate(List<AbstractChecksum> algorithms) {
+        if (mode == WeightsMode.STATIC || algorithms.size() < 2 || ThreadControl.getThreadsHashing() < 2) {
+            return;
+        }
+        if (weights == null) {
+            weights = mode == WeightsMode.CALIBRATE ? loadCache() : new HashMap<>();
+        }
+        boolean modified = false;
+        for (AbstractChecksum algorithm : algorithms) {
+            String key = getKey(algorithm);
+            if (!weights.containsKey(key)) {
+                int weight = measure(algorithm);
+                if (weight > 0) {
+                    weights.put(key, weight);
+                    modified = true;
+                }
+            }
+        }
+        if (modified) {
+            storeCache();
+        }
+    }
+
+    /**
+     * Returns the calibrated weight of an algorithm.
+     *
+     * @param algorithm the algorithm
+     * @return the weight, or 0 if there is no calibrated weight
+     */
+    public static synchronized int getWeight(AbstractChecksum algorithm) {
+        if (mode == WeightsMode.STATIC || weights == null) {
+            return 0;
+        }
+        Integer weight = weights.get(getKey(algorithm));
+        return weight == null ? 0 : weight;
+    }
+
+    // the primary and the alternate implementation can differ significantly
+    private static String getKey(AbstractChecksum algorithm) {
+        return algorithm.isActualAlternateImplementationUsed()
+                ? algorithm.getName() + " -A" : algorithm.getName();
+    }
+
+    /**
+     * Measures the nanoseconds per KiB of an algorithm. A new instance is
+     * used, because the instance that is passed could carry state.
+     *
+     * @return the weight, or 0 if the algorithm cannot be instantiated
+     */
+    private static int measure(AbstractChecksum algorithm) {
+        AbstractChecksum checksum;
+        try {
+            checksum = JacksumAPI.getChecksumInstance(algorithm.getName(),
+                    algorithm.isActualAlternateImplementationUsed());
+        } catch (NoSuchAlgorithmException | RuntimeException e) {
+            return 0;
+        }
+        byte[] buffer = new byte[BUFFER_SIZE];
+        new Random(BUFFER_SIZE).nextBytes(buffer);
+
+        run(checksum, buffer, WARMUP_NANOS);
+        long start = System.nanoTime();
+        long bytes = run(checksum, buffer, MEASURE_NANOS);
+        long nanos = System.nanoTime() - start;
+
+        return (int) Math.max(1, Math.min(Integer.MAX_VALUE, nanos * 1024 / bytes));
+    }
+
+    // hashes the buffer at least once and until the time is over
+    private static long run(AbstractChecksum checksum, byte[] buffer, long nanos) {
+        long bytes = 0;
+        long end = System.nanoTime() + nanos;
+        do {
+            checksum.update(buffer, 0, buffer.length);
+            bytes += buffer.length;
+        } while (System.nanoTime() < end);
+        checksum.getByteArray();
+        checksum.reset();
+        return bytes;
+    }
+
+    private static Path getCacheFile() {
+        return Paths.get(System.getProperty("user.home"), CACHE_DIR, CACHE_FILE);
+    }
+
+    private static Map<String, Integer> loadCache() {
+        Map<String, Integer> map = new HashMap<>();
+        Path file = getCacheFile();
+        if (!Files.isRegularFile(file)) {
+            return map;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            properties.load(in);
+        } catch (IOException | IllegalArgumentException e) {
+            // a damaged cache is recreated by the next calibration
+            return map;
+        }
+        String prefix = getProfile() + ".";
+        for (String name : properties.stringPropertyNames()) {
+            if (name.startsWith(prefix)) {
+                try {
+                    int weight = Integer.parseInt(properties.getProperty(name));
+                    if (weight > 0) {
+                        map.put(name.substring(prefix.length()), weight);
+                    }
+                } catch (NumberFormatException e) {
+                    // ignore that entry
+                }
+            }
+        }
+        return map;
+    }
+
+    /**
+     * Writes the weights of the current profile to the cache. The entries of
+     * other profiles are kept. Failures are ignored, because the cache is an
+     * optimization only.
+     */
+    private static void storeCache() {
+        Path file = getCacheFile();
+        Properties properties = new Properties();
+        if (Files.isRegularFile(file)) {
+            try (InputStream in = Files.newInputStream(file)) {
+                properties.load(in);
+            } catch (IOException | IllegalArgumentException e) {
+                properties.clear();
+            }
+        }
+        String id = getProfile();
+        properties.setProperty(id, getProfileDescription());
+        for (Map.Entry<String, Integer> entry : weights.entrySet()) {
+            properties.setProperty(id + "." + entry.getKey(), String.valueOf(entry.getValue()));
+        }
+        try {
+            Files.createDirectories(file.getParent());
+            Path temp = Files.createTempFile(file.getParent(), CACHE_FILE, ".tmp");
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                properties.store(out, "Jacksum algorithm weights in nanoseconds per KiB, see also --weights");
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | UnsupportedOperationException e) {
+            // the weights are used for this run only
+        }
+    }
+
+    /**
+     * Returns a short identifier of the current profile.
+     */
+    private static String getProfile() {
+        if (profile == null) {
+            try {
+                byte[] digest = MessageDigest.getInstance("SHA-256")
+                        .digest(getProfileDescription().getBytes(StandardCharsets.UTF_8));
+                StringBuilder sb = new StringBuilder(16);
+                for (int i = 0; i < 8; i++) {
+                    sb.append(String.format("%02x", digest[i]));
+                }
+                profile = sb.toString();
+            } catch (NoSuchAlgorithmException e) {
+                // SHA-256 is available on every JVM
+                profile = Integer.toHexString(getProfileDescription().hashCode());
+            }
+        }
+        return profile;
+    }
+
+    private static String getProfileDescription() {
+        return String.format("Jacksum %s, %s %s, %s, %s%s",
+                JacksumAPI.VERSION,
+                System.getProperty("java.vm.name"),
+                System.getProperty("java.vm.version"),
+                System.getProperty("os.arch"),
+                getCpuModel(),
+                ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent() ? ", Vector API" : "");
+    }
+
+    /**
+     * Returns the model of the CPU, or "unknown CPU" if it cannot be
+     * determined.
+     */
+    private static String getCpuModel() {
+        String identifier = System.getenv("PROCESSOR_IDENTIFIER"); // Microsoft Windows
+        if (identifier != null && !identifier.isEmpty()) {
+            return identifier;
+        }
+        Path cpuinfo = Paths.get("/proc/cpuinfo"); // GNU/Linux
+        if (Files.isReadable(cpuinfo)) {
+            try {
+                String implementer = null;
+                String part = null;
+                for (String line : Files.readAllLines(cpuinfo, StandardCharsets.ISO_8859_1)) {
+                    int colon = line.indexOf(':');
+                    if (colon < 0) {
+                        continue;
+                    }
+                    String name = line.substring(0, colon).trim();
+                    String value = line.substring(colon + 1).trim();
+                    if (name.equals("model name") && !value.isEmpty()) {
+                        return value;
+                    } else if (name.equals("CPU implementer") && implementer == null) {
+                        implementer = value;
+                    } else if (name.equals("CPU part") && part == null) {
+                        part = value; // ARM cores do not report a model name
+                    }
+                }
+                if (implementer != null && part != null) {
+                    return String.format("CPU implementer %s, CPU part %s", implementer, part);
+                }
+            } catch (IOException e) {
+                // fall through
+            }
+        }
+        return "unknown CPU";
+    }
+}
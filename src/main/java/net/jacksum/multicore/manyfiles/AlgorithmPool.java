@@ -23,32 +23,86 @@
 package net.jacksum.multicore.manyfiles;
 
 import java.security.NoSuchAlgorithmException;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Semaphore;
 import net.jacksum.JacksumAPI;
 import net.jacksum.algorithms.AbstractChecksum;
 import net.jacksum.parameters.combined.ChecksumParameters;
 
+/**
+ * The instances of the algorithm that are used by the WorkerThreads. A WorkerThread leases an
+ * instance for the time that it needs it, and releases it afterwards, so the number of instances
+ * is the number of tasks that are hashing at the same time rather than the number of threads
+ * that have ever run a task. That works for platform threads and for virtual threads alike.
+ */
 public class AlgorithmPool {
-    private final Map<Integer,AbstractChecksum> pool;
+    // the instances that are not leased currently
+    private final Deque<AbstractChecksum> idle = new ArrayDeque<>();
     private final ChecksumParameters parameters;
-    
+    private final Semaphore digestPermits;
+    // an instance for the properties of the algorithm, such as the name and the format preferences
+    private final AbstractChecksum prototype;
+
     private AbstractChecksum newInstance() throws NoSuchAlgorithmException {
         AbstractChecksum checksum = JacksumAPI.getInstance(parameters);
-        checksum.setParameters(parameters);        
+        checksum.setParameters(parameters);
+        checksum.setDigestPermits(digestPermits);
         return checksum;
     }
-        
+
     public AlgorithmPool(ChecksumParameters parameters) throws NoSuchAlgorithmException {
+        this(parameters, null);
+    }
+
+    /**
+     * @param parameters the parameters of the algorithm
+     * @param digestPermits the semaphore that limits the number of instances that are hashing
+     * at the same time, or null, see AbstractChecksum.setDigestPermits()
+     * @throws NoSuchAlgorithmException if the algorithm is unknown
+     */
+    public AlgorithmPool(ChecksumParameters parameters, Semaphore digestPermits) throws NoSuchAlgorithmException {
         this.parameters = parameters;
-        pool = new HashMap<>();        
-        pool.put(0, newInstance());
+        this.digestPermits = digestPermits;
+        prototype = newInstance();
+        idle.push(prototype);
     }
-    
-    synchronized public AbstractChecksum getAlgorithm(int id) throws NoSuchAlgorithmException {
-        if (!pool.containsKey(id)) {
-            pool.put(id, newInstance());
+
+    /**
+     * Returns an instance for the properties of the algorithm, such as the name and the format
+     * preferences. Its state must not be used, because it can be leased at the same time.
+     *
+     * @return an instance of the algorithm
+     */
+    public AbstractChecksum getPrototype() {
+        return prototype;
+    }
+
+    /**
+     * Leases an instance of the algorithm exclusively to the caller.
+     *
+     * @return an instance that is not used by anybody else until it is released
+     * @throws NoSuchAlgorithmException if the algorithm is unknown
+     */
+    public AbstractChecksum lease() throws NoSuchAlgorithmException {
+        synchronized (idle) {
+            AbstractChecksum checksum = idle.poll();
+            if (checksum != null) {
+                return checksum;
+            }
+        }
+        // all instances are leased, so the pool grows by one
+        return newInstance();
+    }
+
+    /**
+     * Returns a leased instance to the pool.
+     *
+     * @param checksum the instance that has been returned by lease()
+     */
+    public void release(AbstractChecksum checksum) {
+        synchronized (idle) {
+            idle.push(checksum);
         }
-        return pool.get(id);
     }
 }
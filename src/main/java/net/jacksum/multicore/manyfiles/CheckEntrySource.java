@@ -0,0 +1,41 @@
+/*
+
+
+  Jacksum 4.0.0 - a checksum/hash tool written in Java
+  Copyright (c) 2001-2026 Dipl.-Inf. (FH) Johann N. Löfflmann,
+  All Rights Reserved, <https://jacksum.net>.
+
+  This program is free software: you can redistribute it and/or modify it under
+  the terms of the GNU General Public License as published by the Free Software
+  Foundation, either version 3 of the License, or (at your option) any later
+  version.
+
+  This program is distributed in the hope that it will be useful, but WITHOUT
+  ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+  FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+  details.
+
+  You should have received a copy of the GNU General Public License along with
+  this program. If not, see <https://www.gnu.org/licenses/>.
+
+
+ */
+package net.jacksum.multicore.manyfiles;
+
+import net.jacksum.actions.io.verify.CheckEntry;
+
+/**
+ * Delivers the entries of a check file one by one, so that a check file can be
+ * verified while it is being read, rather than after it has been read entirely,
+ * see also option --check-streaming.
+ */
+public interface CheckEntrySource {
+
+    /**
+     * Returns the next entry of the check file. It is called by the producer thread
+     * only, so an implementation does not need to be thread-safe.
+     *
+     * @return the next entry, or null if there are no more entries
+     */
+    CheckEntry next();
+}
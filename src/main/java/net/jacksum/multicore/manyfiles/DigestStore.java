@@ -0,0 +1,52 @@
+/*
+
+
+  Jacksum 4.0.0 - a checksum/hash tool written in Java
+  Copyright (c) 2001-2026 Dipl.-Inf. (FH) Johann N. Löfflmann,
+  All Rights Reserved, <https://jacksum.net>.
+
+  This program is free software: you can redistribute it and/or modify it under
+  the terms of the GNU General Public License as published by the Free Software
+  Foundation, either version 3 of the License, or (at your option) any later
+  version.
+
+  This program is distributed in the hope that it will be useful, but WITHOUT
+  ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+  FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+  details.
+
+  You should have received a copy of the GNU General Public License along with
+  this program. If not, see <https://www.gnu.org/licenses/>.
+
+
+ */
+package net.jacksum.multicore.manyfiles;
+
+import java.io.Closeable;
+
+/**
+ * A store of hash values that have been calculated before, so that a file that has not
+ * changed since does not need to be read again, see options --hash-cache and --xattr-cache.
+ * The implementations are thread-safe.
+ */
+public interface DigestStore extends Closeable {
+
+    /**
+     * Returns the stored hash value of a file.
+     *
+     * @param algorithm the name of the algorithm
+     * @param state the current properties of the file, see FileState.of()
+     * @return the hash value, or null if there is none, or if the file has changed since the
+     * hash value has been stored
+     */
+    byte[] get(String algorithm, FileState state);
+
+    /**
+     * Stores the hash value of a file.
+     *
+     * @param algorithm the name of the algorithm
+     * @param state the properties of the file before it has been read, see FileState.of()
+     * @param digest the hash value
+     */
+    void put(String algorithm, FileState state, byte[] digest);
+}
@@ -22,11 +22,17 @@
  */
 package net.jacksum.multicore.manyfiles;
 
+import java.io.IOException;
 import java.security.NoSuchAlgorithmException;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
 
+import net.jacksum.algorithms.AbstractChecksum;
+import net.jacksum.algorithms.CachedChecksum;
+import net.jacksum.cli.Messenger;
 import net.jacksum.multicore.ThreadControl;
+import net.jacksum.parameters.base.HashCacheParameters;
 import net.jacksum.parameters.combined.ProducerConsumerParameters;
 
 public class Engine {
@@ -34,6 +40,8 @@ public class Engine {
     private final MessageProducer fileProducer;
     private final MessageWorker fileConsumer;
     private final MessageConsumer outputConsumer;
+    private final DigestStore digestStore;
+    private final Messenger messenger = new Messenger();
     
     private final BlockingQueue<Message> inputQueue;
     private final BlockingQueue<Message> outputQueue;
@@ -44,18 +52,56 @@ public class Engine {
             throws NoSuchAlgorithmException {
     //    this.parameters = parameters;
 
-        AlgorithmPool algoPool = new AlgorithmPool(parameters);
+        // with virtual threads, the number of threads that read is independent of the number of
+        // threads that hash, see --threads-mode and --threads-digesting
+        Semaphore digestPermits = parameters.getThreadsMode() == ThreadsMode.VIRTUAL
+                ? new Semaphore(parameters.getThreadsDigesting())
+                : null;
+        AlgorithmPool algoPool = new AlgorithmPool(parameters, digestPermits);
         // pass the actual format preferences of the algorithm to the consumer
-        consumer.setFormatPreferences(algoPool.getAlgorithm(0).getFormatPreferences());
+        consumer.setFormatPreferences(algoPool.getPrototype().getFormatPreferences());
         inputQueue = new ArrayBlockingQueue<>(4096);
         outputQueue = new ArrayBlockingQueue<>(1024);
                 
-        fileProducer = new MessageProducer(parameters, inputQueue, outputQueue);
-        fileConsumer = new MessageWorker(parameters, ThreadControl.getThreadsReading(), algoPool, inputQueue, outputQueue);
+        // the messages are numbered by the producer, and the consumer restores that order
+        OutputOrder outputOrder = parameters.isKeepOrder() ? new OutputOrder() : null;
+        fileProducer = new MessageProducer(parameters, inputQueue, outputQueue, outputOrder);
+        digestStore = openDigestStore(parameters, algoPool.getPrototype());
+        fileConsumer = new MessageWorker(parameters, ThreadControl.getThreadsReading(), algoPool, digestStore, inputQueue, outputQueue);
         //outputConsumer = new MessageConsumerStandard(parameters, outputQueue);
         
         outputConsumer = consumer;
         outputConsumer.setQueue(outputQueue);
+        outputConsumer.setOutputOrder(outputOrder);
+    }
+
+    /**
+     * Opens the store of hash values, see options --hash-cache and --xattr-cache. A store that
+     * cannot be used does not prevent the files from being hashed, they are just read.
+     *
+     * @param parameters the parameters
+     * @param algorithm an instance of the algorithm
+     * @return the store, or null
+     */
+    private DigestStore openDigestStore(HashCacheParameters parameters, AbstractChecksum algorithm) {
+        if (parameters.getHashCache() == null && !parameters.isXattrCache()) {
+            return null;
+        }
+        if (!CachedChecksum.isApplicable(algorithm)) {
+            messenger.print(Messenger.MsgType.WARNING, String.format(
+                    "The hash cache is not used, because the hash values of %s cannot be cached (combined algorithms, HMACs, none, and read are not supported).",
+                    algorithm.getName()));
+            return null;
+        }
+        if (parameters.isXattrCache()) {
+            return new XattrDigestStore();
+        }
+        try {
+            return new HashCache(parameters.getHashCache());
+        } catch (IOException e) {
+            messenger.print(Messenger.MsgType.WARNING, String.format("The hash cache is not used: %s", e.getMessage()));
+            return null;
+        }
     }
 
     public void start() {
@@ -77,6 +123,15 @@ public class Engine {
            System.err.println(e);
        }
 
+       // all workers have finished, because the consumer has received the EXIT message
+       if (digestStore != null) {
+           try {
+               digestStore.close();
+           } catch (IOException e) {
+               messenger.print(Messenger.MsgType.WARNING, String.format("The hash cache could not be written: %s", e.getMessage()));
+           }
+       }
+
     }
 
 }
@@ -0,0 +1,138 @@
+/*
+
+
+  Jacksum 4.0.0 - a checksum/hash tool written in Java
+  Copyright (c) 2001-2026 Dipl.-Inf. (FH) Johann N. Löfflmann,
+  All Rights Reserved, <https://jacksum.net>.
+
+  This program is free software: you can redistribute it and/or modify it under
+  the terms of the GNU General Public License as published by the Free Software
+  Foundation, either version 3 of the License, or (at your option) any later
+  version.
+
+  This program is distributed in the hope that it will be useful, but WITHOUT
+  ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+  FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+  details.
+
+  You should have received a copy of the GNU General Public License along with
+  this program. If not, see <https://www.gnu.org/licenses/>.
+
+
+ */
+package net.jacksum.multicore.manyfiles;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The properties of a regular file that a stored hash value is valid for, see DigestStore.
+ */
+public final class FileState {
+
+    // the attribute view "unix" provides the inode number and the status change time
+    private static final boolean UNIX_VIEW = FileSystems.getDefault().supportedFileAttributeViews().contains("unix");
+    private static final String UNIX_ATTRIBUTES = "unix:dev,ino,size,lastModifiedTime,ctime,isRegularFile";
+
+    private final Path path;
+    private final byte[] key;
+    private final long size;
+    private final long modified;
+    private final long changed;
+
+    FileState(Path path, byte[] key, long size, long modified, long changed) {
+        this.path = path;
+        this.key = key;
+        this.size = size;
+        this.modified = modified;
+        this.changed = changed;
+    }
+
+    /**
+     * Reads the properties of a file that determine whether a stored hash value is still valid.
+     *
+     * The key that identifies the file is the letter 'U' followed by the device and the inode
+     * number (long each) on a file system that provides them, or the letter 'P' followed by the
+     * absolute, normalized path of the file in UTF-8 otherwise; the creation time is taken as
+     * the status change time then.
+     *
+     * @param path the path of the file
+     * @return the properties, or null if the file is not a regular file or if its properties
+     * cannot be read; the hash value of such a file is not stored
+     */
+    public static FileState of(Path path) {
+        try {
+            if (UNIX_VIEW) {
+                Map<String, Object> attributes = Files.readAttributes(path, UNIX_ATTRIBUTES);
+                if (!Boolean.TRUE.equals(attributes.get("isRegularFile"))) {
+                    return null;
+                }
+                byte[] key = ByteBuffer.allocate(17).put((byte) 'U')
+                        .putLong(((Number) attributes.get("dev")).longValue())
+                        .putLong(((Number) attributes.get("ino")).longValue()).array();
+                return new FileState(path, key, ((Number) attributes.get("size")).longValue(),
+                        nanos(attributes.get("lastModifiedTime")), nanos(attributes.get("ctime")));
+            }
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            if (!attributes.isRegularFile()) {
+                return null;
+            }
+            byte[] name = path.toAbsolutePath().normalize().toString().getBytes(StandardCharsets.UTF_8);
+            byte[] key = new byte[name.length + 1];
+            key[0] = 'P';
+            System.arraycopy(name, 0, key, 1, name.length);
+            return new FileState(path, key, attributes.size(),
+                    nanos(attributes.lastModifiedTime()), nanos(attributes.creationTime()));
+        } catch (IOException | RuntimeException e) {
+            // the file will be read, and reading it reports the problem if there is one
+            return null;
+        }
+    }
+
+    private static long nanos(Object fileTime) {
+        return ((FileTime) fileTime).to(TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @return the path of the file, or null if the state has been loaded from a cache file
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * @return the key that identifies the file on its file system
+     */
+    byte[] getKey() {
+        return key;
+    }
+
+    /**
+     * @return the size of the file in bytes
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * @return the time of the last modification in nanoseconds
+     */
+    long getModified() {
+        return modified;
+    }
+
+    /**
+     * @return the time of the last status change in nanoseconds
+     */
+    long getChanged() {
+        return changed;
+    }
+}
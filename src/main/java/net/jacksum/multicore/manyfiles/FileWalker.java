@@ -24,6 +24,7 @@ package net.jacksum.multicore.manyfiles;
 
 import net.jacksum.multicore.OSControl;
 import net.loefflmann.sugar.io.NtfsAdsFinder;
+import net.loefflmann.sugar.io.ParallelFileTreeWalker;
 
 import java.nio.file.*;
 
@@ -45,25 +46,38 @@ public class FileWalker {
     private final int depth;
     private final boolean followSymlinksToDirs;
     private final boolean followSymlinksToFiles;
-    private final BlockingQueue<Message> queue;
+    private final MessageSink sink;
     private final Message.Type messageTypeForFiles;
     private final Path outputFile;
     private final Path errorFile;
     private final boolean scanAllUnixFileTypes;
     private final boolean scanNtfsAds;
+    private final int threadsWalking;
     private final static boolean onWindows = OSControl.isWindows();
 
     public FileWalker(Message.Type messageTypeForFiles, ProducerParameters producerParameters,
                       Path path,
                       BlockingQueue<Message> queue) {
+        this(messageTypeForFiles, producerParameters, path, queue::put);
+    }
+
+    /**
+     * @param sink takes the messages in the order in which the files are found, e.g. in order to
+     * number them (see OutputOrder) or to batch them (see MessageBatcher) before they are put on
+     * the input queue
+     */
+    public FileWalker(Message.Type messageTypeForFiles, ProducerParameters producerParameters,
+                      Path path,
+                      MessageSink sink) {
         this.messageTypeForFiles = messageTypeForFiles;
         this.depth = producerParameters.getDepth();
         this.followSymlinksToDirs = !producerParameters.isDontFollowSymlinksToDirectories();
         this.followSymlinksToFiles = !producerParameters.isDontFollowSymlinksToFiles();
         this.path = path;
-        this.queue = queue;
+        this.sink = sink;
         this.scanAllUnixFileTypes = producerParameters.scanAllUnixFileTypes();
         this.scanNtfsAds = producerParameters.isScanNtfsAds();
+        this.threadsWalking = producerParameters.getThreadsWalking();
         if (producerParameters.isOutputFile()) {
             this.outputFile = Paths.get(producerParameters.getOutputFile()).toAbsolutePath().normalize();
         } else {
@@ -85,9 +99,15 @@ public class FileWalker {
             opts = EnumSet.noneOf(FileVisitOption.class); //Collections.emptySet();
         }
 
-        TreeAction treeAction = new TreeAction(messageTypeForFiles, depth, queue, followSymlinksToDirs, followSymlinksToFiles, scanAllUnixFileTypes, scanNtfsAds, outputFile, errorFile);
+        TreeAction treeAction = new TreeAction(messageTypeForFiles, depth, sink, followSymlinksToDirs, followSymlinksToFiles, scanAllUnixFileTypes, scanNtfsAds, outputFile, errorFile);
         try {
-            Files.walkFileTree(path, opts, depth, treeAction);
+            if (threadsWalking > 1) {
+                // the directories are listed ahead by a pool, while the TreeAction is still
+                // called by this thread in the very same order, see --threads-walking
+                new ParallelFileTreeWalker(threadsWalking).walkFileTree(path, opts, depth, treeAction);
+            } else {
+                Files.walkFileTree(path, opts, depth, treeAction);
+            }
         } catch (IOException ex) {
             System.out.println(ex);
         }
@@ -96,7 +116,7 @@ public class FileWalker {
     static class TreeAction implements FileVisitor<Path> {
 
         private final int depth;
-        private final BlockingQueue<Message> queue;
+        private final MessageSink sink;
         private final boolean followSymlinksToFiles;
         private final boolean followSymlinksToDirs;
         private final Message.Type messageTypeForFiles;
@@ -105,13 +125,13 @@ public class FileWalker {
         private final Path outputFile;
         private final Path errorFile;
 
-        TreeAction(Message.Type messageTypeForFiles, int depth, BlockingQueue<Message> queue,
+        TreeAction(Message.Type messageTypeForFiles, int depth, MessageSink sink,
                    boolean followSymlinksToDirs, boolean followSymlinksToFiles,
                    boolean scanAllUnixFileTypes, boolean scanNtfsAds,
                    Path outputFile, Path errorFile) {
             this.messageTypeForFiles = messageTypeForFiles;
             this.depth = depth;
-            this.queue = queue;
+            this.sink = sink;
             this.followSymlinksToFiles = followSymlinksToFiles;
             this.followSymlinksToDirs = followSymlinksToDirs;
             this.scanAllUnixFileTypes = scanAllUnixFileTypes;
@@ -170,7 +190,12 @@ public class FileWalker {
                     // a named pipe for example (mkfifo myfifo)
                     || (!onWindows && scanAllUnixFileTypes)
             ) {
-                addMessageToQueue(new Message(messageTypeForFiles, null, path));
+                Message message = new Message(messageTypeForFiles, null, path);
+                // the size is for free here, a named pipe has no meaningful size though
+                if (attrs.isRegularFile()) {
+                    message.getPayload().setSizeHint(attrs.size());
+                }
+                addMessageToQueue(message);
                 if (onWindows && scanNtfsAds) {
                     findNtfsAds(path);
                 }
@@ -218,7 +243,7 @@ public class FileWalker {
 
         private void addMessageToQueue(Message message) {
             try {
-                queue.put(message);
+                sink.put(message);
             } catch (InterruptedException ex) {
                 Logger.getLogger(FileWalker.class.getName()).log(Level.SEVERE, null, ex);
             }
@@ -0,0 +1,416 @@
+/*
+
+
+  Jacksum 4.0.0 - a checksum/hash tool written in Java
+  Copyright (c) 2001-2026 Dipl.-Inf. (FH) Johann N. Löfflmann,
+  All Rights Reserved, <https://jacksum.net>.
+
+  This program is free software: you can redistribute it and/or modify it under
+  the terms of the GNU General Public License as published by the Free Software
+  Foundation, either version 3 of the License, or (at your option) any later
+  version.
+
+  This program is distributed in the hope that it will be useful, but WITHOUT
+  ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+  FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+  details.
+
+  You should have received a copy of the GNU General Public License along with
+  this program. If not, see <https://www.gnu.org/licenses/>.
+
+
+ */
+package net.jacksum.multicore.manyfiles;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import net.loefflmann.sugar.util.ByteArena;
+import net.loefflmann.sugar.util.ByteSequenceIndex;
+
+/**
+ * A persistent cache of hash values, see option --hash-cache. A hash value is stored for
+ * the identity of a file (the device and the inode number), the size, the time of the last
+ * modification and the time of the last status change of the file, and the algorithm. As
+ * long as none of them changes, the file does not need to be read again, so an unchanged
+ * file costs a single stat rather than a full read.
+ *
+ * The cache file is an append-only log of records, so a hash value that has been calculated
+ * is stored by appending a single record, and a record that has been torn by a crash is simply
+ * dropped while the cache is being loaded. All numbers are big-endian, as they are written by
+ * a DataOutputStream:
+ *
+ *   header:  the magic "JKHC" and the version of the format (byte)
+ *   record:  the type (byte), the length of the payload (int), the payload, and the CRC-32 of
+ *            the type and the payload (int)
+ *   type 'A' (an algorithm): the id of the algorithm (short) and its name (see writeUTF())
+ *   type 'E' (an entry):     the id of the algorithm (short), the length of the file key (short),
+ *            the file key, the size, the modification time and the status change time in
+ *            nanoseconds (long each), the length of the hash value (short), and the hash value
+ *
+ * The file key is the letter 'U' followed by the device and the inode number (long each) on a
+ * file system that provides them, or the letter 'P' followed by the absolute, normalized path
+ * of the file in UTF-8 otherwise; the creation time is taken as the status change time then.
+ * A record for a file that has been cached before supersedes the older one, and the cache file
+ * is compacted while it is being closed if most of its records have been superseded.
+ *
+ * The cache file is locked while it is open, so that concurrent processes cannot corrupt
+ * it. The methods are thread-safe.
+ */
+public class HashCache implements DigestStore {
+
+    private static final byte[] MAGIC = {'J', 'K', 'H', 'C'};
+    private static final int VERSION = 1;
+    private static final byte ALGORITHM = 'A';
+    private static final byte ENTRY = 'E';
+
+    private final Path file;
+    private final FileChannel channel;
+    private final FileLock lock;
+    private final DataOutputStream out;
+    // the payload of the record that is being written, see write()
+    private final ByteArrayOutputStream payload = new ByteArrayOutputStream(256);
+    private final DataOutputStream payloadOut = new DataOutputStream(payload);
+    private final CRC32 crc = new CRC32();
+
+    private final Map<String, Integer> algorithmIds = new HashMap<>();
+    private final List<String> algorithms = new ArrayList<>();
+
+    private final ByteArena arena = new ByteArena();
+    private final ByteSequenceIndex index = new ByteSequenceIndex(arena);
+    // the properties of the entries, indexed by the value that the index maps a key to
+    private long[] keys = new long[1024]; // the address of the key, for compacting the file
+    private long[] sizes = new long[1024];
+    private long[] modifiedTimes = new long[1024];
+    private long[] changedTimes = new long[1024];
+    private long[] digests = new long[1024]; // the address of the hash value
+    private int count = 0;
+    // the number of entry records in the cache file, including those that have been superseded
+    private long records = 0;
+    // the first error that occurred while a record was being written, see close()
+    private IOException writeError = null;
+
+    /**
+     * Opens a cache file, and creates it if it does not exist.
+     *
+     * @param filename the name of the cache file
+     * @throws IOException if the file cannot be read or written, if it is not a cache file,
+     * or if it is in use by another process
+     */
+    public HashCache(String filename) throws IOException {
+        file = Paths.get(filename);
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        FileLock fileLock;
+        try {
+            fileLock = channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            fileLock = null;
+        }
+        if (fileLock == null) {
+            channel.close();
+            throw new IOException(String.format("%s: the hash cache is in use by another process.", filename));
+        }
+        lock = fileLock;
+        try {
+            long end = load();
+            if (end < channel.size()) {
+                // drop a record that has been torn by a crash, so that new records follow a valid one
+                channel.truncate(end);
+            }
+            channel.position(end);
+            out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), 64 * 1024));
+            if (end == 0) {
+                out.write(MAGIC);
+                out.writeByte(VERSION);
+            }
+        } catch (IOException e) {
+            lock.release();
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Reads the records of the cache file.
+     *
+     * @return the position after the last valid record, or 0 if the file is empty
+     */
+    private long load() throws IOException {
+        if (channel.size() == 0) {
+            return 0;
+        }
+        // the stream must not be closed, because it would close the channel
+        DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel.position(0)), 64 * 1024));
+        byte[] magic = new byte[MAGIC.length + 1];
+        try {
+            in.readFully(magic);
+        } catch (EOFException e) {
+            magic = null;
+        }
+        if (magic == null || !Arrays.equals(Arrays.copyOf(magic, MAGIC.length), MAGIC) || magic[MAGIC.length] != VERSION) {
+            throw new IOException(String.format("%s: not a hash cache of this version, it is left untouched.", file));
+        }
+
+        long end = MAGIC.length + 1;
+        byte[] buffer = new byte[256];
+        while (true) {
+            byte type;
+            int length;
+            try {
+                type = in.readByte();
+                length = in.readInt();
+                if (length < 0 || length > 65536) {
+                    break;
+                }
+                if (buffer.length < length) {
+                    buffer = new byte[length];
+                }
+                in.readFully(buffer, 0, length);
+                crc.reset();
+                crc.update(type);
+                crc.update(buffer, 0, length);
+                if (in.readInt() != (int) crc.getValue()) {
+                    break;
+                }
+            } catch (EOFException e) {
+                break;
+            }
+            if (!apply(type, buffer, length)) {
+                break;
+            }
+            end += 1 + 4 + length + 4;
+        }
+        return end;
+    }
+
+    /**
+     * Applies a record that has been read from the cache file.
+     *
+     * @return false if the record is invalid, although its checksum is correct
+     */
+    private boolean apply(byte type, byte[] buffer, int length) throws IOException {
+        ByteBuffer record = ByteBuffer.wrap(buffer, 0, length);
+        try {
+            if (type == ALGORITHM) {
+                int id = record.getShort() & 0xFFFF;
+                String name = new DataInputStream(new ByteArrayInputStream(buffer, 2, length - 2)).readUTF();
+                if (id != algorithms.size()) {
+                    return false;
+                }
+                algorithms.add(name);
+                algorithmIds.put(name, id);
+                return true;
+            }
+            if (type == ENTRY) {
+                int algorithm = record.getShort() & 0xFFFF;
+                byte[] fileKey = new byte[record.getShort() & 0xFFFF];
+                record.get(fileKey);
+                long size = record.getLong();
+                long modified = record.getLong();
+                long changed = record.getLong();
+                byte[] digest = new byte[record.getShort() & 0xFFFF];
+                record.get(digest);
+                if (algorithm >= algorithms.size()) {
+                    return false;
+                }
+                store(key(algorithm, fileKey), new FileState(null, fileKey, size, modified, changed), digest);
+                records++;
+                return true;
+            }
+        } catch (BufferUnderflowException | EOFException e) {
+            return false;
+        }
+        return false;
+    }
+
+    private static byte[] key(int algorithm, byte[] fileKey) {
+        byte[] key = new byte[fileKey.length + 2];
+        key[0] = (byte) (algorithm >> 8);
+        key[1] = (byte) algorithm;
+        System.arraycopy(fileKey, 0, key, 2, fileKey.length);
+        return key;
+    }
+
+    /**
+     * Returns the cached hash value of a file.
+     *
+     * @param algorithm the name of the algorithm
+     * @param state the current properties of the file, see FileState.of()
+     * @return the hash value, or null if there is none, or if the file has changed since the
+     * hash value has been cached
+     */
+    @Override
+    public synchronized byte[] get(String algorithm, FileState state) {
+        Integer algorithmId = algorithmIds.get(algorithm);
+        if (algorithmId == null) {
+            return null;
+        }
+        byte[] key = key(algorithmId, state.getKey());
+        int id = index.get(key, key.length);
+        if (id < 0 || sizes[id] != state.getSize() || modifiedTimes[id] != state.getModified()
+                || changedTimes[id] != state.getChanged()) {
+            return null;
+        }
+        return arena.get(digests[id]);
+    }
+
+    /**
+     * Stores the hash value of a file, and appends it to the cache file.
+     *
+     * @param algorithm the name of the algorithm
+     * @param state the properties of the file before it has been read, see FileState.of()
+     * @param digest the hash value
+     */
+    @Override
+    public synchronized void put(String algorithm, FileState state, byte[] digest) {
+        if (writeError != null || digest.length > 0xFFFF || state.getKey().length > 0xFFFF) {
+            return;
+        }
+        try {
+            Integer algorithmId = algorithmIds.get(algorithm);
+            if (algorithmId == null) {
+                if (algorithms.size() > 0xFFFF) {
+                    return;
+                }
+                algorithmId = algorithms.size();
+                payloadOut.writeShort(algorithmId);
+                payloadOut.writeUTF(algorithm);
+                write(out, ALGORITHM);
+                algorithms.add(algorithm);
+                algorithmIds.put(algorithm, algorithmId);
+            }
+            writeEntry(out, algorithmId, state.getKey(), state.getSize(), state.getModified(), state.getChanged(), digest);
+            records++;
+            store(key(algorithmId, state.getKey()), state, digest);
+        } catch (IOException e) {
+            writeError = e;
+        }
+    }
+
+    private void writeEntry(DataOutputStream target, int algorithmId, byte[] fileKey,
+            long size, long modified, long changed, byte[] digest) throws IOException {
+        payloadOut.writeShort(algorithmId);
+        payloadOut.writeShort(fileKey.length);
+        payloadOut.write(fileKey);
+        payloadOut.writeLong(size);
+        payloadOut.writeLong(modified);
+        payloadOut.writeLong(changed);
+        payloadOut.writeShort(digest.length);
+        payloadOut.write(digest);
+        write(target, ENTRY);
+    }
+
+    /**
+     * Writes a record whose payload has been written to payloadOut.
+     */
+    private void write(DataOutputStream target, byte type) throws IOException {
+        byte[] bytes = payload.toByteArray();
+        payload.reset();
+        crc.reset();
+        crc.update(type);
+        crc.update(bytes);
+        target.writeByte(type);
+        target.writeInt(bytes.length);
+        target.write(bytes);
+        target.writeInt((int) crc.getValue());
+    }
+
+    private void store(byte[] key, FileState state, byte[] digest) {
+        int id = index.get(key, key.length);
+        if (id < 0) {
+            id = count++;
+            if (id == sizes.length) {
+                int capacity = sizes.length * 2;
+                keys = Arrays.copyOf(keys, capacity);
+                sizes = Arrays.copyOf(sizes, capacity);
+                modifiedTimes = Arrays.copyOf(modifiedTimes, capacity);
+                changedTimes = Arrays.copyOf(changedTimes, capacity);
+                digests = Arrays.copyOf(digests, capacity);
+            }
+            index.put(key, key.length, id);
+            keys[id] = arena.add(key);
+        }
+        sizes[id] = state.getSize();
+        modifiedTimes[id] = state.getModified();
+        changedTimes[id] = state.getChanged();
+        digests[id] = arena.add(digest);
+    }
+
+    /**
+     * Writes the records that have not been written yet, compacts the cache file if most of
+     * its records have been superseded, and releases the cache file.
+     *
+     * @throws IOException if a record could not be written
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            try {
+                out.flush();
+            } catch (IOException e) {
+                if (writeError == null) {
+                    writeError = e;
+                }
+            }
+            if (writeError != null) {
+                throw writeError;
+            }
+            if (records > 2L * count + 1024) {
+                // while the lock is held, otherwise another process could lock and load the
+                // file that is about to be replaced, and its records would get lost
+                compact();
+            }
+        } finally {
+            lock.release();
+            channel.close();
+        }
+    }
+
+    /**
+     * Rewrites the cache file with one record per file and algorithm.
+     */
+    private void compact() throws IOException {
+        Path temp = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp");
+        try (DataOutputStream compacted = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 64 * 1024))) {
+            compacted.write(MAGIC);
+            compacted.writeByte(VERSION);
+            for (int i = 0; i < algorithms.size(); i++) {
+                payloadOut.writeShort(i);
+                payloadOut.writeUTF(algorithms.get(i));
+                write(compacted, ALGORITHM);
+            }
+            for (int id = 0; id < count; id++) {
+                byte[] key = arena.get(keys[id]);
+                int algorithmId = ((key[0] & 0xFF) << 8) | (key[1] & 0xFF);
+                writeEntry(compacted, algorithmId, Arrays.copyOfRange(key, 2, key.length),
+                        sizes[id], modifiedTimes[id], changedTimes[id], arena.get(digests[id]));
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
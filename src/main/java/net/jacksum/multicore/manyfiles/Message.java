@@ -23,6 +23,7 @@
 package net.jacksum.multicore.manyfiles;
 
 import java.nio.file.Path;
+import java.util.List;
 
 public class Message {
 
@@ -32,8 +33,11 @@ public class Message {
         DONT_HASH_FILE, // file should not be hashed (for detecting new files)
         HASH_STDIN,
         DONT_HASH_STDIN,
+        HASH_BATCH, // hash the files of the batch, see MessageBatcher
         // results
         FILE_HASHED, FILE_NOT_HASHED, FILE_HASHED_AND_MATCHES_EXPECTATION,
+        FILE_FAILED_PRECHECK, // file not hashed, because its size or timestamp differs, see PreCheck
+        BATCH_HASHED, // the results of the files of the batch
         // 
         INFO, ERROR, INFO_DIR_IGNORED,
         // EXIT is the poison pill and marks the end of the queue
@@ -43,6 +47,10 @@ public class Message {
     private Type type;
     private String info;
     private MessagePayload payload;
+    // the position of the message in the output, or -1 if the order does not matter, see OutputOrder
+    private long sequence = -1;
+    // the messages of a batch, see MessageBatcher
+    private List<Message> batch;
     
     /**
      * @return the payload
@@ -91,6 +99,12 @@ public class Message {
         payload.setSpecialPath(specialPath);
     }
 
+    public Message(Type type, List<Message> batch) {
+        this.type = type;
+        this.batch = batch;
+        payload = new MessagePayload();
+    }
+
     public Message(Type type, String info, Path path) {
         this.type = type;
         this.info = info;
@@ -105,6 +119,27 @@ public class Message {
     public void setType(Type type) {
         this.type = type;
     }
+
+    /**
+     * @return the messages of a batch, or null if the message is not a batch
+     */
+    public List<Message> getBatch() {
+        return batch;
+    }
+
+    /**
+     * @return the position of the message in the output, or -1 if it has not been numbered
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * @param sequence the position of the message in the output, see OutputOrder
+     */
+    public void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
    
     
 }
@@ -0,0 +1,113 @@
+/*
+
+
+  Jacksum 4.0.0 - a checksum/hash tool written in Java
+  Copyright (c) 2001-2026 Dipl.-Inf. (FH) Johann N. Löfflmann,
+  All Rights Reserved, <https://jacksum.net>.
+
+  This program is free software: you can redistribute it and/or modify it under
+  the terms of the GNU General Public License as published by the Free Software
+  Foundation, either version 3 of the License, or (at your option) any later
+  version.
+
+  This program is distributed in the hope that it will be useful, but WITHOUT
+  ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+  FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+  details.
+
+  You should have received a copy of the GNU General Public License along with
+  this program. If not, see <https://www.gnu.org/licenses/>.
+
+
+ */
+package net.jacksum.multicore.manyfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Groups small files into batches before they are put on the input queue, so that a tree of
+ * many small files does not cost a message on each queue and a task of the thread pool for
+ * each file. A batch is hashed by a single WorkerThread with the algorithm instance of its
+ * thread, and its results are put on the output queue as a single message, which is unpacked
+ * again by the MessageConsumer.
+ *
+ * Only regular files that should be hashed and whose size is known and small are batched.
+ * Any other message puts the pending batch on the queue before it is put on the queue itself,
+ * so the relative order of the messages is not changed, and the messages that have been
+ * numbered (see OutputOrder), but that have not been put on a queue yet, are always the last
+ * ones. This class is used by the producer thread only.
+ */
+public class MessageBatcher implements MessageSink {
+
+    // a file is small if it is not larger than this
+    public static final long SMALL_FILE = 64 * 1024;
+    // a batch is put on the queue if it has got that many files, or that many bytes
+    public static final int MAX_FILES = 64;
+    public static final long MAX_BYTES = 1024 * 1024;
+
+    private final BlockingQueue<Message> queue;
+    private List<Message> batch = new ArrayList<>(MAX_FILES);
+    private long bytes = 0;
+
+    /**
+     * @param queue the input queue
+     */
+    public MessageBatcher(BlockingQueue<Message> queue) {
+        this.queue = queue;
+    }
+
+    private static boolean isBatchable(Message message) {
+        return message.getType() == Message.Type.HASH_FILE
+                && message.getPayload().getPath() != null
+                && message.getPayload().getSpecialPath() == null
+                && message.getPayload().getSizeHint() >= 0
+                && message.getPayload().getSizeHint() <= SMALL_FILE;
+    }
+
+    /**
+     * Adds a message to the pending batch if it is the message of a small file, or puts it on
+     * the queue otherwise.
+     *
+     * @param message the message
+     * @throws InterruptedException if the thread has been interrupted while waiting
+     */
+    @Override
+    public void put(Message message) throws InterruptedException {
+        if (!isBatchable(message)) {
+            flush();
+            queue.put(message);
+            return;
+        }
+        batch.add(message);
+        bytes += message.getPayload().getSizeHint();
+        if (batch.size() >= MAX_FILES || bytes >= MAX_BYTES) {
+            flush();
+        }
+    }
+
+    /**
+     * Puts the pending batch on the queue. A batch of a single file is put on the queue as the
+     * message of that file.
+     *
+     * @throws InterruptedException if the thread has been interrupted while waiting
+     */
+    public void flush() throws InterruptedException {
+        if (batch.isEmpty()) {
+            return;
+        }
+        if (batch.size() == 1) {
+            queue.put(batch.get(0));
+            batch.clear();
+        } else {
+            Message message = new Message(Message.Type.HASH_BATCH, batch);
+            // the batch is scheduled by the sum of its sizes, see SchedulingMode
+            message.getPayload().setSizeHint(bytes);
+            queue.put(message);
+            // the list belongs to the message now
+            batch = new ArrayList<>(MAX_FILES);
+        }
+        bytes = 0;
+    }
+}
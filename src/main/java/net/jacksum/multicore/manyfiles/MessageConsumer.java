@@ -33,6 +33,8 @@ public abstract class MessageConsumer implements Runnable {
     protected ConsumerParameters parameters;
     protected BlockingQueue<Message> queue;
     protected FormatPreferences formatPreferences;
+    // restores the order in which the messages have been produced, or null, see OutputOrder
+    private OutputOrder outputOrder;
 
     // the number of messages that could not be consumed, because an unexpected exception occurred
     // while they were being handled, see also run() and getUnexpectedErrors()
@@ -53,6 +55,14 @@ public abstract class MessageConsumer implements Runnable {
     public void setQueue(BlockingQueue<Message> queue) {
         this.queue = queue;
     }
+
+    /**
+     * @param outputOrder restores the order in which the messages have been produced, or null
+     * if the messages should be handled in the order in which they arrive
+     */
+    public void setOutputOrder(OutputOrder outputOrder) {
+        this.outputOrder = outputOrder;
+    }
     
     public abstract Statistics getStatistics();
     
@@ -93,6 +103,24 @@ public abstract class MessageConsumer implements Runnable {
         System.err.printf("Jacksum: Error: %s%n", throwable);
     }
 
+    private void take(Message message) {
+        if (outputOrder == null) {
+            consume(message);
+        } else {
+            outputOrder.add(message, this::consume);
+        }
+    }
+
+    private void consume(Message message) {
+        if (message.getType() != null) {
+            try {
+                handleMessage(message);
+            } catch (Throwable throwable) {
+                handleUnexpectedException(throwable);
+            }
+        }
+    }
+
     @Override
     public void run() {
         // System.out.println("Message Consumer started.");
@@ -100,12 +128,13 @@ public abstract class MessageConsumer implements Runnable {
             Message message;
             // Consuming messages until exit message is received
             while ((message = queue.take()).getType() != Message.Type.EXIT) {
-                if (message.getType() != null) {
-                    try {
-                        handleMessage(message);
-                    } catch (Throwable throwable) {
-                        handleUnexpectedException(throwable);
+                if (message.getType() == Message.Type.BATCH_HASHED) {
+                    // the results of a batch of small files, see MessageBatcher
+                    for (Message result : message.getBatch()) {
+                        take(result);
                     }
+                } else {
+                    take(message);
                 }
                 // logQueue.put(new Message(INFO, "Output Consumer: consumed " + message.getPath()));
             }
@@ -25,6 +25,8 @@ package net.jacksum.multicore.manyfiles;
 
 import java.nio.file.Path;
 import java.nio.file.attribute.BasicFileAttributes;
+import net.jacksum.actions.io.verify.CheckEntry;
+import net.jacksum.algorithms.ReadMode;
 
 /**
  *
@@ -39,6 +41,10 @@ public class MessagePayload {
     private long size;
     private BasicFileAttributes basicFileAttributes;
     private boolean fileNotFound;
+    private ReadMode readMode;
+    private CheckEntry expected;
+    private Boolean hashCacheHit;
+    private long sizeHint = -1;
 
     public void setPath(Path path) {
         this.path = path;
@@ -74,6 +80,71 @@ public class MessagePayload {
         this.fileNotFound = fileNotFound;
     }
 
+    /**
+     * @return the read mode that has been used to read the file, or null if the file has not been read
+     */
+    public ReadMode getReadMode() {
+        return readMode;
+    }
+
+    /**
+     * @param readMode the read mode that has been used to read the file
+     */
+    public void setReadMode(ReadMode readMode) {
+        this.readMode = readMode;
+    }
+
+    /**
+     * Returns the entry of the check file that the file is verified against if the
+     * check file is being streamed, see also CheckEntrySource.
+     *
+     * @return the entry of the check file, or null if the entry is looked up by the
+     * consumer
+     */
+    public CheckEntry getExpected() {
+        return expected;
+    }
+
+    /**
+     * @param expected the entry of the check file that the file is verified against
+     */
+    public void setExpected(CheckEntry expected) {
+        this.expected = expected;
+    }
+
+    /**
+     * Returns whether the digest has been taken from the hash cache, see option --hash-cache.
+     *
+     * @return true if the digest has been taken from the hash cache, false if the file has
+     * been read, because the hash cache did not have a valid digest, or null if the hash
+     * cache has not been consulted
+     */
+    public Boolean getHashCacheHit() {
+        return hashCacheHit;
+    }
+
+    /**
+     * @param hashCacheHit whether the digest has been taken from the hash cache
+     */
+    public void setHashCacheHit(Boolean hashCacheHit) {
+        this.hashCacheHit = hashCacheHit;
+    }
+
+    /**
+     * @return the size of the file as it has been seen while the file has been found, or -1 if
+     * it is unknown; it is used for scheduling only, see SchedulingMode
+     */
+    public long getSizeHint() {
+        return sizeHint;
+    }
+
+    /**
+     * @param sizeHint the size of the file as it has been seen while the file has been found
+     */
+    public void setSizeHint(long sizeHint) {
+        this.sizeHint = sizeHint;
+    }
+
     public void setDigest(byte[] digest) {
         this.digest = digest;
     }
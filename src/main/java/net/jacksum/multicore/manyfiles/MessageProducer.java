@@ -27,11 +27,13 @@ import java.nio.file.Files;
 import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.stream.Collectors;
 
+import net.jacksum.actions.io.verify.CheckEntry;
 import net.jacksum.multicore.OSControl;
 import net.jacksum.multicore.manyfiles.Message.Type;
 import net.loefflmann.sugar.io.NtfsAdsFinder;
@@ -41,6 +43,8 @@ public class MessageProducer implements Runnable {
     private final BlockingQueue<Message> inputQueue;
     private final BlockingQueue<Message> outputQueue;
     private final ProducerParameters producerParameters;
+    private final OutputOrder outputOrder;
+    private final MessageBatcher batcher;
     private final List<String> allFiles;
     private final static boolean onWindows = OSControl.isWindows();
 
@@ -48,8 +52,22 @@ public class MessageProducer implements Runnable {
             ProducerParameters producerParameters,
             BlockingQueue<Message> inputQueue,
             BlockingQueue<Message> outputQueue) {
+        this(producerParameters, inputQueue, outputQueue, null);
+    }
+
+    /**
+     * @param outputOrder numbers the messages in the order in which they are produced, or null
+     * if the order of the output does not matter, see OutputOrder
+     */
+    public MessageProducer(
+            ProducerParameters producerParameters,
+            BlockingQueue<Message> inputQueue,
+            BlockingQueue<Message> outputQueue,
+            OutputOrder outputOrder) {
 
         this.producerParameters = producerParameters;
+        this.outputOrder = outputOrder;
+        this.batcher = new MessageBatcher(inputQueue);
         this.inputQueue = inputQueue;
         this.outputQueue = outputQueue;
 
@@ -84,7 +102,102 @@ public class MessageProducer implements Runnable {
         return message;
     }
 
+    /**
+     * Attaches the entry of the check file that a file is verified against to a message, so
+     * that the consumer does not need to look it up, see also CheckEntrySource.
+     *
+     * @param message the message
+     * @param expected the entry of the check file, or null if the consumer looks it up
+     * @return the very same message
+     */
+    private static Message expect(Message message, CheckEntry expected) {
+        message.getPayload().setExpected(expected);
+        return message;
+    }
+
+    /**
+     * Lets the pre-check decide by the attributes of a file from the check file whether its
+     * verification fails anyway, see PreCheck. If so, the message is turned into a result
+     * that carries the size and the attributes of the file, so that the file does not need
+     * to be read by a worker at all. A file that cannot be read is left to the worker, so
+     * that it is reported as a read error rather than as FAILED.
+     *
+     * @param message the message for hashing the file
+     * @param path the path of the file
+     * @param expected the entry of the check file, or null if the pre-check looks it up
+     * @return true if the message has become a FILE_FAILED_PRECHECK message
+     */
+    private boolean failsPreCheck(Message message, Path path, CheckEntry expected) {
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (IOException e) {
+            // the worker reports the problem while it reads the file
+            return false;
+        }
+        // the size of a device or a named pipe says nothing about the data that can be read
+        if (!attributes.isRegularFile()) {
+            return false;
+        }
+        // the size is for free here, see MessageBatcher and SchedulingMode
+        message.getPayload().setSizeHint(attributes.size());
+        if (!producerParameters.getPreCheck().fails(path, expected, attributes)) {
+            return false;
+        }
+        // a file that cannot be read is reported as a read error by the worker as before
+        if (!Files.isReadable(path)) {
+            return false;
+        }
+        message.setType(Type.FILE_FAILED_PRECHECK);
+        message.getPayload().setSize(attributes.size());
+        message.getPayload().setBasicFileAttributes(attributes);
+        return true;
+    }
+
+    /**
+     * Puts a message on a queue, and numbers it before if the order of the output is kept.
+     * Small files are batched before they are put on the input queue, see MessageBatcher.
+     *
+     * @param queue the input queue or the output queue
+     * @param message the message
+     * @throws InterruptedException if the thread has been interrupted while waiting
+     */
+    private void put(BlockingQueue<Message> queue, Message message) throws InterruptedException {
+        if (outputOrder != null) {
+            outputOrder.assign(message);
+        }
+        if (queue == inputQueue) {
+            batcher.put(message);
+        } else {
+            // the pending batch must not be overtaken
+            batcher.flush();
+            queue.put(message);
+        }
+    }
+
+    /**
+     * Sets the size of a regular file to a message, so that the file can be scheduled by its
+     * size, see SchedulingMode. Files that have been found by the FileWalker have it already.
+     *
+     * @param message the message for hashing the file
+     * @param path the path of the file
+     */
+    private static void sizeHint(Message message, Path path) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            if (attributes.isRegularFile()) {
+                message.getPayload().setSizeHint(attributes.size());
+            }
+        } catch (IOException e) {
+            // the worker reports the problem while it reads the file
+        }
+    }
+
     private void handleFilename(String filename, boolean filenameIsInCheckFile, Message.Type messageTypeForFiles) {
+        handleFilename(filename, filenameIsInCheckFile, messageTypeForFiles, null);
+    }
+
+    private void handleFilename(String filename, boolean filenameIsInCheckFile, Message.Type messageTypeForFiles, CheckEntry expected) {
         try {
             Path path = Paths.get(filename);
 
@@ -96,18 +209,27 @@ public class MessageProducer implements Runnable {
 
                 if (Files.isDirectory(path)) {
                     if (filenameIsInCheckFile) {
-                        outputQueue.put(new Message(Type.ERROR, String.format("%s: directory found in check file, but a filename was expected.", path), path));
+                        put(outputQueue, expect(new Message(Type.ERROR, String.format("%s: directory found in check file, but a filename was expected.", path), path), expected));
                     } else {
                         FileWalker fileWalker = new FileWalker(
                                 messageTypeForFiles,
                                 producerParameters,
                                 path,
-                                inputQueue);
+                                message -> put(inputQueue, message));
                         fileWalker.walk();
                     }
 
                 } else {
-                    inputQueue.put(new Message(messageTypeForFiles, null, path));
+                    Message message = new Message(messageTypeForFiles, null, path);
+                    if (producerParameters.getSchedulingMode() == SchedulingMode.LARGEST_FIRST) {
+                        sizeHint(message, path);
+                    }
+                    if (filenameIsInCheckFile && messageTypeForFiles == Type.HASH_FILE
+                            && producerParameters.getPreCheck() != null && failsPreCheck(message, path, expected)) {
+                        put(outputQueue, expect(message, expected));
+                    } else {
+                        put(inputQueue, expect(message, expected));
+                    }
 
                     if (onWindows && producerParameters.isScanNtfsAds()) {
                         // find NTFS Alternate Data Streams (ADS) in this path
@@ -115,17 +237,17 @@ public class MessageProducer implements Runnable {
                             List<String> list = NtfsAdsFinder.find(path);
                             if (list != null) {
                                 for (String entry : list) {
-                                    inputQueue.put(new Message(messageTypeForFiles, null, entry));
+                                    put(inputQueue, new Message(messageTypeForFiles, null, entry));
                                 }
                             }
                         } catch (IOException | InterruptedException e) {
-                            inputQueue.put(new Message(Message.Type.ERROR, String.format("Cannot find alternate data stream, ignoring: %s", path), path));
+                            put(inputQueue, new Message(Message.Type.ERROR, String.format("Cannot find alternate data stream, ignoring: %s", path), path));
                         }
                     }
 
                 }
             } else {
-                outputQueue.put(fileNotFound(new Message(Type.ERROR, String.format("%s: does not exist.", path), path)));
+                put(outputQueue, expect(fileNotFound(new Message(Type.ERROR, String.format("%s: does not exist.", path), path)), expected));
             }
 
         } catch (InvalidPathException e) {
@@ -140,13 +262,13 @@ public class MessageProducer implements Runnable {
             if (onWindows) {
                 if (specialWindowsFileExists(filename)) {
                     try {
-                        inputQueue.put(new Message(messageTypeForFiles, null, filename));
+                        put(inputQueue, expect(new Message(messageTypeForFiles, null, filename), expected));
                     } catch (InterruptedException ex) {
                         ex.printStackTrace();
                     }
                 } else {
                     try {
-                        outputQueue.put(fileNotFound(new Message(Type.ERROR, String.format("%s: not found.", filename), (Path) null)));
+                        put(outputQueue, expect(fileNotFound(new Message(Type.ERROR, String.format("%s: not found.", filename), (Path) null)), expected));
                     } catch (InterruptedException ex) {
                         ex.printStackTrace();
                     }
@@ -154,7 +276,7 @@ public class MessageProducer implements Runnable {
             } else {
                 // POSIX path-names may not contain null characters.
                 try {
-                    outputQueue.put(fileNotFound(new Message(Type.ERROR, String.format("%s: not found: %s", filename, e.getMessage()), (Path) null)));
+                    put(outputQueue, expect(fileNotFound(new Message(Type.ERROR, String.format("%s: not found: %s", filename, e.getMessage()), (Path) null)), expected));
                 } catch (InterruptedException ex) {
                     ex.printStackTrace();
                     // Logger.getLogger(MessageProducer.class.getName()).log(Level.SEVERE, null, ex);
@@ -168,8 +290,12 @@ public class MessageProducer implements Runnable {
     }
 
     private void handleFilenameStdin(Message.Type messageTypeForStdin) {
+        handleFilenameStdin(messageTypeForStdin, null);
+    }
+
+    private void handleFilenameStdin(Message.Type messageTypeForStdin, CheckEntry expected) {
         try {
-            inputQueue.put(new Message(messageTypeForStdin, producerParameters.getStdinName()));
+            put(inputQueue, expect(new Message(messageTypeForStdin, producerParameters.getStdinName()), expected));
         } catch (InterruptedException ex) {
             // Logger.getLogger(MessageProducer.class.getName()).log(Level.SEVERE, null, ex);
             ex.printStackTrace();
@@ -210,8 +336,28 @@ public class MessageProducer implements Runnable {
         try {
             Message.Type messageTypeForFiles = Type.HASH_FILE;
             Message.Type messageTypeForStdin = Type.HASH_STDIN;
+            // the check file is being streamed, so its entries are produced while they are
+            // being read, and each message carries the entry that it is verified against
+            if (producerParameters.getCheckEntrySource() != null) {
+
+                if (!producerParameters.getListFilter().isHashingRequired()) {
+                    messageTypeForFiles = Type.DONT_HASH_FILE;
+                    messageTypeForStdin = Type.DONT_HASH_STDIN;
+                }
+
+                CheckEntry entry;
+                while ((entry = producerParameters.getCheckEntrySource().next()) != null) {
+                    if (entry.getFilename().equals(producerParameters.getStdinName())) {
+                        handleFilenameStdin(messageTypeForStdin, entry);
+                    } else {
+                        handleFilename(entry.getFilename(), true, messageTypeForFiles, entry);
+                    }
+                }
+                messageTypeForFiles = Type.DONT_HASH_FILE;
+                messageTypeForStdin = Type.DONT_HASH_STDIN;
+
             // we want to calculate hashes for the files in the check file only
-            if (producerParameters.getFilenamesFromCheckFile() != null) {
+            } else if (producerParameters.getFilenamesFromCheckFile() != null) {
 
                 if (!producerParameters.getListFilter().isHashingRequired()) {
                     messageTypeForFiles = Type.DONT_HASH_FILE;
@@ -247,6 +393,7 @@ public class MessageProducer implements Runnable {
             // block forever on take(), and Engine.start()'s join() would hang the
             // whole process.
             try {
+                batcher.flush();
                 inputQueue.put(new Message(Type.EXIT));
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
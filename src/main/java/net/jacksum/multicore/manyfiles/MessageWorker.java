@@ -24,7 +24,11 @@ package net.jacksum.multicore.manyfiles;
 
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
@@ -37,18 +41,66 @@ public class MessageWorker implements Runnable {
 
     private final int cores;
     private final AlgorithmPool algorithmPool;
+    private final DigestStore digestStore;
     private final BlockingQueue<Message> inputQueue;
     private final BlockingQueue<Message> outputQueue;
     private final CustomizedFormatParameters formatParameters;
     private final GatheringParameters gatheringParameters;
+    private final SchedulingMode schedulingMode;
+    private final ThreadsMode threadsMode;
 
     public MessageWorker(ProducerConsumerParameters parameters, int cores, AlgorithmPool algorithmPool, BlockingQueue<Message> inputQueue, BlockingQueue<Message> outputQueue) {
+        this(parameters, cores, algorithmPool, null, inputQueue, outputQueue);
+    }
+
+    /**
+     * @param digestStore the store of hash values that the workers consult before they read a
+     * file, or null
+     */
+    public MessageWorker(ProducerConsumerParameters parameters, int cores, AlgorithmPool algorithmPool, DigestStore digestStore, BlockingQueue<Message> inputQueue, BlockingQueue<Message> outputQueue) {
         this.cores = cores;
         this.algorithmPool = algorithmPool;
+        this.digestStore = digestStore;
         this.inputQueue = inputQueue;
         this.outputQueue = outputQueue;
         this.formatParameters = parameters;
         this.gatheringParameters = parameters;
+        this.schedulingMode = parameters.getSchedulingMode();
+        this.threadsMode = parameters.getThreadsMode();
+    }
+
+    /**
+     * A WorkerThread that waits in the queue of the thread pool while the files are scheduled
+     * by their size, see SchedulingMode.LARGEST_FIRST. The largest file is taken first, files
+     * of an unknown size (e.g. stdin or a named pipe) are regarded as larger than any other
+     * file, and files of the same size are taken in the order in which they have been found.
+     */
+    private static final class ScheduledWorker implements Runnable, Comparable<ScheduledWorker> {
+
+        private final Runnable worker;
+        private final long size;
+        private final long order;
+        private final Semaphore lookAhead;
+
+        ScheduledWorker(Runnable worker, long size, long order, Semaphore lookAhead) {
+            this.worker = worker;
+            this.size = size < 0 ? Long.MAX_VALUE : size;
+            this.order = order;
+            this.lookAhead = lookAhead;
+        }
+
+        @Override
+        public int compareTo(ScheduledWorker other) {
+            int bySize = Long.compare(other.size, size);
+            return bySize != 0 ? bySize : Long.compare(order, other.order);
+        }
+
+        @Override
+        public void run() {
+            // the file leaves the look-ahead window, so the next one can be taken from the input queue
+            lookAhead.release();
+            worker.run();
+        }
     }
 
     /**
@@ -59,7 +111,10 @@ public class MessageWorker implements Runnable {
      * <p>
      * Processing flow:
      * - Continuously consumes messages from the input queue until an EXIT message is received
-     * - For HASH_FILE and HASH_STDIN messages: submits a WorkerThread task to the executor service
+     * - For HASH_FILE, HASH_STDIN, and HASH_BATCH messages: submits a WorkerThread task to the executor service
+     *   (if the files are scheduled by their size, the largest file in the look-ahead window of
+     *   100 files per thread is dispatched first, see SchedulingMode)
+     *   (if virtual threads are wanted, the pool consists of virtual threads, see ThreadsMode)
      * - For DONT_HASH_FILE and DONT_HASH_STDIN messages: marks them as FILE_NOT_HASHED and forwards to output queue
      * - For other message types: forwards them directly to the output queue
      * - Null type messages are forwarded immediately to the output queue
@@ -73,9 +128,22 @@ public class MessageWorker implements Runnable {
 
         // potential fix for issue #30
         int capacity = cores * 100; // or a memory-based calculation
+        // while the files are scheduled by their size, the queue of the thread pool is the
+        // look-ahead window; it is ordered by size, and bounded by a semaphore rather than by
+        // the queue itself, because a PriorityBlockingQueue cannot be bounded
+        Semaphore lookAhead = schedulingMode == SchedulingMode.LARGEST_FIRST ? new Semaphore(capacity) : null;
+        long order = 0;
+        // with virtual threads, a large number of reads can be outstanding without as many
+        // platform threads; the queue, the scheduling, and the back pressure are the same
+        ThreadFactory threadFactory = threadsMode == ThreadsMode.VIRTUAL
+            ? Thread.ofVirtual().name("jacksum-reader-", 1).factory()
+            : Executors.defaultThreadFactory();
         ExecutorService executorService = new ThreadPoolExecutor(
-            cores, cores, 0L, TimeUnit.MILLISECONDS, 
-            new LinkedBlockingQueue<Runnable>(capacity)
+            cores, cores, 0L, TimeUnit.MILLISECONDS,
+            lookAhead == null
+                ? new LinkedBlockingQueue<Runnable>(capacity)
+                : new PriorityBlockingQueue<Runnable>(capacity),
+            threadFactory
         );
         /*
         ExecutorService executorService = Executors.newFixedThreadPool(cores);
@@ -94,7 +162,12 @@ public class MessageWorker implements Runnable {
                 } else switch (message.getType()) {
                     case HASH_FILE:
                     case HASH_STDIN:
-                        Runnable worker = new WorkerThread(message, formatParameters, algorithmPool, outputQueue, gatheringParameters);
+                    case HASH_BATCH:
+                        Runnable worker = new WorkerThread(message, formatParameters, algorithmPool, digestStore, outputQueue, gatheringParameters);
+                        if (lookAhead != null) {
+                            lookAhead.acquire();
+                            worker = new ScheduledWorker(worker, message.getPayload().getSizeHint(), order++, lookAhead);
+                        }
                         executorService.execute(worker);
                         break;
                     case DONT_HASH_FILE:
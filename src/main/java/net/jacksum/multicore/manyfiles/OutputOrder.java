@@ -0,0 +1,101 @@
+/*
+
+
+  Jacksum 4.0.0 - a checksum/hash tool written in Java
+  Copyright (c) 2001-2026 Dipl.-Inf. (FH) Johann N. Löfflmann,
+  All Rights Reserved, <https://jacksum.net>.
+
+  This program is free software: you can redistribute it and/or modify it under
+  the terms of the GNU General Public License as published by the Free Software
+  Foundation, either version 3 of the License, or (at your option) any later
+  version.
+
+  This program is distributed in the hope that it will be useful, but WITHOUT
+  ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+  FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+  details.
+
+  You should have received a copy of the GNU General Public License along with
+  this program. If not, see <https://www.gnu.org/licenses/>.
+
+
+ */
+package net.jacksum.multicore.manyfiles;
+
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+
+/**
+ * Restores the order in which the messages have been produced, see option --keep-order.
+ *
+ * The producer thread numbers each message before it puts the message on a queue, and the
+ * consumer hands the messages over in the order of those numbers: a message that arrives
+ * early is held back until all messages with a smaller number have been handed over, and
+ * then it is handed over immediately, so the output is streamed rather than sorted at the end.
+ *
+ * The number of messages that have been numbered, but not handed over yet, is limited by the
+ * window. If the window is full, the producer waits until the consumer has handed over the
+ * oldest message, so the memory that is required for holding back messages is bounded, and
+ * the messages that are held back fit into a ring of the size of the window.
+ */
+public class OutputOrder {
+
+    public static final int DEFAULT_WINDOW = 16384;
+
+    private final Semaphore window;
+    private final Message[] ring;
+    // accessed by the producer thread only
+    private long nextToAssign = 0;
+    // accessed by the consumer thread only
+    private long nextToHandOver = 0;
+
+    public OutputOrder() {
+        this(DEFAULT_WINDOW);
+    }
+
+    /**
+     * @param window the maximum number of messages that have been numbered, but that have not
+     * been handed over yet
+     */
+    public OutputOrder(int window) {
+        this.window = new Semaphore(window);
+        this.ring = new Message[window];
+    }
+
+    /**
+     * Numbers a message. Must be called by the producer thread, before the message is put on
+     * a queue.
+     *
+     * @param message the message
+     * @throws InterruptedException if the thread has been interrupted while it was waiting
+     * for a free slot in the window
+     */
+    public void assign(Message message) throws InterruptedException {
+        window.acquire();
+        message.setSequence(nextToAssign++);
+    }
+
+    /**
+     * Adds a message that has been taken from the queue, and hands over all messages that are
+     * due. Must be called
+     * by the consumer thread. A message that has not been numbered is handed over immediately.
+     *
+     * @param message the message that has been taken from the queue
+     * @param handler the handler that the messages are handed over to
+     */
+    public void add(Message message, Consumer<Message> handler) {
+        if (message.getSequence() < 0) {
+            handler.accept(message);
+            return;
+        }
+        ring[(int) (message.getSequence() % ring.length)] = message;
+        int slot;
+        while (ring[slot = (int) (nextToHandOver % ring.length)] != null) {
+            Message due = ring[slot];
+            ring[slot] = null;
+            nextToHandOver++;
+            window.release();
+            handler.accept(due);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+/*
+
+
+  Jacksum 4.0.0 - a checksum/hash tool written in Java
+  Copyright (c) 2001-2026 Dipl.-Inf. (FH) Johann N. Löfflmann,
+  All Rights Reserved, <https://jacksum.net>.
+
+  This program is free software: you can redistribute it and/or modify it under
+  the terms of the GNU General Public License as published by the Free Software
+  Foundation, either version 3 of the License, or (at your option) any later
+  version.
+
+  This program is distributed in the hope that it will be useful, but WITHOUT
+  ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+  FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+  details.
+
+  You should have received a copy of the GNU General Public License along with
+  this program. If not, see <https://www.gnu.org/licenses/>.
+
+
+ */
+package net.jacksum.multicore.manyfiles;
+
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import net.jacksum.actions.io.verify.CheckEntry;
+
+/**
+ * Decides by the attributes of a file that is listed in a check file whether the
+ * verification of that file fails anyway, so that the file does not need to be read
+ * and hashed at all. The producer asks the pre-check before it passes such a file to
+ * the workers, see MessageProducer and Message.Type.FILE_FAILED_PRECHECK.
+ */
+public interface PreCheck {
+
+    /**
+     * Determines whether the verification of a file fails for sure. It is called by the
+     * producer thread only, but concurrently with the consumer thread.
+     *
+     * @param path the path of the file
+     * @param expected the entry of the check file if the check file is being streamed,
+     * or null if the pre-check has to look it up by the path
+     * @param attributes the attributes of the file, it is a regular file
+     * @return true if the size or the timestamp of the file does not match the entry
+     */
+    boolean fails(Path path, CheckEntry expected, BasicFileAttributes attributes);
+}
@@ -35,6 +35,8 @@ public interface ProducerParameters {
     List<String> getFilenamesFromArgs();
     List<String> getFilenamesFromFilelist();
     List<String> getFilenamesFromCheckFile();
+    CheckEntrySource getCheckEntrySource();
+    PreCheck getPreCheck();
     boolean isStdinForFilenamesFromArgs();
     int getDepth();
     boolean isDontFollowSymlinksToFiles();
@@ -49,4 +51,9 @@ public interface ProducerParameters {
     boolean isScanNtfsAds();
     boolean isPathAbsolute();
     Path getPathRelativeTo();
+    boolean isKeepOrder();
+    SchedulingMode getSchedulingMode();
+    int getThreadsWalking();
+    ThreadsMode getThreadsMode();
+    int getThreadsDigesting();
 }
@@ -0,0 +1,90 @@
+/*
+
+
+  Jacksum 4.0.0 - a checksum/hash tool written in Java
+  Copyright (c) 2001-2026 Dipl.-Inf. (FH) Johann N. Löfflmann,
+  All Rights Reserved, <https://jacksum.net>.
+
+  This program is free software: you can redistribute it and/or modify it under
+  the terms of the GNU General Public License as published by the Free Software
+  Foundation, either version 3 of the License, or (at your option) any later
+  version.
+
+  This program is distributed in the hope that it will be useful, but WITHOUT
+  ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+  FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+  details.
+
+  You should have received a copy of the GNU General Public License along with
+  this program. If not, see <https://www.gnu.org/licenses/>.
+
+
+ */
+package net.jacksum.multicore.manyfiles;
+
+import java.util.Locale;
+
+/**
+ * The order in which the MessageWorker dispatches the files to the reading threads,
+ * see option --scheduling.
+ *
+ * @since Jacksum 4.0.0
+ */
+public enum SchedulingMode {
+
+    // the files are dispatched in the order in which they are found
+    FIFO("fifo", "in the order in which the files are found"),
+    // the largest of the files that are waiting are dispatched first
+    LARGEST_FIRST("largest-first", "largest files first");
+
+    // the mode that is used if the user doesn't specify one
+    public static final SchedulingMode DEFAULT = FIFO;
+
+    private final String code;
+    private final String description;
+
+    SchedulingMode(String code, String description) {
+        this.code = code;
+        this.description = description;
+    }
+
+    /**
+     * Returns the code of the mode as it is used on the command line.
+     *
+     * @return the code of the mode
+     */
+    public String getCode() {
+        return code;
+    }
+
+    /**
+     * Returns a human readable description of the mode.
+     *
+     * @return the description of the mode
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Returns the mode that belongs to a code.
+     *
+     * @param code the code of the mode, e.g. "largest-first"
+     * @return the mode
+     * @throws IllegalArgumentException if the code is unknown
+     */
+    public static SchedulingMode string2SchedulingMode(String code) throws IllegalArgumentException {
+        String lowercase = code.toLowerCase(Locale.US);
+        for (SchedulingMode mode : values()) {
+            if (mode.code.equals(lowercase)) {
+                return mode;
+            }
+        }
+        throw new IllegalArgumentException(String.format("Scheduling mode \"%s\" is unsupported.", code));
+    }
+
+    @Override
+    public String toString() {
+        return code;
+    }
+}
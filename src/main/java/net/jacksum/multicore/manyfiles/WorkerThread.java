@@ -25,12 +25,11 @@ package net.jacksum.multicore.manyfiles;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.attribute.BasicFileAttributes;
-import java.security.NoSuchAlgorithmException;
 import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import net.jacksum.algorithms.AbstractChecksum;
+import net.jacksum.algorithms.CachedChecksum;
 import net.jacksum.parameters.combined.GatheringParameters;
 import net.jacksum.parameters.base.CustomizedFormatParameters;
 
@@ -38,27 +37,18 @@ public class WorkerThread implements Runnable {
 
     private final Message message;
     private final AlgorithmPool algorithmPool;
+    private final DigestStore digestStore;
     private final BlockingQueue<Message> outputQueue;
     private final CustomizedFormatParameters formatParameters;
     private final GatheringParameters gatheringParameters;
 
-    // Atomic integer containing the next thread ID to be assigned
-    private static final AtomicInteger nextId = new AtomicInteger(0);
-    //private static int value = 0;
-
-    private static class ThreadID extends ThreadLocal<Integer> {
-
-        @Override
-        protected Integer initialValue() {
-            return nextId.getAndIncrement();
-        }
-
+    public WorkerThread(Message message, CustomizedFormatParameters formatParameters, AlgorithmPool algorithmPool, BlockingQueue<Message> outputQueue, GatheringParameters gatheringParameters) {
+        this(message, formatParameters, algorithmPool, null, outputQueue, gatheringParameters);
     }
 
-    private static final ThreadID threadID = new ThreadID();
-
-    public WorkerThread(Message message, CustomizedFormatParameters formatParameters, AlgorithmPool algorithmPool, BlockingQueue<Message> outputQueue, GatheringParameters gatheringParameters) {
+    public WorkerThread(Message message, CustomizedFormatParameters formatParameters, AlgorithmPool algorithmPool, DigestStore digestStore, BlockingQueue<Message> outputQueue, GatheringParameters gatheringParameters) {
         this.message = message;
+        this.digestStore = digestStore;
         this.formatParameters = formatParameters;
         this.gatheringParameters = gatheringParameters;
         this.algorithmPool = algorithmPool;
@@ -68,17 +58,86 @@ public class WorkerThread implements Runnable {
     @Override
     public void run() {
         //System.out.println(Thread.currentThread().getName() + " Start. Payload = " + message.getPath());
-        processMessage();
+        // the algorithm instance is leased for this task only, rather than bound to the thread,
+        // so that it works for any number of virtual threads as well
+        AbstractChecksum algorithm;
+        try {
+            algorithm = algorithmPool.lease();
+        } catch (Throwable ex) {
+            algorithm = null;
+            if (message.getType() == Message.Type.HASH_BATCH) {
+                for (Message file : message.getBatch()) {
+                    setError(file, ex);
+                }
+                message.setType(Message.Type.BATCH_HASHED);
+            } else {
+                setError(message, ex);
+            }
+        }
+        if (algorithm != null) {
+            try {
+                if (message.getType() == Message.Type.HASH_BATCH) {
+                    // the small files of a batch are hashed one after another by the same
+                    // algorithm instance, and their results are put on the output queue at once
+                    for (Message file : message.getBatch()) {
+                        processMessage(algorithm, file);
+                    }
+                    message.setType(Message.Type.BATCH_HASHED);
+                } else {
+                    processMessage(algorithm, message);
+                }
+            } finally {
+                algorithmPool.release(algorithm);
+            }
+        }
+        putMessage();
         //System.out.println(Thread.currentThread().getName() + " End.");
     }
 
-    private void processMessage() {
+    /**
+     * Reads the file of the message, or takes its digest from the digest store if the file has
+     * not changed since the digest has been stored, see DigestStore.
+     *
+     * @param algorithm the algorithm
+     * @param message the message of the file
+     * @return the algorithm, or a CachedChecksum that stands for it if the digest has been
+     * taken from the digest store
+     * @throws IOException if the file cannot be read
+     */
+    private AbstractChecksum readFile(AbstractChecksum algorithm, Message message) throws IOException {
+        String filename = message.getPayload().getPath().toString();
+        FileState state = digestStore == null ? null : FileState.of(message.getPayload().getPath());
+        if (state == null) {
+            algorithm.readFile(filename, true);
+            return algorithm;
+        }
+        byte[] digest = digestStore.get(algorithm.getName(), state);
+        if (digest != null) {
+            message.getPayload().setHashCacheHit(true);
+            return new CachedChecksum(algorithm, filename, state.getSize(), digest);
+        }
+        algorithm.readFile(filename, true);
+        message.getPayload().setHashCacheHit(false);
+        // the state has been taken before the file has been read, so a file that is modified
+        // while it is being read gets a different state, and it is read again next time;
+        // a file whose size has changed in the meantime is not stored at all
+        if (algorithm.getLength() == state.getSize()) {
+            digestStore.put(algorithm.getName(), state, algorithm.getByteArray());
+        }
+        return algorithm;
+    }
+
+    private static void setError(Message message, Throwable ex) {
+        message.setType(Message.Type.ERROR);
+        message.setInfo(ex.getMessage() != null ? ex.getMessage() : ex.toString());
+    }
+
+    private void processMessage(AbstractChecksum leased, Message message) {
 
-        AbstractChecksum algorithm;
+        // the leased algorithm instance, or a CachedChecksum that stands for it
+        AbstractChecksum algorithm = leased;
         // construct the message
         try {
-            // get the algorithm instance
-            algorithm = algorithmPool.getAlgorithm(threadID.get());
 
             // calculate the digest
             //System.out.println(message.getPayload().getPath());
@@ -86,7 +145,7 @@ public class WorkerThread implements Runnable {
                 if (message.getPayload().getSpecialPath() != null) {
                     algorithm.readFile(message.getPayload().getSpecialPath(), true);
                 } else {
-                    algorithm.readFile(message.getPayload().getPath().toString(), true);
+                    algorithm = readFile(algorithm, message);
                 }
 
             } else if (message.getType().equals(Message.Type.HASH_STDIN)) {
@@ -99,6 +158,9 @@ public class WorkerThread implements Runnable {
             // set the size to the payload of the message
             message.getPayload().setSize(algorithm.getLength());
 
+            // set the read mode that has been used actually, see also --read-mode
+            message.getPayload().setReadMode(algorithm.getReadModeUsed());
+
             if (message.getType().equals(Message.Type.HASH_FILE)) {
                 // set the file attributes to the payload of the message (for regular files only)
                 if (gatheringParameters.isTimestampWanted() && message.getPayload().getPath() != null) {
@@ -128,13 +190,13 @@ public class WorkerThread implements Runnable {
             // exception (SecurityException, an Error from Files.readAttributes, an
             // NPE, ...) would otherwise kill the worker thread silently and make
             // the file vanish from the output while the run still reports success.
-            message.setType(Message.Type.ERROR);
-            message.setInfo(ex.getMessage() != null ? ex.getMessage() : ex.toString());
+            setError(message, ex);
             //Logger.getLogger(WorkerThread.class.getName()).log(Level.SEVERE, null, ex);
         }
+    }
 
+    private void putMessage() {
         try {
-
             // put the message to the output queue
             // filter: put only those on the output queue that match the expected string (-e)
 //            if (!gatheringParameters.isExpectation() ||
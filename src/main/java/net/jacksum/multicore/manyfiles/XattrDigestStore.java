@@ -0,0 +1,115 @@
+/*
+
+
+  Jacksum 4.0.0 - a checksum/hash tool written in Java
+  Copyright (c) 2001-2026 Dipl.-Inf. (FH) Johann N. Löfflmann,
+  All Rights Reserved, <https://jacksum.net>.
+
+  This program is free software: you can redistribute it and/or modify it under
+  the terms of the GNU General Public License as published by the Free Software
+  Foundation, either version 3 of the License, or (at your option) any later
+  version.
+
+  This program is distributed in the hope that it will be useful, but WITHOUT
+  ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+  FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+  details.
+
+  You should have received a copy of the GNU General Public License along with
+  this program. If not, see <https://www.gnu.org/licenses/>.
+
+
+ */
+package net.jacksum.multicore.manyfiles;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.attribute.UserDefinedFileAttributeView;
+
+/**
+ * Stores hash values in user-defined extended attributes of the files themselves, see option
+ * --xattr-cache. There is one attribute per algorithm, its name is "jacksum." followed by the
+ * name of the algorithm (on Linux the attribute is in the namespace "user", so it is called
+ * "user.jacksum.sha-256" for example), and its value is
+ *
+ *   the version of the format (byte), the size of the file and the time of its last
+ *   modification in nanoseconds (long each, big-endian), and the hash value
+ *
+ * A stored hash value is valid as long as the size and the modification time of the file are
+ * unchanged. The status change time (ctime) cannot be taken into account, because it is
+ * updated by writing the attribute itself. Copy tools that preserve both the extended
+ * attributes and the modification time (e.g. cp -a, rsync -aX) take the hash values with the
+ * files.
+ *
+ * If a file system does not support extended attributes, or if a file cannot be written, the
+ * hash value is not stored, and the file is read again next time. This class is thread-safe,
+ * as it does not have any mutable state.
+ */
+public class XattrDigestStore implements DigestStore {
+
+    private static final byte VERSION = 1;
+    private static final String PREFIX = "jacksum.";
+    // Linux limits the name to 255 bytes, including the namespace "user."
+    private static final int MAX_NAME_LENGTH = 255 - "user.".length();
+    private static final int HEADER_LENGTH = 1 + 8 + 8;
+
+    private static UserDefinedFileAttributeView view(FileState state) {
+        return state.getPath() == null ? null
+                : Files.getFileAttributeView(state.getPath(), UserDefinedFileAttributeView.class);
+    }
+
+    private static String name(String algorithm) {
+        String name = PREFIX + algorithm;
+        return name.getBytes(StandardCharsets.UTF_8).length > MAX_NAME_LENGTH ? null : name;
+    }
+
+    @Override
+    public byte[] get(String algorithm, FileState state) {
+        UserDefinedFileAttributeView view = view(state);
+        String name = name(algorithm);
+        if (view == null || name == null) {
+            return null;
+        }
+        try {
+            ByteBuffer value = ByteBuffer.allocate(view.size(name));
+            view.read(name, value);
+            value.flip();
+            if (value.remaining() <= HEADER_LENGTH || value.get() != VERSION
+                    || value.getLong() != state.getSize() || value.getLong() != state.getModified()) {
+                return null;
+            }
+            byte[] digest = new byte[value.remaining()];
+            value.get(digest);
+            return digest;
+        } catch (IOException | BufferUnderflowException | UnsupportedOperationException | SecurityException e) {
+            // there is no attribute, or the file system does not support it
+            return null;
+        }
+    }
+
+    @Override
+    public void put(String algorithm, FileState state, byte[] digest) {
+        UserDefinedFileAttributeView view = view(state);
+        String name = name(algorithm);
+        if (view == null || name == null) {
+            return;
+        }
+        ByteBuffer value = ByteBuffer.allocate(HEADER_LENGTH + digest.length)
+                .put(VERSION).putLong(state.getSize()).putLong(state.getModified()).put(digest);
+        value.flip();
+        try {
+            view.write(name, value);
+        } catch (IOException | UnsupportedOperationException | SecurityException e) {
+            // the file is read-only, or the file system does not support extended attributes;
+            // the file is just read again next time
+        }
+    }
+
+    @Override
+    public void close() {
+        // nothing to release, each attribute has been written immediately
+    }
+}
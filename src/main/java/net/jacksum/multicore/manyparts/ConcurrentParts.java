@@ -0,0 +1,230 @@
+/*
+
+
+  Jacksum 4.0.0 - a checksum/hash tool written in Java
+  Copyright (c) 2001-2026 Dipl.-Inf. (FH) Johann N. Löfflmann,
+  All Rights Reserved, <https://jacksum.net>.
+
+  This program is free software: you can redistribute it and/or modify it under
+  the terms of the GNU General Public License as published by the Free Software
+  Foundation, either version 3 of the License, or (at your option) any later
+  version.
+
+  This program is distributed in the hope that it will be useful, but WITHOUT
+  ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+  FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+  details.
+
+  You should have received a copy of the GNU General Public License along with
+  this program. If not, see <https://www.gnu.org/licenses/>.
+
+
+ */
+package net.jacksum.multicore.manyparts;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import net.jacksum.multicore.ThreadControl;
+import net.loefflmann.sugar.io.BufferCleaner;
+
+/**
+ * Hashes the parts of a single file concurrently on the pool that is
+ * returned by ThreadControl.getForkJoinPool().
+ *
+ * An algorithm that supports intra-file parallelism splits a regular file into
+ * parts, lets this class hash the parts, and combines the results of the parts
+ * in the order of the parts. All methods return after all parts have been
+ * processed, even if a part has failed.
+ */
+public final class ConcurrentParts {
+
+    /** Files smaller than this are not worth to be hashed concurrently. */
+    public static final long MIN_SIZE = 4L * 1024 * 1024;
+
+    /** The max. number of bytes that are mapped into memory at once by a lane. */
+    private static final long LANE_WINDOW = 64L * 1024 * 1024;
+
+    private ConcurrentParts() {
+    }
+
+    /**
+     * A task that hashes one part.
+     *
+     * @param <R> the type of the result of a part
+     */
+    @FunctionalInterface
+    public interface PartTask<R> {
+        R call(int index) throws IOException;
+    }
+
+    /**
+     * A task that hashes a range of a file.
+     *
+     * @param <R> the type of the result of a range
+     */
+    @FunctionalInterface
+    public interface RangeTask<R> {
+        /**
+         * Hashes a range.
+         *
+         * @param range the mapped range, from position 0 up to its limit
+         * @param index the number of the range
+         * @param offset the offset of the range in the file
+         * @return the result of the range
+         * @throws IOException if an I/O error occurs
+         */
+        R hash(ByteBuffer range, int index, long offset) throws IOException;
+    }
+
+    /**
+     * A task that updates a lane with a block of data.
+     */
+    @FunctionalInterface
+    public interface LaneTask {
+        void update(int lane, byte[] block, int offset, int length);
+    }
+
+    /**
+     * Returns a power of 2 that is between min and max, and that splits size
+     * into enough parts to keep all hashing threads busy.
+     *
+     * @param size the size of the file
+     * @param min the min. size of a part, it must be a power of 2
+     * @param max the max. size of a part, it must be a power of 2
+     * @return the size of a part
+     */
+    public static long partSize(long size, long min, long max) {
+        long target = size / (ThreadControl.getThreadsHashing() * 8L);
+        return Math.min(Long.highestOneBit(Math.max(target, min)), max);
+    }
+
+    /**
+     * Runs count tasks concurrently and returns their results.
+     *
+     * @param <R> the type of the results
+     * @param count the number of the tasks
+     * @param task the task, it is called with the indices 0 to count-1
+     * @return the results in the order of the indices
+     * @throws IOException if a task has thrown an IOException
+     */
+    public static <R> List<R> invoke(int count, PartTask<R> task) throws IOException {
+        List<Callable<R>> callables = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final int index = i;
+            callables.add(() -> task.call(index));
+        }
+        // invokeAll() waits until all tasks are done
+        List<Future<R>> futures = ThreadControl.getForkJoinPool().invokeAll(callables);
+        List<R> results = new ArrayList<>(count);
+        for (Future<R> future : futures) {
+            try {
+                results.add(future.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException(e.getMessage());
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof IOException) {
+                    throw (IOException) cause;
+                } else if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                } else if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new IOException(cause);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Splits the first size bytes of a file into ranges of partSize bytes
+     * (the last one can be shorter), maps each range into memory, and hashes
+     * the ranges concurrently.
+     *
+     * @param <R> the type of the results
+     * @param channel the FileChannel of the file
+     * @param size the number of bytes to be hashed
+     * @param partSize the size of a range, at most Integer.MAX_VALUE
+     * @param task the task that hashes a range
+     * @return the results in the order of the ranges
+     * @throws IOException if an I/O error occurs
+     */
+    public static <R> List<R> invokeRanges(FileChannel channel, long size, long partSize, RangeTask<R> task)
+            throws IOException {
+        return invokeRanges(channel, 0, size, partSize, task);
+    }
+
+    /**
+     * Splits length bytes of a file from position on into ranges of partSize
+     * bytes (the last one can be shorter), maps each range into memory, and
+     * hashes the ranges concurrently.
+     *
+     * @param <R> the type of the results
+     * @param channel the FileChannel of the file
+     * @param position the offset of the first byte to be hashed
+     * @param length the number of bytes to be hashed
+     * @param partSize the size of a range, at most Integer.MAX_VALUE
+     * @param task the task that hashes a range
+     * @return the results in the order of the ranges
+     * @throws IOException if an I/O error occurs
+     */
+    public static <R> List<R> invokeRanges(FileChannel channel, long position, long length, long partSize,
+            RangeTask<R> task) throws IOException {
+        int count = (int) ((length + partSize - 1) / partSize);
+        return invoke(count, index -> {
+            long offset = index * partSize;
+            MappedByteBuffer range = channel.map(FileChannel.MapMode.READ_ONLY, position + offset,
+                    Math.min(partSize, length - offset));
+            try {
+                return task.hash(range, index, position + offset);
+            } finally {
+                BufferCleaner.clean(range);
+            }
+        });
+    }
+
+    /**
+     * Hashes the first size bytes of a file by interleaved lanes, that is
+     * block i goes to lane (i mod lanes), and each lane is updated by its own
+     * thread. A lane is updated with full blocks only, except for its last
+     * block which can be shorter. A lane gets no data at all if the file ends
+     * before its first block.
+     *
+     * @param channel the FileChannel of the file
+     * @param size the number of bytes to be hashed
+     * @param lanes the number of lanes
+     * @param blockSize the size of a block, lanes * blockSize must be a divisor of 64 MiB
+     * @param task the task that updates a lane
+     * @throws IOException if an I/O error occurs
+     */
+    public static void invokeLanes(FileChannel channel, long size, int lanes, int blockSize, LaneTask task)
+            throws IOException {
+        final int stride = lanes * blockSize;
+        invoke(lanes, lane -> {
+            byte[] block = new byte[blockSize];
+            for (long position = 0; position < size; position += LANE_WINDOW) {
+                int windowSize = (int) Math.min(LANE_WINDOW, size - position);
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, windowSize);
+                try {
+                    for (int start = lane * blockSize; start < windowSize; start += stride) {
+                        int length = Math.min(blockSize, windowSize - start);
+                        window.get(start, block, 0, length);
+                        task.update(lane, block, 0, length);
+                    }
+                } finally {
+                    BufferCleaner.clean(window);
+                }
+            }
+            return null;
+        });
+    }
+}
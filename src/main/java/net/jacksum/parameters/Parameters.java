@@ -39,6 +39,7 @@ import net.jacksum.actions.io.verify.CheckConsumerParameters;
 import net.jacksum.actions.io.verify.ListFilter;
 import net.jacksum.actions.io.wanted.MatchFilter;
 import net.jacksum.algorithms.AbstractChecksum;
+import net.jacksum.algorithms.ReadMode;
 import net.jacksum.cli.ExitCode;
 import net.jacksum.cli.Messenger;
 import net.jacksum.cli.Verbose;
@@ -50,7 +51,13 @@ import net.jacksum.formats.FilenameFormatter;
 import net.jacksum.formats.TimestampFormatter;
 import net.jacksum.multicore.OSControl;
 import net.jacksum.multicore.ThreadControl;
+import net.jacksum.multicore.manyalgos.WeightCalibration;
+import net.jacksum.multicore.manyalgos.WeightsMode;
+import net.jacksum.multicore.manyfiles.CheckEntrySource;
+import net.jacksum.multicore.manyfiles.PreCheck;
 import net.jacksum.multicore.manyfiles.ProducerParameters;
+import net.jacksum.multicore.manyfiles.SchedulingMode;
+import net.jacksum.multicore.manyfiles.ThreadsMode;
 import net.jacksum.parameters.base.*;
 import net.jacksum.parameters.combined.FormatParameters;
 import net.jacksum.parameters.combined.GatheringParameters;
@@ -121,6 +128,10 @@ public class Parameters implements
     private String checkLine = null;
     // --check-strict
     private boolean checkStrict = false;
+    // --check-streaming
+    private boolean checkStreaming = false;
+    // --check-duplicates
+    private boolean checkDuplicates = false;
     // -C <compatibility>
     private String compatibilityID = null;
     private CompatibilityProperties compatibilityProperties = null;
@@ -182,6 +193,10 @@ public class Parameters implements
     private String stdinName = "<stdin>";
     // -L <file>
     private String filelistFilename = null;
+    // --hash-cache <file>
+    private String hashCache = null;
+    // --xattr-cache
+    private boolean xattrCache = false;
     // keeps all the filenames that have been specified by -L
     private List<String> filenamesFromFilelist = new ArrayList<>();
     // --file-list-format
@@ -201,6 +216,10 @@ public class Parameters implements
     private Character pathChar = File.separatorChar;
     // -q
     private Sequence sequence = null;
+    // all sequences of -q resp. all values of -e in the order of the command line, they are
+    // the samples for -a unknown:<width> (runtime state only)
+    final transient private List<Sequence> sequences = new ArrayList<>();
+    final transient private List<String> expectations = new ArrayList<>();
     // -k
     private Sequence key = null;
     // -r
@@ -270,6 +289,27 @@ public class Parameters implements
     // --threads-reading
     private int threadsReading = ThreadControl.getThreadsReading();
 
+    // --threads-walking
+    private int threadsWalking = 1;
+
+    // --threads-mode
+    private ThreadsMode threadsMode = ThreadsMode.DEFAULT;
+
+    // --threads-digesting, 0 means the number of available processors
+    private int threadsDigesting = 0;
+
+    // --read-mode
+    private ReadMode readMode = AbstractChecksum.getReadMode();
+
+    // --weights
+    private WeightsMode weightsMode = WeightCalibration.getMode();
+
+    // --keep-order
+    private boolean keepOrder = false;
+
+    // --scheduling
+    private SchedulingMode schedulingMode = SchedulingMode.DEFAULT;
+
     private final Messenger messenger;
 
     private int filesizeWanted = -1;
@@ -283,6 +323,12 @@ public class Parameters implements
     // keeps all the filenames that have been specified by -c
     private List<String> filenamesFromCheckFile = null;
 
+    // delivers the entries of the check file one by one if --check-streaming has been set
+    transient private CheckEntrySource checkEntrySource = null;
+
+    // lets the producer skip hashing of files that fail the verification anyway
+    transient private PreCheck preCheck = null;
+
     private boolean parameterModifiedByAPI = false;
 
     private String stringList = null;
@@ -573,6 +619,26 @@ public class Parameters implements
         this.sequence = sequence;
     }
 
+    /**
+     * Sets the sequence, and adds it to the sequences, see getSequences().
+     *
+     * @param string the sequence, see -q
+     */
+    public void addSequence(String string) {
+        setSequence(string);
+        sequences.add(sequence);
+    }
+
+    /**
+     * Returns all sequences that have been added by addSequence(), that is all sequences of
+     * the options -q in the order of the command line.
+     *
+     * @return the sequences
+     */
+    public List<Sequence> getSequences() {
+        return sequences;
+    }
+
     public void setKey(String key) {
         this.key = new Sequence(key);
     }
@@ -720,6 +786,27 @@ public class Parameters implements
 
     public void setExpected(String expected) {
         this.expected = expected;
+        expectedAsBytes = null;
+    }
+
+    /**
+     * Sets the expected value, and adds it to the expected values, see getExpectedStrings().
+     *
+     * @param expected the expected value, see -e
+     */
+    public void addExpected(String expected) {
+        setExpected(expected);
+        expectations.add(expected);
+    }
+
+    /**
+     * Returns all expected values that have been added by addExpected(), that is all values
+     * of the options -e in the order of the command line.
+     *
+     * @return the expected values
+     */
+    public List<String> getExpectedStrings() {
+        return expectations;
     }
 
     @Override
@@ -959,6 +1046,98 @@ public class Parameters implements
         ThreadControl.setThreadsReading(threadsReading);
     }
 
+    @Override
+    public int getThreadsWalking() {
+        return threadsWalking;
+    }
+
+    public void setThreadsWalking(int threadsWalking) {
+        this.threadsWalking = threadsWalking;
+    }
+
+    @Override
+    public ThreadsMode getThreadsMode() {
+        return threadsMode;
+    }
+
+    public void setThreadsMode(ThreadsMode threadsMode) {
+        this.threadsMode = threadsMode;
+    }
+
+    public void setThreadsMode(String threadsMode) throws IllegalArgumentException {
+        setThreadsMode(ThreadsMode.string2ThreadsMode(threadsMode));
+    }
+
+    /**
+     * Returns the max. number of threads that are hashing at the same time if the files are
+     * read by virtual threads, see --threads-mode.
+     *
+     * @return the number of threads, by default the number of available processors
+     */
+    @Override
+    public int getThreadsDigesting() {
+        return threadsDigesting > 0 ? threadsDigesting : ThreadControl.getThreadsMax();
+    }
+
+    public void setThreadsDigesting(int threadsDigesting) {
+        this.threadsDigesting = threadsDigesting;
+    }
+
+    public ReadMode getReadMode() {
+        return readMode;
+    }
+
+    public void setReadMode(ReadMode readMode) {
+        this.readMode = readMode;
+        AbstractChecksum.setReadMode(readMode);
+    }
+
+    public void setReadMode(String readMode) throws IllegalArgumentException {
+        setReadMode(ReadMode.string2ReadMode(readMode));
+    }
+
+    public WeightsMode getWeightsMode() {
+        return weightsMode;
+    }
+
+    public void setWeightsMode(WeightsMode weightsMode) {
+        this.weightsMode = weightsMode;
+        WeightCalibration.setMode(weightsMode);
+    }
+
+    public void setWeightsMode(String weightsMode) throws IllegalArgumentException {
+        setWeightsMode(WeightsMode.string2WeightsMode(weightsMode));
+    }
+
+    /**
+     * @return true if the output is produced in the order in which the files are found
+     */
+    @Override
+    public boolean isKeepOrder() {
+        return keepOrder;
+    }
+
+    /**
+     * @param keepOrder true if the output should be produced in the order in which the files
+     * are found, see option --keep-order
+     */
+    public void setKeepOrder(boolean keepOrder) {
+        this.keepOrder = keepOrder;
+    }
+
+    @Override
+    public SchedulingMode getSchedulingMode() {
+        return schedulingMode;
+    }
+
+    public void setSchedulingMode(SchedulingMode schedulingMode) {
+        this.schedulingMode = schedulingMode;
+    }
+
+    public void setSchedulingMode(String schedulingMode) throws IllegalArgumentException {
+        setSchedulingMode(SchedulingMode.string2SchedulingMode(schedulingMode));
+    }
+
     public int getPathRelativeToEntry() {
         return pathRelativeToEntry;
     }
@@ -1116,6 +1295,37 @@ public class Parameters implements
         return filelistFilename;
     }
 
+    /**
+     * @return the name of the file that caches hash values, or null if hash values are not cached
+     */
+    @Override
+    public String getHashCache() {
+        return hashCache;
+    }
+
+    /**
+     * @param hashCache the name of the file that caches hash values, see option --hash-cache
+     */
+    public void setHashCache(String hashCache) {
+        this.hashCache = hashCache;
+    }
+
+    /**
+     * @return true if hash values are stored in extended attributes of the files
+     */
+    @Override
+    public boolean isXattrCache() {
+        return xattrCache;
+    }
+
+    /**
+     * @param xattrCache true if hash values should be stored in extended attributes of the files,
+     * see option --xattr-cache
+     */
+    public void setXattrCache(boolean xattrCache) {
+        this.xattrCache = xattrCache;
+    }
+
     /**
      * @param filelistFilename the filelistFilename to set
      */
@@ -1197,6 +1407,40 @@ public class Parameters implements
         this.filenamesFromCheckFile = filenamesFromCheckFile;
     }
 
+    /**
+     * @return the source of the entries of the check file if the check file is being
+     * streamed (option --check-streaming), or null otherwise
+     */
+    @Override
+    public CheckEntrySource getCheckEntrySource() {
+        return checkEntrySource;
+    }
+
+    /**
+     * @param checkEntrySource the source of the entries of the check file
+     */
+    @Override
+    public void setCheckEntrySource(CheckEntrySource checkEntrySource) {
+        this.checkEntrySource = checkEntrySource;
+    }
+
+    /**
+     * @return the pre-check of the file sizes and timestamps if files are being verified
+     * (option -c), or null if every file has to be hashed
+     */
+    @Override
+    public PreCheck getPreCheck() {
+        return preCheck;
+    }
+
+    /**
+     * @param preCheck the pre-check of the file sizes and timestamps
+     */
+    @Override
+    public void setPreCheck(PreCheck preCheck) {
+        this.preCheck = preCheck;
+    }
+
     /**
      * @return the charsetErrorFile
      */
@@ -1375,6 +1619,34 @@ public class Parameters implements
         this.checkStrict = checkStrict;
     }
 
+    /**
+     * @return the checkStreaming
+     */
+    public boolean isCheckStreaming() {
+        return checkStreaming;
+    }
+
+    /**
+     * @param checkStreaming the checkStreaming to set
+     */
+    public void setCheckStreaming(boolean checkStreaming) {
+        this.checkStreaming = checkStreaming;
+    }
+
+    /**
+     * @return the checkDuplicates
+     */
+    public boolean isCheckDuplicates() {
+        return checkDuplicates;
+    }
+
+    /**
+     * @param checkDuplicates the checkDuplicates to set
+     */
+    public void setCheckDuplicates(boolean checkDuplicates) {
+        this.checkDuplicates = checkDuplicates;
+    }
+
 
     /**
      * @return the compatibilityProperties
@@ -1487,6 +1759,12 @@ public class Parameters implements
         if (newParameters.isCheckStrict()) {
             this.setCheckStrict(true);
         }
+        if (newParameters.isCheckStreaming()) {
+            this.setCheckStreaming(true);
+        }
+        if (newParameters.isCheckDuplicates()) {
+            this.setCheckDuplicates(true);
+        }
         if (newParameters.isIgnoreHashes()) {
             this.setIgnoreHashes(true);
         }
@@ -1537,6 +1815,10 @@ public class Parameters implements
         if (newParameters.getExpectedString() != null) {
             this.setExpected(newParameters.getExpectedString());
         }
+        if (!newParameters.getExpectedStrings().isEmpty()) {
+            this.expectations.clear();
+            this.expectations.addAll(newParameters.getExpectedStrings());
+        }
         if (newParameters.isGroupingSet()) {
             this.setGrouping(newParameters.getGrouping());
         }
@@ -1572,6 +1854,12 @@ public class Parameters implements
             this.setFilelistFilename(newParameters.getFilelistFilename());
             this.setFilenamesFromFilelist(new ArrayList<>());
         }
+        if (newParameters.getHashCache() != null) {
+            this.setHashCache(newParameters.getHashCache());
+        }
+        if (newParameters.isXattrCache()) {
+            this.setXattrCache(true);
+        }
         if (newParameters.getFilelistFormat() != null) {
             this.setFilelistFormat(newParameters.getFilelistFormat());
         }
@@ -1621,6 +1909,10 @@ public class Parameters implements
         if (newParameters.isSequence()) {
             this.setSequence(newParameters.getSequence());
         }
+        if (!newParameters.getSequences().isEmpty()) {
+            this.sequences.clear();
+            this.sequences.addAll(newParameters.getSequences());
+        }
         if (newParameters.isKey()) {
             this.setKey(newParameters.getKey());
         }
@@ -1643,6 +1935,27 @@ public class Parameters implements
         if (newParameters.getThreadsReading() > 1) {
             this.setThreadsReading(newParameters.getThreadsReading());
         }
+        if (newParameters.getThreadsWalking() > 1) {
+            this.setThreadsWalking(newParameters.getThreadsWalking());
+        }
+        if (newParameters.getThreadsMode() != ThreadsMode.DEFAULT) {
+            this.setThreadsMode(newParameters.getThreadsMode());
+        }
+        if (newParameters.threadsDigesting > 0) {
+            this.setThreadsDigesting(newParameters.threadsDigesting);
+        }
+        if (newParameters.getReadMode() != ReadMode.DEFAULT) {
+            this.setReadMode(newParameters.getReadMode());
+        }
+        if (newParameters.getWeightsMode() != WeightsMode.DEFAULT) {
+            this.setWeightsMode(newParameters.getWeightsMode());
+        }
+        if (newParameters.isKeepOrder()) {
+            this.setKeepOrder(true);
+        }
+        if (newParameters.getSchedulingMode() != SchedulingMode.DEFAULT) {
+            this.setSchedulingMode(newParameters.getSchedulingMode());
+        }
         if (newParameters.isFilesizeWantedSet()) {
             this.setFilesizeWanted(newParameters.isFilesizeWanted());
         }
@@ -1719,6 +2032,12 @@ public class Parameters implements
         if (checkStrict) {
             list.add(__CHECK_STRICT);
         }
+        if (checkStreaming) {
+            list.add(__CHECK_STREAMING);
+        }
+        if (checkDuplicates) {
+            list.add(__CHECK_DUPLICATES);
+        }
         if (ignoreHashes) {
             list.add(__IGNORE_HASHES);
         }
@@ -1775,7 +2094,12 @@ public class Parameters implements
         if (dontFollowSymlinksToFiles) {
             list.add(_DONT_FOLLOW_SYMLINKS_TO_FILES);
         }
-        if (expected != null) {
+        if (expectations.size() > 1) {
+            for (String value : expectations) {
+                list.add(_EXPECT_HASH);
+                list.add(value);
+            }
+        } else if (expected != null) {
             list.add(_EXPECT_HASH);
             list.add(expected);
         }
@@ -1823,6 +2147,13 @@ public class Parameters implements
             list.add(__FILE_LIST);
             list.add(filelistFilename);
         }
+        if (hashCache != null) {
+            list.add(__HASH_CACHE);
+            list.add(hashCache);
+        }
+        if (xattrCache) {
+            list.add(__XATTR_CACHE);
+        }
         if (filelistFormat != null) {
             list.add(__FILE_LIST_FORMAT);
             list.add(filelistFormat);
@@ -1865,7 +2196,12 @@ public class Parameters implements
             list.add(_PATH_SEPARATOR);
             list.add(String.valueOf(getPathChar()));
         }
-        if (isSequence()) {
+        if (sequences.size() > 1) {
+            for (Sequence value : sequences) {
+                list.add(_QUICK);
+                list.add(value.asString());
+            }
+        } else if (isSequence()) {
             list.add(_QUICK);
             list.add(getSequence().asString());
         }
@@ -1899,6 +2235,33 @@ public class Parameters implements
             list.add(__THREADS_READING);
             list.add(String.valueOf(getThreadsReading()));
         }
+        if (getThreadsWalking() > 1) {
+            list.add(__THREADS_WALKING);
+            list.add(String.valueOf(getThreadsWalking()));
+        }
+        if (threadsMode != ThreadsMode.DEFAULT) {
+            list.add(__THREADS_MODE);
+            list.add(threadsMode.getCode());
+        }
+        if (threadsDigesting > 0) {
+            list.add(__THREADS_DIGESTING);
+            list.add(String.valueOf(threadsDigesting));
+        }
+        if (getReadMode() != ReadMode.DEFAULT) {
+            list.add(__READ_MODE);
+            list.add(getReadMode().getCode());
+        }
+        if (getWeightsMode() != WeightsMode.DEFAULT) {
+            list.add(__WEIGHTS);
+            list.add(getWeightsMode().getCode());
+        }
+        if (keepOrder) {
+            list.add(__KEEP_ORDER);
+        }
+        if (schedulingMode != SchedulingMode.DEFAULT) {
+            list.add(__SCHEDULING);
+            list.add(schedulingMode.getCode());
+        }
         if (isTimestampFormatSetByUser()) {
             list.add(_TIMESTAMP);
             list.add(getTimestampFormat());
@@ -2276,6 +2639,14 @@ public class Parameters implements
             throw new ParameterException("Cannot read from both standard input and -q.");
         }
 
+        if (hashCache != null && xattrCache) {
+            throw new ParameterException(String.format("Option %s cannot be used together with option %s.", __XATTR_CACHE, __HASH_CACHE));
+        }
+
+        if (threadsDigesting > 0 && threadsMode != ThreadsMode.VIRTUAL) {
+            throw new ParameterException(String.format("Option %s requires option %s %s.", __THREADS_DIGESTING, __THREADS_MODE, ThreadsMode.VIRTUAL.getCode()));
+        }
+
         if (exact && !(help && isHelpSearchString())) {
             throw new ParameterException(String.format("Option %s is only supported in combination with %s resp. %s and a search string.", __EXACT, _HELP, __HELP));
         }
@@ -2290,6 +2661,9 @@ public class Parameters implements
             if (encoding == null) {
                 throw new ParameterException("Option -a unknown:<width> requires option -E");
             }
+            if ((sequences.size() > 1 || expectations.size() > 1) && sequences.size() != expectations.size()) {
+                throw new ParameterException("Option -a unknown:<width> requires as many options -q as options -e");
+            }
         }
 
 
@@ -2330,6 +2704,32 @@ public class Parameters implements
                     __CHECK_STRICT, __LIST_FILTER, __LIST_FILTER, getListFilter()));
         }
 
+        // a streamed check file is verified entry by entry without keeping the entries, so
+        // it is not known which files on the command line would be NEW
+        if (isCheckStreaming()) {
+            if (getCheckFile() == null) {
+                throw new ParameterException(String.format("Option %s requires option %s.",
+                        __CHECK_STREAMING, __CHECK_FILE));
+            }
+            if (!getFilenamesFromArgs().isEmpty() || getFilelistFilename() != null
+                    || isStdinForFilenamesFromArgs() || isRecursive()) {
+                throw new ParameterException(String.format("Option %s cannot be combined with files, directories, standard input, %s or %s, because new files cannot be detected without keeping all entries of the check file.",
+                        __CHECK_STREAMING, _FILE_LIST, _RECURSIVE));
+            }
+        }
+
+        // the check file is read twice if duplicates are wanted, so it cannot be standard input
+        if (isCheckDuplicates()) {
+            if (!isCheckStreaming()) {
+                throw new ParameterException(String.format("Option %s requires option %s, because duplicates are always detected otherwise.",
+                        __CHECK_DUPLICATES, __CHECK_STREAMING));
+            }
+            if (getCheckFile().equals("-")) {
+                throw new ParameterException(String.format("Option %s cannot be combined with %s -, because standard input cannot be read twice.",
+                        __CHECK_DUPLICATES, __CHECK_FILE));
+            }
+        }
+
         // a timestamp that contains a space cannot be told apart from the fields that
         // follow it, so such a timestamp cannot be parsed, see also the parsers of the
         // styles that support timestamps and DefaultCompatibilityProperties
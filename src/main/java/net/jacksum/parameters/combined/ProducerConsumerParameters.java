@@ -24,12 +24,14 @@ package net.jacksum.parameters.combined;
 
 import net.jacksum.parameters.base.CustomizedFormatParameters;
 import net.jacksum.parameters.base.AlgorithmParameters;
+import net.jacksum.parameters.base.HashCacheParameters;
 import net.jacksum.parameters.base.PathParameters;
 import net.jacksum.multicore.manyfiles.ConsumerParameters;
 import net.jacksum.multicore.manyfiles.ProducerParameters;
 
 public interface ProducerConsumerParameters extends AlgorithmParameters,
-        PathParameters, ConsumerParameters, CustomizedFormatParameters, GatheringParameters, ChecksumParameters, ProducerParameters {
+        PathParameters, ConsumerParameters, CustomizedFormatParameters, GatheringParameters, ChecksumParameters, ProducerParameters,
+        HashCacheParameters {
     
    
 }
@@ -0,0 +1,1100 @@
+/*
+
+
+  Jacksum 4.0.0 - a checksum/hash tool written in Java
+  Copyright (c) 2001-2026 Dipl.-Inf. (FH) Johann N. Löfflmann,
+  All Rights Reserved, <https://jacksum.net>.
+
+  This program is free software: you can redistribute it and/or modify it under
+  the terms of the GNU General Public License as published by the Free Software
+  Foundation, either version 3 of the License, or (at your option) any later
+  version.
+
+  This program is distributed in the hope that it will be useful, but WITHOUT
+  ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+  FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+  details.
+
+  You should have received a copy of the GNU General Public License along with
+  this program. If not, see <https://www.gnu.org/licenses/>.
+
+ */
+package net.jacksum.selectors;
+
+/**
+ * Maps algorithm IDs and aliases to their selectors without any reflection.
+ * In contrast to Selectors, only the selector that is returned is loaded.
+ *
+ * This file has been generated by the SelectorTableGenerator, do not edit it.
+ */
+public final class SelectorTable {
+
+    private SelectorTable() {
+    }
+
+    /**
+     * Returns a new selector for an algorithm ID or an alias.
+     *
+     * @param name the algorithm ID or an alias
+     * @return a new selector, or null if the name is not in the table
+     */
+    public static SelectorInterface newSelector(String name) {
+        switch (name) {
+            case "sha3-512":
+            case "sha-3-512":
+                return new SHA3_512_Selector();
+            case "sha3-384":
+            case "sha-3-384":
+                return new SHA3_384_Selector();
+            case "sha3-256":
+            case "sha-3-256":
+                return new SHA3_256_Selector();
+            case "sha3-224":
+            case "sha-3-224":
+                return new SHA3_224_Selector();
+            case "shake256":
+                return new SHAKE256_Selector();
+            case "shake128":
+                return new SHAKE128_Selector();
+            case "sha-512/256":
+            case "sha512/256":
+            case "sha512t256":
+                return new SHA2_512_256_Selector();
+            case "sha-512/224":
+            case "sha512/224":
+            case "sha512t224":
+                return new SHA2_512_224_Selector();
+            case "sha-512":
+            case "sha512":
+                return new SHA2_512_Selector();
+            case "sha-384":
+            case "sha384":
+                return new SHA2_384_Selector();
+            case "sha-256":
+            case "sha256":
+                return new SHA2_256_Selector();
+            case "sha-224":
+            case "sha224":
+                return new SHA2_224_Selector();
+            case "sha-1":
+            case "sha":
+            case "sha1":
+            case "sha1sum":
+            case "sha160":
+            case "sha-160":
+            case "dss1":
+                return new SHA1_Selector();
+            case "streebog512":
+            case "streebog-512":
+                return new Streebog512_Selector();
+            case "streebog256":
+            case "streebog-256":
+                return new Streebog256_Selector();
+            case "gost:crypto-pro":
+                return new GostCryptoPro_Selector();
+            case "gost":
+            case "gost:default":
+                return new GostDefault_Selector();
+            case "lsh-256-224":
+            case "lsh-256-256":
+            case "lsh-512-224":
+            case "lsh-512-256":
+            case "lsh-512-384":
+            case "lsh-512-512":
+                return new LSH_Selector();
+            case "has160":
+            case "has-160":
+                return new Has160_Selector();
+            case "kupyna-512":
+                return new Kupyna512_Selector();
+            case "kupyna-384":
+                return new Kupyna384_Selector();
+            case "kupyna-256":
+                return new Kupyna256_Selector();
+            case "belt-hash":
+            case "belthash":
+            case "belt":
+                return new BeltHash_Selector();
+            case "sm3":
+                return new SM3_Selector();
+            case "ascon-hash":
+                return new AsconHash_Selector();
+            case "ascon-hasha":
+                return new AsconHasha_Selector();
+            case "ascon-xof":
+                return new AsconXof_Selector();
+            case "ascon-xofa":
+                return new AsconXofA_Selector();
+            case "esch256":
+            case "esch384":
+                return new Esch_Selector();
+            case "photon-beetle":
+                return new PhotonBeetle_Selector();
+            case "romulush":
+            case "romulus-h":
+                return new RomulusH_Selector();
+            case "xoodyak":
+                return new Xoodyak_Selector();
+            case "keccak224":
+            case "keccak-224":
+                return new Keccak224_Selector();
+            case "keccak256":
+            case "keccak-256":
+                return new Keccak256_Selector();
+            case "keccak288":
+            case "keccak-288":
+                return new Keccak288_Selector();
+            case "keccak384":
+            case "keccak-384":
+                return new Keccak384_Selector();
+            case "keccak512":
+            case "keccak-512":
+                return new Keccak512_Selector();
+            case "skein-256-8":
+            case "skein-256-16":
+            case "skein-256-24":
+            case "skein-256-32":
+            case "skein-256-40":
+            case "skein-256-48":
+            case "skein-256-56":
+            case "skein-256-64":
+            case "skein-256-72":
+            case "skein-256-80":
+            case "skein-256-88":
+            case "skein-256-96":
+            case "skein-256-104":
+            case "skein-256-112":
+            case "skein-256-120":
+            case "skein-256-128":
+            case "skein-256-136":
+            case "skein-256-144":
+            case "skein-256-152":
+            case "skein-256-160":
+            case "skein-256-168":
+            case "skein-256-176":
+            case "skein-256-184":
+            case "skein-256-192":
+            case "skein-256-200":
+            case "skein-256-208":
+            case "skein-256-216":
+            case "skein-256-224":
+            case "skein-256-232":
+            case "skein-256-240":
+            case "skein-256-248":
+            case "skein-256-256":
+            case "skein-512-8":
+            case "skein-512-16":
+            case "skein-512-24":
+            case "skein-512-32":
+            case "skein-512-40":
+            case "skein-512-48":
+            case "skein-512-56":
+            case "skein-512-64":
+            case "skein-512-72":
+            case "skein-512-80":
+            case "skein-512-88":
+            case "skein-512-96":
+            case "skein-512-104":
+            case "skein-512-112":
+            case "skein-512-120":
+            case "skein-512-128":
+            case "skein-512-136":
+            case "skein-512-144":
+            case "skein-512-152":
+            case "skein-512-160":
+            case "skein-512-168":
+            case "skein-512-176":
+            case "skein-512-184":
+            case "skein-512-192":
+            case "skein-512-200":
+            case "skein-512-208":
+            case "skein-512-216":
+            case "skein-512-224":
+            case "skein-512-232":
+            case "skein-512-240":
+            case "skein-512-248":
+            case "skein-512-256":
+            case "skein-512-264":
+            case "skein-512-272":
+            case "skein-512-280":
+            case "skein-512-288":
+            case "skein-512-296":
+            case "skein-512-304":
+            case "skein-512-312":
+            case "skein-512-320":
+            case "skein-512-328":
+            case "skein-512-336":
+            case "skein-512-344":
+            case "skein-512-352":
+            case "skein-512-360":
+            case "skein-512-368":
+            case "skein-512-376":
+            case "skein-512-384":
+            case "skein-512-392":
+            case "skein-512-400":
+            case "skein-512-408":
+            case "skein-512-416":
+            case "skein-512-424":
+            case "skein-512-432":
+            case "skein-512-440":
+            case "skein-512-448":
+            case "skein-512-456":
+            case "skein-512-464":
+            case "skein-512-472":
+            case "skein-512-480":
+            case "skein-512-488":
+            case "skein-512-496":
+            case "skein-512-504":
+            case "skein-512-512":
+            case "skein-1024-8":
+            case "skein-1024-16":
+            case "skein-1024-24":
+            case "skein-1024-32":
+            case "skein-1024-40":
+            case "skein-1024-48":
+            case "skein-1024-56":
+            case "skein-1024-64":
+            case "skein-1024-72":
+            case "skein-1024-80":
+            case "skein-1024-88":
+            case "skein-1024-96":
+            case "skein-1024-104":
+            case "skein-1024-112":
+            case "skein-1024-120":
+            case "skein-1024-128":
+            case "skein-1024-136":
+            case "skein-1024-144":
+            case "skein-1024-152":
+            case "skein-1024-160":
+            case "skein-1024-168":
+            case "skein-1024-176":
+            case "skein-1024-184":
+            case "skein-1024-192":
+            case "skein-1024-200":
+            case "skein-1024-208":
+            case "skein-1024-216":
+            case "skein-1024-224":
+            case "skein-1024-232":
+            case "skein-1024-240":
+            case "skein-1024-248":
+            case "skein-1024-256":
+            case "skein-1024-264":
+            case "skein-1024-272":
+            case "skein-1024-280":
+            case "skein-1024-288":
+            case "skein-1024-296":
+            case "skein-1024-304":
+            case "skein-1024-312":
+            case "skein-1024-320":
+            case "skein-1024-328":
+            case "skein-1024-336":
+            case "skein-1024-344":
+            case "skein-1024-352":
+            case "skein-1024-360":
+            case "skein-1024-368":
+            case "skein-1024-376":
+            case "skein-1024-384":
+            case "skein-1024-392":
+            case "skein-1024-400":
+            case "skein-1024-408":
+            case "skein-1024-416":
+            case "skein-1024-424":
+            case "skein-1024-432":
+            case "skein-1024-440":
+            case "skein-1024-448":
+            case "skein-1024-456":
+            case "skein-1024-464":
+            case "skein-1024-472":
+            case "skein-1024-480":
+            case "skein-1024-488":
+            case "skein-1024-496":
+            case "skein-1024-504":
+            case "skein-1024-512":
+            case "skein-1024-520":
+            case "skein-1024-528":
+            case "skein-1024-536":
+            case "skein-1024-544":
+            case "skein-1024-552":
+            case "skein-1024-560":
+            case "skein-1024-568":
+            case "skein-1024-576":
+            case "skein-1024-584":
+            case "skein-1024-592":
+            case "skein-1024-600":
+            case "skein-1024-608":
+            case "skein-1024-616":
+            case "skein-1024-624":
+            case "skein-1024-632":
+            case "skein-1024-640":
+            case "skein-1024-648":
+            case "skein-1024-656":
+            case "skein-1024-664":
+            case "skein-1024-672":
+            case "skein-1024-680":
+            case "skein-1024-688":
+            case "skein-1024-696":
+            case "skein-1024-704":
+            case "skein-1024-712":
+            case "skein-1024-720":
+            case "skein-1024-728":
+            case "skein-1024-736":
+            case "skein-1024-744":
+            case "skein-1024-752":
+            case "skein-1024-760":
+            case "skein-1024-768":
+            case "skein-1024-776":
+            case "skein-1024-784":
+            case "skein-1024-792":
+            case "skein-1024-800":
+            case "skein-1024-808":
+            case "skein-1024-816":
+            case "skein-1024-824":
+            case "skein-1024-832":
+            case "skein-1024-840":
+            case "skein-1024-848":
+            case "skein-1024-856":
+            case "skein-1024-864":
+            case "skein-1024-872":
+            case "skein-1024-880":
+            case "skein-1024-888":
+            case "skein-1024-896":
+            case "skein-1024-904":
+            case "skein-1024-912":
+            case "skein-1024-920":
+            case "skein-1024-928":
+            case "skein-1024-936":
+            case "skein-1024-944":
+            case "skein-1024-952":
+            case "skein-1024-960":
+            case "skein-1024-968":
+            case "skein-1024-976":
+            case "skein-1024-984":
+            case "skein-1024-992":
+            case "skein-1024-1000":
+            case "skein-1024-1008":
+            case "skein-1024-1016":
+            case "skein-1024-1024":
+            case "skein-256":
+            case "skein-512":
+            case "skein-1024":
+            case "skein256":
+            case "skein512":
+            case "skein1024":
+                return new Skein_Selector();
+            case "blake512":
+            case "blake-512":
+                return new Blake_512_Selector();
+            case "blake384":
+            case "blake-384":
+                return new Blake_384_Selector();
+            case "blake256":
+            case "blake-256":
+                return new Blake_256_Selector();
+            case "blake224":
+            case "blake-224":
+                return new Blake_224_Selector();
+            case "jh512":
+            case "jh-512":
+                return new JH512_Selector();
+            case "jh384":
+            case "jh-384":
+                return new JH384_Selector();
+            case "jh256":
+            case "jh-256":
+                return new JH256_Selector();
+            case "jh224":
+            case "jh-224":
+                return new JH224_Selector();
+            case "groestl-512":
+            case "groestl512":
+                return new Groestl512_Selector();
+            case "groestl-384":
+            case "groestl384":
+                return new Groestl384_Selector();
+            case "groestl-256":
+            case "groestl256":
+                return new Groestl256_Selector();
+            case "groestl-224":
+            case "groestl224":
+                return new Groestl224_Selector();
+            case "echo224":
+            case "echo-224":
+                return new ECHO224_Selector();
+            case "echo256":
+            case "echo-256":
+                return new ECHO256_Selector();
+            case "echo384":
+            case "echo-384":
+                return new ECHO384_Selector();
+            case "echo512":
+            case "echo-512":
+                return new ECHO512_Selector();
+            case "fugue224":
+            case "fugue-224":
+                return new Fugue224_Selector();
+            case "fugue256":
+            case "fugue-256":
+                return new Fugue256_Selector();
+            case "fugue384":
+            case "fugue-384":
+                return new Fugue384_Selector();
+            case "fugue512":
+            case "fugue-512":
+                return new Fugue512_Selector();
+            case "fugue2-224":
+                return new Fugue2_224_Selector();
+            case "fugue2-256":
+                return new Fugue2_256_Selector();
+            case "fugue2-384":
+                return new Fugue2_384_Selector();
+            case "fugue2-512":
+                return new Fugue2_512_Selector();
+            case "luffa224":
+            case "luffa-224":
+                return new Luffa224_Selector();
+            case "luffa256":
+            case "luffa-256":
+                return new Luffa256_Selector();
+            case "luffa384":
+            case "luffa-384":
+                return new Luffa384_Selector();
+            case "luffa512":
+            case "luffa-512":
+                return new Luffa512_Selector();
+            case "bluemidnightwish224":
+            case "bluemidnightwish-224":
+                return new BlueMidnightWish224_Selector();
+            case "bluemidnightwish256":
+            case "bluemidnightwish-256":
+                return new BlueMidnightWish256_Selector();
+            case "bluemidnightwish384":
+            case "bluemidnightwish-384":
+                return new BlueMidnightWish384_Selector();
+            case "bluemidnightwish512":
+            case "bluemidnightwish-512":
+                return new BlueMidnightWish512_Selector();
+            case "simd224":
+            case "simd-224":
+                return new SIMD224_Selector();
+            case "simd256":
+            case "simd-256":
+                return new SIMD256_Selector();
+            case "simd384":
+            case "simd-384":
+                return new SIMD384_Selector();
+            case "simd512":
+            case "simd-512":
+                return new SIMD512_Selector();
+            case "cubehash224":
+            case "cubehash-224":
+                return new CubeHash224_Selector();
+            case "cubehash256":
+            case "cubehash-256":
+                return new CubeHash256_Selector();
+            case "cubehash384":
+            case "cubehash-384":
+                return new CubeHash384_Selector();
+            case "cubehash512":
+            case "cubehash-512":
+                return new CubeHash512_Selector();
+            case "hamsi224":
+            case "hamsi-224":
+                return new Hamsi224_Selector();
+            case "hamsi256":
+            case "hamsi-256":
+                return new Hamsi256_Selector();
+            case "hamsi384":
+            case "hamsi-384":
+                return new Hamsi384_Selector();
+            case "hamsi512":
+            case "hamsi-512":
+                return new Hamsi512_Selector();
+            case "shabal192":
+            case "shabal-192":
+                return new Shabal192_Selector();
+            case "shabal224":
+            case "shabal-224":
+                return new Shabal224_Selector();
+            case "shabal256":
+            case "shabal-256":
+                return new Shabal256_Selector();
+            case "shabal384":
+            case "shabal-384":
+                return new Shabal384_Selector();
+            case "shabal512":
+            case "shabal-512":
+                return new Shabal512_Selector();
+            case "md6-8":
+            case "md6-16":
+            case "md6-24":
+            case "md6-32":
+            case "md6-40":
+            case "md6-48":
+            case "md6-56":
+            case "md6-64":
+            case "md6-72":
+            case "md6-80":
+            case "md6-88":
+            case "md6-96":
+            case "md6-104":
+            case "md6-112":
+            case "md6-120":
+            case "md6-128":
+            case "md6-136":
+            case "md6-144":
+            case "md6-152":
+            case "md6-160":
+            case "md6-168":
+            case "md6-176":
+            case "md6-184":
+            case "md6-192":
+            case "md6-200":
+            case "md6-208":
+            case "md6-216":
+            case "md6-224":
+            case "md6-232":
+            case "md6-240":
+            case "md6-248":
+            case "md6-256":
+            case "md6-264":
+            case "md6-272":
+            case "md6-280":
+            case "md6-288":
+            case "md6-296":
+            case "md6-304":
+            case "md6-312":
+            case "md6-320":
+            case "md6-328":
+            case "md6-336":
+            case "md6-344":
+            case "md6-352":
+            case "md6-360":
+            case "md6-368":
+            case "md6-376":
+            case "md6-384":
+            case "md6-392":
+            case "md6-400":
+            case "md6-408":
+            case "md6-416":
+            case "md6-424":
+            case "md6-432":
+            case "md6-440":
+            case "md6-448":
+            case "md6-456":
+            case "md6-464":
+            case "md6-472":
+            case "md6-480":
+            case "md6-488":
+            case "md6-496":
+            case "md6-504":
+            case "md6-512":
+            case "md6":
+                return new MD6_Selector();
+            case "edonr224":
+            case "edonr256":
+            case "edonr384":
+            case "edonr512":
+            case "edonr-224":
+            case "edon-r224":
+            case "edon-r-224":
+            case "edonr-256":
+            case "edon-r256":
+            case "edon-r-256":
+            case "edonr-384":
+            case "edon-r384":
+            case "edon-r-384":
+            case "edonr-512":
+            case "edon-r512":
+            case "edon-r-512":
+                return new EdonR_Selector();
+            case "fork256":
+            case "fork-256":
+                return new FORK256_Selector();
+            case "dha256":
+            case "dha-256":
+                return new DHA256_Selector();
+            case "vsh":
+            case "vsh-1024":
+                return new VSH_Selector();
+            case "kangarootwelve":
+            case "kangaroo12":
+            case "k12":
+                return new KangarooTwelve_Selector();
+            case "marsupilamifourteen":
+            case "marsupilami14":
+            case "m14":
+                return new MarsupilamiFourteen_Selector();
+            case "blake3":
+            case "blake3-256":
+            case "b3sum":
+                return new Blake3_Selector();
+            case "blake2b-8":
+            case "blake2b-16":
+            case "blake2b-24":
+            case "blake2b-32":
+            case "blake2b-40":
+            case "blake2b-48":
+            case "blake2b-56":
+            case "blake2b-64":
+            case "blake2b-72":
+            case "blake2b-80":
+            case "blake2b-88":
+            case "blake2b-96":
+            case "blake2b-104":
+            case "blake2b-112":
+            case "blake2b-120":
+            case "blake2b-128":
+            case "blake2b-136":
+            case "blake2b-144":
+            case "blake2b-152":
+            case "blake2b-160":
+            case "blake2b-168":
+            case "blake2b-176":
+            case "blake2b-184":
+            case "blake2b-192":
+            case "blake2b-200":
+            case "blake2b-208":
+            case "blake2b-216":
+            case "blake2b-224":
+            case "blake2b-232":
+            case "blake2b-240":
+            case "blake2b-248":
+            case "blake2b-256":
+            case "blake2b-264":
+            case "blake2b-272":
+            case "blake2b-280":
+            case "blake2b-288":
+            case "blake2b-296":
+            case "blake2b-304":
+            case "blake2b-312":
+            case "blake2b-320":
+            case "blake2b-328":
+            case "blake2b-336":
+            case "blake2b-344":
+            case "blake2b-352":
+            case "blake2b-360":
+            case "blake2b-368":
+            case "blake2b-376":
+            case "blake2b-384":
+            case "blake2b-392":
+            case "blake2b-400":
+            case "blake2b-408":
+            case "blake2b-416":
+            case "blake2b-424":
+            case "blake2b-432":
+            case "blake2b-440":
+            case "blake2b-448":
+            case "blake2b-456":
+            case "blake2b-464":
+            case "blake2b-472":
+            case "blake2b-480":
+            case "blake2b-488":
+            case "blake2b-496":
+            case "blake2b-504":
+            case "blake2b-512":
+            case "blake2b":
+            case "b2sum-8":
+            case "b2sum-16":
+            case "b2sum-24":
+            case "b2sum-32":
+            case "b2sum-40":
+            case "b2sum-48":
+            case "b2sum-56":
+            case "b2sum-64":
+            case "b2sum-72":
+            case "b2sum-80":
+            case "b2sum-88":
+            case "b2sum-96":
+            case "b2sum-104":
+            case "b2sum-112":
+            case "b2sum-120":
+            case "b2sum-128":
+            case "b2sum-136":
+            case "b2sum-144":
+            case "b2sum-152":
+            case "b2sum-160":
+            case "b2sum-168":
+            case "b2sum-176":
+            case "b2sum-184":
+            case "b2sum-192":
+            case "b2sum-200":
+            case "b2sum-208":
+            case "b2sum-216":
+            case "b2sum-224":
+            case "b2sum-232":
+            case "b2sum-240":
+            case "b2sum-248":
+            case "b2sum-256":
+            case "b2sum-264":
+            case "b2sum-272":
+            case "b2sum-280":
+            case "b2sum-288":
+            case "b2sum-296":
+            case "b2sum-304":
+            case "b2sum-312":
+            case "b2sum-320":
+            case "b2sum-328":
+            case "b2sum-336":
+            case "b2sum-344":
+            case "b2sum-352":
+            case "b2sum-360":
+            case "b2sum-368":
+            case "b2sum-376":
+            case "b2sum-384":
+            case "b2sum-392":
+            case "b2sum-400":
+            case "b2sum-408":
+            case "b2sum-416":
+            case "b2sum-424":
+            case "b2sum-432":
+            case "b2sum-440":
+            case "b2sum-448":
+            case "b2sum-456":
+            case "b2sum-464":
+            case "b2sum-472":
+            case "b2sum-480":
+            case "b2sum-488":
+            case "b2sum-496":
+            case "b2sum-504":
+            case "b2sum-512":
+            case "b2sum":
+                return new Blake2b_Selector();
+            case "blake2s-8":
+            case "blake2s-16":
+            case "blake2s-24":
+            case "blake2s-32":
+            case "blake2s-40":
+            case "blake2s-48":
+            case "blake2s-56":
+            case "blake2s-64":
+            case "blake2s-72":
+            case "blake2s-80":
+            case "blake2s-88":
+            case "blake2s-96":
+            case "blake2s-104":
+            case "blake2s-112":
+            case "blake2s-120":
+            case "blake2s-128":
+            case "blake2s-136":
+            case "blake2s-144":
+            case "blake2s-152":
+            case "blake2s-160":
+            case "blake2s-168":
+            case "blake2s-176":
+            case "blake2s-184":
+            case "blake2s-192":
+            case "blake2s-200":
+            case "blake2s-208":
+            case "blake2s-216":
+            case "blake2s-224":
+            case "blake2s-232":
+            case "blake2s-240":
+            case "blake2s-248":
+            case "blake2s-256":
+            case "blake2s":
+                return new Blake2s_Selector();
+            case "blake2sp":
+            case "blake2sp-256":
+                return new Blake2sp_Selector();
+            case "blake2bp":
+            case "blake2bp-512":
+                return new Blake2bp_Selector();
+            case "tiger2":
+                return new Tiger2_Selector();
+            case "tiger":
+            case "tiger192":
+            case "tiger-192":
+                return new Tiger_Selector();
+            case "tiger160":
+            case "tiger-160":
+                return new Tiger160_Selector();
+            case "tiger128":
+            case "tiger-128":
+                return new Tiger128_Selector();
+            case "tree:tiger":
+            case "tree:tiger2":
+            case "tree:tiger192":
+            case "tree:tiger-192":
+            case "tth":
+            case "tth2":
+                return new TTH_Selector();
+            case "tiger-192-4-php":
+            case "tiger-160-4-php":
+            case "tiger-128-4-php":
+            case "tiger_192_4_php":
+            case "tiger_160_4_php":
+            case "tiger_128_4_php":
+                return new Tiger_PHP_flavour_4_rounds_Selector();
+            case "whirlpool2":
+            case "whirlpool":
+            case "whirlpool-2":
+                return new Whirlpool2_Selector();
+            case "whirlpool1":
+            case "whirlpool-l":
+            case "whirlpool-t":
+                return new Whirlpool1_Selector();
+            case "whirlpool0":
+            case "whirlpool-0":
+                return new Whirlpool0_Selector();
+            case "ripemd160":
+            case "ripemd-160":
+            case "ripe-md160":
+            case "rmd160":
+            case "rmd-160":
+                return new Ripemd160_Selector();
+            case "ripemd128":
+            case "ripemd-128":
+            case "ripe-md128":
+            case "rmd128":
+            case "rmd-128":
+                return new Ripemd128_Selector();
+            case "ripemd256":
+            case "ripemd-256":
+            case "ripe-md256":
+            case "rmd256":
+            case "rmd-256":
+                return new Ripemd256_Selector();
+            case "ripemd320":
+            case "ripemd-320":
+            case "ripe-md320":
+            case "rmd320":
+            case "rmd-320":
+                return new Ripemd320_Selector();
+            case "haval_128_3":
+            case "haval_128_4":
+            case "haval_128_5":
+            case "haval_160_3":
+            case "haval_160_4":
+            case "haval_160_5":
+            case "haval_192_3":
+            case "haval_192_4":
+            case "haval_192_5":
+            case "haval_224_3":
+            case "haval_224_4":
+            case "haval_224_5":
+            case "haval_256_3":
+            case "haval_256_4":
+            case "haval_256_5":
+            case "haval":
+                return new Haval_Selector();
+            case "radiogatun:64":
+            case "radiogatun":
+            case "rg64":
+            case "rg-64":
+                return new Radiogatun64_Selector();
+            case "radiogatun:32":
+            case "rg32":
+            case "rg-32":
+                return new Radiogatun32_Selector();
+            case "md5":
+            case "md5sum":
+                return new MD5_Selector();
+            case "md4":
+            case "md4sum":
+                return new MD4_Selector();
+            case "md2":
+            case "md2sum":
+                return new MD2_Selector();
+            case "ed2k":
+            case "emule":
+            case "edonkey":
+                return new Ed2k_Selector();
+            case "sha0":
+            case "sha-0":
+                return new SHA0_Selector();
+            case "mdc2":
+            case "mdc-2":
+                return new MDC2_Selector();
+            case "panama":
+                return new Panama_Selector();
+            case "adler32":
+            case "adler-32":
+                return new Adler32_Selector();
+            case "cksum":
+                return new Cksum_Selector();
+            case "sum_bsd":
+            case "sumbsd":
+            case "bsd":
+            case "bsdsum":
+                return new SumBSD_Selector();
+            case "sum_sysv":
+            case "sumsysv":
+            case "sysv":
+            case "sysvsum":
+                return new SumSysV_Selector();
+            case "elf":
+            case "elf32":
+            case "elf-32":
+                return new Elf_Selector();
+            case "fnv-0_32":
+            case "fnv-0_64":
+            case "fnv-0_128":
+            case "fnv-0_256":
+            case "fnv-0_512":
+            case "fnv-0_1024":
+                return new FNV0_Selector();
+            case "fnv-1_32":
+            case "fnv-1_64":
+            case "fnv-1_128":
+            case "fnv-1_256":
+            case "fnv-1_512":
+            case "fnv-1_1024":
+                return new FNV1_Selector();
+            case "fnv-1a_32":
+            case "fnv-1a_64":
+            case "fnv-1a_128":
+            case "fnv-1a_256":
+            case "fnv-1a_512":
+            case "fnv-1a_1024":
+                return new FNV1a_Selector();
+            case "fletcher16":
+            case "fletcher-16":
+                return new Fletcher16_Selector();
+            case "cksum_minix":
+                return new CksumMinix_Selector();
+            case "sum_minix":
+                return new SumMinix_Selector();
+            case "sum64":
+            case "sum-64":
+                return new Sum64_Selector();
+            case "sum56":
+            case "sum-56":
+                return new Sum56_Selector();
+            case "sum48":
+            case "sum-48":
+                return new Sum48_Selector();
+            case "sum40":
+            case "sum-40":
+                return new Sum40_Selector();
+            case "sum32":
+            case "sum-32":
+                return new Sum32_Selector();
+            case "sum24":
+            case "sum-24":
+                return new Sum24_Selector();
+            case "sum16":
+            case "sum-16":
+                return new Sum16_Selector();
+            case "sum8":
+            case "sum-8":
+                return new Sum8_Selector();
+            case "xor8":
+            case "xor-8":
+                return new Xor8_Selector();
+            case "joaat":
+            case "joaat32":
+            case "joaat-32":
+                return new Joaat32_Selector();
+            case "xxhash32":
+            case "xxh32":
+                return new xxHash32_Selector();
+            case "prng":
+                return new PrngHash_Selector();
+            case "aststrsum":
+            case "ast":
+            case "strsum":
+                return new AstStrsum_Selector();
+            case "crc82_darc":
+            case "crc-82_darc":
+            case "crc-82":
+            case "crc82":
+                return new CRC82darc_Selector();
+            case "crc64":
+            case "crc-64":
+                return new CRC64_Selector();
+            case "crc64_ecma":
+            case "crc-64_ecma":
+                return new CRC64_ECMA182_Selector();
+            case "crc64_go-iso":
+            case "crc-64_go-iso":
+                return new CRC64_GO_Selector();
+            case "crc64_xz":
+            case "crc-64_xz":
+            case "crc64_go-ecma":
+            case "crc-64_go-ecma":
+                return new CRC64xz_Selector();
+            case "crc64_nvme":
+            case "crc-64_nvme":
+                return new CRC64_NVME_Selector();
+            case "crc32":
+            case "crc-32":
+            case "fcs32":
+            case "fcs-32":
+                return new CRC32_Selector();
+            case "crc32_php":
+            case "crc-32_php":
+                return new CRC32_PHP_Selector();
+            case "crc32_ubi":
+            case "crc-32_ubi":
+            case "ubicrc32":
+            case "crc32_jamcrc":
+            case "crc-32_jamcrc":
+                return new CRC32ubi_Selector();
+            case "crc32_fddi":
+            case "sum_plan9":
+                return new CRC32fddi_Selector();
+            case "crc32_bzip2":
+            case "crc-32_bzip2":
+            case "crc-32_bzip-2":
+                return new CRC32bzip2_Selector();
+            case "crc32_mpeg2":
+            case "crc-32_mpeg-2":
+                return new CRC32mpeg2_Selector();
+            case "crc32c":
+            case "crc-32c":
+                return new CRC32c_Selector();
+            case "crc32_go-koopman":
+            case "crc-32_go-koopman":
+                return new CRC32_GO_KOOPMAN_Selector();
+            case "crc24":
+            case "crc-24":
+                return new CRC24_Selector();
+            case "crc16":
+            case "crc-16":
+                return new CRC16_Selector();
+            case "crc16_minix":
+            case "crc-16_minix":
+                return new CRC16Minix_Selector();
+            case "fcs16":
+            case "fcs-16":
+            case "crc16_x25":
+            case "crc-16_x-25":
+                return new FCS16_Selector();
+            case "crc8":
+            case "crc-8":
+                return new CRC8_Selector();
+            case "none":
+                return new None_Selector();
+            case "read":
+                return new Read_Selector();
+            default:
+                return null;
+        }
+    }
+
+    // the number of selectors with a pattern
+    public static final int PATTERNS = 5;
+
+    /**
+     * Returns a new selector with a pattern, in the order of Selectors.allSelectorClasses.
+     *
+     * @param index the index, from 0 to PATTERNS - 1
+     * @return a new selector
+     */
+    public static SelectorInterface newPatternSelector(int index) {
+        switch (index) {
+            case 0:
+                return new CombinedChecksum_Selector();
+            case 1:
+                return new HMAC_Selector();
+            case 2:
+                return new PrngHashGeneric_Selector();
+            case 3:
+                return new CRCGeneric_Selector();
+            case 4:
+                return new AllAlgorithms_Selector();
+            default:
+                throw new IllegalArgumentException("index " + index);
+        }
+    }
+}
@@ -0,0 +1,207 @@
+/*
+
+
+  Jacksum 4.0.0 - a checksum/hash tool written in Java
+  Copyright (c) 2001-2026 Dipl.-Inf. (FH) Johann N. Löfflmann,
+  All Rights Reserved, <https://jacksum.net>.
+
+  This program is free software: you can redistribute it and/or modify it under
+  the terms of the GNU General Public License as published by the Free Software
+  Foundation, either version 3 of the License, or (at your option) any later
+  version.
+
+  This program is distributed in the hope that it will be useful, but WITHOUT
+  ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+  FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+  details.
+
+  You should have received a copy of the GNU General Public License along with
+  this program. If not, see <https://www.gnu.org/licenses/>.
+
+ */
+package net.jacksum.selectors;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Generates the source code of the SelectorTable from Selectors.allSelectorClasses.
+ * Run it whenever a selector, an algorithm ID, or an alias has been added or changed:
+ *
+ *   java -cp target/classes net.jacksum.selectors.SelectorTableGenerator \
+ *        src/main/java/net/jacksum/selectors/SelectorTable.java
+ *
+ * The order of allSelectorClasses is preserved: a name belongs to the first
+ * selector that provides it, unless a selector with a pattern (that is a selector
+ * that overrides doesMatch(), e.g. for "crc:", "hmac:", or "+") that comes first
+ * in the list matches it.
+ */
+public class SelectorTableGenerator {
+
+    public static void main(String[] args) throws IOException {
+        byte[] source = generate().getBytes(StandardCharsets.UTF_8);
+        if (args.length > 0) {
+            Files.write(Paths.get(args[0]), source);
+        } else {
+            System.out.write(source);
+            System.out.flush();
+        }
+    }
+
+    static String generate() {
+        // selector class, names
+        Map<Class<?>, List<String>> names = new LinkedHashMap<>();
+        // name, selector class
+        Map<String, Class<?>> owners = new LinkedHashMap<>();
+        List<Class<?>> patterns = new ArrayList<>();
+        List<SelectorInterface> patternSelectors = new ArrayList<>();
+
+        for (Class<?> selectorClass : Selectors.allSelectorClasses) {
+            SelectorInterface selector = newSelector(selectorClass);
+            if (hasPattern(selectorClass)) {
+                patterns.add(selectorClass);
+                patternSelectors.add(selector);
+                continue;
+            }
+            List<String> list = new ArrayList<>();
+            for (Map<String, String> map : List.of(nonNull(selector.getAvailableAlgorithms()), nonNull(selector.getAvailableAliases()))) {
+                for (String name : map.keySet()) {
+                    if (!owners.containsKey(name) && !matchesAny(patternSelectors, name)) {
+                        owners.put(name, selectorClass);
+                        list.add(name);
+                    }
+                }
+            }
+            if (!list.isEmpty()) {
+                names.put(selectorClass, list);
+            }
+        }
+
+        StringWriter stringWriter = new StringWriter();
+        PrintWriter out = new PrintWriter(stringWriter);
+        out.print(header());
+        out.println("package net.jacksum.selectors;");
+        out.println();
+        out.println("/**");
+        out.println(" * Maps algorithm IDs and aliases to their selectors without any reflection.");
+        out.println(" * In contrast to Selectors, only the selector that is returned is loaded.");
+        out.println(" *");
+        out.println(" * This file has been generated by the SelectorTableGenerator, do not edit it.");
+        out.println(" */");
+        out.println("public final class SelectorTable {");
+        out.println();
+        out.println("    private SelectorTable() {");
+        out.println("    }");
+        out.println();
+        out.println("    /**");
+        out.println("     * Returns a new selector for an algorithm ID or an alias.");
+        out.println("     *");
+        out.println("     * @param name the algorithm ID or an alias");
+        out.println("     * @return a new selector, or null if the name is not in the table");
+        out.println("     */");
+        out.println("    public static SelectorInterface newSelector(String name) {");
+        out.println("        switch (name) {");
+        for (Map.Entry<Class<?>, List<String>> entry : names.entrySet()) {
+            for (String name : entry.getValue()) {
+                out.printf("            case \"%s\":%n", escape(name));
+            }
+            out.printf("                return new %s();%n", entry.getKey().getSimpleName());
+        }
+        out.println("            default:");
+        out.println("                return null;");
+        out.println("        }");
+        out.println("    }");
+        out.println();
+        out.println("    // the number of selectors with a pattern");
+        out.printf("    public static final int PATTERNS = %d;%n", patterns.size());
+        out.println();
+        out.println("    /**");
+        out.println("     * Returns a new selector with a pattern, in the order of Selectors.allSelectorClasses.");
+        out.println("     *");
+        out.println("     * @param index the index, from 0 to PATTERNS - 1");
+        out.println("     * @return a new selector");
+        out.println("     */");
+        out.println("    public static SelectorInterface newPatternSelector(int index) {");
+        out.println("        switch (index) {");
+        for (int i = 0; i < patterns.size(); i++) {
+            out.printf("            case %d:%n", i);
+            out.printf("                return new %s();%n", patterns.get(i).getSimpleName());
+        }
+        out.println("            default:");
+        out.println("                throw new IllegalArgumentException(\"index \" + index);");
+        out.println("        }");
+        out.println("    }");
+        out.println("}");
+        out.flush();
+        return stringWriter.toString();
+    }
+
+    private static Map<String, String> nonNull(Map<String, String> map) {
+        return map == null ? Map.of() : map;
+    }
+
+    private static boolean matchesAny(List<SelectorInterface> selectors, String name) {
+        for (SelectorInterface selector : selectors) {
+            selector.setName(name);
+            if (selector.doesMatch(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasPattern(Class<?> selectorClass) {
+        try {
+            return selectorClass.getMethod("doesMatch", String.class).getDeclaringClass() != Selector.class;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    private static SelectorInterface newSelector(Class<?> selectorClass) {
+        try {
+            return (SelectorInterface) selectorClass.getConstructor().newInstance();
+        } catch (NoSuchMethodException | InstantiationException | IllegalAccessException
+                | InvocationTargetException e) {
+            throw new IllegalStateException("Cannot instantiate " + selectorClass.getName(), e);
+        }
+    }
+
+    private static String escape(String name) {
+        return name.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    private static String header() {
+        return ""
+                + "/*\n"
+                + "\n"
+                + "\n"
+                + "  Jacksum 4.0.0 - a checksum/hash tool written in Java\n"
+                + "  Copyright (c) 2001-2026 Dipl.-Inf. (FH) Johann N. Löfflmann,\n"
+                + "  All Rights Reserved, <https://jacksum.net>.\n"
+                + "\n"
+                + "  This program is free software: you can redistribute it and/or modify it under\n"
+                + "  the terms of the GNU General Public License as published by the Free Software\n"
+                + "  Foundation, either version 3 of the License, or (at your option) any later\n"
+                + "  version.\n"
+                + "\n"
+                + "  This program is distributed in the hope that it will be useful, but WITHOUT\n"
+                + "  ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS\n"
+                + "  FOR A PARTICULAR PURPOSE. See the GNU General Public License for more\n"
+                + "  details.\n"
+                + "\n"
+                + "  You should have received a copy of the GNU General Public License along with\n"
+                + "  this program. If not, see <https://www.gnu.org/licenses/>.\n"
+                + "\n"
+                + " */\n";
+    }
+}
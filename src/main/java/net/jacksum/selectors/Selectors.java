@@ -497,4 +497,5 @@ public class Selectors {
         AllAlgorithms_Selector.class
 
     };
+
 }
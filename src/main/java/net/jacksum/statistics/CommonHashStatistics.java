@@ -19,6 +19,7 @@
 
 package net.jacksum.statistics;
 
+import net.jacksum.algorithms.ReadMode;
 import net.loefflmann.sugar.math.GeneralMath;
 
 import java.util.Map;
@@ -28,6 +29,11 @@ public class CommonHashStatistics extends Statistics {
     protected long filesRead;
     protected long errors;
     protected long bytesRead;
+    // the number of files that have been read by a particular read mode, indexed by ReadMode.ordinal()
+    protected long[] filesReadByReadMode = new long[ReadMode.values().length];
+    // the files whose hash values have been taken from resp. stored to the hash cache
+    protected long hashCacheHits;
+    protected long hashCacheMisses;
 
     @Override
     public Map<String, Object> build() {
@@ -39,6 +45,9 @@ public class CommonHashStatistics extends Statistics {
         filesRead = 0;
         bytesRead = 0;
         errors = 0;
+        filesReadByReadMode = new long[ReadMode.values().length];
+        hashCacheHits = 0;
+        hashCacheMisses = 0;
     }
 
     public void put(Map<String, Object> map) {
@@ -47,8 +56,44 @@ public class CommonHashStatistics extends Statistics {
         map.put("total bytes read", bytesRead);
         map.put("total bytes read (human readable)", GeneralMath.formatByteCountHumanReadable(bytesRead, true));
         map.put("total file read errors", errors);
+        for (ReadMode readMode : ReadMode.values()) {
+            if (filesReadByReadMode[readMode.ordinal()] > 0) {
+                map.put(String.format("files read by %s", readMode.getDescription()), filesReadByReadMode[readMode.ordinal()]);
+            }
+        }
+        if (hashCacheHits + hashCacheMisses > 0) {
+            map.put("hash cache hits", hashCacheHits);
+            map.put("hash cache misses", hashCacheMisses);
+        }
     }
 
+    /**
+     * Counts a file that has been read by a particular read mode.
+     *
+     * @param readMode the read mode that has been used to read a file, null is ignored
+     */
+    public void addFileReadByReadMode(ReadMode readMode) {
+        if (readMode != null) {
+            filesReadByReadMode[readMode.ordinal()]++;
+        }
+    }
+
+
+    /**
+     * Counts a lookup in the hash cache, see option --hash-cache.
+     *
+     * @param hit true if the hash value has been taken from the hash cache, false if the file
+     * has been read, and null if the hash cache has not been consulted, which is ignored
+     */
+    public void addHashCacheLookup(Boolean hit) {
+        if (hit != null) {
+            if (hit) {
+                hashCacheHits++;
+            } else {
+                hashCacheMisses++;
+            }
+        }
+    }
 
     /**
      * @return the filesRead
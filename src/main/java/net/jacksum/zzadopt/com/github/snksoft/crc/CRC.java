@@ -32,6 +32,12 @@ package net.jacksum.zzadopt.com.github.snksoft.crc;
 // This package has been largely inspired by Ross Williams' 1993 paper "A Painless Guide to CRC Error Detection Algorithms".
 // A good list of parameter sets for various CRC algorithms can be found at http://reveng.sourceforge.net/crc-catalogue/.
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import net.jacksum.algorithms.crcs.CrcUtils;
+
 /**
  This class provides utility functions for CRC calculation using either canonical straight forward approach
  or using "fast" table-driven implementation. Note, that even though table-driven implementation is much faster
@@ -258,6 +264,15 @@ public class CRC
     private long[] crctable;
     private long   mask;
 
+    // the number of tables (and bytes per step) of the slicing engine
+    private static final int SLICES = 8;
+    // below this number of bytes the slicing engine is not worth it
+    private static final int SLICING_THRESHOLD = 2 * SLICES;
+    private static final VarHandle LONG_LE = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle LONG_BE = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+    // slicing tables, built lazily, because many short-lived instances never see enough data
+    private volatile long[][] slices;
+
     /**
      * Returns initial value for this CRC intermediate value
      * This method is used when starting a new iterative CRC calculation (using init, update
@@ -285,6 +300,21 @@ public class CRC
      * */
     public long update (long curValue, byte[] chunk, int offset, int length)
     {
+        if (length >= SLICING_THRESHOLD && crcParams.width >= 8)
+        {
+            long[][] t = slices;
+            if (t == null)
+            {
+                t = slices = buildSlices();
+            }
+            int sliced = length & -SLICES;
+            curValue = crcParams.reflectIn
+                    ? updateReflected(t, curValue, chunk, offset, sliced)
+                    : updateNormal(t, curValue, chunk, offset, sliced);
+            offset += sliced;
+            length -= sliced;
+        }
+
         if (crcParams.reflectIn)
         {
             for (int i=0; i < length; i++)
@@ -313,6 +343,70 @@ public class CRC
         return curValue;
     }
 
+    /**
+     * Builds the tables for the slicing-by-8 engine (see also "A Systematic
+     * Approach to Building High Performance, Software-based, CRC Generators"
+     * by Kounavis and Berry, Intel, 2005). Table k contains the CRC of
+     * the byte n followed by k zero bytes. For reflected CRCs the tables
+     * are right aligned, otherwise they are left aligned to the 64 bit
+     * register, so both variants work for any width from 8 to 64 bits.
+     * @return the slicing tables
+     */
+    private long[][] buildSlices()
+    {
+        long[][] t = new long[SLICES][256];
+        int shift = 64 - crcParams.width;
+        for (int n = 0; n < 256; n++)
+        {
+            t[0][n] = crcParams.reflectIn ? crctable[n] : crctable[n] << shift;
+        }
+        for (int k = 1; k < SLICES; k++)
+        {
+            for (int n = 0; n < 256; n++)
+            {
+                long prev = t[k - 1][n];
+                t[k][n] = crcParams.reflectIn
+                        ? (prev >>> 8) ^ t[0][(int) prev & 0xFF]
+                        : (prev << 8) ^ t[0][(int) (prev >>> 56)];
+            }
+        }
+        return t;
+    }
+
+    // processes length bytes (a multiple of 8) of a reflected CRC, 8 bytes at once
+    private static long updateReflected(long[][] t, long curValue, byte[] chunk, int offset, int length)
+    {
+        long[] t0 = t[0], t1 = t[1], t2 = t[2], t3 = t[3], t4 = t[4], t5 = t[5], t6 = t[6], t7 = t[7];
+        long c = curValue;
+        for (int i = offset, end = offset + length; i < end; i += 8)
+        {
+            c ^= (long) LONG_LE.get(chunk, i);
+            c = t7[(int) c & 0xFF] ^ t6[(int) (c >>> 8) & 0xFF]
+              ^ t5[(int) (c >>> 16) & 0xFF] ^ t4[(int) (c >>> 24) & 0xFF]
+              ^ t3[(int) (c >>> 32) & 0xFF] ^ t2[(int) (c >>> 40) & 0xFF]
+              ^ t1[(int) (c >>> 48) & 0xFF] ^ t0[(int) (c >>> 56)];
+        }
+        return c;
+    }
+
+    // processes length bytes (a multiple of 8) of a non-reflected CRC, 8 bytes at once
+    private long updateNormal(long[][] t, long curValue, byte[] chunk, int offset, int length)
+    {
+        long[] t0 = t[0], t1 = t[1], t2 = t[2], t3 = t[3], t4 = t[4], t5 = t[5], t6 = t[6], t7 = t[7];
+        int shift = 64 - crcParams.width;
+        // left align the register, this also drops the bits above the width
+        long c = curValue << shift;
+        for (int i = offset, end = offset + length; i < end; i += 8)
+        {
+            c ^= (long) LONG_BE.get(chunk, i);
+            c = t7[(int) (c >>> 56)] ^ t6[(int) (c >>> 48) & 0xFF]
+              ^ t5[(int) (c >>> 40) & 0xFF] ^ t4[(int) (c >>> 32) & 0xFF]
+              ^ t3[(int) (c >>> 24) & 0xFF] ^ t2[(int) (c >>> 16) & 0xFF]
+              ^ t1[(int) (c >>> 8) & 0xFF] ^ t0[(int) c & 0xFF];
+        }
+        return c >>> shift;
+    }
+
     /**
      * A convenience method for feeding a complete byte array of data.
      * @param curValue CRC intermediate value so far
@@ -324,6 +418,49 @@ public class CRC
         return update(curValue, chunk, 0, chunk.length);
     }
 
+    /**
+     * Feeds the remaining bytes of a ByteBuffer, for example a range of a file
+     * that is mapped into memory. The position of the buffer is set to its limit.
+     * @param curValue CRC intermediate value so far
+     * @param buffer data to be processed by this call
+     * @return updated intermediate value for this CRC
+     * */
+    public long update (long curValue, ByteBuffer buffer)
+    {
+        if (buffer.hasArray())
+        {
+            curValue = update(curValue, buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+            buffer.position(buffer.limit());
+        }
+        else
+        {
+            byte[] chunk = new byte[Math.min(buffer.remaining(), 64 * 1024)];
+            while (buffer.hasRemaining())
+            {
+                int length = Math.min(chunk.length, buffer.remaining());
+                buffer.get(chunk, 0, length);
+                curValue = update(curValue, chunk, 0, length);
+            }
+        }
+        return curValue;
+    }
+
+    /**
+     * Combines the intermediate values of two consecutive data chunks A and B without
+     * processing any data again. The intermediate value of B must have been calculated
+     * from zero rather than from init(). This allows the chunks of large data to be
+     * processed in parallel.
+     * @param curValue CRC intermediate value of chunk A (and of all data before A)
+     * @param chunkValue CRC intermediate value of chunk B, calculated from zero
+     * @param chunkLength the length of chunk B in bytes
+     * @return the intermediate value for this CRC after both chunks
+     * */
+    public long combine (long curValue, long chunkValue, long chunkLength)
+    {
+        return (CrcUtils.appendZeros(crcParams.width, crcParams.polynomial, crcParams.reflectIn, curValue, chunkLength)
+                ^ chunkValue) & mask;
+    }
+
     /**
      * This method should be called to retrieve actual CRC for the data processed so far.
      * @param curValue CRC intermediate value so far
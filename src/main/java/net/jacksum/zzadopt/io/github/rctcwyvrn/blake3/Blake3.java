@@ -26,6 +26,7 @@ SOFTWARE.
 
 Changes:
 - added reset() method
+- added update(byte[], int, int) in order to avoid copies of the input
 
 */
 package net.jacksum.zzadopt.io.github.rctcwyvrn.blake3;
@@ -245,9 +246,10 @@ public class Blake3 {
             return blocksCompressed == 0? CHUNK_START: 0;
         }
 
-        private void update(byte[] input) {
-            int currPos = 0;
-            while (currPos < input.length) {
+        private void update(byte[] input, int offset, int length) {
+            int currPos = offset;
+            int end = offset + length;
+            while (currPos < end) {
 
                 // Chain the next 64 byte block into this chunk/node
                 if (blockLen == BLOCK_LEN) {
@@ -256,13 +258,14 @@ public class Blake3 {
                             compress(this.chainingValue, blockWords, this.chunkCounter, BLOCK_LEN,this.flags | this.startFlag()),
                             0, 8);
                     blocksCompressed += 1;
-                    this.block = new byte[BLOCK_LEN];
+                    // the words have been taken from the block, so it can be reused
+                    Arrays.fill(this.block, (byte)0);
                     this.blockLen = 0;
                 }
 
                 // Take bytes out of the input and update
                 int want = BLOCK_LEN - this.blockLen; // How many bytes we need to fill up the current block
-                int canTake = Math.min(want, input.length - currPos);
+                int canTake = Math.min(want, end - currPos);
 
                 System.arraycopy(input, currPos, block, blockLen, canTake);
                 blockLen += canTake;
@@ -323,11 +326,7 @@ public class Blake3 {
             byte[] buffer = new byte[4096];
             int read = 0;
             while((read = ios.read(buffer)) != -1){
-                if(read == buffer.length) {
-                    update(buffer);
-                } else {
-                    update(Arrays.copyOfRange(buffer, 0, read));
-                }
+                update(buffer, 0, read);
             }
         }
     }
@@ -337,8 +336,19 @@ public class Blake3 {
      * @param input Data to be added
      */
     public void update(byte[] input){
-        int currPos = 0;
-        while(currPos < input.length) {
+        update(input, 0, input.length);
+    }
+
+    /**
+     * Appends new data to the hash tree
+     * @param input Data to be added
+     * @param offset The start offset in the data
+     * @param length The number of bytes to be added
+     */
+    public void update(byte[] input, int offset, int length){
+        int currPos = offset;
+        int end = offset + length;
+        while(currPos < end) {
 
             // If this chunk has chained in 16 64 bytes of input, add its CV to the stack
             if (chunkState.len() == CHUNK_LEN) {
@@ -349,8 +359,8 @@ public class Blake3 {
             }
 
             int want = CHUNK_LEN - chunkState.len();
-            int take = Math.min(want, input.length - currPos);
-            chunkState.update(Arrays.copyOfRange(input, currPos, currPos + take));
+            int take = Math.min(want, end - currPos);
+            chunkState.update(input, currPos, take);
             currPos+=take;
         }
     }
@@ -0,0 +1,85 @@
+/*
+
+ Sugar for Java 3.0.0
+ Copyright (c) 2001-2026  Dipl.-Inf. (FH) Johann N. Löfflmann,
+ All Rights Reserved, https://johann.loefflmann.net
+
+ This library is free software; you can redistribute it and/or
+ modify it under the terms of the GNU Lesser General Public
+ License as published by the Free Software Foundation; either
+ version 2 of the License, or (at your option) any later version.
+
+ This library is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ Lesser General Public License for more details.
+
+ You should have received a copy of the GNU Lesser General Public
+ License along with this library; if not, write to the Free Software
+ Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+
+ @author Johann N. Löfflmann
+
+ */
+package net.loefflmann.sugar.io;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+
+/**
+ * Releases the memory of direct and mapped ByteBuffers before the garbage
+ * collector would do it.
+ *
+ * A MappedByteBuffer is unmapped only if it is garbage collected. If a program
+ * maps many windows of many files, but hardly allocates any objects on the heap,
+ * the garbage collector rarely runs, and the number of mappings can hit the
+ * limit of the operating system (vm.max_map_count on Linux). Therefore we invoke
+ * the cleaner of the buffer explicitly by means of sun.misc.Unsafe from the
+ * module jdk.unsupported. If that is not available, we fall back to the garbage
+ * collector.
+ */
+public class BufferCleaner {
+
+    private static final Object UNSAFE;
+    private static final Method INVOKE_CLEANER;
+
+    static {
+        Object unsafe = null;
+        Method invokeCleaner = null;
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            unsafe = field.get(null);
+            invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            unsafe = null;
+            invokeCleaner = null;
+        }
+        UNSAFE = unsafe;
+        INVOKE_CLEANER = invokeCleaner;
+    }
+
+    /**
+     * Releases the native memory of a direct ByteBuffer resp. unmaps a
+     * MappedByteBuffer. The buffer must not be accessed anymore after that call,
+     * because any access would crash the JVM. Heap buffers are ignored.
+     *
+     * @param buffer the buffer that should be released
+     * @return true if the buffer has been released, false if it is left to the
+     * garbage collector
+     */
+    public static boolean clean(ByteBuffer buffer) {
+        if (buffer == null || !buffer.isDirect() || INVOKE_CLEANER == null) {
+            return false;
+        }
+        try {
+            INVOKE_CLEANER.invoke(UNSAFE, buffer);
+            return true;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // e.g. an IllegalArgumentException for a duplicate or a slice
+            return false;
+        }
+    }
+}
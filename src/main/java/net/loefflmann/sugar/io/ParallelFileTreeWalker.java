@@ -0,0 +1,398 @@
+/*
+
+  Sugar for Java 1.6.0
+  Copyright (c) 2001-2026  Dipl.-Inf. (FH) Johann N. Löfflmann,
+  All Rights Reserved, https://johann.loefflmann.net
+
+  This library is free software; you can redistribute it and/or
+  modify it under the terms of the GNU Lesser General Public
+  License as published by the Free Software Foundation; either
+  version 2 of the License, or (at your option) any later version.
+
+  This library is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+  Lesser General Public License for more details.
+
+  You should have received a copy of the GNU Lesser General Public
+  License along with this library; if not, write to the Free Software
+  Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+
+  @author Johann N. Löfflmann
+ *
+*/
+package net.loefflmann.sugar.io;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystemLoopException;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.FileVisitor;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Walks a file tree like Files.walkFileTree(), but lists the directories and reads the
+ * attributes of their entries ahead of time by a pool of threads. On file systems with a
+ * high latency per request (e.g. NFS, CephFS, Lustre) the listing of a directory takes much
+ * longer than processing its entries, so listing sibling directories concurrently hides most
+ * of that latency.
+ *
+ * The visitor is called by the thread that calls walkFileTree() only, in exactly the order of
+ * Files.walkFileTree() (depth-first, each directory in the order of its directory stream), and
+ * with the same semantics: the attributes are read by following symbolic links if
+ * FOLLOW_LINKS is set (or of the link itself if its target cannot be read), a directory at the
+ * maximum depth is passed to visitFile(), a file system cycle is passed to visitFileFailed()
+ * as a FileSystemLoopException, a directory that cannot be opened is passed to
+ * visitFileFailed(), an error while a directory is being read is passed to
+ * postVisitDirectory(), and entries that cannot be accessed for security reasons are ignored.
+ * The results of the visitor (TERMINATE, SKIP_SUBTREE, and SKIP_SIBLINGS) are respected.
+ *
+ * While a directory is being visited, the listings of its subdirectories are requested from
+ * the pool. The number of listings that have been requested, but that have not been visited
+ * yet, is limited, so that the memory consumption is bounded on wide trees.
+ */
+public class ParallelFileTreeWalker {
+
+    // the number of listings that can be requested ahead per thread
+    private static final int LOOK_AHEAD_PER_THREAD = 64;
+
+    private final int threads;
+
+    /**
+     * @param threads the number of threads that list the directories
+     */
+    public ParallelFileTreeWalker(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads value has to be > 0.");
+        }
+        this.threads = threads;
+    }
+
+    /**
+     * Walks a file tree, see Files.walkFileTree(Path, Set, int, FileVisitor).
+     *
+     * @param start the starting file
+     * @param options options to configure the traversal
+     * @param maxDepth the maximum number of directory levels to visit
+     * @param visitor the file visitor to invoke for each file
+     * @return the starting file
+     * @throws IOException if an I/O error is thrown by a visitor method, or if the walk has been
+     * interrupted
+     */
+    public Path walkFileTree(Path start, Set<FileVisitOption> options, int maxDepth,
+                             FileVisitor<? super Path> visitor) throws IOException {
+        if (maxDepth < 0) {
+            throw new IllegalArgumentException("'maxDepth' is negative");
+        }
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "ParallelFileTreeWalker-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            Walk walk = new Walk(pool, threads * LOOK_AHEAD_PER_THREAD,
+                    options.contains(FileVisitOption.FOLLOW_LINKS), maxDepth, visitor);
+            Entry entry = new Entry(start);
+            entry.read(walk.linkOptions, walk.followLinks, false);
+            walk.visit(entry, false);
+        } finally {
+            pool.shutdownNow();
+        }
+        return start;
+    }
+
+    /**
+     * An entry of a directory, and its attributes, read by the pool.
+     */
+    private static final class Entry {
+
+        private final Path path;
+        private BasicFileAttributes attributes;
+        private IOException exception;
+        // the entry cannot be accessed for security reasons, so it is ignored
+        private boolean ignored;
+        // the listing of the entry if it is a directory that has been requested ahead
+        private Future<Listing> listing;
+
+        Entry(Path path) {
+            this.path = path;
+        }
+
+        void read(LinkOption[] linkOptions, boolean followLinks, boolean ignoreSecurityException) {
+            try {
+                try {
+                    attributes = Files.readAttributes(path, BasicFileAttributes.class, linkOptions);
+                } catch (IOException e) {
+                    if (!followLinks) {
+                        throw e;
+                    }
+                    // the target of a link might not exist, so take the link itself
+                    attributes = Files.readAttributes(path, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+                }
+            } catch (IOException e) {
+                exception = e;
+            } catch (SecurityException e) {
+                if (!ignoreSecurityException) {
+                    throw e;
+                }
+                ignored = true;
+            }
+        }
+    }
+
+    /**
+     * The entries of a directory, read by the pool.
+     */
+    private static final class Listing {
+
+        private final List<Entry> entries = new ArrayList<>();
+        // the directory cannot be opened
+        private IOException openException;
+        private SecurityException securityException;
+        // the directory could not be read completely
+        private IOException iterationException;
+    }
+
+    /**
+     * A directory that is being visited.
+     */
+    private static final class Ancestor {
+
+        private final Path dir;
+        private final Object key;
+
+        Ancestor(Path dir, Object key) {
+            this.dir = dir;
+            this.key = key;
+        }
+    }
+
+    private static final class Walk {
+
+        private final ExecutorService pool;
+        private final int lookAhead;
+        private final boolean followLinks;
+        private final LinkOption[] linkOptions;
+        private final int maxDepth;
+        private final FileVisitor<? super Path> visitor;
+        // the directories that are being visited, for detecting cycles
+        private final Deque<Ancestor> ancestors = new ArrayDeque<>();
+        // the number of listings that have been requested, but not visited yet
+        private int pending = 0;
+
+        Walk(ExecutorService pool, int lookAhead, boolean followLinks, int maxDepth, FileVisitor<? super Path> visitor) {
+            this.pool = pool;
+            this.lookAhead = lookAhead;
+            this.followLinks = followLinks;
+            this.linkOptions = followLinks ? new LinkOption[0] : new LinkOption[]{LinkOption.NOFOLLOW_LINKS};
+            this.maxDepth = maxDepth;
+            this.visitor = visitor;
+        }
+
+        /**
+         * Lists a directory, and reads the attributes of its entries. Called by the pool.
+         */
+        private Listing list(Path dir) {
+            Listing listing = new Listing();
+            DirectoryStream<Path> stream;
+            try {
+                stream = Files.newDirectoryStream(dir);
+            } catch (IOException e) {
+                listing.openException = e;
+                return listing;
+            } catch (SecurityException e) {
+                listing.securityException = e;
+                return listing;
+            }
+            try {
+                for (Path path : stream) {
+                    Entry entry = new Entry(path);
+                    entry.read(linkOptions, followLinks, true);
+                    listing.entries.add(entry);
+                }
+            } catch (DirectoryIteratorException e) {
+                listing.iterationException = e.getCause();
+            } finally {
+                try {
+                    stream.close();
+                } catch (IOException e) {
+                    if (listing.iterationException == null) {
+                        listing.iterationException = e;
+                    } else {
+                        listing.iterationException.addSuppressed(e);
+                    }
+                }
+            }
+            return listing;
+        }
+
+        private boolean wouldLoop(Path dir, Object key) {
+            for (Ancestor ancestor : ancestors) {
+                if (key != null && ancestor.key != null) {
+                    if (key.equals(ancestor.key)) {
+                        return true;
+                    }
+                } else {
+                    try {
+                        if (Files.isSameFile(dir, ancestor.dir)) {
+                            return true;
+                        }
+                    } catch (IOException | SecurityException e) {
+                        // ignore
+                    }
+                }
+            }
+            return false;
+        }
+
+        private boolean isDirectoryToBeListed(Entry entry, int depth) {
+            return !entry.ignored && entry.exception == null && depth < maxDepth && entry.attributes.isDirectory();
+        }
+
+        /**
+         * Requests the listings of the subdirectories among the entries, as long as the look-ahead
+         * permits it.
+         *
+         * @param entries the entries of a directory
+         * @param from the index of the first entry that has not been considered yet
+         * @param depth the depth of the entries
+         * @return the index of the first entry that has not been considered yet
+         */
+        private int requestAhead(List<Entry> entries, int from, int depth) {
+            int i = from;
+            for (; i < entries.size() && pending < lookAhead; i++) {
+                Entry entry = entries.get(i);
+                if (isDirectoryToBeListed(entry, depth)) {
+                    Path dir = entry.path;
+                    entry.listing = pool.submit(() -> list(dir));
+                    pending++;
+                }
+            }
+            return i;
+        }
+
+        private void discard(Entry entry) {
+            if (entry.listing != null) {
+                entry.listing.cancel(false);
+                entry.listing = null;
+                pending--;
+            }
+        }
+
+        private void discard(List<Entry> entries, int from) {
+            for (int i = from; i < entries.size(); i++) {
+                discard(entries.get(i));
+            }
+        }
+
+        private Listing take(Entry entry) throws IOException {
+            if (entry.listing == null) {
+                return list(entry.path);
+            }
+            try {
+                return entry.listing.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("The walk of the file tree has been interrupted.");
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new IOException(cause);
+            } finally {
+                entry.listing = null;
+                pending--;
+            }
+        }
+
+        /**
+         * Visits an entry, and the subtree if the entry is a directory.
+         *
+         * @return the result of the visitor for the entry, that is for a directory the result of
+         * preVisitDirectory() if it skips the directory, or the result of postVisitDirectory()
+         */
+        FileVisitResult visit(Entry entry, boolean ignoreSecurityException) throws IOException {
+            if (entry.ignored) {
+                return FileVisitResult.CONTINUE;
+            }
+            if (entry.exception != null) {
+                discard(entry);
+                return Objects.requireNonNull(visitor.visitFileFailed(entry.path, entry.exception));
+            }
+            int depth = ancestors.size();
+            if (depth >= maxDepth || !entry.attributes.isDirectory()) {
+                discard(entry);
+                return Objects.requireNonNull(visitor.visitFile(entry.path, entry.attributes));
+            }
+            Object key = entry.attributes.fileKey();
+            if (followLinks && wouldLoop(entry.path, key)) {
+                discard(entry);
+                return Objects.requireNonNull(visitor.visitFileFailed(entry.path,
+                        new FileSystemLoopException(entry.path.toString())));
+            }
+
+            Listing listing = take(entry);
+            if (listing.securityException != null) {
+                if (ignoreSecurityException) {
+                    return FileVisitResult.CONTINUE;
+                }
+                throw listing.securityException;
+            }
+            if (listing.openException != null) {
+                return Objects.requireNonNull(visitor.visitFileFailed(entry.path, listing.openException));
+            }
+
+            FileVisitResult result = Objects.requireNonNull(visitor.preVisitDirectory(entry.path, entry.attributes));
+            if (result != FileVisitResult.CONTINUE) {
+                return result;
+            }
+
+            ancestors.push(new Ancestor(entry.path, key));
+            try {
+                List<Entry> entries = listing.entries;
+                int requested = 0;
+                for (int i = 0; i < entries.size(); i++) {
+                    // keep the pool busy with the next siblings, the look-ahead might have been
+                    // taken by the subdirectories of the previous sibling
+                    requested = requestAhead(entries, Math.max(requested, i), depth + 1);
+                    result = visit(entries.get(i), true);
+                    // the entry has been visited, so it can be garbage collected
+                    entries.set(i, null);
+                    if (result == FileVisitResult.TERMINATE) {
+                        discard(entries, i + 1);
+                        return result;
+                    }
+                    if (result == FileVisitResult.SKIP_SIBLINGS) {
+                        discard(entries, i + 1);
+                        break;
+                    }
+                }
+            } finally {
+                ancestors.pop();
+            }
+            return Objects.requireNonNull(visitor.postVisitDirectory(entry.path, listing.iterationException));
+        }
+    }
+}
@@ -0,0 +1,288 @@
+/*
+
+  Sugar for Java 1.6.0
+  Copyright (c) 2001-2026  Dipl.-Inf. (FH) Johann N. Löfflmann,
+  All Rights Reserved, https://johann.loefflmann.net
+
+  This library is free software; you can redistribute it and/or
+  modify it under the terms of the GNU Lesser General Public
+  License as published by the Free Software Foundation; either
+  version 2 of the License, or (at your option) any later version.
+
+  This library is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+  Lesser General Public License for more details.
+
+  You should have received a copy of the GNU Lesser General Public
+  License along with this library; if not, write to the Free Software
+  Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+
+  @author Johann N. Löfflmann
+
+ */
+package net.loefflmann.sugar.math;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Arithmetic with polynomials over GF(2). A polynomial is represented by a non-negative
+ * BigInteger, bit i is the coefficient of x^i, e.g. x^8 + x^2 + x + 1 is 0x107.
+ * Additions and subtractions are XOR operations.
+ */
+public final class GF2Polynomials {
+
+    private static final BigInteger X = BigInteger.TWO;
+
+    private GF2Polynomials() {
+    }
+
+    /**
+     * Returns the degree of a polynomial.
+     *
+     * @param a the polynomial
+     * @return the degree, or -1 if a is zero
+     */
+    public static int degree(BigInteger a) {
+        return a.bitLength() - 1;
+    }
+
+    public static BigInteger multiply(BigInteger a, BigInteger b) {
+        BigInteger product = BigInteger.ZERO;
+        for (int i = b.getLowestSetBit(); i >= 0 && i < b.bitLength(); i++) {
+            if (b.testBit(i)) {
+                product = product.xor(a.shiftLeft(i));
+            }
+        }
+        return product;
+    }
+
+    /**
+     * Divides a polynomial by another one.
+     *
+     * @param a the dividend
+     * @param m the divisor, must not be zero
+     * @return the quotient at index 0, and the remainder at index 1
+     * @throws ArithmeticException if m is zero
+     */
+    public static BigInteger[] divide(BigInteger a, BigInteger m) {
+        int dm = degree(m);
+        if (dm < 0) {
+            throw new ArithmeticException("Division by zero polynomial.");
+        }
+        BigInteger quotient = BigInteger.ZERO;
+        int da;
+        while ((da = degree(a)) >= dm) {
+            quotient = quotient.setBit(da - dm);
+            a = a.xor(m.shiftLeft(da - dm));
+        }
+        return new BigInteger[]{quotient, a};
+    }
+
+    public static BigInteger mod(BigInteger a, BigInteger m) {
+        return divide(a, m)[1];
+    }
+
+    public static BigInteger multiplyMod(BigInteger a, BigInteger b, BigInteger m) {
+        return mod(multiply(a, b), m);
+    }
+
+    public static BigInteger gcd(BigInteger a, BigInteger b) {
+        while (b.signum() != 0) {
+            BigInteger r = mod(a, b);
+            a = b;
+            b = r;
+        }
+        return a;
+    }
+
+    /**
+     * Returns the formal derivative of a polynomial, the coefficients of even powers vanish.
+     *
+     * @param a the polynomial
+     * @return the derivative
+     */
+    public static BigInteger derivative(BigInteger a) {
+        BigInteger derivative = BigInteger.ZERO;
+        for (int i = 1; i < a.bitLength(); i += 2) {
+            if (a.testBit(i)) {
+                derivative = derivative.setBit(i - 1);
+            }
+        }
+        return derivative;
+    }
+
+    /**
+     * Returns the square root of a polynomial that has coefficients at even powers only.
+     *
+     * @param a the polynomial, a square
+     * @return the square root
+     */
+    private static BigInteger sqrt(BigInteger a) {
+        BigInteger root = BigInteger.ZERO;
+        for (int i = 0; i < a.bitLength(); i += 2) {
+            if (a.testBit(i)) {
+                root = root.setBit(i / 2);
+            }
+        }
+        return root;
+    }
+
+    /**
+     * Factors a polynomial into irreducible polynomials by a square-free factorization, a
+     * distinct-degree factorization, and the equal-degree factorization of Cantor and
+     * Zassenhaus.
+     *
+     * @param f the polynomial, must not be zero
+     * @return the irreducible factors, a factor of multiplicity k is contained k times
+     * @throws ArithmeticException if f is zero
+     */
+    public static List<BigInteger> factor(BigInteger f) {
+        if (f.signum() == 0) {
+            throw new ArithmeticException("The zero polynomial cannot be factored.");
+        }
+        List<BigInteger> factors = new ArrayList<>();
+        // a fixed seed, so the result (and its order) is reproducible
+        Random random = new Random(f.hashCode());
+        List<BigInteger[]> squareFree = new ArrayList<>();
+        squareFreeFactorization(f, 1, squareFree);
+        for (BigInteger[] part : squareFree) {
+            int multiplicity = part[1].intValue();
+            for (BigInteger[] distinct : distinctDegreeFactorization(part[0])) {
+                List<BigInteger> irreducibles = new ArrayList<>();
+                equalDegreeFactorization(distinct[0], distinct[1].intValue(), random, irreducibles);
+                for (BigInteger irreducible : irreducibles) {
+                    for (int i = 0; i < multiplicity; i++) {
+                        factors.add(irreducible);
+                    }
+                }
+            }
+        }
+        factors.sort((a, b) -> degree(a) != degree(b) ? Integer.compare(degree(a), degree(b)) : a.compareTo(b));
+        return factors;
+    }
+
+    // adds the square-free factors of f with their multiplicities (times the exponent e)
+    private static void squareFreeFactorization(BigInteger f, int e, List<BigInteger[]> result) {
+        BigInteger c = gcd(f, derivative(f));
+        BigInteger w = divide(f, c)[0];
+        int i = 1;
+        while (!w.equals(BigInteger.ONE)) {
+            BigInteger y = gcd(w, c);
+            BigInteger factor = divide(w, y)[0];
+            if (!factor.equals(BigInteger.ONE)) {
+                result.add(new BigInteger[]{factor, BigInteger.valueOf((long) i * e)});
+            }
+            w = y;
+            c = divide(c, y)[0];
+            i++;
+        }
+        if (!c.equals(BigInteger.ONE)) {
+            // c is a square, because its derivative is zero in characteristic 2
+            squareFreeFactorization(sqrt(c), 2 * e, result);
+        }
+    }
+
+    // splits a square-free f into products of irreducible polynomials of the same degree
+    private static List<BigInteger[]> distinctDegreeFactorization(BigInteger f) {
+        List<BigInteger[]> result = new ArrayList<>();
+        BigInteger h = X;
+        int i = 1;
+        while (degree(f) >= 2 * i) {
+            // h = x^(2^i) mod f
+            h = multiplyMod(h, h, f);
+            BigInteger g = gcd(f, h.xor(X));
+            if (!g.equals(BigInteger.ONE)) {
+                result.add(new BigInteger[]{g, BigInteger.valueOf(i)});
+                f = divide(f, g)[0];
+                h = mod(h, f);
+            }
+            i++;
+        }
+        if (degree(f) > 0) {
+            result.add(new BigInteger[]{f, BigInteger.valueOf(degree(f))});
+        }
+        return result;
+    }
+
+    // splits a product f of irreducible polynomials of degree d
+    private static void equalDegreeFactorization(BigInteger f, int d, Random random, List<BigInteger> result) {
+        int n = degree(f);
+        if (n == d) {
+            result.add(f);
+            return;
+        }
+        while (true) {
+            BigInteger r = new BigInteger(n, random);
+            if (degree(r) < 1) {
+                continue;
+            }
+            // the trace r + r^2 + r^4 + ... + r^(2^(d-1)) is 0 or 1 modulo each factor,
+            // so the gcd separates the factors by chance 1/2 each
+            BigInteger s = r;
+            BigInteger trace = r;
+            for (int j = 1; j < d; j++) {
+                s = multiplyMod(s, s, f);
+                trace = trace.xor(s);
+            }
+            BigInteger g = gcd(f, trace);
+            if (degree(g) > 0 && degree(g) < n) {
+                equalDegreeFactorization(g, d, random, result);
+                equalDegreeFactorization(divide(f, g)[0], d, random, result);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Returns the divisors of a given degree of a polynomial.
+     *
+     * @param f the polynomial, must not be zero
+     * @param degree the degree of the divisors
+     * @param limit the max. number of divisors that are returned
+     * @return the divisors in ascending order
+     */
+    public static List<BigInteger> divisors(BigInteger f, int degree, int limit) {
+        List<BigInteger> factors = factor(f);
+        // the distinct factors and their multiplicities
+        List<BigInteger> distinct = new ArrayList<>();
+        List<Integer> multiplicities = new ArrayList<>();
+        for (BigInteger factor : factors) {
+            int last = distinct.size() - 1;
+            if (last >= 0 && distinct.get(last).equals(factor)) {
+                multiplicities.set(last, multiplicities.get(last) + 1);
+            } else {
+                distinct.add(factor);
+                multiplicities.add(1);
+            }
+        }
+        List<BigInteger> divisors = new ArrayList<>();
+        collectDivisors(distinct, multiplicities, 0, BigInteger.ONE, degree, limit, divisors);
+        divisors.sort(null);
+        return divisors;
+    }
+
+    private static void collectDivisors(List<BigInteger> distinct, List<Integer> multiplicities, int index,
+                                        BigInteger product, int remaining, int limit, List<BigInteger> divisors) {
+        if (divisors.size() >= limit) {
+            return;
+        }
+        if (remaining == 0) {
+            divisors.add(product);
+            return;
+        }
+        if (index == distinct.size()) {
+            return;
+        }
+        BigInteger factor = distinct.get(index);
+        int d = degree(factor);
+        BigInteger power = product;
+        for (int e = 0; e <= multiplicities.get(index) && e * d <= remaining; e++) {
+            collectDivisors(distinct, multiplicities, index + 1, power, remaining - e * d, limit, divisors);
+            power = multiply(power, factor);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+/*
+
+  Sugar for Java 1.6.0
+  Copyright (c) 2001-2026  Dipl.-Inf. (FH) Johann N. Löfflmann,
+  All Rights Reserved, https://johann.loefflmann.net
+
+  This library is free software; you can redistribute it and/or
+  modify it under the terms of the GNU Lesser General Public
+  License as published by the Free Software Foundation; either
+  version 2 of the License, or (at your option) any later version.
+
+  This library is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+  Lesser General Public License for more details.
+
+  You should have received a copy of the GNU Lesser General Public
+  License along with this library; if not, write to the Free Software
+  Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+
+  @author Johann N. Löfflmann
+ *
+*/
+package net.loefflmann.sugar.util;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * An append-only storage for many small byte sequences. The sequences are packed into
+ * large arrays (pages), each one prefixed by its length, and a sequence is addressed by
+ * a long rather than by an object, so that millions of sequences don't cost millions of
+ * objects and object headers.
+ *
+ * The class is not thread-safe.
+ */
+public class ByteArena {
+
+    private static final int PAGE_SIZE = 1 << 20;
+
+    private byte[][] pages = new byte[4][];
+    private int pageCount = 0;
+    // the position of the next free byte in the current page
+    private int position = 0;
+    private long memoryUsage = 0;
+
+    /**
+     * Appends a byte sequence.
+     *
+     * @param bytes the array that contains the sequence
+     * @param offset the offset of the sequence in the array
+     * @param length the length of the sequence
+     * @return the address of the sequence
+     */
+    public long add(byte[] bytes, int offset, int length) {
+        int needed = length + 5; // the length prefix takes 5 bytes at most
+        if (pageCount == 0 || position + needed > pages[pageCount - 1].length) {
+            newPage(needed);
+        }
+        byte[] page = pages[pageCount - 1];
+        long address = ((long) (pageCount - 1) << 32) | position;
+        // the length prefix is stored as a varint, which takes 1 byte for up to 127 bytes
+        int value = length;
+        while ((value & ~0x7F) != 0) {
+            page[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        page[position++] = (byte) value;
+        System.arraycopy(bytes, offset, page, position, length);
+        position += length;
+        return address;
+    }
+
+    /**
+     * Appends a byte sequence.
+     *
+     * @param bytes the sequence
+     * @return the address of the sequence
+     */
+    public long add(byte[] bytes) {
+        return add(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Appends a String as UTF-8.
+     *
+     * @param string the String
+     * @return the address of the sequence
+     */
+    public long add(String string) {
+        return add(string.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void newPage(int needed) {
+        if (pageCount == pages.length) {
+            byte[][] grown = new byte[pages.length * 2][];
+            System.arraycopy(pages, 0, grown, 0, pageCount);
+            pages = grown;
+        }
+        // a sequence that is larger than a page gets a page of its own
+        pages[pageCount++] = new byte[Math.max(PAGE_SIZE, needed)];
+        memoryUsage += pages[pageCount - 1].length;
+        position = 0;
+    }
+
+    private static int page(long address) {
+        return (int) (address >>> 32);
+    }
+
+    private static int offset(long address) {
+        return (int) address;
+    }
+
+    /**
+     * Returns the length of a sequence.
+     *
+     * @param address the address of the sequence
+     * @return the length of the sequence
+     */
+    public int length(long address) {
+        byte[] page = pages[page(address)];
+        int pos = offset(address);
+        int length = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = page[pos++];
+            length |= (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return length;
+    }
+
+    // returns the offset of the first byte of a sequence within its page
+    private int start(long address) {
+        byte[] page = pages[page(address)];
+        int pos = offset(address);
+        while (page[pos++] < 0) {
+            // skip the length prefix
+        }
+        return pos;
+    }
+
+    /**
+     * Compares a sequence with the bytes of an array.
+     *
+     * @param address the address of the sequence
+     * @param bytes the array
+     * @param offset the offset in the array
+     * @param length the number of bytes to compare
+     * @return true if the sequence consists of exactly those bytes
+     */
+    public boolean equals(long address, byte[] bytes, int offset, int length) {
+        if (length(address) != length) {
+            return false;
+        }
+        byte[] page = pages[page(address)];
+        int start = start(address);
+        for (int i = 0; i < length; i++) {
+            if (page[start + i] != bytes[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns a copy of a sequence.
+     *
+     * @param address the address of the sequence
+     * @return a copy of the sequence
+     */
+    public byte[] get(long address) {
+        int length = length(address);
+        byte[] bytes = new byte[length];
+        System.arraycopy(pages[page(address)], start(address), bytes, 0, length);
+        return bytes;
+    }
+
+    /**
+     * Returns a sequence that has been added as a String.
+     *
+     * @param address the address of the sequence
+     * @return the String
+     */
+    public String getString(long address) {
+        return new String(pages[page(address)], start(address), length(address), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return the number of bytes that have been allocated by the arena
+     */
+    public long getMemoryUsage() {
+        return memoryUsage;
+    }
+}
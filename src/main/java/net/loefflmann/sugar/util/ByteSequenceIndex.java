@@ -0,0 +1,213 @@
+/*
+
+  Sugar for Java 1.6.0
+  Copyright (c) 2001-2026  Dipl.-Inf. (FH) Johann N. Löfflmann,
+  All Rights Reserved, https://johann.loefflmann.net
+
+  This library is free software; you can redistribute it and/or
+  modify it under the terms of the GNU Lesser General Public
+  License as published by the Free Software Foundation; either
+  version 2 of the License, or (at your option) any later version.
+
+  This library is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+  Lesser General Public License for more details.
+
+  You should have received a copy of the GNU Lesser General Public
+  License along with this library; if not, write to the Free Software
+  Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+
+  @author Johann N. Löfflmann
+ *
+*/
+package net.loefflmann.sugar.util;
+
+/**
+ * A hash index that maps byte sequences to int values. The keys are stored in a
+ * ByteArena, and the table consists of primitive arrays that are probed linearly
+ * (open addressing), so that neither an entry nor a lookup creates an object.
+ * Keys can be Strings as well, they are stored and looked up as UTF-8.
+ *
+ * The class is not thread-safe.
+ */
+public class ByteSequenceIndex {
+
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private final ByteArena arena;
+    // the address of the key in the arena plus 1, so that 0 marks an empty slot
+    private long[] keys;
+    private int[] hashes;
+    private int[] values;
+    private int size = 0;
+    private int threshold;
+
+    // reused for encoding a String key, see utf8()
+    private byte[] scratch = new byte[256];
+
+    /**
+     * @param arena the arena that stores the keys, it can be shared with other indexes
+     */
+    public ByteSequenceIndex(ByteArena arena) {
+        this.arena = arena;
+        allocate(16);
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        hashes = new int[capacity];
+        values = new int[capacity];
+        threshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static int hash(byte[] bytes, int length) {
+        // FNV-1a, followed by a finalizer that spreads the bits to the lower bits
+        int h = 0x811C9DC5;
+        for (int i = 0; i < length; i++) {
+            h = (h ^ bytes[i]) * 0x01000193;
+        }
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        return h;
+    }
+
+    // returns the slot of the key, or the empty slot where the key belongs to
+    private int slot(byte[] key, int length, int hash) {
+        int mask = keys.length - 1;
+        int slot = hash & mask;
+        while (keys[slot] != 0) {
+            if (hashes[slot] == hash && arena.equals(keys[slot] - 1, key, 0, length)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Maps a key to a value.
+     *
+     * @param key the array that contains the key at offset 0
+     * @param length the length of the key
+     * @param value the value, it must not be negative
+     * @return the value that has been mapped to the key before, or -1 if there was none
+     */
+    public int put(byte[] key, int length, int value) {
+        int hash = hash(key, length);
+        int slot = slot(key, length, hash);
+        if (keys[slot] != 0) {
+            int previous = values[slot];
+            values[slot] = value;
+            return previous;
+        }
+        keys[slot] = arena.add(key, 0, length) + 1;
+        hashes[slot] = hash;
+        values[slot] = value;
+        if (++size > threshold) {
+            rehash();
+        }
+        return -1;
+    }
+
+    /**
+     * Maps a String key to a value.
+     *
+     * @param key the key
+     * @param value the value, it must not be negative
+     * @return the value that has been mapped to the key before, or -1 if there was none
+     */
+    public int put(CharSequence key, int value) {
+        int length = utf8(key);
+        return put(scratch, length, value);
+    }
+
+    /**
+     * Returns the value of a key.
+     *
+     * @param key the array that contains the key at offset 0
+     * @param length the length of the key
+     * @return the value, or -1 if the key is unknown
+     */
+    public int get(byte[] key, int length) {
+        int slot = slot(key, length, hash(key, length));
+        return keys[slot] != 0 ? values[slot] : -1;
+    }
+
+    /**
+     * Returns the value of a String key.
+     *
+     * @param key the key
+     * @return the value, or -1 if the key is unknown
+     */
+    public int get(CharSequence key) {
+        int length = utf8(key);
+        return get(scratch, length);
+    }
+
+    /**
+     * @return the number of keys
+     */
+    public int size() {
+        return size;
+    }
+
+    private void rehash() {
+        long[] oldKeys = keys;
+        int[] oldHashes = hashes;
+        int[] oldValues = values;
+        allocate(oldKeys.length * 2);
+        int mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int slot = oldHashes[i] & mask;
+                while (keys[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                hashes[slot] = oldHashes[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * Encodes a key as UTF-8 into the scratch buffer, without creating any object unless the
+     * buffer has to grow. An unpaired surrogate is encoded as '?', as String.getBytes() does.
+     *
+     * @param key the key
+     * @return the number of bytes in the scratch buffer
+     */
+    private int utf8(CharSequence key) {
+        int max = key.length() * 3;
+        if (scratch.length < max) {
+            scratch = new byte[Math.max(max, scratch.length * 2)];
+        }
+        int pos = 0;
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (c < 0x80) {
+                scratch[pos++] = (byte) c;
+            } else if (c < 0x800) {
+                scratch[pos++] = (byte) (0xC0 | (c >> 6));
+                scratch[pos++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < key.length() && Character.isLowSurrogate(key.charAt(i + 1))) {
+                    int cp = Character.toCodePoint(c, key.charAt(++i));
+                    scratch[pos++] = (byte) (0xF0 | (cp >> 18));
+                    scratch[pos++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                    scratch[pos++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                    scratch[pos++] = (byte) (0x80 | (cp & 0x3F));
+                } else {
+                    scratch[pos++] = (byte) '?';
+                }
+            } else {
+                scratch[pos++] = (byte) (0xE0 | (c >> 12));
+                scratch[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                scratch[pos++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        return pos;
+    }
+}
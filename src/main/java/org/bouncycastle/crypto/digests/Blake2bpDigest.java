@@ -166,6 +166,35 @@ public class Blake2bpDigest
         }
     }
 
+    /**
+     * Returns the number of leaves, each leaf gets every n-th block of the message.
+     */
+    public int getLeafCount()
+    {
+        return PARALLELISM_DEGREE;
+    }
+
+    /**
+     * Returns the size of a block in bytes.
+     */
+    public int getBlockLength()
+    {
+        return BLAKE2B_BLOCKBYTES;
+    }
+
+    /**
+     * Updates a single leaf with the next block of its own, so that the leaves
+     * can be updated by different threads (added for Jacksum). Block i of the
+     * message must go to leaf (i mod getLeafCount()) and each block must be
+     * getBlockLength() bytes long, except for the last block of a leaf. It must
+     * not be mixed with update(), and doFinal() must be called once all leaves
+     * are done.
+     */
+    public void updateLeaf(int leaf, byte[] block, int offset, int len)
+    {
+        S[leaf].update(block, offset, len);
+    }
+
     @Override
     public int getByteLength()
     {
@@ -171,7 +171,7 @@ public final class Kangaroo
     /**
      * The Kangaroo Base.
      */
-    abstract static class KangarooBase
+    public abstract static class KangarooBase
             implements ExtendedDigest, Xof
     {
         /**
@@ -249,6 +249,12 @@ public final class Kangaroo
          */
         private int theProcessed;
 
+        /**
+         * The strength and the rounds, required for new leaf sponges.
+         */
+        private final int theStrength;
+        private final int theRounds;
+
         /**
          * Constructor.
          * @param pStrength the strength
@@ -262,6 +268,8 @@ public final class Kangaroo
             /* Create underlying digests */
             theTree = new KangarooSponge(pStrength, pRounds);
             theLeaf = new KangarooSponge(pStrength, pRounds);
+            theStrength = pStrength;
+            theRounds = pRounds;
             theChainLen = pStrength >> 2;
             theXofLen = pLength;
             theXofRemaining = -1L;
@@ -436,6 +444,80 @@ public final class Kangaroo
             }
         }
 
+        /**
+         * Obtain the length of a leaf (added for Jacksum).
+         * @return the length of a leaf in bytes
+         */
+        public int getLeafLength()
+        {
+            return BLKSIZE;
+        }
+
+        /**
+         * Obtain the length of a chaining value (added for Jacksum).
+         * @return the length of a chaining value in bytes
+         */
+        public int getChainingValueLength()
+        {
+            return theChainLen;
+        }
+
+        /**
+         * Calculate the chaining value of a full intermediate leaf (added for
+         * Jacksum). It does not touch the state of the digest, so it can be
+         * called by many threads at the same time.
+         * @param pLeaf the buffer that contains the leaf
+         * @param pLeafOff the offset of the leaf in the buffer
+         * @param pCV the buffer for the chaining value
+         * @param pCVOff the offset of the chaining value in the buffer
+         */
+        public void leafChainingValue(final byte[] pLeaf,
+                                      final int pLeafOff,
+                                      final byte[] pCV,
+                                      final int pCVOff)
+        {
+            final KangarooSponge mySponge = new KangarooSponge(theStrength, theRounds);
+            mySponge.absorb(pLeaf, pLeafOff, BLKSIZE);
+            mySponge.absorb(INTERMEDIATE, 0, INTERMEDIATE.length);
+            mySponge.squeeze(pCV, pCVOff, theChainLen);
+        }
+
+        /**
+         * Absorb the chaining values of full intermediate leaves that have been
+         * calculated by leafChainingValue() (added for Jacksum). The digest must
+         * be at a leaf boundary, that is the data processed so far must be a
+         * multiple of the leaf length, but not zero.
+         * @param pCVs the buffer that contains the chaining values
+         * @param pOff the offset of the first chaining value in the buffer
+         * @param pCount the number of chaining values
+         */
+        public void updateChainingValues(final byte[] pCVs,
+                                         final int pOff,
+                                         final int pCount)
+        {
+            if (squeezing)
+            {
+                throw new IllegalStateException("attempt to absorb while squeezing");
+            }
+
+            /* Complete the current node */
+            if (theProcessed == BLKSIZE)
+            {
+                switchLeaf(true);
+            }
+            if (theCurrNode == 0 || theProcessed != 0)
+            {
+                throw new IllegalStateException("not at a leaf boundary");
+            }
+
+            /* Absorb the chaining values, each one completes a leaf */
+            for (int i = 0; i < pCount; i++)
+            {
+                theTree.absorb(pCVs, pOff + i * theChainLen, theChainLen);
+                theCurrNode++;
+            }
+        }
+
         public void reset()
         {
             theTree.initSponge();